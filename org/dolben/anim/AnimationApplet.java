@@ -8,6 +8,12 @@ package org.dolben.anim;
 import java.applet.Applet;
 import java.awt.Graphics;
 import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -18,18 +24,28 @@ import java.util.TimerTask;
 public abstract class AnimationApplet extends Applet {
     
     private static final long serialVersionUID = 1;
-    private Timer sprocket = new Timer(true);   // advances animation
+    private Timer sprocket;                     // advances animation
+    private Object lock = new Object();         // guards the frame
     private TimerTask shutter = new Shutter();  // animation shutter
     private static final int DEFAULT_PERIOD = 100;
     private Image buffer;                       // off screen drawing buffer
     private Graphics offScreen;                 // off screen graphics context
     private Graphics onScreen;                  // on screen graphics context
+    private FrameRecorder recorder;             // records frames, or null
     
     /**
      *  The interval of time between frames of the animation.
      */
     protected int period;
     
+    /**
+     *  Creates a new AnimationApplet, with a stub that gives it no
+     *  parameters until a browser, or a host, gives it its own.
+     */
+    public AnimationApplet( ) {
+        setStub(new ParameterStub(new HashMap()));
+    }
+    
     /**
      *  Initializes the particular animation. Override for derivation.
      */
@@ -43,26 +59,125 @@ public abstract class AnimationApplet extends Applet {
     protected abstract void paintFrame( Graphics g );
     
     /**
-     *  Initializes the Applet.
+     *  Gets the parts of the frame that the next paintFrame() changes,
+     *  which are all of it that's cleared, drawn in and shown; drawing
+     *  outside them is clipped. Override to draw less than the whole
+     *  frame when less of it changes.
+     *
+     *  @return rectangles that don't overlap, or null for the whole frame
+     */
+    protected Rectangle[] getDirtyRectangles( ) {
+        return null;
+    }
+    
+    /**
+     *  Tells the animation that the frame it has drawn is lost, so that
+     *  the next paintFrame(), and the frame after it, are to be drawn
+     *  whole. Override with getDirtyRectangles().
+     */
+    protected void frameLost( ) {
+    }
+    
+    /**
+     *  Gets the value of a parameter of the Applet.
+     *
+     *  @param name the name of the parameter
+     *  @param otherwise the value when there is no such parameter
+     *
+     *  @return the value
+     */
+    protected String getParameter( String name, String otherwise ) {
+        String value = getParameter(name);
+        return ( value != null ) ? value : otherwise;
+    }
+    
+    /**
+     *  Initializes the Applet. When the parameter "record" names a
+     *  directory, the frames are recorded there, in the format of
+     *  the parameter "format", "png" or "raw", and either dropped or
+     *  waited for, by the parameter "policy", "drop" or "block",
+     *  when recording falls behind.
      */
     public void init( ) {
-        synchronized(sprocket) {
+        synchronized(lock) {
             shutter.cancel();
             period = DEFAULT_PERIOD;
             buffer = createImage(getSize().width,getSize().height);
             offScreen = buffer.getGraphics();
             onScreen = this.getGraphics();
+            String directory = getParameter("record",null);
+            if ( directory != null ) {
+                recorder = new FrameRecorder(
+                    new File(directory),
+                    getSize().width,
+                    getSize().height,
+                    getParameter("format","png").equals("raw") ?
+                        FrameRecorder.RAW : FrameRecorder.PNG,
+                    16,
+                    Runtime.getRuntime().availableProcessors(),
+                    getParameter("policy","drop").equals("block")
+                );
+            }
             initAnimation();
         }
     }
     
+    /**
+     *  Initializes the animation to be run by an AnimationHost instead
+     *  of a browser, which draws each frame itself, with paintFrame(),
+     *  in a Graphics of its own, so there's no buffer or timer here.
+     */
+    void initHosted( ) {
+        synchronized(lock) {
+            shutter.cancel();
+            period = DEFAULT_PERIOD;
+            initAnimation();
+        }
+    }
+    
+    /**
+     *  Destroys the Applet, finishing the recording of frames.
+     */
+    public void destroy( ) {
+        synchronized(lock) {
+            if ( recorder != null ) {
+                try {
+                    recorder.close();
+                } catch ( IOException e ) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    recorder = null;
+                }
+            }
+        }
+    }
+    
+    /**
+     *  Gets the lock that guards the frame, which is held while each
+     *  frame is drawn and the animation is moved on by it.
+     *
+     *  @return the lock
+     */
+    Object getLock( ) {
+        return lock;
+    }
+    
+    /**
+     *  Gets the recorder of frames.
+     *
+     *  @return the recorder, or null when not recording
+     */
+    protected FrameRecorder getRecorder( ) {
+        return recorder;
+    }
+    
     /**
      *  Paints a frame of the animation.
      *
      *  @param g the graphics context
      */
     public void paint( Graphics g ) {
-        synchronized(sprocket) {
+        synchronized(lock) {
             g.drawImage(buffer,0,0,null);
         }
     }
@@ -71,17 +186,28 @@ public abstract class AnimationApplet extends Applet {
      *  Starts the Applet.
      */
     public void start( ) {
-        synchronized(sprocket) {
+        synchronized(lock) {
+            if ( sprocket == null ) {
+                sprocket = new Timer(true);
+            }
             shutter = new Shutter();
             sprocket.schedule(shutter,0,period);
         }
     }
     
     /**
-     *  Stops the Applet.
+     *  Stops the Applet, and the thread of its timer, which is made
+     *  only when it's started, so that an animation that's run by a
+     *  host instead, such as a WorldScheduler, has no thread of its own.
      */
     public void stop( ) {
         shutter.cancel();
+        synchronized(lock) {
+            if ( sprocket != null ) {
+                sprocket.cancel();
+                sprocket = null;
+            }
+        }
     }
     
     /**
@@ -90,13 +216,48 @@ public abstract class AnimationApplet extends Applet {
     private class Shutter extends TimerTask {
         
         public void run( ) {
-            synchronized(sprocket) {
-                offScreen.clearRect(0,0,getSize().width,getSize().height);
-                paintFrame(offScreen);
-                paint(onScreen);
+            synchronized(lock) {
+                Rectangle[] dirty = getDirtyRectangles();
+                if ( dirty == null ) {
+                    offScreen.clearRect(0,0,getSize().width,getSize().height);
+                    paintFrame(offScreen);
+                } else {
+                    Path2D clip = new Path2D.Float();
+                    for ( int i = 0; i < dirty.length; ++i ) {
+                        Rectangle r = dirty[i];
+                        offScreen.clearRect(r.x,r.y,r.width,r.height);
+                        clip.append(r,false);
+                    }
+                    offScreen.setClip(clip);
+                    paintFrame(offScreen);
+                    offScreen.setClip(null);
+                }
+                if ( recorder != null && buffer instanceof BufferedImage ) {
+                    recorder.record((BufferedImage)buffer);
+                }
+                if ( dirty == null ) {
+                    paint(onScreen);
+                } else {
+                    show(dirty);
+                }
+            }
+        }
+        
+        /**
+         *  Copies the parts of the buffer that have changed to the screen.
+         */
+        private void show( Rectangle[] dirty ) {
+            for ( int i = 0; i < dirty.length; ++i ) {
+                Rectangle r = dirty[i];
+                onScreen.drawImage(
+                    buffer,
+                    r.x,r.y,r.x+r.width,r.y+r.height,
+                    r.x,r.y,r.x+r.width,r.y+r.height,
+                    null
+                );
             }
         }
         
     }
- 
+
 }
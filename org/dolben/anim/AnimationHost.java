@@ -0,0 +1,289 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Frame;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *  <p>
+ *  Runs an AnimationApplet, such as a Collidoscope, in a window of its
+ *  own instead of a browser, drawing it actively from a thread of its
+ *  own rather than by a timer and AWT's painting:
+ *  </p><pre>
+ *  java org.dolben.anim.AnimationHost org.dolben.anim.PlatonicGas count=10
+ *  </pre><p>
+ *  The arguments after the class are the parameters of the Applet,
+ *  as name=value, with "width" and "height" those of the drawing, by
+ *  default 640 by 480, and "fps" the frames drawn in a second, by
+ *  default as many as the period of the animation gives, or as many
+ *  as can be drawn when it's 0.
+ *  </p><p>
+ *  Frames are shown by a BufferStrategy, flipping pages where the
+ *  screen can, whose back buffers are in the memory of the display,
+ *  so that a frame isn't drawn in memory and copied as the Applet's
+ *  is. When the animation draws only what's changed, by
+ *  getDirtyRectangles(), it's drawn in a VolatileImage that keeps the
+ *  rest of the frame, copied whole to the back buffer, which is quick
+ *  within the display. When the display loses the contents of either,
+ *  they're restored and the animation is told that the frame is lost,
+ *  so that it draws the next whole.
+ *  </p><p>
+ *  Frames aren't recorded, as in the Applet by the parameter "record".
+ *  </p>
+ */
+public class AnimationHost extends Canvas implements Runnable {
+    
+    private static final long serialVersionUID = 1;
+    private AnimationApplet animation;  // what's drawn
+    private long interval;          // nanoseconds between frames, or 0
+    private VolatileImage frame;    // keeps the frame drawn in part
+    private volatile boolean running;   // whether it's drawing frames
+    private Thread thread;          // the thread that draws
+    
+    /**
+     *  Creates a new AnimationHost for an animation, which is given its
+     *  parameters and initialized.
+     *
+     *  @param applet the animation
+     *  @param parameters the parameters of the animation, by name
+     */
+    public AnimationHost( AnimationApplet applet, Map parameters ) {
+        animation = applet;
+        int width = Integer.parseInt(get(parameters,"width","640"));
+        int height = Integer.parseInt(get(parameters,"height","480"));
+        setPreferredSize(new Dimension(width,height));
+        setIgnoreRepaint(true);
+        setBackground(Color.white);
+        applet.setStub(new ParameterStub(parameters));
+        applet.setSize(width,height);
+        applet.initHosted();
+        String fps = get(parameters,"fps",null);
+        if ( fps == null ) {
+            interval = 1000000L*applet.period;
+        } else if ( Double.parseDouble(fps) > 0 ) {
+            interval = Math.round(1e9/Double.parseDouble(fps));
+        }
+    }
+    
+    private static String get( Map map, String key, String otherwise ) {
+        String value = (String)map.get(key);
+        return ( value != null ) ? value : otherwise;
+    }
+    
+    /**
+     *  Runs an animation in a window.
+     *
+     *  @param args the class of the animation, then its parameters
+     *              as name=value
+     */
+    public static void main( String[] args ) throws Exception {
+        if ( args.length < 1 ) {
+            System.err.println(
+                "usage: java "+AnimationHost.class.getName()
+                +" class [name=value ...]"
+            );
+            System.exit(2);
+        }
+        Map parameters = new HashMap();
+        for ( int i = 1; i < args.length; ++i ) {
+            int equals = args[i].indexOf('=');
+            if ( equals < 0 ) {
+                throw new IllegalArgumentException(
+                    args[i]+" isn't name=value"
+                );
+            }
+            parameters.put(
+                args[i].substring(0,equals),args[i].substring(equals+1)
+            );
+        }
+        AnimationApplet applet = (AnimationApplet)
+            Class.forName(args[0]).getDeclaredConstructor().newInstance();
+        final AnimationHost host = new AnimationHost(applet,parameters);
+        final Frame window = new Frame(args[0]);
+        window.add(host);
+        window.pack();
+        window.setResizable(false);
+        window.addWindowListener(new WindowAdapter() {
+            public void windowClosing( WindowEvent e ) {
+                host.stop();
+                window.dispose();
+            }
+        });
+        window.setVisible(true);
+        host.start();
+    }
+    
+    /**
+     *  Starts drawing frames, once the host is showing.
+     */
+    public synchronized void start( ) {
+        if ( thread != null ) {
+            return;
+        }
+        try {
+            createBufferStrategy(2,new BufferCapabilities(
+                new ImageCapabilities(true),
+                new ImageCapabilities(true),
+                BufferCapabilities.FlipContents.UNDEFINED
+            ));
+        } catch ( AWTException e ) {
+            // there's no flipping; let AWT choose what there is
+            createBufferStrategy(2);
+        }
+        running = true;
+        thread = new Thread(this,"AnimationHost");
+        thread.start();
+    }
+    
+    /**
+     *  Stops drawing frames, and stops and destroys the animation,
+     *  which then saves what it saves when an Applet is stopped.
+     */
+    public void stop( ) {
+        Thread t;
+        synchronized ( this ) {
+            running = false;
+            t = thread;
+            thread = null;
+        }
+        if ( t != null ) {
+            try {
+                t.join();
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        animation.stop();
+        animation.destroy();
+        if ( frame != null ) {
+            frame.flush();
+            frame = null;
+        }
+    }
+    
+    /**
+     *  Draws frames until stopped, each at its time, or as soon as the
+     *  last is done when there's no time between them.
+     */
+    public void run( ) {
+        long next = System.nanoTime();
+        while ( running ) {
+            drawFrame();
+            if ( interval > 0 ) {
+                next += interval;
+                long wait = next-System.nanoTime();
+                if ( wait > 0 ) {
+                    try {
+                        Thread.sleep(wait/1000000,(int)(wait%1000000));
+                    } catch ( InterruptedException e ) {
+                        return;
+                    }
+                } else {
+                    next = System.nanoTime();   // fallen behind
+                }
+            }
+        }
+    }
+    
+    /**
+     *  Draws the next frame of the animation, and shows it. Until the
+     *  animation draws only what's changed, it's drawn straight in the
+     *  back buffer, once, since drawing it again would move it on; a
+     *  frame lost then is followed by a whole one in any case. After,
+     *  it's drawn in the image that keeps it, which is copied to the
+     *  back buffer as often as that's lost.
+     */
+    private void drawFrame( ) {
+        BufferStrategy strategy = getBufferStrategy();
+        Rectangle[] dirty = animation.getDirtyRectangles();
+        if ( dirty == null && frame == null ) {
+            Graphics g = strategy.getDrawGraphics();
+            try {
+                g.setColor(getBackground());
+                g.fillRect(0,0,getWidth(),getHeight());
+                animation.paintFrame(g);
+            } finally {
+                g.dispose();
+            }
+            strategy.show();
+        } else {
+            drawInFrame(dirty);
+            do {
+                do {
+                    Graphics g = strategy.getDrawGraphics();
+                    try {
+                        g.drawImage(frame,0,0,null);
+                    } finally {
+                        g.dispose();
+                    }
+                } while ( strategy.contentsRestored() );
+                strategy.show();
+            } while ( strategy.contentsLost() );
+        }
+        Toolkit.getDefaultToolkit().sync();
+    }
+    
+    /**
+     *  Draws the parts of the frame that have changed in the image that
+     *  keeps it, or the whole frame when they're null or the image has
+     *  been lost, making the image when there isn't one that fits.
+     */
+    private void drawInFrame( Rectangle[] dirty ) {
+        int status = ( frame != null ) ?
+            frame.validate(getGraphicsConfiguration()) :
+            VolatileImage.IMAGE_INCOMPATIBLE;
+        if ( status == VolatileImage.IMAGE_INCOMPATIBLE ) {
+            if ( frame != null ) {
+                frame.flush();
+            }
+            frame = createVolatileImage(getWidth(),getHeight());
+            frame.validate(getGraphicsConfiguration());
+        }
+        if ( status != VolatileImage.IMAGE_OK && dirty != null ) {
+            animation.frameLost();
+            dirty = null;
+        }
+        Graphics2D g = frame.createGraphics();
+        try {
+            g.setBackground(getBackground());
+            if ( dirty == null ) {
+                g.clearRect(0,0,getWidth(),getHeight());
+            } else {
+                Path2D clip = new Path2D.Float();
+                for ( int i = 0; i < dirty.length; ++i ) {
+                    Rectangle r = dirty[i];
+                    g.clearRect(r.x,r.y,r.width,r.height);
+                    clip.append(r,false);
+                }
+                g.setClip(clip);
+            }
+            animation.paintFrame(g);
+        } finally {
+            g.dispose();
+        }
+        if ( frame.contentsLost() ) {
+            animation.frameLost();
+        }
+    }
+
+}
@@ -5,7 +5,6 @@
  */
 package org.dolben.anim;
 
-import org.dolben.poly.ColoredFaces;
 import org.dolben.poly.TruncatedTetrahedron;
 import org.dolben.poly.TruncatedCube;
 import org.dolben.poly.TruncatedOctahedron;
@@ -46,33 +45,29 @@ public class ArchimedeanGas extends Collidoscope {
     private static final long serialVersionUID = 1;
 
     /**
-     *  Creates the bodies in the simulation.
+     *  Creates the bodies in the simulation, as many of each solid
+     *  as the parameter "count" gives, by default one.
      */
     protected void createBodies( double[] limit ) {
         final int N = 13;  // number of solids
-        // make the radius so that the volume taken up is
-        // about the same as the Platonics
-        double volume = 1.0/(10*N);
-        for ( int i = 0; i < 3; i++ ) {
-            volume *= 2*limit[i];
-        }
-        /* V = 4/3 π r^3; r = 3/4/π V^(1/3) */
-        double radius = Math.pow((3/4.0)/Math.PI*volume,1/3.0);
-        initBody(new ColoredFaces(new TruncatedTetrahedron      ()),radius);
-        initBody(new ColoredFaces(new TruncatedCube             ()),radius);
-        initBody(new ColoredFaces(new TruncatedOctahedron       ()),radius);
-        initBody(new ColoredFaces(new TruncatedDodecahedron     ()),radius);
-        initBody(new ColoredFaces(new TruncatedIcosahedron      ()),radius);
+        int count = Integer.parseInt(getParameter("count","1"));
+        SceneBuilder builder = createSceneBuilder(N*count);
+        builder.add(new TruncatedTetrahedron      (),count);
+        builder.add(new TruncatedCube             (),count);
+        builder.add(new TruncatedOctahedron       (),count);
+        builder.add(new TruncatedDodecahedron     (),count);
+        builder.add(new TruncatedIcosahedron      (),count);
         
-        initBody(new ColoredFaces(new Cuboctahedron             ()),radius);
-        initBody(new ColoredFaces(new TruncatedCuboctahedron    ()),radius);
-        initBody(new ColoredFaces(new Rhombicuboctahedron       ()),radius);
-        initBody(new ColoredFaces(new Icosidodecahedron         ()),radius);
-        initBody(new ColoredFaces(new TruncatedIcosidodecahedron()),radius);
-        initBody(new ColoredFaces(new Rhombicosidodecahedron    ()),radius);
+        builder.add(new Cuboctahedron             (),count);
+        builder.add(new TruncatedCuboctahedron    (),count);
+        builder.add(new Rhombicuboctahedron       (),count);
+        builder.add(new Icosidodecahedron         (),count);
+        builder.add(new TruncatedIcosidodecahedron(),count);
+        builder.add(new Rhombicosidodecahedron    (),count);
         
-        initBody(new ColoredFaces(new SnubCube                  ()),radius);
-        initBody(new ColoredFaces(new SnubDodecahedron          ()),radius);
-     }
+        builder.add(new SnubCube                  (),count);
+        builder.add(new SnubDodecahedron          (),count);
+        initBodies(builder);
+    }
 
 }
@@ -6,8 +6,14 @@
 package org.dolben.anim;
 
 import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.HashMap;
+import java.util.Map;
+import org.dolben.iiid.Mat3;
 import org.dolben.iiid.Rn;
 import org.dolben.iiid.Projector;
+import org.dolben.iiid.Vec3;
+import org.dolben.poly.Contact;
 import org.dolben.poly.Polyhedron;
 import org.dolben.poly.Solid;
 
@@ -17,10 +23,33 @@ import org.dolben.poly.Solid;
  */
 public class Body implements Comparable {
     
+    private static int created = 0; // the number of bodies created
+    private static final double TOUCH = 1e-6;   // of the sum of radii
+    
+    // the directions of the walls, each axis up and then down
+    private static final double[][] WALLS = {
+        { 1, 0, 0}, { 0, 1, 0}, { 0, 0, 1},
+        {-1, 0, 0}, { 0,-1, 0}, { 0, 0,-1}
+    };
+    
     private Solid solid;            // the Solid that moves
     private double[][] rotation;    // the rotation for each step of motion
     private double[] velocity;      // the displacement per step
     private double[] maximum;       // the limit of the trap
+    private double[] upper = new double[3]; // extent above the center
+    private double[] lower = new double[3]; // extent below the center
+    private int wall;               // the axis of the next wall impact
+    private int[] extreme = new int[WALLS.length]; // vertex nearest each wall
+    private int serial;             // the order in which it was created
+    private Map contacts;           // Contacts with later bodies, or null
+    private Map visited;            // those used since the last sweep
+    private double impulse;         // momentum given to walls, unit mass
+    private int type;               // the type of body in its scene
+    private double[][] orientation; // the rotation since it was created
+    private Rectangle shown;        // where it was last shown, or null
+    private double[][] shownOrientation;    // its orientation then
+    private double mass;            // its volume, or 0 until it's found
+    private Mat3 inverseInertia;    // inverse of its shape's inertia
     
     /**
      *  Creates a new Body for a given solid.
@@ -29,6 +58,10 @@ public class Body implements Comparable {
      */
     public Body( Solid s ) {
         solid = s;
+        synchronized ( Body.class ) {
+            serial = created++;
+        }
+        orientation = new double[][] { {1,0,0}, {0,1,0}, {0,0,1} };
     }
     
     /**
@@ -41,6 +74,53 @@ public class Body implements Comparable {
         solid.paint(projector,graphics);
     }
     
+    /**
+     *  Gets a rectangle of the drawing that holds the body where it is
+     *  now, that around its circumsphere.
+     *
+     *  @param projector the projector that maps 3D to Graphics coordinates
+     *
+     *  @return the rectangle
+     */
+    public Rectangle getBounds( Projector projector ) {
+        return projector.getBounds(getPosition(),getCollisionRadius());
+    }
+    
+    /**
+     *  Gets the rectangle of the drawing where the body was last shown.
+     *
+     *  @return the rectangle, or null if it hasn't been shown
+     */
+    public Rectangle getShown( ) {
+        return shown;
+    }
+    
+    /**
+     *  Sets where the body is to be shown, and tells whether it looks
+     *  any different there than where it was last shown, either moved
+     *  or turned.
+     *
+     *  @param bounds the rectangle of the drawing that holds it
+     *
+     *  @return true if it's changed, or hasn't been shown
+     */
+    public boolean setShown( Rectangle bounds ) {
+        boolean changed = shown == null || !shown.equals(bounds) ||
+            shownOrientation != orientation;
+        shown = bounds;
+        shownOrientation = orientation;
+        return changed;
+    }
+    
+    /**
+     *  Gets the solid that the body moves.
+     *
+     *  @return the solid
+     */
+    public Solid getSolid( ) {
+        return solid;
+    }
+    
     /**
      *  Gets the solid's polyhedron.
      */
@@ -49,11 +129,73 @@ public class Body implements Comparable {
     }
     
     /**
-     *  Gets the solid's collision radius (a hack)
+     *  Gets the position of the body, the vector to its center.
+     *
+     *  @return the position
+     */
+    public double[] getPosition( ) {
+        return getPolyhedron().getPosition();
+    }
+    
+    /**
+     *  Gets the velocity of the body.
+     *
+     *  @return the displacement per step
+     */
+    public double[] getVelocity( ) {
+        return velocity;
+    }
+    
+    /**
+     *  Gets the solid's collision radius, beyond which nothing touches it;
+     *  the radius of its circumsphere.
      */
     public double getCollisionRadius( ) {
-        double sqrtn = Math.sqrt(getPolyhedron().getVertexCount());
-        return getPolyhedron().getRadius()*(sqrtn-1)/sqrtn;
+        return getPolyhedron().getRadius();
+    }
+    
+    /**
+     *  Gets the Contact between this body and another, which is kept,
+     *  while they're near each other, by the one that was created first.
+     */
+    private Contact getContact( Body other ) {
+        if ( visited == null ) {
+            visited = new HashMap();
+        }
+        Contact contact = (Contact)visited.get(other);
+        if ( contact == null ) {
+            if ( contacts != null ) {
+                contact = (Contact)contacts.get(other);
+            }
+            if ( contact == null ) {
+                contact = new Contact(getPolyhedron(),other.getPolyhedron());
+            }
+            visited.put(other,contact);
+        }
+        return contact;
+    }
+    
+    /**
+     *  Drops the Contact between this body and another, if there is one,
+     *  when they're no longer near each other.
+     */
+    private void dropContact( Body other ) {
+        if ( contacts != null ) {
+            contacts.remove(other);
+        }
+        if ( visited != null ) {
+            visited.remove(other);
+        }
+    }
+    
+    /**
+     *  Drops the Contacts that haven't been used since the last sweep,
+     *  those with bodies that have drifted too far away to be compared
+     *  with this one, and keeps the rest until the next.
+     */
+    void sweepContacts( ) {
+        contacts = visited;
+        visited = null;
     }
     
     /**
@@ -80,6 +222,53 @@ public class Body implements Comparable {
         }
     }
     
+    /**
+     *  Gets the type of the body, the index of its shape in its scene.
+     *
+     *  @return the type
+     */
+    public int getType( ) {
+        return type;
+    }
+    
+    /**
+     *  Sets the type of the body, the index of its shape in its scene.
+     *
+     *  @param t the type
+     */
+    public void setType( int t ) {
+        type = t;
+    }
+    
+    /**
+     *  Gets the orientation of the body, the rotation of its shape
+     *  to the way the body is turned now.
+     *
+     *  @return the 3D rotation matrix
+     */
+    public double[][] getOrientation( ) {
+        return orientation;
+    }
+    
+    /**
+     *  Sets the orientation of the body, the rotation its polyhedron
+     *  has already been turned through from its shape.
+     *
+     *  @param o the 3D rotation matrix
+     */
+    public void setOrientation( double[][] o ) {
+        orientation = o;
+    }
+    
+    /**
+     *  Gets the rotation done with each step of motion.
+     *
+     *  @return the 3D rotation matrix, or null for none
+     */
+    public double[][] getRotation( ) {
+        return rotation;
+    }
+    
     /**
      *  Sets the rotation to be done with each step of motion.
      *
@@ -89,6 +278,82 @@ public class Body implements Comparable {
         rotation = r;
     }
     
+    /**
+     *  Gets the angular velocity of the body, from the rotation done
+     *  with each step: the axis scaled by the angle, which is less
+     *  than half a turn.
+     *
+     *  @return the 3D vector, in radians per step
+     */
+    public double[] getAngularVelocity( ) {
+        if ( rotation == null ) {
+            return new double[3];
+        }
+        double[][] r = rotation;
+        // twice the sine of the angle, along the axis
+        double[] axis = {
+            r[2][1]-r[1][2], r[0][2]-r[2][0], r[1][0]-r[0][1]
+        };
+        double s = Rn.magnitude(axis);
+        double angle = Math.atan2(s/2,(r[0][0]+r[1][1]+r[2][2]-1)/2);
+        return Rn.multiply(( s > 0 ) ? angle/s : 0.5,axis);
+    }
+    
+    /**
+     *  Sets the rotation done with each step from an angular velocity.
+     *
+     *  @param w the 3D vector, the axis scaled by the angle per step
+     */
+    public void setAngularVelocity( double[] w ) {
+        double angle = Rn.magnitude(w);
+        if ( angle == 0 ) {
+            rotation = null;
+        } else {
+            rotation = Mat3.rotation(
+                new Vec3(w).multiply(1/angle),angle
+            ).toArray();
+        }
+    }
+    
+    /**
+     *  Gets the mass of the body, a solid of unit density.
+     *
+     *  @return the volume of its polyhedron
+     */
+    public double getMass( ) {
+        if ( mass == 0 ) {
+            findInertia();
+        }
+        return mass;
+    }
+    
+    /**
+     *  Gets the inverse of the inertia tensor of the body about its
+     *  center, as it's turned now, a solid of unit density.
+     *
+     *  @return the inverse
+     */
+    public Mat3 getInverseInertia( ) {
+        if ( mass == 0 ) {
+            findInertia();
+        }
+        Mat3 o = new Mat3(orientation);
+        return o.multiply(inverseInertia).multiply(o.transpose());
+    }
+    
+    /**
+     *  Finds the mass and the inertia of the polyhedron once, turning
+     *  the inertia back to its shape so that it's only turned by the
+     *  orientation from then on.
+     */
+    private void findInertia( ) {
+        Mat3 o = new Mat3(orientation);
+        Mat3 inertia = new Mat3(getPolyhedron().getInertia());
+        inverseInertia = o.transpose().multiply(inertia).multiply(o)
+            .inverse();
+        mass = getPolyhedron().getVolume();
+    }
+    
     /**
      *  Sets the velocity and limit of translation.
      *
@@ -105,32 +370,213 @@ public class Body implements Comparable {
      *  Moves the polyhedron one step.
      */
     public void step( ) {
+        spin();
+        if ( velocity != null ) {
+            move(1);
+            trap();
+        }
+    }
+    
+    /**
+     *  Rotates the polyhedron for one step, then finds the extent
+     *  of its vertices from its center in each dimension.
+     */
+    public void spin( ) {
         if ( rotation  != null ) {
             getPolyhedron().rotate(rotation);
+            orientation = new Mat3(rotation).multiply(new Mat3(orientation))
+                .toArray();
+        }
+        findExtremes();
+        double[] p = getPolyhedron().getPosition();
+        for ( int i = 0; i < 3; ++i ) {
+            upper[i] = getPolyhedron().getVertex(extreme[i])[i]-p[i];
+            lower[i] = p[i]-getPolyhedron().getVertex(extreme[i+3])[i];
         }
+    }
+    
+    /**
+     *  Finds the vertex nearest each wall, starting from the last found.
+     */
+    private void findExtremes( ) {
+        for ( int i = 0; i < WALLS.length; ++i ) {
+            extreme[i] = getPolyhedron().getSupport(WALLS[i],extreme[i]);
+        }
+    }
+    
+    /**
+     *  Translates the polyhedron through a fraction of a step.
+     *
+     *  @param t the fraction of a step
+     */
+    public void move( double t ) {
         if ( velocity != null ) {
-            getPolyhedron().translate(velocity);
-            trap();
+            getPolyhedron().translate(Rn.multiply(t,velocity));
+        }
+    }
+    
+    /**
+     *  Translates the polyhedron to put its center at a position.
+     *
+     *  @param position the new position
+     */
+    public void moveTo( double[] position ) {
+        getPolyhedron().translate(
+            Rn.subtract(position,getPolyhedron().getPosition())
+        );
+    }
+    
+    /**
+     *  Gets the time until the polyhedron hits a wall of the trap,
+     *  using the extent found by the last spin().
+     *
+     *  @param horizon the time beyond which an impact is of no interest
+     *
+     *  @return the time, in steps, of the impact,
+     *          or infinity when there is none within the horizon
+     */
+    public double getWallImpactTime( double horizon ) {
+        double[] p = getPolyhedron().getPosition();
+        double earliest = Double.POSITIVE_INFINITY;
+        for ( int i = 0; i < 3; ++i ) {
+            double t;
+            if ( velocity[i] > 0 ) {
+                t = (maximum[i]-p[i]-upper[i])/velocity[i];
+            } else if ( velocity[i] < 0 ) {
+                t = (-maximum[i]-p[i]+lower[i])/velocity[i];
+            } else {
+                continue;
+            }
+            // already past the wall and still heading out
+            if ( t < 0 ) {
+                t = 0;
+            }
+            if ( t < earliest && t <= horizon ) {
+                earliest = t;
+                wall = i;
+            }
+        }
+        return earliest;
+    }
+    
+    /**
+     *  Bounces the polyhedron off of the wall
+     *  found by the last getWallImpactTime().
+     */
+    public void bounceOffWall( ) {
+        impulse += 2*Math.abs(velocity[wall]);
+        velocity[wall] = -velocity[wall];
+    }
+    
+    /**
+     *  Takes the momentum given to the walls, for a body of unit mass,
+     *  since it was last taken.
+     *
+     *  @return the sum of the momentum of each reversal at a wall
+     */
+    public double takeImpulse( ) {
+        double taken = impulse;
+        impulse = 0;
+        return taken;
+    }
+    
+    /**
+     *  <p> Gets the time until this body hits another.
+     *  </p>
+     *  <p> The spheres of their collision radii are swept along their
+     *  velocities to find when they could first touch. From then the
+     *  exact distance between the polyhedra is a convex function of time,
+     *  since they only translate during a step, so each Newton step
+     *  along it falls short of the impact, and lands on it once the
+     *  nearest features of the two stop changing.
+     *  </p>
+     *  @param other the other body
+     *  @param horizon the time beyond which an impact is of no interest
+     *
+     *  @return the time, in steps, of the impact, which may fall short
+     *          of it when it's hard to find,
+     *          or infinity when there is none within the horizon
+     */
+    public double getImpactTime( Body other, double horizon ) {
+        if ( other.serial < serial ) {
+            return other.getImpactTime(this,horizon);
+        }
+        double[] disp = Rn.subtract(
+            other.getPolyhedron().getPosition(),getPolyhedron().getPosition()
+        );
+        double[] deltav = Rn.subtract(other.velocity,velocity);
+        double r = getCollisionRadius()+other.getCollisionRadius();
+        double t = sweep(disp,deltav,r);
+        if ( t > horizon ) {
+            dropContact(other);
+            return Double.POSITIVE_INFINITY;
+        }
+        final int MAX_STEPS = 16;
+        Contact contact = getContact(other);
+        for ( int i = 0; i < MAX_STEPS; ++i ) {
+            double distance = contact.getDistance(Rn.multiply(t,deltav));
+            // the rate at which the distance is falling
+            double closing = -Rn.dot(deltav,contact.getNormal());
+            if ( closing <= 0 ) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if ( distance <= TOUCH*r ) {
+                break;
+            }
+            t += distance/closing;
+            if ( t > horizon ) {
+                return Double.POSITIVE_INFINITY;
+            }
         }
+        return t;
+    }
+    
+    /**
+     *  Sweeps a pair of spheres to find when they first overlap.
+     *
+     *  @param disp the displacement of one from the other
+     *  @param deltav the velocity of one relative to the other
+     *  @param r the sum of their radii
+     *
+     *  @return the time, in steps, of the overlap, 0 if they already do,
+     *          or infinity if they never will
+     */
+    private static double sweep( double[] disp, double[] deltav, double r ) {
+        double c = Rn.dot(disp,disp)-r*r;
+        if ( c <= 0 ) {
+            return 0;
+        }
+        double b = Rn.dot(deltav,disp);
+        // never when they're moving apart
+        if ( b >= 0 ) {
+            return Double.POSITIVE_INFINITY;
+        }
+        /* |disp+deltav t| = r; a t^2 + 2 b t + c = 0 */
+        double a = Rn.dot(deltav,deltav);
+        double discriminant = b*b-a*c;
+        if ( discriminant < 0 ) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // the lesser root, in a form that doesn't lose precision
+        return c/(Math.sqrt(discriminant)-b);
     }
     
     /**
      *  Bounces the polyhedron off of the walls of an enclosing cube.
      */
     private void trap( ) {
-        double[][] v = getPolyhedron().getVertices();
+        findExtremes();
         for ( int i = 0; i < 3; ++i ) {
-            for ( int j = 0; j < v.length; ++j ) {
-                if ( v[j][i] > maximum[i] ) {
-                    if ( velocity[i] > 0 ) {
-                        velocity[i] = -velocity[i];
-                    }
-                    break;
-                } else if ( v[j][i] < -maximum[i] ) {
-                    if ( velocity[i] < 0 ) {
-                        velocity[i] = -velocity[i];
-                    }
-                    break;
+            if ( getPolyhedron().getVertex(extreme[i])[i] > maximum[i] ) {
+                if ( velocity[i] > 0 ) {
+                    impulse += 2*velocity[i];
+                    velocity[i] = -velocity[i];
+                }
+            } else if ( getPolyhedron().getVertex(extreme[i+3])[i]
+                        < -maximum[i] ) {
+                if ( velocity[i] < 0 ) {
+                    impulse -= 2*velocity[i];
+                    velocity[i] = -velocity[i];
                 }
             }
         }
@@ -139,40 +585,68 @@ public class Body implements Comparable {
     /**
      *  <p> Bounces this body off of another when they collide.
      *  </p>
-     *  <p> The objects are considered to be spheres of the same mass.
+     *  <p> The objects are considered to be of the same mass,
+     *  without regard to their spin.
      *  </p>
-     *  <p> The threshhold distance for a collision is less than the sum of
-     *  the radii of the circumspheres, since the objects often appear
-     *  to miss at greater distance.
+     *  <p> The circumspheres are tested first, since most pairs are far
+     *  apart, and then the polyhedra themselves.
      *  </p>
      *  @param other the other body in a collision
      */
     public void collide( Body other ) {
-        double[] p = getPolyhedron().getPosition();
-        double[] po = other.getPolyhedron().getPosition();
-        
-        // the vector from this solid to the other
-        double[] disp = Rn.subtract(po,p);
-        double dist = Rn.magnitude(disp); // distance between centers
-        double r = getCollisionRadius();
-        double ro = other.getCollisionRadius();
-        // make them bounce only when they're close to each other
-        if ( dist < r+ro ) {
-            double[] deltav = Rn.subtract(other.velocity,velocity);
-            // and moving toward each other
-            if ( Rn.dot(deltav,disp) < 0 ) {
-                // unit vector in the direction from this solid to the other
-                double[] dir = Rn.multiply(1/dist,disp);
-                
-                // component of this solid's velocity in the direction
-                double[] v = Rn.multiply(Rn.dot(dir,velocity),dir);
-                
-                // component of the other solid's velocity in the direction
-                double[] vo = Rn.multiply(Rn.dot(dir,other.velocity),dir);
-                
-                velocity = Rn.add(Rn.subtract(velocity,v),vo);
-                other.velocity = Rn.add(Rn.subtract(other.velocity,vo),v);
-            }
+        if ( other.serial < serial ) {
+            other.collide(this);
+            return;
+        }
+        Vec3 p = new Vec3(getPolyhedron().getPosition());
+        Vec3 po = new Vec3(other.getPolyhedron().getPosition());
+        double dist = po.subtract(p).magnitude();
+        if ( dist >= getCollisionRadius()+other.getCollisionRadius() ) {
+            dropContact(other);
+        } else if ( getContact(other).intersects() ) {
+            exchange(other,getContact(other).getNormal());
+        }
+    }
+    
+    /**
+     *  Bounces this body off of another that it's touching,
+     *  when they're moving toward each other.
+     *
+     *  @param other the other body in a collision
+     */
+    public void bounce( Body other ) {
+        if ( other.serial < serial ) {
+            other.bounce(this);
+            return;
+        }
+        double r = getCollisionRadius()+other.getCollisionRadius();
+        Contact contact = getContact(other);
+        if ( contact.getDistance(null) <= TOUCH*r ) {
+            exchange(other,contact.getNormal());
+        }
+    }
+    
+    /**
+     *  Exchanges the components of velocity of this body and another
+     *  in the direction of the normal at their contact,
+     *  when they're moving toward each other.
+     *
+     *  @param other the other body in a collision
+     *  @param dir the unit normal, from this body to the other
+     */
+    private void exchange( Body other, double[] dir ) {
+        Vec3 d = new Vec3(dir);
+        Vec3 u = new Vec3(velocity);
+        Vec3 uo = new Vec3(other.velocity);
+        if ( uo.subtract(u).dot(d) < 0 ) {
+            // component of this solid's velocity in the direction
+            Vec3 v = d.multiply(d.dot(u));
+            
+            // component of the other solid's velocity in the direction
+            Vec3 vo = d.multiply(d.dot(uo));
+            
+            velocity = u.subtract(v).add(vo).toArray();
+            other.velocity = uo.subtract(vo).add(v).toArray();
         }
     }
 
@@ -0,0 +1,188 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  Saves the state of a Scene in a binary file, and restores it.
+ *  </p><p>
+ *  The file is a header, then each array of the scene in turn, little
+ *  endian, without anything between the bodies. The header holds a magic
+ *  number, the version of the format, the number of bodies, the number
+ *  of types and the limit of the box. The shapes of the types aren't
+ *  saved; they're given back when the scene is restored.
+ *  </p><p>
+ *  It's written through a channel a large buffer at a time, and read
+ *  by mapping the file into memory.
+ *  </p>
+ */
+public class Checkpoint {
+    
+    private static final int MAGIC = 0x434c4453;    // "CLDS"
+    private static final int VERSION = 1;
+    private static final int HEADER = 4*4+3*8;      // the size of the header
+    private static final int BUFFER = 1<<20;        // the size of a write
+    
+    private FileChannel channel;    // the channel to the file
+    private ByteBuffer buffer;      // what's yet to be written
+    
+    private Checkpoint( FileChannel c ) {
+        channel = c;
+        buffer = ByteBuffer.allocateDirect(BUFFER);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     *  Saves a scene in a file.
+     *
+     *  @param scene the scene
+     *  @param file the file, which is replaced
+     *
+     *  @throws IOException when the file can't be written
+     */
+    public static void write( Scene scene, File file ) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file,"rw");
+        try {
+            raf.setLength(0);
+            Checkpoint checkpoint = new Checkpoint(raf.getChannel());
+            checkpoint.writeScene(scene);
+        } finally {
+            raf.close();
+        }
+    }
+    
+    /**
+     *  Restores a scene from a file.
+     *
+     *  @param file the file
+     *  @param shapes the shape of each type of body
+     *
+     *  @return the new Scene
+     *
+     *  @throws IOException when the file can't be read, isn't a checkpoint,
+     *                      has more types than there are shapes, or has
+     *                      a body of a type it doesn't have
+     */
+    public static Scene read( File file, Polyhedron[] shapes )
+        throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file,"r");
+        try {
+            FileChannel channel = raf.getChannel();
+            if ( channel.size() < HEADER ) {
+                throw new IOException(file+" is not a checkpoint");
+            }
+            MappedByteBuffer map =
+                channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if ( map.getInt() != MAGIC || map.getInt() != VERSION ) {
+                throw new IOException(file+" is not a checkpoint");
+            }
+            int n = map.getInt();
+            int types = map.getInt();
+            double[] limit = new double[3];
+            for ( int k = 0; k < 3; ++k ) {
+                limit[k] = map.getDouble();
+            }
+            if ( types > shapes.length ) {
+                throw new IOException(
+                    file+" has "+types+" types of body, but there are only "
+                    +shapes.length+" shapes"
+                );
+            }
+            if ( channel.size() != HEADER+(long)n*(4+8*(1+3+3+9+9)) ) {
+                throw new IOException(file+" is the wrong size");
+            }
+            Scene scene = new Scene(shapes,n,limit);
+            int[] type = scene.getTypes();
+            map.asIntBuffer().get(type);
+            map.position(map.position()+4*n);
+            for ( int i = 0; i < n; ++i ) {
+                if ( type[i] < 0 || type[i] >= types ) {
+                    throw new IOException(
+                        file+" has a body of type "+type[i]+", but only "
+                        +types+" types of body"
+                    );
+                }
+            }
+            getDoubles(map,scene.getRadii());
+            getDoubles(map,scene.getPositions());
+            getDoubles(map,scene.getVelocities());
+            getDoubles(map,scene.getOrientations());
+            getDoubles(map,scene.getRotations());
+            return scene;
+        } finally {
+            raf.close();
+        }
+    }
+    
+    // Reads an array of doubles, moving past them in the map.
+    private static void getDoubles( ByteBuffer map, double[] a ) {
+        map.asDoubleBuffer().get(a);
+        map.position(map.position()+8*a.length);
+    }
+    
+    /**
+     *  Writes the header and each array of a scene.
+     */
+    private void writeScene( Scene scene ) throws IOException {
+        int n = scene.getCount();
+        double[] limit = scene.getLimit();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(n);
+        buffer.putInt(scene.getShapes().length);
+        for ( int k = 0; k < 3; ++k ) {
+            buffer.putDouble(limit[k]);
+        }
+        int[] type = scene.getTypes();
+        for ( int i = 0; i < n; i += BUFFER/4 ) {
+            int m = Math.min(n-i,BUFFER/4);
+            if ( buffer.remaining() < 4*m ) {
+                flush();
+            }
+            buffer.asIntBuffer().put(type,i,m);
+            buffer.position(buffer.position()+4*m);
+        }
+        putDoubles(scene.getRadii());
+        putDoubles(scene.getPositions());
+        putDoubles(scene.getVelocities());
+        putDoubles(scene.getOrientations());
+        putDoubles(scene.getRotations());
+        flush();
+    }
+    
+    // Writes an array of doubles, a buffer at a time.
+    private void putDoubles( double[] a ) throws IOException {
+        for ( int i = 0; i < a.length; i += BUFFER/8 ) {
+            int m = Math.min(a.length-i,BUFFER/8);
+            if ( buffer.remaining() < 8*m ) {
+                flush();
+            }
+            buffer.asDoubleBuffer().put(a,i,m);
+            buffer.position(buffer.position()+8*m);
+        }
+    }
+    
+    // Writes what's in the buffer to the channel.
+    private void flush( ) throws IOException {
+        buffer.flip();
+        while ( buffer.hasRemaining() ) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
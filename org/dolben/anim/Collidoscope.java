@@ -9,12 +9,19 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
 import org.dolben.iiid.*;
+import org.dolben.poly.ColoredFaces;
 import org.dolben.poly.Cuboid;
 import org.dolben.poly.Polyhedron;
 import org.dolben.poly.ShadedFaces;
@@ -27,9 +34,37 @@ import org.dolben.poly.Solid;
 public abstract class Collidoscope extends AnimationApplet {
     
     private static final long serialVersionUID = 1;
+    private static final BasicStroke STROKE = new BasicStroke(0.75f);
+    private static final Logger LOGGER =
+        Logger.getLogger(Collidoscope.class.getName());
     private Projector projector;    // the projector to draw 3D
     private List bodies;            // the list of moving objects
     private Solid trap;             // the box they're in
+    private boolean eventDriven;    // move them by events instead of steps
+    private EventSimulation events; // the simulation when event driven
+    private Body[] driven;          // the bodies in order of simulation
+    private Observables observables;    // observations of the gas, or null
+    private long seed;              // the seed of all of the random numbers
+    private SplittableRandom random;    // splits a stream for each body
+    private Polyhedron[] shapes;    // the shapes of the scene, if any
+    private TransformServer server; // publishes the bodies, or null
+    private Scene published;        // the scene it publishes, or null
+    private Body[] publishing;      // the body of each in its scene
+    private Picker picker;          // finds the body at a pixel, or null
+    private Scene picked;           // the scene of the picker
+    private Body[] pickable;        // the body of each in its scene
+    private FloatScene floats;      // draws the bodies in floats, or null
+    private Scene drawn;            // the scene it's updated from
+    private Body[] drawing;         // the body of each in its scene
+    private DirtyRegion dirty;      // what changes in the frame, or null
+    private boolean whole = true;   // whether the frame is drawn whole
+    private boolean lost;           // whether the last frame was lost
+    private QualityGovernor governor;   // the quality to draw at
+    private BufferedImage half;     // the frame at half resolution, or null
+    private RigidBodySolver solver; // moves them as rigid bodies, or null
+    private ImpactQueue impacts;    // moves them from impact to impact
+    private long frames;            // the number of frames drawn
+    private long saved;             // the number when last saved
     
     /**
      *  Creates the bodies in the simulation.
@@ -38,12 +73,42 @@ public abstract class Collidoscope extends AnimationApplet {
      */
     protected abstract void createBodies( double[] limit );
     
+    /**
+     *  Sets whether the bodies are moved by an event-driven simulation
+     *  of hard spheres, their circumspheres, instead of step by step.
+     *  Call it from createBodies(), to decide otherwise than the
+     *  parameter "events" does.
+     *
+     *  @param on true for event driven
+     */
+    protected void setEventDriven( boolean on ) {
+        eventDriven = on;
+    }
+    
+    /**
+     *  Sets the observables to which the bodies are added as they
+     *  are moved. Call it from createBodies(), to have them otherwise
+     *  than the parameter "observe" does.
+     *
+     *  @param o the observables, or null for none
+     */
+    protected void setObservables( Observables o ) {
+        observables = o;
+    }
+    
     /**
      *  Creates the moving 3D objects, a cuboid that contains them,
      *  and a projector to draw them in 2D.
+     *  The random numbers are seeded from the parameter "seed" when it's
+     *  given, so that the same seed makes the same bodies.
+     *  The bodies are moved by an event-driven simulation when the
+     *  parameter "events" is "on".
      */
     protected void initAnimation( ) {
         period = Math.round(1000.0f/24);
+        String s = getParameter("seed",null);
+        seed = ( s != null ) ? Long.parseLong(s) : System.nanoTime();
+        random = new SplittableRandom(seed);
         double width = getSize().width-3;
         double height = getSize().height-3;
         double depth = ( width < height ) ? width : height;
@@ -51,7 +116,10 @@ public abstract class Collidoscope extends AnimationApplet {
         Cuboid cuboid = new Cuboid(width,height,depth);
         cuboid.turnInsideOut();
         trap = new ShadedFaces(cuboid,Color.gray);
-        bodies = new LinkedList();
+        bodies = new ArrayList();
+        events = null;
+        observables = null;
+        eventDriven = getParameter("events","off").equals("on");
         double[] limit = cuboid.getExtent();
         createBodies(limit);
         double vmax =
@@ -59,48 +127,375 @@ public abstract class Collidoscope extends AnimationApplet {
         Iterator it = bodies.iterator();
         while ( it.hasNext() ) {
             Body body = (Body)it.next();
-            body.setVelocity(vrandge(vmax),limit);
+            if ( body.getVelocity() == null ) {
+                body.setVelocity(vrandge(random.split(),vmax),limit);
+            }
+        }
+        if ( eventDriven ) {
+            startEvents(limit);
+        } else {
+            startSolver(limit);
         }
+        startObservables(limit,vmax);
+        startServer();
+        startFloats();
+        startGovernor();
+    }
+    
+    /**
+     *  Starts moving the bodies as rigid solids with a RigidBodySolver
+     *  when the parameter "rigid" is "on", with the restitution and the
+     *  friction from the parameters "restitution" and "friction", by
+     *  default 1 and 0. The parameter "gravity", in pixels per second
+     *  per second, down the drawing, turns it on whatever "rigid" is,
+     *  with the walls of the trap as contacts for the bodies to rest
+     *  on, and with a restitution of 0.3 and a friction of 0.5 by
+     *  default. Then the bodies that come to rest sleep, with those
+     *  they touch, unless the parameter "sleep" is "off".
+     *
+     *  @param limit the maxima in 3D of the box
+     */
+    private void startSolver( double[] limit ) {
+        String gravity = getParameter("gravity",null);
+        if ( gravity == null && !getParameter("rigid","off").equals("on") ) {
+            return;
+        }
+        solver = new RigidBodySolver();
+        String restitution = "1";
+        String friction = "0";
+        if ( gravity != null ) {
+            double g = Double.parseDouble(gravity)
+                *(period/1000.0)*(period/1000.0);
+            solver.setGravity(new double[] { 0, -g, 0 });
+            solver.setTrap(limit);
+            solver.setSleeping(!getParameter("sleep","on").equals("off"));
+            restitution = "0.3";
+            friction = "0.5";
+        }
+        solver.setRestitution(
+            Double.parseDouble(getParameter("restitution",restitution))
+        );
+        solver.setFriction(
+            Double.parseDouble(getParameter("friction",friction))
+        );
+    }
+    
+    /**
+     *  Starts observing the bodies, unless createBodies() has set the
+     *  observables, when the parameter "observe" gives the number of
+     *  steps in each window of observations, logging each window.
+     *
+     *  @param limit the maxima in 3D of the box
+     *  @param vmax the most of each component of the velocities given
+     */
+    private void startObservables( double[] limit, double vmax ) {
+        final int BINS = 20;
+        String observe = getParameter("observe",null);
+        if ( observe == null || observables != null ) {
+            return;
+        }
+        observables =
+            new Observables(limit,Integer.parseInt(observe),BINS,3*vmax);
+        observables.addListener(new Observables.Listener() {
+            public void observe( Observables.Window window ) {
+                LOGGER.info(
+                    window.getSteps()+" steps: temperature "
+                    +(float)window.getTemperature()+", pressure "
+                    +(float)window.getPressure()+" (ideal "
+                    +(float)window.getIdealPressure()+"), mean speed "
+                    +(float)window.getSpeed()
+                );
+            }
+        });
+    }
+    
+    /**
+     *  Starts governing the quality of drawing by the time each frame
+     *  takes, unless the parameter "quality" gives a level to keep,
+     *  0 for full quality to 4 for the least.
+     */
+    private void startGovernor( ) {
+        governor = new QualityGovernor(1000.0/period);
+        String quality = getParameter("quality","auto");
+        if ( !quality.equals("auto") ) {
+            governor.setLevel(Integer.parseInt(quality));
+            setQuality();
+        }
+    }
+    
+    /**
+     *  Sets how the solids are drawn at the level of quality.
+     */
+    private void setQuality( ) {
+        int level = governor.getLevel();
+        List solids = new ArrayList();
+        solids.add(trap);
+        Iterator it = bodies.iterator();
+        while ( it.hasNext() ) {
+            solids.add(((Body)it.next()).getSolid());
+        }
+        it = solids.iterator();
+        while ( it.hasNext() ) {
+            Object solid = it.next();
+            if ( solid instanceof ColoredFaces ) {
+                ColoredFaces faces = (ColoredFaces)solid;
+                faces.setOutlined(level < QualityGovernor.NO_OUTLINE);
+                faces.setShaded(level < QualityGovernor.FLAT);
+            }
+        }
+        if ( floats != null ) {
+            floats.setOutlined(level < QualityGovernor.NO_OUTLINE);
+            floats.setShaded(level < QualityGovernor.FLAT);
+        }
+        if ( level < QualityGovernor.HALF_RESOLUTION ) {
+            half = null;
+        }
+        lost = true;
+    }
+    
+    /**
+     *  Starts publishing the bodies to remote viewers on the port given
+     *  by the parameter "serve", when it's given and the bodies came
+     *  from a scene.
+     */
+    private void startServer( ) {
+        String port = getParameter("serve",null);
+        if ( port != null && shapes != null ) {
+            try {
+                server = new TransformServer(Integer.parseInt(port));
+            } catch ( IOException e ) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    /**
+     *  Starts drawing the bodies through a FloatScene, in floats and
+     *  all at once, when the parameter "float" is "on" and the bodies
+     *  came from a scene. They're drawn as ColoredFaces, in the colors
+     *  of the faces of the Solid that createSolid() gives each type, when
+     *  that's ColoredFaces, and otherwise colored by the number of sides.
+     */
+    private void startFloats( ) {
+        if ( getParameter("float","off").equals("on") && shapes != null ) {
+            drawn = getScene();
+            drawing = (Body[])bodies.toArray(new Body[bodies.size()]);
+            floats = new FloatScene(drawn);
+            boolean[] colored = new boolean[shapes.length];
+            for ( int i = 0; i < drawing.length; ++i ) {
+                int t = drawing[i].getType();
+                Solid solid = drawing[i].getSolid();
+                if ( !colored[t] && solid instanceof ColoredFaces ) {
+                    floats.setColors(t,((ColoredFaces)solid).getColors());
+                    colored[t] = true;
+                }
+            }
+        }
+    }
+    
+    /**
+     *  Starts the event-driven simulation from the state of the bodies.
+     */
+    private void startEvents( double[] limit ) {
+        driven = (Body[])bodies.toArray(new Body[bodies.size()]);
+        double[] p = new double[3*driven.length];
+        double[] v = new double[3*driven.length];
+        double[] r = new double[driven.length];
+        for ( int i = 0; i < driven.length; ++i ) {
+            System.arraycopy(driven[i].getPosition(),0,p,3*i,3);
+            System.arraycopy(driven[i].getVelocity(),0,v,3*i,3);
+            r[i] = driven[i].getCollisionRadius();
+        }
+        events = new EventSimulation(p,v,r,limit);
     }
     
     /**
      *  Draws all of the objects, then moves them and handles collisions
-     *  between them.
+     *  between them. How long it takes governs the quality of drawing.
      *
      *  @param graphics the drawing context
      */
     public void paintFrame( Graphics graphics ) {
+        long start = System.nanoTime();
+        ++frames;
+        int level = governor.getLevel();
         Graphics2D g2d = (Graphics2D)graphics;
+        if ( level >= QualityGovernor.HALF_RESOLUTION ) {
+            int w = getSize().width;
+            int h = getSize().height;
+            if ( half == null ) {
+                half = new BufferedImage(
+                    (w+1)/2,(h+1)/2,BufferedImage.TYPE_INT_RGB
+                );
+            }
+            g2d = half.createGraphics();
+            g2d.setBackground(((Graphics2D)graphics).getBackground());
+            g2d.clearRect(0,0,half.getWidth(),half.getHeight());
+            g2d.scale(0.5,0.5);
+        }
         g2d.setRenderingHint(
             RenderingHints.KEY_ANTIALIASING,
-            RenderingHints.VALUE_ANTIALIAS_ON
+            ( level < QualityGovernor.NO_ANTIALIAS ) ?
+                RenderingHints.VALUE_ANTIALIAS_ON :
+                RenderingHints.VALUE_ANTIALIAS_OFF
         );
-        g2d.setStroke(new BasicStroke(0.75f));
-        trap.paint(projector,graphics);
-        Collections.sort(bodies);
+        g2d.setStroke(STROKE);
+        trap.paint(projector,g2d);
+        if ( floats != null ) {
+            setScene(drawn,drawing);
+            floats.update(drawn);
+            floats.paint(projector,g2d);
+        } else {
+            Collections.sort(bodies);
+            Iterator it = bodies.iterator();
+            while ( it.hasNext() ) {
+                Body body = (Body)it.next();
+                if ( whole || dirty.intersects(body.getShown()) ) {
+                    body.paint(projector,g2d);
+                }
+            }
+        }
+        if ( g2d != graphics ) {
+            g2d.dispose();
+            ((Graphics2D)graphics).setRenderingHint(
+                RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR
+            );
+            graphics.drawImage(
+                half,0,0,2*half.getWidth(),2*half.getHeight(),null
+            );
+        }
+        if ( events != null ) {
+            sample();
+        } else {
+            advance();
+        }
+        refitPicker();
+        if ( server != null ) {
+            publish();
+        }
+        if ( governor.addFrame(System.nanoTime()-start) ) {
+            setQuality();
+        }
+    }
+    
+    /**
+     *  Gets the parts of the frame where bodies have moved or turned
+     *  since the last, the bounds of each where it was and where it is,
+     *  so that only those are drawn again. The whole frame is drawn
+     *  when more than half of it has changed, which is as quick, when
+     *  it's drawn at half resolution, or when the parameter "dirty"
+     *  is "off".
+     *
+     *  @return the rectangles, or null for the whole frame
+     */
+    protected Rectangle[] getDirtyRectangles( ) {
+        final int TILE = 32;
+        final double MOST = 0.5;
+        if ( dirty == null ) {
+            if ( getParameter("dirty","on").equals("off") ) {
+                whole = true;
+                return null;
+            }
+            dirty = new DirtyRegion(getSize().width,getSize().height,TILE);
+        }
+        dirty.clear();
+        whole = false;
         Iterator it = bodies.iterator();
         while ( it.hasNext() ) {
             Body body = (Body)it.next();
-            body.paint(projector,graphics);
+            Rectangle was = body.getShown();
+            Rectangle bounds = body.getBounds(projector);
+            if ( body.setShown(bounds) ) {
+                if ( was == null ) {
+                    whole = true;
+                } else {
+                    dirty.add(was);
+                }
+                dirty.add(bounds);
+            }
         }
-        it = bodies.iterator();
-        while ( it.hasNext() ) {
-            Body body = (Body)it.next();
-            body.step();
+        if ( whole || lost || dirty.getFraction() > MOST ||
+             governor.getLevel() >= QualityGovernor.HALF_RESOLUTION ) {
+            lost = false;
+            whole = true;
+            return null;
         }
-        for ( int i = 0; i < bodies.size()-1; ++i ) {
-            Body body = (Body)bodies.get(i);
-            for ( int j = i+1; j < bodies.size(); ++j ) {
-                body.collide((Body)bodies.get(j));
+        return dirty.getRectangles();
+    }
+    
+    /**
+     *  Draws the frame about to be drawn whole, and the next, the last
+     *  having been lost.
+     */
+    protected void frameLost( ) {
+        whole = true;
+        lost = true;
+    }
+    
+    /**
+     *  Advances the event-driven simulation by a step, and moves each
+     *  of the bodies to where the simulation has it.
+     */
+    private void sample( ) {
+        events.advanceTo(events.getTime()+1);
+        Cuboid cuboid = (Cuboid)trap.getPolyhedron();
+        Observables.Tally tally = null;
+        if ( observables != null ) {
+            tally = observables.getTally();
+            tally.addImpulse(events.takeImpulse());
+        }
+        for ( int i = 0; i < driven.length; ++i ) {
+            double[] p = new double[3];
+            double[] v = new double[3];
+            events.getPosition(i,p);
+            events.getVelocity(i,v);
+            driven[i].spin();
+            driven[i].moveTo(p);
+            driven[i].setVelocity(v,cuboid.getExtent());
+            if ( tally != null ) {
+                tally.add(v,0);
+            }
+        }
+        if ( observables != null ) {
+            observables.endStep();
+        }
+    }
+    
+    /**
+     *  Moves all of the bodies through one step.
+     *  The step is broken at the time of each impact, with a wall or
+     *  between a pair of bodies, so that fast bodies can't pass through
+     *  walls or each other between the ends of the step.
+     *  Rigid bodies are moved by the solver instead.
+     */
+    private void advance( ) {
+        Body[] body = (Body[])bodies.toArray(new Body[bodies.size()]);
+        if ( solver != null ) {
+            solver.step(body);
+        } else {
+            if ( impacts == null ) {
+                impacts = new ImpactQueue();
+            }
+            impacts.step(body);
+        }
+        if ( observables != null ) {
+            Observables.Tally tally = observables.getTally();
+            for ( int i = 0; i < body.length; ++i ) {
+                tally.add(body[i].getVelocity(),body[i].takeImpulse());
             }
+            observables.endStep();
         }
     }
     
     /**
      *  Creates a Body, adding it the list, for the given polyhedron,
-     *  normalizes the radius and randomizes position, velocity and spin
+     *  normalizes the radius and randomizes position, velocity and spin.
+     *  Each body has its own stream of random numbers, split in turn
+     *  from the seed.
      */
     protected void initBody( Solid solid, double r ) {
+        SplittableRandom stream = random.split();
         Cuboid cuboid = (Cuboid)trap.getPolyhedron();
         double[] limit = cuboid.getExtent();
         Polyhedron polyhedron = solid.getPolyhedron();
@@ -108,16 +503,253 @@ public abstract class Collidoscope extends AnimationApplet {
         Body body = new Body(solid);
         double[] offset = new double[3];
         for ( int i = 0; i < 3; i++ ) {
-            offset[i] = randge(limit[i]-r);
+            offset[i] = randge(stream,limit[i]-r);
         }
         polyhedron.translate(offset);
         double scale = period/100.0;
         body.setRotation(
-            rotationD(randge(Math.PI),randge(Math.PI/2),randge(scale*Math.PI/15))
+            rotationD(
+                randge(stream,Math.PI),
+                randge(stream,Math.PI/2),
+                randge(stream,scale*Math.PI/15)
+            )
         );
         bodies.add(body);
     }
     
+    /**
+     *  Creates a SceneBuilder for the box, to build a given number of
+     *  bodies with the speed and spin that initBody() gives them.
+     *  The packing fraction is taken from the parameter "packing"
+     *  when it's given, and the seed is the seed of the animation.
+     *
+     *  @param n the number of bodies
+     *
+     *  @return the SceneBuilder
+     */
+    protected SceneBuilder createSceneBuilder( int n ) {
+        double[] limit = ((Cuboid)trap.getPolyhedron()).getExtent();
+        SceneBuilder builder = new SceneBuilder(limit);
+        builder.setSpeed((period/1000.0)*Rn.magnitude(limit)/Math.sqrt(2*n));
+        builder.setSpin((period/100.0)*Math.PI/15);
+        builder.setPackingFraction(
+            Double.parseDouble(getParameter("packing","0.1"))
+        );
+        builder.setSeed(seed);
+        builder.setThreads(Runtime.getRuntime().availableProcessors());
+        return builder;
+    }
+    
+    /**
+     *  Creates the bodies of the scene that a SceneBuilder builds. When
+     *  the parameter "checkpoint" names a file that exists, the scene
+     *  saved in it, with the same shapes, is restored instead, and
+     *  none is built.
+     *
+     *  @param builder the SceneBuilder
+     */
+    protected void initBodies( SceneBuilder builder ) {
+        String checkpoint = getParameter("checkpoint",null);
+        if ( checkpoint != null && new File(checkpoint).exists() ) {
+            initBodies(
+                restoreCheckpoint(new File(checkpoint),builder.getShapes())
+            );
+        } else {
+            initBodies(builder.build());
+        }
+    }
+    
+    /**
+     *  Creates a Body, adding it to the list, for each body of a scene,
+     *  with a copy of the polyhedron of its type.
+     *
+     *  @param scene the scene
+     */
+    protected void initBodies( Scene scene ) {
+        double[] limit = ((Cuboid)trap.getPolyhedron()).getExtent();
+        shapes = scene.getShapes();
+        int[] type = scene.getTypes();
+        for ( int i = 0; i < scene.getCount(); ++i ) {
+            Polyhedron polyhedron = scene.createPolyhedron(i);
+            Body body = new Body(createSolid(polyhedron,type[i]));
+            body.setType(type[i]);
+            body.setOrientation(Scene.getMatrix(scene.getOrientations(),i));
+            body.setRotation(Scene.getMatrix(scene.getRotations(),i));
+            body.setVelocity(Scene.getVector(scene.getVelocities(),i),limit);
+            bodies.add(body);
+        }
+    }
+    
+    /**
+     *  Restores a scene saved in a file, which must be of this box.
+     */
+    private Scene restoreCheckpoint( File file, Polyhedron[] shapes ) {
+        Scene scene;
+        try {
+            scene = Checkpoint.read(file,shapes);
+        } catch ( IOException e ) {
+            throw new IllegalStateException(e);
+        }
+        double[] limit = ((Cuboid)trap.getPolyhedron()).getExtent();
+        for ( int k = 0; k < 3; ++k ) {
+            if ( Math.abs(scene.getLimit()[k]-limit[k]) > 1e-9*limit[k] ) {
+                throw new IllegalStateException(
+                    file+" is a checkpoint of a different box"
+                );
+            }
+        }
+        return scene;
+    }
+    
+    /**
+     *  Gets the state of the bodies as a scene. The bodies must have
+     *  come from a scene, through initBodies().
+     *
+     *  @return a new Scene
+     */
+    protected Scene getScene( ) {
+        double[] limit = ((Cuboid)trap.getPolyhedron()).getExtent();
+        Scene scene = new Scene(shapes,bodies.size(),limit);
+        setScene(scene,(Body[])bodies.toArray(new Body[bodies.size()]));
+        return scene;
+    }
+    
+    /**
+     *  Puts the state of bodies in a scene of as many of them, in order.
+     */
+    private void setScene( Scene scene, Body[] body ) {
+        int[] type = scene.getTypes();
+        double[] radius = scene.getRadii();
+        double[] position = scene.getPositions();
+        double[] velocity = scene.getVelocities();
+        double[] orientation = scene.getOrientations();
+        double[] rotation = scene.getRotations();
+        for ( int i = 0; i < body.length; ++i ) {
+            type[i] = body[i].getType();
+            radius[i] = body[i].getCollisionRadius();
+            System.arraycopy(body[i].getPosition(),0,position,3*i,3);
+            System.arraycopy(body[i].getVelocity(),0,velocity,3*i,3);
+            Scene.setMatrix(body[i].getOrientation(),orientation,i);
+            double[][] r = body[i].getRotation();
+            if ( r == null ) {
+                r = new double[][] { {1,0,0}, {0,1,0}, {0,0,1} };
+            }
+            Scene.setMatrix(r,rotation,i);
+        }
+    }
+    
+    /**
+     *  Finds the body drawn at a pixel, by a ray from the viewer
+     *  through it. The first time, it builds a Picker of the bodies,
+     *  which is refit to them after each step from then on. The bodies
+     *  must have come from a scene, through initBodies().
+     *
+     *  @param x the x coordinate of the pixel
+     *  @param y the y coordinate of the pixel
+     *
+     *  @return the body, or null if there's none there
+     */
+    protected synchronized Body pick( int x, int y ) {
+        if ( picker == null ) {
+            picked = getScene();
+            pickable = (Body[])bodies.toArray(new Body[bodies.size()]);
+            picker = new Picker(picked);
+        }
+        int i = picker.pick(projector,x,y);
+        return ( i >= 0 ) ? pickable[i] : null;
+    }
+    
+    /**
+     *  Refits the picker, if there is one, to where the bodies are now,
+     *  in the order it was built with, whatever order they're drawn in.
+     */
+    private synchronized void refitPicker( ) {
+        if ( picker != null ) {
+            setScene(picked,pickable);
+            picker.refit();
+        }
+    }
+    
+    /**
+     *  Publishes where the bodies are now to remote viewers, in one
+     *  scene that's filled again each frame, with the bodies in the
+     *  same order every time, since a viewer is only told the type of
+     *  each once, when it connects.
+     */
+    private void publish( ) {
+        if ( published == null ) {
+            published = getScene();
+            publishing = (Body[])bodies.toArray(new Body[bodies.size()]);
+        } else {
+            setScene(published,publishing);
+        }
+        try {
+            server.publish(published);
+        } catch ( IOException e ) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     *  Destroys the Applet, closing the connections to remote viewers.
+     */
+    public void destroy( ) {
+        super.destroy();
+        if ( server != null ) {
+            try {
+                server.close();
+            } catch ( IOException e ) {
+                throw new IllegalStateException(e);
+            } finally {
+                server = null;
+            }
+        }
+    }
+    
+    /**
+     *  Stops the Applet, saving the bodies in the file named by the
+     *  parameter "checkpoint" when it's given, and writing them as a
+     *  mesh to the file named by the parameter "export", .obj, .stl
+     *  or .ply, when it's given. Both are written from the bodies as
+     *  they are between frames, and only when they've moved since
+     *  they were last written, or restored.
+     */
+    public void stop( ) {
+        super.stop();
+        String checkpoint = getParameter("checkpoint",null);
+        String export = getParameter("export",null);
+        Scene scene = null;
+        synchronized ( getLock() ) {
+            if ( shapes != null && frames != saved ) {
+                scene = getScene();
+                saved = frames;
+            }
+        }
+        try {
+            if ( checkpoint != null && scene != null ) {
+                Checkpoint.write(scene,new File(checkpoint));
+            }
+            if ( export != null && scene != null ) {
+                SceneExporter.write(scene,new File(export));
+            }
+        } catch ( IOException e ) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     *  Creates the Solid that draws a polyhedron of a type of body
+     *  in a scene. Override to draw them other than as colored faces.
+     *
+     *  @param polyhedron the polyhedron
+     *  @param type the index of its type in the scene
+     *
+     *  @return the Solid
+     */
+    protected Solid createSolid( Polyhedron polyhedron, int type ) {
+        return new ColoredFaces(polyhedron);
+    }
+    
     /**
      *  Generates a 3D matrix for a rotation by an angle around the direction
      *  given by spherical coordinate angles (theta,phi).
@@ -128,32 +760,33 @@ public abstract class Collidoscope extends AnimationApplet {
      *
      *  @return the rotation matrix
      */
-    private double[][] rotationD( double phi, double theta, double rho ) {
+    static double[][] rotationD( double phi, double theta, double rho ) {
         // put x in the given direction
-        double[][] d = Rn.multiply(R3.rotationY(-theta),R3.rotationZ(phi));
-        return Rn.multiply(Rn.transpose(d),Rn.multiply(R3.rotationX(rho),d));
+        Mat3 d = Mat3.rotationY(-theta).multiply(Mat3.rotationZ(phi));
+        return d.transpose().multiply(Mat3.rotationX(rho).multiply(d))
+            .toArray();
     }
     
     /*
      *  Generates a pseudo-random vector where each component is
      *  in the range -r to r.
      */
-    private double[] vrandge( double r ) {
+    private static double[] vrandge( SplittableRandom random, double r ) {
         double[] v = new double[3];
         for ( int i = 0; i < 3; ++i ) {
-            v[i] = randge(r);
+            v[i] = randge(random,r);
         }
         return v;
     }
     
     // Generates a pseudo-random number in the range -r to r.
-    private double randge( double r ) {
-        return 2*rand(r)-r;
+    private static double randge( SplittableRandom random, double r ) {
+        return 2*rand(random,r)-r;
     }
     
     // Generates a pseudo-random number in the range 0 to r.
-    private double rand( double r ) {
-        return r*Math.random();
+    private static double rand( SplittableRandom random, double r ) {
+        return r*random.nextDouble();
     }
 
 }
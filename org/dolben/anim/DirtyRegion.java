@@ -0,0 +1,162 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *  <p>
+ *  The part of a frame that's changed since the last, the union of
+ *  rectangles of it, such as the bounds of each body where it was and
+ *  where it is, so that only that part need be cleared, drawn again
+ *  and shown.
+ *  </p><p>
+ *  The frame is divided into square tiles, each marked when a rectangle
+ *  added touches it, which makes the union without comparing the
+ *  rectangles to each other. The marked tiles are gathered into runs
+ *  along each row, and a run into the one just like it in the row
+ *  above, so that there are few rectangles to draw in or copy, none
+ *  overlapping, that take little more than the area changed.
+ *  </p>
+ */
+public class DirtyRegion {
+    
+    private int width;
+    private int height;
+    private int tile;           // the side of a tile
+    private int columns;        // the number of tiles across
+    private int rows;           // the number of tiles down
+    private boolean[] dirty;    // whether each tile is marked, by rows
+    private int marked;         // the number of tiles marked
+    
+    /**
+     *  Creates a new DirtyRegion of a frame, with nothing changed.
+     *
+     *  @param w the width of the frame
+     *  @param h the height of the frame
+     *  @param t the side of a tile
+     */
+    public DirtyRegion( int w, int h, int t ) {
+        width = w;
+        height = h;
+        tile = t;
+        columns = (w+t-1)/t;
+        rows = (h+t-1)/t;
+        dirty = new boolean[columns*rows];
+    }
+    
+    /**
+     *  Marks nothing changed.
+     */
+    public void clear( ) {
+        Arrays.fill(dirty,false);
+        marked = 0;
+    }
+    
+    /**
+     *  Adds a rectangle of the frame that's changed.
+     *
+     *  @param r the rectangle, which may reach out of the frame
+     */
+    public void add( Rectangle r ) {
+        int c0 = Math.max(0,Math.floorDiv(r.x,tile));
+        int r0 = Math.max(0,Math.floorDiv(r.y,tile));
+        int c1 = Math.min(columns-1,Math.floorDiv(r.x+r.width-1,tile));
+        int r1 = Math.min(rows-1,Math.floorDiv(r.y+r.height-1,tile));
+        for ( int j = r0; j <= r1; ++j ) {
+            for ( int i = c0; i <= c1; ++i ) {
+                if ( !dirty[j*columns+i] ) {
+                    dirty[j*columns+i] = true;
+                    ++marked;
+                }
+            }
+        }
+    }
+    
+    /**
+     *  Tells whether a rectangle touches the part that's changed.
+     *
+     *  @param r the rectangle
+     *
+     *  @return true if it does
+     */
+    public boolean intersects( Rectangle r ) {
+        int c0 = Math.max(0,Math.floorDiv(r.x,tile));
+        int r0 = Math.max(0,Math.floorDiv(r.y,tile));
+        int c1 = Math.min(columns-1,Math.floorDiv(r.x+r.width-1,tile));
+        int r1 = Math.min(rows-1,Math.floorDiv(r.y+r.height-1,tile));
+        for ( int j = r0; j <= r1; ++j ) {
+            for ( int i = c0; i <= c1; ++i ) {
+                if ( dirty[j*columns+i] ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     *  Gets the fraction of the frame that's changed, by the tiles.
+     *
+     *  @return the fraction
+     */
+    public double getFraction( ) {
+        return marked/(double)dirty.length;
+    }
+    
+    /**
+     *  Gets the part that's changed as rectangles that don't overlap,
+     *  within the frame.
+     *
+     *  @return the rectangles
+     */
+    public Rectangle[] getRectangles( ) {
+        List done = new ArrayList();
+        Rectangle[] open = new Rectangle[columns];  // by first column
+        Rectangle[] next = new Rectangle[columns];
+        for ( int j = 0; j < rows; ++j ) {
+            int y = j*tile;
+            int h = Math.min(tile,height-y);
+            for ( int i = 0; i < columns; ) {
+                if ( !dirty[j*columns+i] ) {
+                    ++i;
+                    continue;
+                }
+                int start = i;
+                while ( i < columns && dirty[j*columns+i] ) {
+                    ++i;
+                }
+                int x = start*tile;
+                int w = Math.min(i*tile,width)-x;
+                Rectangle above = open[start];
+                if ( above != null && above.width == w ) {
+                    above.height += h;
+                    next[start] = above;
+                    open[start] = null;
+                } else {
+                    next[start] = new Rectangle(x,y,w,h);
+                }
+            }
+            for ( int i = 0; i < columns; ++i ) {
+                if ( open[i] != null ) {
+                    done.add(open[i]);
+                }
+                open[i] = next[i];
+                next[i] = null;
+            }
+        }
+        for ( int i = 0; i < columns; ++i ) {
+            if ( open[i] != null ) {
+                done.add(open[i]);
+            }
+        }
+        return (Rectangle[])done.toArray(new Rectangle[done.size()]);
+    }
+
+}
@@ -0,0 +1,483 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+/**
+ *  <p>
+ *  An event-driven simulation of a gas of hard spheres in a box.
+ *  </p><p>
+ *  Between collisions the spheres move in straight lines, so rather
+ *  than stepping them all through time, each sphere's next event is
+ *  predicted: hitting a wall, hitting another sphere, or crossing into
+ *  another cell of the grid that the box is divided into. The
+ *  simulation jumps from event to event, so its cost goes with the
+ *  number of collisions rather than the number of steps.
+ *  </p><p>
+ *  Each sphere has one pending event, kept in a priority queue indexed
+ *  by sphere. A collision counter is kept for each sphere; an event
+ *  with another sphere is stale, and is predicted again, when the other
+ *  sphere's counter has changed since the event was predicted.
+ *  </p><p>
+ *  Each sphere's position is only brought up to date at its own events;
+ *  in between it is found by extrapolating from the last one.
+ *  The cells are at least as wide as the widest sphere, so a sphere
+ *  only needs to look for collisions in its own and the adjacent cells.
+ *  </p><p>
+ *  Vectors are kept in flat arrays, three components to each sphere.
+ *  Time is in steps, the unit of the velocities.
+ *  </p>
+ */
+public class EventSimulation {
+    
+    // the kinds of event, other than a collision with another sphere
+    private static final int WALL = -1;     // hitting a wall
+    private static final int CELL = -2;     // crossing into another cell
+    private static final int NONE = -3;     // nothing in sight
+    
+    private int n;                  // the number of spheres
+    private double[] position;      // position at each sphere's own time
+    private double[] velocity;      // displacement per step
+    private double[] radius;        // the radius of each sphere
+    private double[] stamp;         // each sphere's own time
+    private int[] collisions;       // the number of collisions of each
+    private double[] limit;         // the limit of the box in each dimension
+    private double now;             // the time of the simulation
+    private long events;            // the number of events handled
+    private double impulse;         // momentum given to walls, unit mass
+    
+    // the pending event of each sphere
+    private double[] eventTime;     // when it happens
+    private int[] eventKind;        // WALL, CELL, NONE, or the other sphere
+    private int[] eventAxis;        // the axis of a wall or cell crossing
+    private int[] eventCount;       // the other sphere's collision counter
+    
+    // the queue of events, a binary heap of spheres by event time
+    private int[] heap;             // the spheres in heap order
+    private int[] place;            // each sphere's place in the heap
+    
+    // the grid of cells, with a doubly linked list of spheres in each
+    private int[] cells;            // the number of cells in each dimension
+    private double[] cellSize;      // the size of a cell in each dimension
+    private int[] cell;             // the cell coordinates of each sphere
+    private int[] first;            // the first sphere in each cell
+    private int[] next;             // the next sphere in the same cell
+    private int[] previous;         // the previous sphere in the same cell
+    
+    /**
+     *  Creates a new simulation, at time 0, of spheres that are in a box
+     *  and don't overlap.
+     *
+     *  @param p the position of each sphere, three components to each,
+     *           which is kept and updated by the simulation
+     *  @param v the velocity of each sphere, three components to each,
+     *           which is kept and updated by the simulation
+     *  @param r the radius of each sphere
+     *  @param max the limit of displacement from the origin
+     *             in each dimension
+     */
+    public EventSimulation(
+        double[] p, double[] v, double[] r, double[] max
+    ) {
+        n = r.length;
+        position = p;
+        velocity = v;
+        radius = r;
+        limit = max;
+        now = 0;
+        events = 0;
+        stamp = new double[n];
+        collisions = new int[n];
+        eventTime = new double[n];
+        eventKind = new int[n];
+        eventAxis = new int[n];
+        eventCount = new int[n];
+        createGrid();
+        heap = new int[n];
+        place = new int[n];
+        for ( int i = 0; i < n; ++i ) {
+            heap[i] = i;
+            place[i] = i;
+            eventTime[i] = Double.POSITIVE_INFINITY;
+        }
+        for ( int i = 0; i < n; ++i ) {
+            predict(i);
+        }
+    }
+    
+    /**
+     *  Divides the box into cells at least as wide as the widest sphere,
+     *  and about as many as there are spheres, and puts each sphere into
+     *  the cell that its center is in.
+     */
+    private void createGrid( ) {
+        double widest = 0;
+        for ( int i = 0; i < n; ++i ) {
+            widest = Math.max(widest,2*radius[i]);
+        }
+        double volume = 8*limit[0]*limit[1]*limit[2];
+        double side = Math.max(widest,Math.cbrt(volume/Math.max(n,1)));
+        cells = new int[3];
+        cellSize = new double[3];
+        int total = 1;
+        for ( int k = 0; k < 3; ++k ) {
+            cells[k] = Math.max(1,(int)(2*limit[k]/side));
+            cellSize[k] = 2*limit[k]/cells[k];
+            total *= cells[k];
+        }
+        first = new int[total];
+        for ( int c = 0; c < total; ++c ) {
+            first[c] = -1;
+        }
+        cell = new int[3*n];
+        next = new int[n];
+        previous = new int[n];
+        for ( int i = 0; i < n; ++i ) {
+            for ( int k = 0; k < 3; ++k ) {
+                int c = (int)((position[3*i+k]+limit[k])/cellSize[k]);
+                cell[3*i+k] = Math.min(Math.max(c,0),cells[k]-1);
+            }
+            link(i);
+        }
+    }
+    
+    /**
+     *  Gets the number of spheres.
+     *
+     *  @return the number of spheres
+     */
+    public int getCount( ) {
+        return n;
+    }
+    
+    /**
+     *  Gets the time of the simulation.
+     *
+     *  @return the time in steps
+     */
+    public double getTime( ) {
+        return now;
+    }
+    
+    /**
+     *  Gets the number of events handled: collisions with walls and
+     *  other spheres and crossings between cells.
+     *
+     *  @return the number of events
+     */
+    public long getEvents( ) {
+        return events;
+    }
+    
+    /**
+     *  Takes the momentum given to the walls, for spheres of unit mass,
+     *  since it was last taken.
+     *
+     *  @return the sum of the momentum of each reversal at a wall
+     */
+    public double takeImpulse( ) {
+        double taken = impulse;
+        impulse = 0;
+        return taken;
+    }
+    
+    /**
+     *  Gets the position of a sphere at the time of the simulation.
+     *
+     *  @param i the index of the sphere
+     *  @param p the array in which to put the position
+     */
+    public void getPosition( int i, double[] p ) {
+        double dt = now-stamp[i];
+        for ( int k = 0; k < 3; ++k ) {
+            p[k] = position[3*i+k]+velocity[3*i+k]*dt;
+        }
+    }
+    
+    /**
+     *  Gets the velocity of a sphere.
+     *
+     *  @param i the index of the sphere
+     *  @param v the array in which to put the velocity
+     */
+    public void getVelocity( int i, double[] v ) {
+        for ( int k = 0; k < 3; ++k ) {
+            v[k] = velocity[3*i+k];
+        }
+    }
+    
+    /**
+     *  Gets the positions of all of the spheres at the time of the
+     *  simulation, extrapolating each from its last event.
+     *
+     *  @param p the array in which to put the positions, three components
+     *           to each sphere
+     */
+    public void getPositions( double[] p ) {
+        for ( int i = 0; i < n; ++i ) {
+            double dt = now-stamp[i];
+            for ( int k = 3*i; k < 3*i+3; ++k ) {
+                p[k] = position[k]+velocity[k]*dt;
+            }
+        }
+    }
+    
+    /**
+     *  Advances the simulation, handling all of the events
+     *  up to the given time.
+     *
+     *  @param time the time, in steps, to advance to
+     */
+    public void advanceTo( double time ) {
+        while ( n > 0 && eventTime[heap[0]] <= time ) {
+            int i = heap[0];
+            now = eventTime[i];
+            handle(i);
+            ++events;
+        }
+        if ( time > now ) {
+            now = time;
+        }
+    }
+    
+    /**
+     *  Handles the pending event of a sphere.
+     */
+    private void handle( int i ) {
+        int other = eventKind[i];
+        if ( other == WALL ) {
+            update(i);
+            int k = 3*i+eventAxis[i];
+            impulse += 2*Math.abs(velocity[k]);
+            velocity[k] = -velocity[k];
+            ++collisions[i];
+            predict(i);
+        } else if ( other == CELL ) {
+            update(i);
+            unlink(i);
+            int k = 3*i+eventAxis[i];
+            cell[k] += ( velocity[k] > 0 ) ? 1 : -1;
+            link(i);
+            predict(i);
+        } else if ( other >= 0 && collisions[other] == eventCount[i] ) {
+            update(i);
+            update(other);
+            bounce(i,other);
+            ++collisions[i];
+            ++collisions[other];
+            predict(i);
+            predict(other);
+        } else {
+            // the other sphere has changed course since the prediction
+            update(i);
+            predict(i);
+        }
+    }
+    
+    /**
+     *  Brings a sphere's position up to the time of the simulation.
+     */
+    private void update( int i ) {
+        double dt = now-stamp[i];
+        for ( int k = 3*i; k < 3*i+3; ++k ) {
+            position[k] += velocity[k]*dt;
+        }
+        stamp[i] = now;
+    }
+    
+    /**
+     *  Bounces a pair of touching spheres of the same mass off of each
+     *  other, exchanging their components of velocity along the line
+     *  between their centers.
+     */
+    private void bounce( int i, int j ) {
+        double dd = 0;
+        double dv = 0;
+        for ( int k = 0; k < 3; ++k ) {
+            double d = position[3*j+k]-position[3*i+k];
+            dd += d*d;
+            dv += d*(velocity[3*j+k]-velocity[3*i+k]);
+        }
+        double f = dv/dd;
+        for ( int k = 0; k < 3; ++k ) {
+            double d = position[3*j+k]-position[3*i+k];
+            velocity[3*i+k] += f*d;
+            velocity[3*j+k] -= f*d;
+        }
+    }
+    
+    /**
+     *  Predicts the next event of a sphere, whose position is up to date,
+     *  and puts it in its place in the queue.
+     */
+    private void predict( int i ) {
+        double best = Double.POSITIVE_INFINITY;
+        int kind = NONE;
+        int axis = 0;
+        for ( int k = 0; k < 3; ++k ) {
+            double v = velocity[3*i+k];
+            double x = position[3*i+k];
+            if ( v == 0 ) {
+                continue;
+            }
+            double wall = ( v > 0 ) ? limit[k]-radius[i] : radius[i]-limit[k];
+            double t = Math.max((wall-x)/v,0);
+            if ( t < best ) {
+                best = t;
+                kind = WALL;
+                axis = k;
+            }
+            int c = cell[3*i+k]+( ( v > 0 ) ? 1 : 0 );
+            if ( c > 0 && c < cells[k] ) {
+                t = Math.max((c*cellSize[k]-limit[k]-x)/v,0);
+                if ( t < best ) {
+                    best = t;
+                    kind = CELL;
+                    axis = k;
+                }
+            }
+        }
+        int cx = cell[3*i];
+        int cy = cell[3*i+1];
+        int cz = cell[3*i+2];
+        // the cells around its own, within the grid
+        int xe = Math.min(cx+1,cells[0]-1);
+        int ye = Math.min(cy+1,cells[1]-1);
+        int ze = Math.min(cz+1,cells[2]-1);
+        for ( int x = Math.max(cx-1,0); x <= xe; ++x ) {
+            for ( int y = Math.max(cy-1,0); y <= ye; ++y ) {
+                for ( int z = Math.max(cz-1,0); z <= ze; ++z ) {
+                    int j = first[(x*cells[1]+y)*cells[2]+z];
+                    for ( ; j >= 0; j = next[j] ) {
+                        if ( j != i ) {
+                            double t = impact(i,j);
+                            if ( t < best ) {
+                                best = t;
+                                kind = j;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        eventKind[i] = kind;
+        eventAxis[i] = axis;
+        if ( kind >= 0 ) {
+            eventCount[i] = collisions[kind];
+        }
+        schedule(i,now+best);
+    }
+    
+    /**
+     *  Gets the time from now until one sphere hits another.
+     *
+     *  @return the time, or infinity when they're not going to
+     */
+    private double impact( int i, int j ) {
+        double dj = now-stamp[j];
+        double b = 0;   // the rate of approach, times the distance
+        double dd = 0;  // the squared distance
+        double vv = 0;  // the squared relative speed
+        for ( int k = 0; k < 3; ++k ) {
+            double v = velocity[3*j+k]-velocity[3*i+k];
+            double d = position[3*j+k]+velocity[3*j+k]*dj-position[3*i+k];
+            b += d*v;
+            dd += d*d;
+            vv += v*v;
+        }
+        if ( b >= 0 ) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double r = radius[i]+radius[j];
+        double c = dd-r*r;
+        if ( c <= 0 ) {
+            return 0;
+        }
+        double discriminant = b*b-vv*c;
+        if ( discriminant < 0 ) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return c/(Math.sqrt(discriminant)-b);
+    }
+    
+    // Gets the index of the cell that a sphere is in.
+    private int cellOf( int i ) {
+        return (cell[3*i]*cells[1]+cell[3*i+1])*cells[2]+cell[3*i+2];
+    }
+    
+    // Adds a sphere to the list of its cell.
+    private void link( int i ) {
+        int c = cellOf(i);
+        previous[i] = -1;
+        next[i] = first[c];
+        if ( first[c] >= 0 ) {
+            previous[first[c]] = i;
+        }
+        first[c] = i;
+    }
+    
+    // Removes a sphere from the list of its cell.
+    private void unlink( int i ) {
+        if ( previous[i] >= 0 ) {
+            next[previous[i]] = next[i];
+        } else {
+            first[cellOf(i)] = next[i];
+        }
+        if ( next[i] >= 0 ) {
+            previous[next[i]] = previous[i];
+        }
+    }
+    
+    /**
+     *  Sets the time of a sphere's event, moving it up or down the heap.
+     */
+    private void schedule( int i, double time ) {
+        double old = eventTime[i];
+        eventTime[i] = time;
+        if ( time < old ) {
+            siftUp(place[i]);
+        } else {
+            siftDown(place[i]);
+        }
+    }
+    
+    private void siftUp( int h ) {
+        int i = heap[h];
+        while ( h > 0 ) {
+            int parent = (h-1)/2;
+            if ( eventTime[heap[parent]] <= eventTime[i] ) {
+                break;
+            }
+            heap[h] = heap[parent];
+            place[heap[h]] = h;
+            h = parent;
+        }
+        heap[h] = i;
+        place[i] = h;
+    }
+    
+    private void siftDown( int h ) {
+        int i = heap[h];
+        while ( true ) {
+            int child = 2*h+1;
+            if ( child >= n ) {
+                break;
+            }
+            if ( child+1 < n &&
+                 eventTime[heap[child+1]] < eventTime[heap[child]] ) {
+                ++child;
+            }
+            if ( eventTime[heap[child]] >= eventTime[i] ) {
+                break;
+            }
+            heap[h] = heap[child];
+            place[heap[h]] = h;
+            h = child;
+        }
+        heap[h] = i;
+        place[i] = h;
+    }
+
+}
@@ -0,0 +1,160 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import org.dolben.iiid.Projector;
+import org.dolben.iiid.Rn;
+import org.dolben.poly.Cube;
+import org.dolben.poly.Polyhedron;
+import org.dolben.poly.TruncatedIcosidodecahedron;
+
+/**
+ *  <p>
+ *  Compares the accuracy of floats with that of doubles, for the
+ *  choice FloatScene makes: it draws in floats, from the doubles of a
+ *  Scene, rather than keeping the Scene itself in floats.
+ *  </p><p>
+ *  It turns the orientation of each body of a scene by its rotation,
+ *  step after step, once in doubles and once in floats, and prints how
+ *  far each has drifted from orthogonal. Then it prints how far the
+ *  vertices FloatScene finds, and where it projects them, are from
+ *  those of the Polyhedron in doubles. The drift in floats grows with
+ *  the steps, to about 7e-4 after 10000, where in doubles it stays
+ *  under 1e-11; the vertices found afresh each frame in floats are only
+ *  off by about 3e-5, on a radius of 10, and hardly any of them land on
+ *  another pixel.
+ *  </p><p>
+ *  Run it, from the directory above org, with the number of steps,
+ *  10000 by default:
+ *  </p><pre>
+ *  java org.dolben.anim.FloatAccuracy 10000
+ *  </pre>
+ */
+public class FloatAccuracy {
+    
+    /**
+     *  Prints the comparison.
+     *
+     *  @param args the number of steps, optionally
+     */
+    public static void main( String[] args ) {
+        int steps = ( args.length > 0 ) ? Integer.parseInt(args[0]) : 10000;
+        double[] limit = { 300, 200, 200 };
+        SceneBuilder builder = new SceneBuilder(limit);
+        builder.add(new TruncatedIcosidodecahedron(),1);
+        builder.add(new Cube(),1);
+        builder.setTotal(2000);
+        builder.setSeed(5);
+        builder.setSpeed(2);
+        builder.setSpin(0.1);
+        Scene scene = builder.build();
+        int n = scene.getCount();
+        double[] orientation = scene.getOrientations().clone();
+        double[] rotation = scene.getRotations();
+        float[] fo = toFloats(orientation);
+        float[] fr = toFloats(rotation);
+        float[] product = new float[9];
+        for ( int step = 0; step < steps; ++step ) {
+            for ( int i = 0; i < n; ++i ) {
+                Scene.setMatrix(Rn.multiply(
+                    Scene.getMatrix(rotation,i),
+                    Scene.getMatrix(orientation,i)
+                ),orientation,i);
+                multiply(fr,fo,9*i,product);
+                System.arraycopy(product,0,fo,9*i,9);
+            }
+        }
+        System.out.println(
+            "drift from orthogonal after "+steps+" steps: double "
+            +getDrift(orientation)+", float "+getDrift(toDoubles(fo))
+        );
+        FloatScene floats = new FloatScene(scene);
+        Projector projector = new Projector(600,400,200,1000);
+        float[] x = new float[120];
+        float[] y = new float[120];
+        float[] z = new float[120];
+        int[] px = new int[120];
+        int[] py = new int[120];
+        double error = 0;
+        int off = 0;
+        int total = 0;
+        for ( int i = 0; i < n; ++i ) {
+            Polyhedron p = scene.createPolyhedron(i);
+            int[][] pixel = projector.project(p.getVertices());
+            int m = floats.getVertices(i,x,y,z);
+            projector.project(x,y,z,m,px,py);
+            for ( int j = 0; j < m; ++j ) {
+                double[] v = p.getVertex(j);
+                error = Math.max(error,Math.abs(x[j]-v[0]));
+                error = Math.max(error,Math.abs(y[j]-v[1]));
+                error = Math.max(error,Math.abs(z[j]-v[2]));
+                if ( px[j] != pixel[0][j] || py[j] != pixel[1][j] ) {
+                    ++off;
+                }
+                ++total;
+            }
+        }
+        System.out.println(
+            "vertices in floats: most error "+error+" of a radius of "
+            +scene.getRadii()[0]+", "+off+" of "+total+" projected to"
+            +" another pixel"
+        );
+    }
+    
+    /**
+     *  Multiplies a rotation by an orientation, both 3x3 matrices by
+     *  rows, in floats.
+     */
+    private static void multiply(
+        float[] rotation, float[] orientation, int at, float[] product
+    ) {
+        for ( int r = 0; r < 3; ++r ) {
+            for ( int c = 0; c < 3; ++c ) {
+                float sum = 0;
+                for ( int k = 0; k < 3; ++k ) {
+                    sum += rotation[at+3*r+k]*orientation[at+3*k+c];
+                }
+                product[3*r+c] = sum;
+            }
+        }
+    }
+    
+    /**
+     *  Gets how far the most of a set of 3x3 matrices is from
+     *  orthogonal, the most of any element of M^T M - I.
+     */
+    private static double getDrift( double[] m ) {
+        double most = 0;
+        for ( int i = 0; i < m.length/9; ++i ) {
+            double[][] a = Scene.getMatrix(m,i);
+            double[][] b = Rn.multiply(Rn.transpose(a),a);
+            for ( int r = 0; r < 3; ++r ) {
+                for ( int c = 0; c < 3; ++c ) {
+                    double e = b[r][c]-( ( r == c ) ? 1 : 0 );
+                    most = Math.max(most,Math.abs(e));
+                }
+            }
+        }
+        return most;
+    }
+    
+    private static float[] toFloats( double[] a ) {
+        float[] f = new float[a.length];
+        for ( int i = 0; i < a.length; ++i ) {
+            f[i] = (float)a[i];
+        }
+        return f;
+    }
+    
+    private static double[] toDoubles( float[] a ) {
+        double[] d = new double[a.length];
+        for ( int i = 0; i < a.length; ++i ) {
+            d[i] = a[i];
+        }
+        return d;
+    }
+
+}
@@ -0,0 +1,273 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+import org.dolben.iiid.Lighting;
+import org.dolben.iiid.Projector;
+import org.dolben.iiid.VertexKernel;
+import org.dolben.poly.ColoredFaces;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  A copy of the positions and orientations of the bodies of a Scene
+ *  in floats, for drawing them.
+ *  </p><p>
+ *  The Scene keeps doubles, since the bodies are moved step after step
+ *  and the errors would accumulate in floats; but each frame is drawn
+ *  afresh, so floats are plenty for it, and a body takes a quarter of
+ *  the memory it does in the Scene, so many more fit in the cache.
+ *  The vertices of a body are found from the vertices of its shape
+ *  each time it's drawn, rather than kept, and transformed and projected
+ *  all at once by the VertexKernel, an array for each component.
+ *  </p>
+ */
+public class FloatScene {
+    
+    private Polyhedron[] shape;     // the shape of each type of body
+    private float[][] shapeX;       // the vertices of each shape
+    private float[][] shapeY;
+    private float[][] shapeZ;
+    private Color[][] color;        // the color of each face of each shape
+    private int[] type;             // the type of each body
+    private float[] radius;         // the radius of each body
+    private float[] position;       // the position of each body
+    private float[] orientation;    // the orientation of each body
+    private Lighting lighting;      // the lighting of the scene
+    private VertexKernel kernel;    // transforms the vertices
+    private float[] vx;             // the vertices of the body being drawn
+    private float[] vy;
+    private float[] vz;
+    private float[] matrix;         // its orientation scaled to its radius
+    private int[] x;                // its projected vertices
+    private int[] y;
+    private int[] faceX;            // the projected vertices of a face
+    private int[] faceY;
+    private long[] depth;           // the depth of each body, by index
+    private boolean outlined = true;    // whether the faces are outlined
+    private boolean shaded = true;      // whether the faces are shaded
+    
+    /**
+     *  Creates a new FloatScene from the state of a Scene.
+     *
+     *  @param scene the scene
+     */
+    public FloatScene( Scene scene ) {
+        shape = scene.getShapes();
+        shapeX = new float[shape.length][];
+        shapeY = new float[shape.length][];
+        shapeZ = new float[shape.length][];
+        color = new Color[shape.length][];
+        int most = 0;
+        int sides = 0;
+        for ( int t = 0; t < shape.length; ++t ) {
+            int n = shape[t].getVertexCount();
+            shapeX[t] = new float[n];
+            shapeY[t] = new float[n];
+            shapeZ[t] = new float[n];
+            for ( int v = 0; v < n; ++v ) {
+                double[] p = shape[t].getVertex(v);
+                shapeX[t][v] = (float)p[0];
+                shapeY[t][v] = (float)p[1];
+                shapeZ[t][v] = (float)p[2];
+            }
+            most = Math.max(most,n);
+            color[t] = new Color[shape[t].getFaces()];
+            for ( int f = 0; f < color[t].length; ++f ) {
+                int[] face = shape[t].getFaceIndices(f);
+                color[t][f] = ColoredFaces.getColorOfSides(face.length);
+                sides = Math.max(sides,face.length);
+            }
+        }
+        int n = scene.getCount();
+        type = scene.getTypes().clone();
+        radius = new float[n];
+        position = new float[3*n];
+        orientation = new float[9*n];
+        lighting = new Lighting();
+        kernel = VertexKernel.getInstance();
+        vx = new float[most];
+        vy = new float[most];
+        vz = new float[most];
+        matrix = new float[9];
+        x = new int[most];
+        y = new int[most];
+        faceX = new int[sides];
+        faceY = new int[sides];
+        depth = new long[n];
+        update(scene);
+    }
+    
+    /**
+     *  Copies the positions, orientations and radii of the bodies
+     *  of the scene, which must have the same bodies.
+     *
+     *  @param scene the scene
+     */
+    public void update( Scene scene ) {
+        double[] r = scene.getRadii();
+        double[] p = scene.getPositions();
+        double[] o = scene.getOrientations();
+        for ( int i = 0; i < radius.length; ++i ) {
+            radius[i] = (float)r[i];
+        }
+        for ( int i = 0; i < position.length; ++i ) {
+            position[i] = (float)p[i];
+        }
+        for ( int i = 0; i < orientation.length; ++i ) {
+            orientation[i] = (float)o[i];
+        }
+    }
+    
+    /**
+     *  Sets the colors of the faces of a type of body, which are
+     *  otherwise those of ColoredFaces, by the number of sides.
+     *
+     *  @param t the index of the type
+     *  @param colors the color of each face
+     */
+    public void setColors( int t, Color[] colors ) {
+        color[t] = colors.clone();
+    }
+    
+    /**
+     *  Sets whether the faces are outlined before they're filled.
+     *
+     *  @param on true to outline them
+     */
+    public void setOutlined( boolean on ) {
+        outlined = on;
+    }
+    
+    /**
+     *  Sets whether the faces are shaded by the lighting.
+     *
+     *  @param on true to shade them
+     */
+    public void setShaded( boolean on ) {
+        shaded = on;
+    }
+    
+    /**
+     *  Gets the number of bodies.
+     *
+     *  @return the number of bodies
+     */
+    public int getCount( ) {
+        return type.length;
+    }
+    
+    /**
+     *  Gets the position of each body, three components to each.
+     *
+     *  @return the positions
+     */
+    public float[] getPositions( ) {
+        return position;
+    }
+    
+    /**
+     *  Gets the orientation of each body, nine components to each.
+     *
+     *  @return the orientations
+     */
+    public float[] getOrientations( ) {
+        return orientation;
+    }
+    
+    /**
+     *  Finds the vertices of a body from the vertices of its shape.
+     *
+     *  @param i the index of the body
+     *  @param x the array in which to put the x components of the vertices
+     *  @param y the y components
+     *  @param z the z components
+     *
+     *  @return the number of vertices
+     */
+    public int getVertices( int i, float[] x, float[] y, float[] z ) {
+        for ( int k = 0; k < 9; ++k ) {
+            matrix[k] = radius[i]*orientation[9*i+k];
+        }
+        float[] t = { position[3*i], position[3*i+1], position[3*i+2] };
+        int s = type[i];
+        int n = shapeX[s].length;
+        kernel.transform(matrix,t,shapeX[s],shapeY[s],shapeZ[s],n,x,y,z);
+        return n;
+    }
+    
+    /**
+     *  Sorts the bodies from farthest to nearest, each as its z
+     *  coordinate, in bits that order as the floats do, in the high
+     *  half of a long, and its index in the low half, so that the
+     *  sort is of primitives, and bodies at the same depth stay in
+     *  the order of their indices.
+     */
+    private void sortByDepth( ) {
+        for ( int i = 0; i < depth.length; ++i ) {
+            int z = Float.floatToIntBits(position[3*i+2]);
+            z ^= (z>>31)&0x7fffffff;    // negatives in reverse
+            depth[i] = ((long)z<<32)|i;
+        }
+        Arrays.sort(depth);
+    }
+    
+    /**
+     *  Draws the bodies from farthest to nearest, with their faces
+     *  in their colors, as ColoredFaces does.
+     *
+     *  @param projector the projector that maps 3D to Graphics coordinates
+     *  @param graphics  the drawing context
+     */
+    public void paint( Projector projector, Graphics graphics ) {
+        sortByDepth();
+        float viewer = (float)projector.getViewer()[2];
+        for ( int o = 0; o < depth.length; ++o ) {
+            int i = (int)depth[o];
+            Polyhedron p = shape[type[i]];
+            Color[] colors = color[type[i]];
+            int n = getVertices(i,vx,vy,vz);
+            projector.project(vx,vy,vz,n,x,y);
+            for ( int f = 0; f < p.getFaces(); ++f ) {
+                int[] face = p.getFaceIndices(f);
+                int a = face[0];
+                int b = face[1];
+                int c = face[2];
+                // the normal, (v1-v0) x (v2-v1)
+                float ux = vx[b]-vx[a];
+                float uy = vy[b]-vy[a];
+                float uz = vz[b]-vz[a];
+                float wx = vx[c]-vx[b];
+                float wy = vy[c]-vy[b];
+                float wz = vz[c]-vz[b];
+                float nx = uy*wz-uz*wy;
+                float ny = uz*wx-ux*wz;
+                float nz = ux*wy-uy*wx;
+                float toViewer = -nx*vx[a]-ny*vy[a]+nz*(viewer-vz[a]);
+                if ( toViewer <= 0 ) {
+                    continue;
+                }
+                graphics.setColor( shaded ?
+                    lighting.getShade(new double[] { nx, ny, nz },colors[f]) :
+                    colors[f]
+                );
+                for ( int k = 0; k < face.length; ++k ) {
+                    faceX[k] = x[face[k]];
+                    faceY[k] = y[face[k]];
+                }
+                // drawn as well as filled, so no gaps are left at the edges
+                if ( outlined ) {
+                    graphics.drawPolygon(faceX,faceY,face.length);
+                }
+                graphics.fillPolygon(faceX,faceY,face.length);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,355 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.imageio.ImageIO;
+
+/**
+ *  <p>
+ *  Records the frames of an animation to files, without holding up
+ *  the thread that draws them.
+ *  </p><p>
+ *  Each frame is copied from the back buffer into one of a pool of
+ *  frames and put on a queue, from which worker threads encode it.
+ *  When the pool is empty, because encoding has fallen behind, the
+ *  frame is either dropped or the drawing thread waits for one,
+ *  as the policy says.
+ *  </p><p>
+ *  Frames are encoded either as a sequence of PNG files, frame000000.png
+ *  and so on, by any number of workers, or as one stream of raw RGB,
+ *  frames.rgb, by one worker. The stream begins with the width and
+ *  height; then each frame is its number and either a whole frame of
+ *  three bytes to a pixel, or a delta from the frame before: runs of
+ *  changed pixels, each the number of pixels skipped, the number changed
+ *  and their bytes, ending with a run of none changed. Every so many
+ *  frames is whole, so the stream can be read from there.
+ *  </p>
+ */
+public class FrameRecorder {
+    
+    /** Encode each frame as a PNG file. */
+    public static final int PNG = 0;
+    
+    /** Encode the frames as one stream of raw RGB with delta frames. */
+    public static final int RAW = 1;
+    
+    private static final int MAGIC = 0x52474246;    // "RGBF"
+    private static final int WHOLE = 0;             // a whole frame
+    private static final int DELTA = 1;             // a delta frame
+    private static final int KEY_INTERVAL = 60;     // frames between whole
+    
+    private File directory;         // where the files go
+    private int width;              // the width of a frame
+    private int height;             // the height of a frame
+    private int format;             // PNG or RAW
+    private boolean block;          // wait rather than drop when behind
+    private BlockingQueue pool;     // frames free to be filled
+    private BlockingQueue queue;    // frames waiting to be encoded
+    private Thread[] workers;       // the threads that encode
+    private int next;               // the number of the next frame
+    private long dropped;           // the number of frames dropped
+    private long captureTime;       // nanoseconds spent capturing
+    private long captureMost;       // the longest capture in nanoseconds
+    private long captured;          // the number of frames captured
+    private IOException failure;    // the first failure to encode, if any
+    
+    /**
+     *  Creates a new FrameRecorder and starts its workers.
+     *
+     *  @param dir the directory in which to put the files
+     *  @param w the width of the frames
+     *  @param h the height of the frames
+     *  @param f the format, PNG or RAW
+     *  @param capacity the number of frames that can wait to be encoded
+     *  @param n the number of workers, which is 1 for RAW
+     *  @param b true to wait, rather than drop frames, when behind
+     */
+    public FrameRecorder(
+        File dir, int w, int h, int f, int capacity, int n, boolean b
+    ) {
+        directory = dir;
+        width = w;
+        height = h;
+        format = f;
+        block = b;
+        if ( format == RAW ) {
+            n = 1;
+        }
+        pool = new ArrayBlockingQueue(capacity+n);
+        // room for every frame and for a last one to stop each worker
+        queue = new ArrayBlockingQueue(capacity+2*n);
+        for ( int i = 0; i < capacity+n; ++i ) {
+            pool.add(new Frame(w*h));
+        }
+        workers = new Thread[n];
+        for ( int i = 0; i < n; ++i ) {
+            workers[i] = new Thread(new Worker(),"FrameRecorder-"+i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+    
+    /**
+     *  Records a frame, copying it from the back buffer. It only waits
+     *  when all of the frames in the pool are waiting to be encoded
+     *  and the policy is to block.
+     *
+     *  @param image the back buffer, which must be a BufferedImage
+     *               at least as big as a frame
+     */
+    public void record( BufferedImage image ) {
+        long start = System.nanoTime();
+        Frame frame = (Frame)pool.poll();
+        if ( frame == null ) {
+            if ( !block ) {
+                ++dropped;
+                ++next;
+                return;
+            }
+            try {
+                frame = (Frame)pool.take();
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        copy(image,frame.pixels);
+        frame.number = next++;
+        queue.add(frame);
+        long time = System.nanoTime()-start;
+        captureTime += time;
+        if ( time > captureMost ) {
+            captureMost = time;
+        }
+        ++captured;
+    }
+    
+    /**
+     *  Copies the pixels of an image, straight from its data buffer
+     *  when it's the same layout as a frame.
+     */
+    private void copy( BufferedImage image, int[] pixels ) {
+        Raster raster = image.getRaster();
+        if ( (image.getType() == BufferedImage.TYPE_INT_RGB
+              || image.getType() == BufferedImage.TYPE_INT_ARGB)
+             && raster.getDataBuffer() instanceof DataBufferInt
+             && raster.getWidth() == width ) {
+            int[] data = ((DataBufferInt)raster.getDataBuffer()).getData();
+            System.arraycopy(data,0,pixels,0,pixels.length);
+        } else {
+            image.getRGB(0,0,width,height,pixels,0,width);
+        }
+    }
+    
+    /**
+     *  Gets the number of frames dropped because encoding fell behind.
+     *
+     *  @return the number dropped
+     */
+    public long getDropped( ) {
+        return dropped;
+    }
+    
+    /**
+     *  Gets the number of frames captured.
+     *
+     *  @return the number captured
+     */
+    public long getCaptured( ) {
+        return captured;
+    }
+    
+    /**
+     *  Gets the average time taken to capture a frame on the drawing
+     *  thread, including any wait for a free frame.
+     *
+     *  @return the time in nanoseconds
+     */
+    public long getCaptureTime( ) {
+        return ( captured > 0 ) ? captureTime/captured : 0;
+    }
+    
+    /**
+     *  Gets the longest time taken to capture a frame.
+     *
+     *  @return the time in nanoseconds
+     */
+    public long getLongestCaptureTime( ) {
+        return captureMost;
+    }
+    
+    /**
+     *  Finishes encoding the frames that are waiting, then stops
+     *  the workers.
+     *
+     *  @throws IOException when a frame couldn't be encoded
+     */
+    public void close( ) throws IOException {
+        for ( int i = 0; i < workers.length; ++i ) {
+            queue.add(new Frame(0));
+        }
+        for ( int i = 0; i < workers.length; ++i ) {
+            try {
+                workers[i].join();
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        synchronized ( this ) {
+            if ( failure != null ) {
+                throw failure;
+            }
+        }
+    }
+    
+    // Keeps the first failure to encode.
+    private synchronized void fail( IOException e ) {
+        if ( failure == null ) {
+            failure = e;
+        }
+    }
+    
+    /**
+     *  A frame of pixels, packed RGB, and its number.
+     */
+    private static class Frame {
+        
+        private int number;
+        private int[] pixels;
+        
+        private Frame( int size ) {
+            pixels = new int[size];
+        }
+        
+    }
+    
+    /**
+     *  A thread that encodes frames from the queue until it takes
+     *  one without pixels.
+     */
+    private class Worker implements Runnable {
+        
+        private DataOutputStream out;   // the RAW stream
+        private int[] previous;         // the frame before, for a delta
+        private byte[] bytes;           // the bytes of a run of pixels
+        private BufferedImage image;    // a PNG frame
+        private long written;           // the number of frames written
+        
+        public void run( ) {
+            try {
+                while ( true ) {
+                    Frame frame = (Frame)queue.take();
+                    if ( frame.pixels.length == 0 ) {
+                        break;
+                    }
+                    try {
+                        if ( format == RAW ) {
+                            writeRaw(frame);
+                        } else {
+                            writePng(frame);
+                        }
+                    } catch ( IOException e ) {
+                        fail(e);
+                    }
+                    pool.add(frame);
+                }
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+            }
+            if ( out != null ) {
+                try {
+                    out.close();
+                } catch ( IOException e ) {
+                    fail(e);
+                }
+            }
+        }
+        
+        // Writes a frame as a PNG file.
+        private void writePng( Frame frame ) throws IOException {
+            if ( image == null ) {
+                image = new BufferedImage(
+                    width,height,BufferedImage.TYPE_INT_RGB
+                );
+            }
+            image.setRGB(0,0,width,height,frame.pixels,0,width);
+            String name = "frame"+(1000000+frame.number+"").substring(1);
+            ImageIO.write(image,"png",new File(directory,name+".png"));
+        }
+        
+        // Writes a frame to the RAW stream, whole or as a delta.
+        private void writeRaw( Frame frame ) throws IOException {
+            int[] pixels = frame.pixels;
+            if ( out == null ) {
+                out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(new File(directory,"frames.rgb")),
+                    1<<16
+                ));
+                out.writeInt(MAGIC);
+                out.writeInt(width);
+                out.writeInt(height);
+                previous = new int[pixels.length];
+                bytes = new byte[3*pixels.length];
+            }
+            out.writeInt(frame.number);
+            if ( written++%KEY_INTERVAL == 0 ) {
+                out.writeByte(WHOLE);
+                writePixels(pixels,0,pixels.length);
+            } else {
+                out.writeByte(DELTA);
+                int i = 0;
+                while ( i < pixels.length ) {
+                    int skip = i;
+                    while ( skip < pixels.length
+                            && pixels[skip] == previous[skip] ) {
+                        ++skip;
+                    }
+                    int end = skip;
+                    while ( end < pixels.length
+                            && pixels[end] != previous[end] ) {
+                        ++end;
+                    }
+                    if ( end > skip ) {
+                        out.writeInt(skip-i);
+                        out.writeInt(end-skip);
+                        writePixels(pixels,skip,end);
+                    }
+                    i = end;
+                }
+                out.writeInt(0);
+                out.writeInt(0);
+            }
+            System.arraycopy(pixels,0,previous,0,pixels.length);
+        }
+        
+        // Writes the RGB bytes of a run of pixels.
+        private void writePixels( int[] pixels, int from, int to )
+            throws IOException
+        {
+            int b = 0;
+            for ( int i = from; i < to; ++i ) {
+                int p = pixels[i];
+                bytes[b++] = (byte)(p>>16);
+                bytes[b++] = (byte)(p>>8);
+                bytes[b++] = (byte)p;
+            }
+            out.write(bytes,0,b);
+        }
+        
+    }
+
+}
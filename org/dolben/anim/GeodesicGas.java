@@ -0,0 +1,40 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import org.dolben.poly.Geodesic;
+import org.dolben.poly.Goldberg;
+
+/**
+ *  An animated simulation of geodesic spheres and Goldberg polyhedra
+ *  bouncing around in a box, for seeing how drawing and collision
+ *  go with many vertices.
+ <pre>
+                  vertices      faces
+                  --------      -----
+   Geodesic       10f*f+2       20f*f triangles
+   Goldberg       20f*f         12 pentagons, 10(f*f-1) hexagons
+ </pre>
+ */
+public class GeodesicGas extends Collidoscope {
+    
+    private static final long serialVersionUID = 1;
+    
+    /**
+     *  Creates the bodies in the simulation, as many of each solid
+     *  as the parameter "count" gives, by default one, of the
+     *  frequency that the parameter "frequency" gives, by default 4.
+     */
+    protected void createBodies( double[] limit ) {
+        int count = Integer.parseInt(getParameter("count","1"));
+        int frequency = Integer.parseInt(getParameter("frequency","4"));
+        SceneBuilder builder = createSceneBuilder(2*count);
+        builder.add(new Geodesic(frequency),count);
+        builder.add(new Goldberg(frequency),count);
+        initBodies(builder);
+    }
+
+}
@@ -0,0 +1,242 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ *  <p>
+ *  Moves bodies through a step from impact to impact, with a wall or
+ *  between a pair of bodies, so that fast bodies can't pass through
+ *  walls or each other between the ends of the step.
+ *  </p><p>
+ *  The impacts are kept in a queue by time. Each body has a count of
+ *  its impacts in the step, and an impact predicted before the count of
+ *  either of its bodies changed is stale, and is dropped, as in the
+ *  EventSimulation. After an impact, only the impacts of the bodies in
+ *  it are predicted again, with the walls and with the bodies that
+ *  could reach them in what's left of the step.
+ *  </p><p>
+ *  Those bodies are found by sweeping: the bodies are kept in order
+ *  along the x axis, from step to step, sorted again by insertion at
+ *  the start of each, and a body is only compared to those whose x
+ *  coordinate then was near enough to its own, allowing for how far
+ *  any body has moved since.
+ *  </p><p>
+ *  Each body is only moved to the time of an impact when it's in
+ *  one, or it's compared to one that is, and all of them to the end of
+ *  the step after the last. When a step has more impacts than a few
+ *  for each body, as a jammed pile can, it ends at the last, with
+ *  every body where it was then, rather than going on unchecked.
+ *  </p><p>
+ *  Each body is spun through the whole step at its start, not swept
+ *  through the turn: a corner that turns past a wall is turned back
+ *  at once, by an impact at time 0, and a pair that a turn makes
+ *  overlap is bounced apart at once when they're moving together, but
+ *  a fast spin may carry a corner through a thin part of another body.
+ *  </p><p>
+ *  The Contacts that the bodies keep with each other are swept at the
+ *  end of each step, dropping those of the pairs that weren't compared
+ *  in it, which have drifted apart along x.
+ *  </p>
+ */
+public class ImpactQueue {
+    
+    private static final int IMPACTS = 8;   // the most each step, per body
+    
+    private Body[] sweep = new Body[0]; // the bodies in order along x
+    private double[] x;         // the x coordinate of each, at the start
+    private double[] stamp;     // the time of the step each is moved to
+    private int[] count;        // the number of impacts of each
+    private double most;        // the largest radius of any
+    private double fastest;     // the most speed of any, in the step
+    private double now;         // the time of the step
+    private PriorityQueue queue;    // the impacts predicted, by time
+    
+    /**
+     *  Creates a new ImpactQueue.
+     */
+    public ImpactQueue( ) {
+        queue = new PriorityQueue(11,new Comparator() {
+            public int compare( Object a, Object b ) {
+                return Double.compare(((Impact)a).time,((Impact)b).time);
+            }
+        });
+    }
+    
+    /**
+     *  Spins the bodies, and then moves them through one step, from
+     *  impact to impact.
+     *
+     *  @param body the bodies
+     */
+    public void step( Body[] body ) {
+        if ( body.length != sweep.length ) {
+            sweep = (Body[])body.clone();
+            x = new double[body.length];
+            stamp = new double[body.length];
+            count = new int[body.length];
+        }
+        int n = sweep.length;
+        most = 0;
+        fastest = 0;
+        for ( int i = 0; i < n; ++i ) {
+            sweep[i].spin();
+            most = Math.max(most,sweep[i].getCollisionRadius());
+            fastest = Math.max(fastest,getSpeed(sweep[i]));
+        }
+        for ( int i = 1; i < n; ++i ) {
+            Body b = sweep[i];
+            double bx = b.getPosition()[0];
+            int j = i;
+            for ( ; j > 0 && sweep[j-1].getPosition()[0] > bx; --j ) {
+                sweep[j] = sweep[j-1];
+            }
+            sweep[j] = b;
+        }
+        for ( int i = 0; i < n; ++i ) {
+            x[i] = sweep[i].getPosition()[0];
+            stamp[i] = 0;
+            count[i] = 0;
+        }
+        now = 0;
+        queue.clear();
+        for ( int i = 0; i < n; ++i ) {
+            predictWall(i);
+            double reach = sweep[i].getCollisionRadius()+most
+                +getSpeed(sweep[i])+fastest;
+            for ( int j = i+1; j < n && x[j]-x[i] < reach; ++j ) {
+                predict(i,j);
+            }
+        }
+        double end = 1;
+        int impacts = 0;
+        while ( !queue.isEmpty() ) {
+            Impact impact = (Impact)queue.poll();
+            int a = impact.a;
+            int b = impact.b;
+            if ( impact.countA != count[a] ||
+                 b >= 0 && impact.countB != count[b] ) {
+                continue;   // stale
+            }
+            if ( impacts++ >= IMPACTS*n ) {
+                end = now;
+                break;
+            }
+            now = impact.time;
+            moveToNow(a);
+            ++count[a];
+            if ( b < 0 ) {
+                sweep[a].bounceOffWall();
+            } else {
+                moveToNow(b);
+                ++count[b];
+                sweep[a].bounce(sweep[b]);
+                fastest = Math.max(fastest,getSpeed(sweep[b]));
+            }
+            fastest = Math.max(fastest,getSpeed(sweep[a]));
+            repredict(a,b);
+            if ( b >= 0 ) {
+                repredict(b,a);
+            }
+        }
+        now = end;
+        for ( int i = 0; i < n; ++i ) {
+            moveToNow(i);
+            sweep[i].sweepContacts();
+        }
+    }
+    
+    /**
+     *  Predicts the impacts of a body with the walls and with the
+     *  bodies that could reach it in what's left of the step, but for
+     *  one whose impact with it has already been predicted.
+     */
+    private void repredict( int a, int skip ) {
+        predictWall(a);
+        // how far apart along x they could have been at the start
+        double reach = sweep[a].getCollisionRadius()+most
+            +getSpeed(sweep[a])*(1-now)+fastest;
+        double ax = sweep[a].getPosition()[0];
+        int lo = 0;
+        int hi = x.length;
+        while ( lo < hi ) {
+            int mid = (lo+hi)>>>1;
+            if ( x[mid] <= ax-reach ) {
+                lo = mid+1;
+            } else {
+                hi = mid;
+            }
+        }
+        for ( int j = lo; j < x.length && x[j] < ax+reach; ++j ) {
+            if ( j != a && j != skip ) {
+                predict(a,j);
+            }
+        }
+    }
+    
+    /**
+     *  Predicts the impact of a body with the walls, if it's within
+     *  the step.
+     */
+    private void predictWall( int a ) {
+        double t = sweep[a].getWallImpactTime(1-now);
+        if ( t <= 1-now ) {
+            queue.add(new Impact(now+t,a,-1));
+        }
+    }
+    
+    /**
+     *  Predicts the impact of a pair of bodies, moving both to now,
+     *  if it's within the step.
+     */
+    private void predict( int a, int b ) {
+        moveToNow(a);
+        moveToNow(b);
+        double t = sweep[a].getImpactTime(sweep[b],1-now);
+        if ( t <= 1-now ) {
+            queue.add(new Impact(now+t,a,b));
+        }
+    }
+    
+    /**
+     *  Moves a body to the time of the step.
+     */
+    private void moveToNow( int i ) {
+        if ( stamp[i] != now ) {
+            sweep[i].move(now-stamp[i]);
+            stamp[i] = now;
+        }
+    }
+    
+    private static double getSpeed( Body body ) {
+        double[] v = body.getVelocity();
+        return Math.sqrt(v[0]*v[0]+v[1]*v[1]+v[2]*v[2]);
+    }
+    
+    /**
+     *  An impact predicted, with the counts of its bodies then.
+     */
+    private class Impact {
+        
+        private double time;        // the time of the step
+        private int a;              // one body
+        private int b;              // the other, or -1 for a wall
+        private int countA;
+        private int countB;
+        
+        Impact( double t, int ia, int ib ) {
+            time = t;
+            a = ia;
+            b = ib;
+            countA = count[ia];
+            countB = ( ib >= 0 ) ? count[ib] : 0;
+        }
+        
+    }
+
+}
@@ -0,0 +1,322 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  <p>
+ *  Thermodynamic observables of a gas of bodies in a box, collected
+ *  while the bodies are stepped rather than by going over them again.
+ *  </p><p>
+ *  Each thread that steps bodies adds each body's velocity, and the
+ *  momentum it gives the walls, to its own Tally. At the end of each
+ *  step, once those threads are done, endStep() is called; every so many
+ *  steps the tallies are gathered into a Window of averages and a
+ *  histogram of speeds, which is published to the listeners.
+ *  </p><p>
+ *  Bodies are taken to be of unit mass, and temperature to be in units
+ *  where Boltzmann's constant is 1, so that the average kinetic energy
+ *  of a body is 3/2 of the temperature. Time is in steps.
+ *  </p>
+ */
+public class Observables {
+    
+    private double area;            // the area of the walls of the box
+    private double volume;          // the volume of the box
+    private int cadence;            // the number of steps in a window
+    private int bins;               // the number of bins of speed
+    private double binWidth;        // the range of speed of each bin
+    private List tallies;           // the Tally of each thread
+    private ThreadLocal local;      // the Tally of the current thread
+    private List listeners;         // listeners for each window
+    private int steps;              // the number of steps in this window
+    
+    /**
+     *  Creates new Observables of the bodies in a box.
+     *
+     *  @param limit the limit of displacement from the origin
+     *               in each dimension
+     *  @param steps the number of steps in each window
+     *  @param n the number of bins in the histogram of speed
+     *  @param top the top of the histogram, the speed above which
+     *             all are counted in the top bin
+     */
+    public Observables( double[] limit, int steps, int n, double top ) {
+        area = 8*(limit[1]*limit[2]+limit[2]*limit[0]+limit[0]*limit[1]);
+        volume = 8*limit[0]*limit[1]*limit[2];
+        cadence = steps;
+        bins = n;
+        binWidth = top/n;
+        tallies = new ArrayList();
+        local = new ThreadLocal();
+        listeners = new ArrayList();
+        this.steps = 0;
+    }
+    
+    /**
+     *  Adds a listener for each window of observations.
+     *
+     *  @param listener the listener
+     */
+    public void addListener( Listener listener ) {
+        synchronized ( listeners ) {
+            listeners.add(listener);
+        }
+    }
+    
+    /**
+     *  Gets the Tally of the current thread. Get it once for a step,
+     *  rather than for each body.
+     *
+     *  @return the Tally
+     */
+    public Tally getTally( ) {
+        Tally tally = (Tally)local.get();
+        if ( tally == null ) {
+            tally = new Tally(bins,binWidth);
+            local.set(tally);
+            synchronized ( tallies ) {
+                tallies.add(tally);
+            }
+        }
+        return tally;
+    }
+    
+    /**
+     *  Ends a step, publishing a window of observations
+     *  when there have been enough steps. It must only be called
+     *  when no thread is adding to its Tally.
+     */
+    public void endStep( ) {
+        if ( ++steps >= cadence ) {
+            publish();
+            steps = 0;
+        }
+    }
+    
+    /**
+     *  Gathers the tallies into a window, clearing them,
+     *  and gives it to each listener.
+     */
+    private void publish( ) {
+        long n = 0;
+        double kinetic = 0;
+        double speed = 0;
+        double impulse = 0;
+        long[] histogram = new long[bins];
+        synchronized ( tallies ) {
+            for ( int t = 0; t < tallies.size(); ++t ) {
+                Tally tally = (Tally)tallies.get(t);
+                n += tally.bodies;
+                kinetic += tally.kinetic;
+                speed += tally.speed;
+                impulse += tally.impulse;
+                for ( int i = 0; i < bins; ++i ) {
+                    histogram[i] += tally.histogram[i];
+                }
+                tally.clear();
+            }
+        }
+        double bodies = (double)n/steps;
+        double energy = ( n > 0 ) ? kinetic/n : 0;
+        Window window = new Window(
+            steps,
+            bodies,
+            2*energy/3,
+            impulse/(area*steps),
+            ( n > 0 ) ? speed/n : 0,
+            histogram,
+            binWidth,
+            volume
+        );
+        synchronized ( listeners ) {
+            for ( int i = 0; i < listeners.size(); ++i ) {
+                ((Listener)listeners.get(i)).observe(window);
+            }
+        }
+    }
+    
+    /**
+     *  A listener for windows of observations.
+     */
+    public interface Listener {
+        
+        /**
+         *  Observes a window of observations.
+         *
+         *  @param window the observations
+         */
+        void observe( Window window );
+        
+    }
+    
+    /**
+     *  The sums of observations by one thread during a window.
+     */
+    public static class Tally {
+        
+        private long bodies;        // the number of observations of bodies
+        private double kinetic;     // the sum of kinetic energy
+        private double speed;       // the sum of speed
+        private double impulse;     // the sum of momentum given to walls
+        private long[] histogram;   // the number of bodies in each bin
+        private double binWidth;    // the range of speed of each bin
+        
+        private Tally( int bins, double width ) {
+            histogram = new long[bins];
+            binWidth = width;
+        }
+        
+        /**
+         *  Adds an observation of a body, of unit mass, in a step.
+         *
+         *  @param velocity the velocity of the body
+         *  @param wall the momentum the body gave the walls in the step
+         */
+        public void add( double[] velocity, double wall ) {
+            double vv = velocity[0]*velocity[0]
+                       +velocity[1]*velocity[1]
+                       +velocity[2]*velocity[2];
+            double v = Math.sqrt(vv);
+            ++bodies;
+            kinetic += vv/2;
+            speed += v;
+            impulse += wall;
+            int bin = (int)(v/binWidth);
+            ++histogram[( bin < histogram.length ) ? bin : histogram.length-1];
+        }
+        
+        /**
+         *  Adds momentum given to the walls, apart from any body.
+         *
+         *  @param wall the momentum
+         */
+        public void addImpulse( double wall ) {
+            impulse += wall;
+        }
+        
+        // Clears the sums for the next window.
+        private void clear( ) {
+            bodies = 0;
+            kinetic = 0;
+            speed = 0;
+            impulse = 0;
+            for ( int i = 0; i < histogram.length; ++i ) {
+                histogram[i] = 0;
+            }
+        }
+        
+    }
+    
+    /**
+     *  The observations over a window of steps.
+     */
+    public static class Window {
+        
+        private int steps;
+        private double bodies;
+        private double temperature;
+        private double pressure;
+        private double speed;
+        private long[] histogram;
+        private double binWidth;
+        private double volume;
+        
+        private Window(
+            int s, double n, double t, double p, double v,
+            long[] h, double w, double vol
+        ) {
+            steps = s;
+            bodies = n;
+            temperature = t;
+            pressure = p;
+            speed = v;
+            histogram = h;
+            binWidth = w;
+            volume = vol;
+        }
+        
+        /**
+         *  Gets the number of steps in the window.
+         *
+         *  @return the number of steps
+         */
+        public int getSteps( ) {
+            return steps;
+        }
+        
+        /**
+         *  Gets the average number of bodies observed in each step.
+         *
+         *  @return the number of bodies
+         */
+        public double getBodies( ) {
+            return bodies;
+        }
+        
+        /**
+         *  Gets the temperature, 2/3 of the average kinetic energy.
+         *
+         *  @return the temperature
+         */
+        public double getTemperature( ) {
+            return temperature;
+        }
+        
+        /**
+         *  Gets the pressure, the momentum given to the walls
+         *  per unit of area per step.
+         *
+         *  @return the pressure
+         */
+        public double getPressure( ) {
+            return pressure;
+        }
+        
+        /**
+         *  Gets the pressure an ideal gas would have, at the temperature,
+         *  with the number of bodies in the volume of the box.
+         *
+         *  @return the ideal pressure, N T / V
+         */
+        public double getIdealPressure( ) {
+            return bodies*temperature/volume;
+        }
+        
+        /**
+         *  Gets the average speed.
+         *
+         *  @return the average speed
+         */
+        public double getSpeed( ) {
+            return speed;
+        }
+        
+        /**
+         *  Gets the histogram of speeds, the number of observations
+         *  of a body with a speed in each bin, the top one including
+         *  all those above the top.
+         *
+         *  @return the histogram
+         */
+        public long[] getHistogram( ) {
+            return histogram;
+        }
+        
+        /**
+         *  Gets the range of speed of each bin of the histogram.
+         *
+         *  @return the width of a bin
+         */
+        public double getBinWidth( ) {
+            return binWidth;
+        }
+        
+    }
+
+}
@@ -0,0 +1,53 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.applet.AppletContext;
+import java.applet.AppletStub;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ *  Gives an animation that's run without a browser its parameters,
+ *  as a browser would.
+ */
+class ParameterStub implements AppletStub {
+    
+    private Map parameters;     // the values of the parameters, by name
+    
+    /**
+     *  Creates a new ParameterStub.
+     *
+     *  @param p the values of the parameters, by name
+     */
+    ParameterStub( Map p ) {
+        parameters = p;
+    }
+    
+    public boolean isActive( ) {
+        return true;
+    }
+    
+    public URL getDocumentBase( ) {
+        return null;
+    }
+    
+    public URL getCodeBase( ) {
+        return null;
+    }
+    
+    public String getParameter( String name ) {
+        return (String)parameters.get(name);
+    }
+    
+    public AppletContext getAppletContext( ) {
+        return null;
+    }
+    
+    public void appletResize( int width, int height ) {
+    }
+
+}
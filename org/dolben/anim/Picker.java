@@ -0,0 +1,415 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import org.dolben.iiid.Projector;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  Finds the body of a Scene that a ray hits first, such as the one
+ *  drawn at a pixel, the ray from the viewer through it.
+ *  </p><p>
+ *  The bodies are kept in a bounding-volume hierarchy, a binary tree of
+ *  boxes, each around the circumspheres of the bodies below it, split
+ *  at the median of the longest side. A ray goes down only into the
+ *  boxes it passes through, the nearer first, and past none farther
+ *  than a body already hit, so that it's tested against the spheres of
+ *  only a few bodies, and the faces of fewer. A body's faces are tested
+ *  exactly, with the ray turned into the frame of its shape, where the
+ *  planes of the faces of each type are found once; the shapes must
+ *  be convex.
+ *  </p><p>
+ *  As the bodies move, refit() makes the boxes fit them again without
+ *  changing the tree. When that's made them much bigger than they were
+ *  when it was built, as bodies drift away from those they were with,
+ *  the tree is built again.
+ *  </p><p>
+ *  The tree is kept in flat arrays, the nodes in the order of a
+ *  depth-first walk, so that the left child of a node follows it.
+ *  </p>
+ */
+public class Picker {
+    
+    private static final int LEAF = 4;      // the most bodies in a leaf
+    private static final double SLACK = 2;  // growth before rebuilding
+    
+    private Scene scene;
+    private double[] reach;     // the circumradius of each shape
+    private double[][] plane;   // the plane of each face of each shape
+    private int[] order;        // the bodies in the order of the leaves
+    private int[] first;        // each leaf's first in order, or the right
+    private int[] count;        // the number of bodies of each leaf, or 0
+    private double[] box;       // the least and most x,y,z of each node
+    private int nodes;
+    private double area;        // the sum of the areas of the boxes built
+    
+    /**
+     *  Creates a new Picker for the bodies of a scene, building the
+     *  tree of where they are now.
+     *
+     *  @param s the scene
+     */
+    public Picker( Scene s ) {
+        scene = s;
+        Polyhedron[] shape = s.getShapes();
+        reach = new double[shape.length];
+        plane = new double[shape.length][];
+        for ( int t = 0; t < shape.length; ++t ) {
+            findPlanes(shape[t],t);
+        }
+        int n = s.getCount();
+        order = new int[n];
+        int most = Math.max(1,n);   // every leaf has two or more
+        first = new int[most];
+        count = new int[most];
+        box = new double[6*most];
+        build();
+    }
+    
+    /**
+     *  Finds the outward normal and the distance from the center of
+     *  the plane of each face of a shape, four numbers to each.
+     */
+    private void findPlanes( Polyhedron p, int t ) {
+        for ( int k = 0; k < p.getVertexCount(); ++k ) {
+            double[] v = p.getVertex(k);
+            reach[t] = Math.max(
+                reach[t],Math.sqrt(v[0]*v[0]+v[1]*v[1]+v[2]*v[2])
+            );
+        }
+        double[] a = new double[4*p.getFaces()];
+        for ( int f = 0; f < p.getFaces(); ++f ) {
+            int[] face = p.getFaceIndices(f);
+            double nx = 0, ny = 0, nz = 0;
+            double cx = 0, cy = 0, cz = 0;
+            for ( int i = 0; i < face.length; ++i ) {
+                double[] u = p.getVertex(face[i]);
+                double[] v = p.getVertex(face[(i+1)%face.length]);
+                nx += (u[1]-v[1])*(u[2]+v[2]);
+                ny += (u[2]-v[2])*(u[0]+v[0]);
+                nz += (u[0]-v[0])*(u[1]+v[1]);
+                cx += u[0];
+                cy += u[1];
+                cz += u[2];
+            }
+            double m = Math.sqrt(nx*nx+ny*ny+nz*nz);
+            double d = (nx*cx+ny*cy+nz*cz)/face.length;
+            if ( d < 0 ) {
+                m = -m;
+            }
+            a[4*f  ] = nx/m;
+            a[4*f+1] = ny/m;
+            a[4*f+2] = nz/m;
+            a[4*f+3] = d/m;
+        }
+        plane[t] = a;
+    }
+    
+    /**
+     *  Builds the tree again, of where the bodies are now.
+     */
+    public void build( ) {
+        for ( int i = 0; i < order.length; ++i ) {
+            order[i] = i;
+        }
+        nodes = 0;
+        if ( order.length > 0 ) {
+            split(0,order.length);
+        }
+        area = refitBoxes();
+    }
+    
+    /**
+     *  Makes the boxes fit the bodies where they are now, as after a
+     *  step, building the tree again when they've grown too much.
+     */
+    public void refit( ) {
+        if ( refitBoxes() > SLACK*area ) {
+            build();
+        }
+    }
+    
+    /**
+     *  Makes the node of some bodies in order, splitting them in two
+     *  at the median of the longest side of the box of their centers.
+     */
+    private void split( int from, int to ) {
+        int node = nodes++;
+        if ( to-from <= LEAF ) {
+            first[node] = from;
+            count[node] = to-from;
+            return;
+        }
+        double[] position = scene.getPositions();
+        final double BIG = Double.MAX_VALUE;
+        double[] least = { BIG, BIG, BIG };
+        double[] most = { -BIG, -BIG, -BIG };
+        for ( int i = from; i < to; ++i ) {
+            for ( int k = 0; k < 3; ++k ) {
+                double x = position[3*order[i]+k];
+                least[k] = Math.min(least[k],x);
+                most[k] = Math.max(most[k],x);
+            }
+        }
+        int axis = 0;
+        for ( int k = 1; k < 3; ++k ) {
+            if ( most[k]-least[k] > most[axis]-least[axis] ) {
+                axis = k;
+            }
+        }
+        int middle = (from+to)>>>1;
+        select(from,to,middle,axis);
+        count[node] = 0;
+        split(from,middle);
+        first[node] = nodes;
+        split(middle,to);
+    }
+    
+    /**
+     *  Partially sorts some bodies in order by a component of their
+     *  positions, so that the one at an index is where it would be
+     *  sorted and none before it is after it, Hoare's quickselect.
+     */
+    private void select( int from, int to, int at, int axis ) {
+        double[] position = scene.getPositions();
+        int lo = from;
+        int hi = to-1;
+        while ( lo < hi ) {
+            double pivot = position[3*order[(lo+hi)>>>1]+axis];
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( position[3*order[i]+axis] < pivot ) {
+                    ++i;
+                }
+                while ( position[3*order[j]+axis] > pivot ) {
+                    --j;
+                }
+                if ( i <= j ) {
+                    int b = order[i];
+                    order[i] = order[j];
+                    order[j] = b;
+                    ++i;
+                    --j;
+                }
+            }
+            if ( at <= j ) {
+                hi = j;
+            } else if ( at >= i ) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+    }
+    
+    /**
+     *  Fits each box around the circumspheres of the bodies below it,
+     *  the children of a node, which follow it, before the node.
+     *
+     *  @return the sum of the areas of the boxes
+     */
+    private double refitBoxes( ) {
+        int[] type = scene.getTypes();
+        double[] radius = scene.getRadii();
+        double[] position = scene.getPositions();
+        double sum = 0;
+        for ( int node = nodes-1; node >= 0; --node ) {
+            int b = 6*node;
+            if ( count[node] > 0 ) {
+                for ( int k = 0; k < 3; ++k ) {
+                    box[b+k] = Double.MAX_VALUE;
+                    box[b+3+k] = -Double.MAX_VALUE;
+                }
+                for ( int i = first[node]; i < first[node]+count[node]; ++i ) {
+                    int j = order[i];
+                    double r = radius[j]*reach[type[j]];
+                    for ( int k = 0; k < 3; ++k ) {
+                        double x = position[3*j+k];
+                        box[b+k] = Math.min(box[b+k],x-r);
+                        box[b+3+k] = Math.max(box[b+3+k],x+r);
+                    }
+                }
+            } else {
+                int l = 6*(node+1);
+                int r = 6*first[node];
+                for ( int k = 0; k < 3; ++k ) {
+                    box[b+k] = Math.min(box[l+k],box[r+k]);
+                    box[b+3+k] = Math.max(box[l+3+k],box[r+3+k]);
+                }
+            }
+            double dx = box[b+3]-box[b];
+            double dy = box[b+4]-box[b+1];
+            double dz = box[b+5]-box[b+2];
+            sum += dx*dy+dy*dz+dz*dx;
+        }
+        return sum;
+    }
+    
+    /**
+     *  Finds the body drawn at a pixel.
+     *
+     *  @param projector the projector that draws the scene
+     *  @param x the x coordinate of the pixel
+     *  @param y the y coordinate of the pixel
+     *
+     *  @return the index of the body, or -1 if there's none there
+     */
+    public int pick( Projector projector, int x, int y ) {
+        return pick(projector.getViewer(),projector.unproject(x+0.5,y+0.5));
+    }
+    
+    /**
+     *  Finds the body that a ray hits first.
+     *
+     *  @param origin where the ray starts
+     *  @param direction the direction of the ray
+     *
+     *  @return the index of the body, or -1 if it hits none
+     */
+    public int pick( double[] origin, double[] direction ) {
+        if ( nodes == 0 ) {
+            return -1;
+        }
+        double ox = origin[0], oy = origin[1], oz = origin[2];
+        double dx = direction[0], dy = direction[1], dz = direction[2];
+        double ix = 1/dx, iy = 1/dy, iz = 1/dz;
+        int[] type = scene.getTypes();
+        double[] radius = scene.getRadii();
+        double[] position = scene.getPositions();
+        double dd = dx*dx+dy*dy+dz*dz;
+        double nearest = Double.MAX_VALUE;
+        int hit = -1;
+        int[] stack = new int[64];
+        int top = 0;
+        if ( enter(0,ox,oy,oz,ix,iy,iz) < nearest ) {
+            stack[top++] = 0;
+        }
+        while ( top > 0 ) {
+            int node = stack[--top];
+            if ( count[node] == 0 ) {
+                int l = node+1;
+                int r = first[node];
+                double tl = enter(l,ox,oy,oz,ix,iy,iz);
+                double tr = enter(r,ox,oy,oz,ix,iy,iz);
+                if ( tl > tr ) {
+                    int b = l;
+                    l = r;
+                    r = b;
+                    double t = tl;
+                    tl = tr;
+                    tr = t;
+                }
+                if ( tr < nearest ) {
+                    stack[top++] = r;
+                }
+                if ( tl < nearest ) {
+                    stack[top++] = l;
+                }
+                continue;
+            }
+            if ( enter(node,ox,oy,oz,ix,iy,iz) >= nearest ) {
+                continue;
+            }
+            for ( int i = first[node]; i < first[node]+count[node]; ++i ) {
+                int j = order[i];
+                double px = position[3*j]-ox;
+                double py = position[3*j+1]-oy;
+                double pz = position[3*j+2]-oz;
+                double r = radius[j]*reach[type[j]];
+                double along = (px*dx+py*dy+pz*dz)/dd;
+                double ex = px-along*dx;
+                double ey = py-along*dy;
+                double ez = pz-along*dz;
+                if ( ex*ex+ey*ey+ez*ez > r*r ||
+                     along-r/Math.sqrt(dd) >= nearest ) {
+                    continue;
+                }
+                double t = hitFaces(j,px,py,pz,dx,dy,dz,nearest);
+                if ( t < nearest ) {
+                    nearest = t;
+                    hit = j;
+                }
+            }
+        }
+        return hit;
+    }
+    
+    /**
+     *  Finds where a ray enters the box of a node, by the inverse
+     *  of its direction.
+     *
+     *  @return the parameter of the ray there, or infinity if it misses
+     */
+    private double enter(
+        int node, double ox, double oy, double oz,
+        double ix, double iy, double iz
+    ) {
+        int b = 6*node;
+        double t0 = (box[b  ]-ox)*ix;
+        double t1 = (box[b+3]-ox)*ix;
+        double near = Math.min(t0,t1);
+        double far = Math.max(t0,t1);
+        t0 = (box[b+1]-oy)*iy;
+        t1 = (box[b+4]-oy)*iy;
+        near = Math.max(near,Math.min(t0,t1));
+        far = Math.min(far,Math.max(t0,t1));
+        t0 = (box[b+2]-oz)*iz;
+        t1 = (box[b+5]-oz)*iz;
+        near = Math.max(near,Math.min(t0,t1));
+        far = Math.min(far,Math.max(t0,t1));
+        near = Math.max(near,0);
+        return ( near <= far ) ? near : Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     *  Finds where a ray enters a body, turning it into the frame of
+     *  the body's shape and cutting it by the plane of each face.
+     *
+     *  @param j the index of the body
+     *  @param px the x of the body relative to the origin of the ray
+     *
+     *  @return the parameter of the ray there, or infinity if it misses
+     *          or enters no nearer than a limit
+     */
+    private double hitFaces(
+        int j, double px, double py, double pz,
+        double dx, double dy, double dz, double limit
+    ) {
+        double[] m = scene.getOrientations();
+        int o = 9*j;
+        double s = 1/scene.getRadii()[j];
+        // the origin and direction in the shape's frame, by the transpose
+        double ox = -s*(m[o  ]*px+m[o+3]*py+m[o+6]*pz);
+        double oy = -s*(m[o+1]*px+m[o+4]*py+m[o+7]*pz);
+        double oz = -s*(m[o+2]*px+m[o+5]*py+m[o+8]*pz);
+        double ux = s*(m[o  ]*dx+m[o+3]*dy+m[o+6]*dz);
+        double uy = s*(m[o+1]*dx+m[o+4]*dy+m[o+7]*dz);
+        double uz = s*(m[o+2]*dx+m[o+5]*dy+m[o+8]*dz);
+        double[] a = plane[scene.getTypes()[j]];
+        double near = 0;
+        double far = limit;
+        for ( int f = 0; f < a.length; f += 4 ) {
+            double toward = a[f]*ux+a[f+1]*uy+a[f+2]*uz;
+            double inside = a[f+3]-(a[f]*ox+a[f+1]*oy+a[f+2]*oz);
+            if ( toward == 0 ) {
+                if ( inside < 0 ) {
+                    return Double.POSITIVE_INFINITY;
+                }
+            } else if ( toward < 0 ) {
+                near = Math.max(near,inside/toward);
+            } else {
+                far = Math.min(far,inside/toward);
+            }
+            if ( near > far ) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+        return ( near < limit ) ? near : Double.POSITIVE_INFINITY;
+    }
+
+}
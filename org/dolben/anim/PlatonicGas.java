@@ -6,7 +6,9 @@
 package org.dolben.anim;
 
 import java.awt.Color;
+import org.dolben.poly.Polyhedron;
 import org.dolben.poly.ShadedFaces;
+import org.dolben.poly.Solid;
 import org.dolben.poly.Tetrahedron;
 import org.dolben.poly.Cube;
 import org.dolben.poly.Octahedron;
@@ -20,22 +22,31 @@ public class PlatonicGas extends Collidoscope {
     
     private static final long serialVersionUID = 1;
     
+    // the color of each type of solid
+    private static final Color[] COLORS = {
+        Color.magenta, Color.orange, Color.blue, Color.green, Color.red
+    };
+    
     /**
-     *  Creates the bodies in the simulation.
+     *  Creates the bodies in the simulation, as many of each solid
+     *  as the parameter "count" gives, by default one.
      */
     protected void createBodies( double[] limit ) {
-        final int N = 5;
-        double volume = 1.0/(10*N);
-        for ( int i = 0; i < 3; i++ ) {
-            volume *= 2*limit[i];
-        }
-        /* V = 4/3 π r^3; r = 3/4/π V^(1/3) */
-        double radius = Math.pow((3/4.0)/Math.PI*volume,1/3.0);
-        initBody(new ShadedFaces(new Tetrahedron (),Color.magenta),radius);
-        initBody(new ShadedFaces(new Cube        (),Color.orange ),radius);
-        initBody(new ShadedFaces(new Octahedron  (),Color.blue   ),radius);
-        initBody(new ShadedFaces(new Dodecahedron(),Color.green  ),radius);
-        initBody(new ShadedFaces(new Icosahedron (),Color.red    ),radius);
+        int count = Integer.parseInt(getParameter("count","1"));
+        SceneBuilder builder = createSceneBuilder(COLORS.length*count);
+        builder.add(new Tetrahedron (),count);
+        builder.add(new Cube        (),count);
+        builder.add(new Octahedron  (),count);
+        builder.add(new Dodecahedron(),count);
+        builder.add(new Icosahedron (),count);
+        initBodies(builder);
+    }
+    
+    /**
+     *  Creates the Solid that draws a type of solid, shaded in its color.
+     */
+    protected Solid createSolid( Polyhedron polyhedron, int type ) {
+        return new ShadedFaces(polyhedron,COLORS[type]);
     }
 
 }
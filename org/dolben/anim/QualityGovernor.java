@@ -0,0 +1,153 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.util.logging.Logger;
+
+/**
+ *  <p>
+ *  Governs the quality with which frames are drawn by how long they
+ *  take, against the time there is for each. When the mean of the last
+ *  several frames takes longer, it steps the quality down a level, and
+ *  when it takes well under, it steps it back up. Each level does
+ *  without something more:
+ *  </p><pre>
+ *  FULL              antialiased, outlined and shaded faces
+ *  NO_ANTIALIAS      without antialiasing
+ *  NO_OUTLINE        without drawing the outlines of faces
+ *  FLAT              without shading, each face in its own color
+ *  HALF_RESOLUTION   drawn at half the resolution and scaled up
+ *  </pre><p>
+ *  After a step it waits for a whole window of frames at the new level
+ *  before another. A step up that's soon followed by a step back down
+ *  doubles the wait before the next step up, so that it doesn't keep
+ *  going back and forth when one level is too slow and the next isn't.
+ *  </p><p>
+ *  Every step is logged, at INFO, to the logger of this class.
+ *  </p>
+ */
+public class QualityGovernor {
+    
+    /** Full quality. */
+    public static final int FULL = 0;
+    
+    /** Without antialiasing. */
+    public static final int NO_ANTIALIAS = 1;
+    
+    /** Without the outlines of faces either. */
+    public static final int NO_OUTLINE = 2;
+    
+    /** Without shading either. */
+    public static final int FLAT = 3;
+    
+    /** At half the resolution too. */
+    public static final int HALF_RESOLUTION = 4;
+    
+    private static final String[] NAMES = {
+        "FULL", "NO_ANTIALIAS", "NO_OUTLINE", "FLAT", "HALF_RESOLUTION"
+    };
+    
+    private static final Logger LOGGER =
+        Logger.getLogger(QualityGovernor.class.getName());
+    
+    private static final int WINDOW = 24;       // frames in the mean
+    private static final double HEADROOM = 0.5; // of the time, to step up
+    private static final int MOST_WAIT = 16;    // windows to wait, at most
+    
+    private long target;        // the time for a frame, in nanoseconds
+    private long[] time;        // the time of each of the last frames
+    private int frames;         // the frames since the last step
+    private long sum;           // the sum of the times in the window
+    private int level;          // the level of quality
+    private boolean fixed;      // whether the level is kept as it is
+    private int wait = 1;       // windows to wait before stepping up
+    private long up = -1;       // the frame of the last step up, or -1
+    private long frame;         // the number of frames
+    
+    /**
+     *  Creates a new QualityGovernor for a rate of frames, at full
+     *  quality.
+     *
+     *  @param rate the frames per second
+     */
+    public QualityGovernor( double rate ) {
+        target = Math.round(1e9/rate);
+        time = new long[WINDOW];
+    }
+    
+    /**
+     *  Gets the level of quality at which to draw the next frame.
+     *
+     *  @return the level
+     */
+    public int getLevel( ) {
+        return level;
+    }
+    
+    /**
+     *  Keeps the quality at a level, instead of governing it.
+     *
+     *  @param l the level
+     */
+    public void setLevel( int l ) {
+        if ( l < FULL || l > HALF_RESOLUTION ) {
+            throw new IllegalArgumentException("no level of quality "+l);
+        }
+        level = l;
+        fixed = true;
+    }
+    
+    /**
+     *  Adds the time that a frame took, stepping the quality down or up
+     *  when the mean of the window calls for it.
+     *
+     *  @param nanoseconds the time
+     *
+     *  @return true if the level has changed
+     */
+    public boolean addFrame( long nanoseconds ) {
+        ++frame;
+        sum += nanoseconds-time[frames%WINDOW];
+        time[frames%WINDOW] = nanoseconds;
+        ++frames;
+        if ( fixed || frames < WINDOW ) {
+            return false;
+        }
+        long mean = sum/WINDOW;
+        if ( mean > target && level < HALF_RESOLUTION ) {
+            if ( up >= 0 && frame-up < 2*WINDOW*wait ) {
+                wait = Math.min(2*wait,MOST_WAIT);
+            }
+            up = -1;
+            step(level+1,mean);
+            return true;
+        }
+        if ( mean < HEADROOM*target && level > FULL &&
+             frames >= WINDOW*wait ) {
+            up = frame;
+            step(level-1,mean);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     *  Changes the level, starting the window again.
+     */
+    private void step( int l, long mean ) {
+        LOGGER.info(
+            "quality "+NAMES[level]+" -> "+NAMES[l]+": mean frame "
+            +(mean/10000)/100.0+" ms of "+(target/10000)/100.0+" ms"
+        );
+        level = l;
+        frames = 0;
+        sum = 0;
+        for ( int i = 0; i < WINDOW; ++i ) {
+            time[i] = 0;
+        }
+    }
+
+}
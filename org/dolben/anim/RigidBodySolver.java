@@ -0,0 +1,952 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.dolben.iiid.Mat3;
+import org.dolben.iiid.R3;
+import org.dolben.iiid.Rn;
+import org.dolben.iiid.Vec3;
+import org.dolben.poly.Contact;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  Moves bodies as rigid solids of unit density, whose mass and inertia
+ *  come from the volume of each polyhedron, resolving their contacts by
+ *  sequential impulses, which change the spin of each as well as its
+ *  velocity, rather than exchanging velocities as if they were all
+ *  spheres of the same mass.
+ *  </p><p>
+ *  Each step, a contact is found for each pair of bodies near enough to
+ *  touch within it, with its normal and its points. Those that are
+ *  apart are speculative: they may come no nearer than the gap, so that
+ *  they can't pass through each other. An impulse along the normal is
+ *  applied at each point in turn, over and over, each undoing what it
+ *  can of the others, the sum of each kept from pulling, with friction
+ *  across the normal held within its cone. Bodies that are moving into
+ *  each other bounce with the restitution, and those that overlap are
+ *  pushed apart by a part of the overlap.
+ *  </p><p>
+ *  The pairs near enough are found by sweeping the bodies in order
+ *  along the x axis, which is kept from step to step, so that each is
+ *  only compared to those that are near it along the axis.
+ *  </p><p>
+ *  The contacts are kept from step to step, by pair, with the sum of the
+ *  impulses each took, and a contact whose normal has hardly changed
+ *  starts with that sum applied, so that bodies resting on each other,
+ *  as in a pile or a dense gas, start near where they ended the last
+ *  step and need few iterations.
+ *  </p><p>
+ *  Given a trap, its walls are contacts too, that don't move, so that
+ *  the bodies can rest on the floor; given gravity, it's added to the
+ *  velocity of each body every step.
+ *  </p><p>
+ *  When sleeping is on, a body that's been nearly still for a number
+ *  of steps sleeps, with the island of bodies that it touches, once
+ *  they all have: the bodies of a sleeping island aren't moved, or
+ *  given gravity, and their contacts with each other aren't solved,
+ *  until a body that's awake comes near enough to touch one of them
+ *  within a step, which wakes the whole island. A pile that's settled
+ *  costs little more than its part of the sweep.
+ *  </p><p>
+ *  The points of a contact are the corners of each body that could
+ *  reach the other within the step and are over one of its faces, so
+ *  that a face resting on a face rests on the corners of the two, not
+ *  only on their middle, and the middle of the nearest features of the
+ *  two when no corner is as near as they are, as when edges cross. The
+ *  points of a wall are the corners of the body that could reach it.
+ *  A corner is tested against the planes of the other's faces, rather
+ *  than a face being clipped against a face, which is enough for the
+ *  few faces of the solids of a Collidoscope.
+ *  </p>
+ */
+public class RigidBodySolver {
+    
+    private static final double SLOP = 0.005;   // overlap let be, of radii
+    private static final double BAUMGARTE = 0.2;    // overlap undone a step
+    private static final double REST = 0.001;   // no bounce slower, of radii
+    private static final double SAME = 0.95;    // least cosine to warm start
+    private static final double FEATURE = 0.02; // of the radius, flat
+    private static final double KEEP = 3;       // more room, for a corner
+    private static final double STILL = 0.01;   // of the radius, a step
+    private static final int STILL_STEPS = 30;  // still before sleeping
+    
+    // the directions of the walls, each axis up and then down
+    private static final double[][] WALLS = {
+        { 1, 0, 0}, { 0, 1, 0}, { 0, 0, 1},
+        {-1, 0, 0}, { 0,-1, 0}, { 0, 0,-1}
+    };
+    
+    private int iterations = 8;     // passes over the contacts each step
+    private double restitution = 1; // of the speed of approach
+    private double friction = 0;    // coefficient of friction
+    private boolean warm = true;    // whether impulses are warm started
+    private double[] gravity;       // added to the velocity, or null
+    private double resting;         // no bounce slower, with gravity
+    private double[] limit;         // the extent of the trap, or null
+    private boolean sleeping;       // whether still bodies sleep
+    private Map states = new IdentityHashMap(); // the State of each body
+    private State[] sweep = new State[0];   // the bodies in order along x
+    private Map cache = new HashMap();  // the contacts of the last step
+    private boolean woke;           // whether an island woke in the search
+    private List pairs;             // the pairs of bodies touching the step
+    
+    // the state of the bodies awake in the step, by their order in it
+    private Body[] awake;
+    private double[] velocity;      // 3 for each
+    private double[] spin;          // angular velocity, 3 for each
+    private double[] inverseMass;
+    private Mat3[] inverseInertia;  // in the world, as each is turned
+    
+    /**
+     *  Sets the number of passes over the contacts each step.
+     *
+     *  @param n the number
+     */
+    public void setIterations( int n ) {
+        iterations = n;
+    }
+    
+    /**
+     *  Sets the restitution, the speed at which bodies part after a
+     *  collision over that at which they came together.
+     *
+     *  @param e from 0, for none, to 1, for elastic collisions
+     */
+    public void setRestitution( double e ) {
+        restitution = e;
+    }
+    
+    /**
+     *  Sets the coefficient of friction between bodies.
+     *
+     *  @param mu the coefficient, 0 for none
+     */
+    public void setFriction( double mu ) {
+        friction = mu;
+    }
+    
+    /**
+     *  Sets whether the impulses of contacts are started from those
+     *  that they took the last step.
+     *
+     *  @param on true to warm start them
+     */
+    public void setWarmStarting( boolean on ) {
+        warm = on;
+    }
+    
+    /**
+     *  Sets the acceleration of gravity.
+     *
+     *  @param g the 3D vector, in displacement per step per step,
+     *           or null for none
+     */
+    public void setGravity( double[] g ) {
+        gravity = g;
+        resting = ( g != null ) ? 2*Rn.magnitude(g) : 0;
+    }
+    
+    /**
+     *  Sets the trap whose walls are contacts, for the bodies to rest
+     *  against. Without one, each body bounces off the walls of its own.
+     *
+     *  @param extent the maxima in 3D of the box, or null for none
+     */
+    public void setTrap( double[] extent ) {
+        limit = extent;
+    }
+    
+    /**
+     *  Sets whether islands of bodies that have been still sleep.
+     *
+     *  @param on true to let them sleep
+     */
+    public void setSleeping( boolean on ) {
+        sleeping = on;
+        if ( !on ) {
+            for ( int i = 0; i < sweep.length; ++i ) {
+                wake(sweep[i]);
+            }
+        }
+    }
+    
+    /**
+     *  Tells whether a body is asleep.
+     *
+     *  @param body the body
+     *
+     *  @return true if it is
+     */
+    public boolean isAsleep( Body body ) {
+        State state = (State)states.get(body);
+        return state != null && state.island != null;
+    }
+    
+    /**
+     *  Moves the bodies through one step: finds their contacts, solves
+     *  for the impulses at them, and then spins and moves each body
+     *  that's awake with its new velocities, bouncing it off of the
+     *  walls of its own trap when there's none here.
+     *
+     *  @param body the bodies
+     */
+    public void step( Body[] body ) {
+        findStates(body);
+        if ( gravity != null ) {
+            for ( int i = 0; i < sweep.length; ++i ) {
+                if ( sweep[i].island == null ) {
+                    double[] v = sweep[i].body.getVelocity();
+                    for ( int k = 0; k < 3; ++k ) {
+                        v[k] += gravity[k];
+                    }
+                }
+            }
+        }
+        List touching;
+        do {
+            load();
+            touching = findContacts();
+        } while ( woke );
+        for ( int k = 0; k < touching.size(); ++k ) {
+            ((Point)touching.get(k)).warmStart();
+        }
+        for ( int pass = 0; pass < iterations; ++pass ) {
+            for ( int k = 0; k < touching.size(); ++k ) {
+                ((Point)touching.get(k)).solve();
+            }
+        }
+        for ( int i = 0; i < awake.length; ++i ) {
+            System.arraycopy(velocity,3*i,awake[i].getVelocity(),0,3);
+            awake[i].setAngularVelocity(
+                new double[] { spin[3*i], spin[3*i+1], spin[3*i+2] }
+            );
+            if ( limit != null ) {
+                awake[i].spin();
+                awake[i].move(1);
+            } else {
+                awake[i].step();
+            }
+        }
+        if ( sleeping ) {
+            sleep();
+        }
+    }
+    
+    /**
+     *  Finds the State of each body, making one for each that's new,
+     *  and keeps those of the bodies in the sweep, in its order.
+     */
+    private void findStates( Body[] body ) {
+        boolean same = body.length == sweep.length;
+        for ( int i = 0; i < body.length; ++i ) {
+            State state = (State)states.get(body[i]);
+            if ( state == null ) {
+                state = new State(body[i],states.size());
+                states.put(body[i],state);
+                same = false;
+            }
+        }
+        if ( !same ) {
+            sweep = new State[body.length];
+            for ( int i = 0; i < body.length; ++i ) {
+                sweep[i] = (State)states.get(body[i]);
+            }
+        }
+    }
+    
+    /**
+     *  Gathers the state of the bodies that are awake for solving, and
+     *  finds how far each could reach within the step.
+     */
+    private void load( ) {
+        int n = 0;
+        for ( int i = 0; i < sweep.length; ++i ) {
+            if ( sweep[i].island == null ) {
+                ++n;
+            }
+        }
+        awake = new Body[n];
+        velocity = new double[3*n];
+        spin = new double[3*n];
+        inverseMass = new double[n];
+        inverseInertia = new Mat3[n];
+        n = 0;
+        for ( int i = 0; i < sweep.length; ++i ) {
+            State state = sweep[i];
+            Body body = state.body;
+            state.x = body.getPosition()[0];
+            state.reach = body.getCollisionRadius();
+            state.speed = 0;
+            if ( state.island != null ) {
+                state.order = -1;
+                continue;
+            }
+            state.order = n;
+            awake[n] = body;
+            System.arraycopy(body.getVelocity(),0,velocity,3*n,3);
+            System.arraycopy(body.getAngularVelocity(),0,spin,3*n,3);
+            inverseMass[n] = 1/body.getMass();
+            inverseInertia[n] = body.getInverseInertia();
+            state.speed = Math.sqrt(getSquare(velocity,n))
+                +Math.sqrt(getSquare(spin,n))*state.reach;
+            state.reach += state.speed;
+            ++n;
+        }
+    }
+    
+    /**
+     *  Finds the contacts between bodies that could touch within the
+     *  step, by the spheres that they could sweep out in it, the
+     *  farthest any point of each could move, and between bodies and
+     *  the walls, keeping them for the next step. The bodies are sorted
+     *  along the x axis by insertion, since they're nearly in order
+     *  from the last step, and each is compared to those after it
+     *  until they're farther along the axis than any could reach.
+     *  A sleeping body that could be touched wakes its island, and the
+     *  search is left to be done again.
+     *
+     *  @return the points of the contacts
+     */
+    private List findContacts( ) {
+        List touching = new ArrayList();
+        Map found = new HashMap();
+        pairs = new ArrayList();
+        woke = false;
+        for ( int i = 1; i < sweep.length; ++i ) {
+            State state = sweep[i];
+            int j = i;
+            for ( ; j > 0 && sweep[j-1].x > state.x; --j ) {
+                sweep[j] = sweep[j-1];
+            }
+            sweep[j] = state;
+        }
+        double most = 0;
+        for ( int i = 0; i < sweep.length; ++i ) {
+            most = Math.max(most,sweep[i].reach);
+        }
+        for ( int i = 0; i < sweep.length; ++i ) {
+            State s = sweep[i];
+            double[] p = s.body.getPosition();
+            if ( s.order >= 0 && limit != null ) {
+                findWalls(s,p,touching,found);
+            }
+            for ( int j = i+1; j < sweep.length; ++j ) {
+                State so = sweep[j];
+                if ( so.x-s.x > s.reach+most ) {
+                    break;
+                }
+                Long key = getKey(s.id,so.id);
+                if ( s.order < 0 && so.order < 0 ) {
+                    // keep the contacts of sleeping bodies for waking
+                    Object kept = cache.get(key);
+                    if ( kept != null ) {
+                        found.put(key,kept);
+                    }
+                    continue;
+                }
+                double[] d = Rn.subtract(so.body.getPosition(),p);
+                double far = s.reach+so.reach;
+                if ( Rn.dot(d,d) >= far*far ) {
+                    continue;
+                }
+                Pair pair = (Pair)cache.get(key);
+                if ( pair == null ) {
+                    pair = new Pair(s.body,so.body);
+                }
+                found.put(key,pair);
+                State sa = ( pair.a == s.body ) ? s : so;
+                State sb = ( sa == s ) ? so : s;
+                double speed = s.speed+so.speed;
+                if ( sa.order < 0 || sb.order < 0 ) {
+                    if ( pair.findGap() < speed ) {
+                        wake(( sa.order < 0 ) ? sa : sb);
+                    }
+                } else if ( pair.prepare(sa.order,sb.order,speed,touching) ) {
+                    pairs.add(pair);
+                }
+            }
+        }
+        cache = found;
+        return touching;
+    }
+    
+    /**
+     *  Finds the contacts of a body with the walls it could reach.
+     */
+    private void findWalls( State s, double[] p, List touching, Map found ) {
+        for ( int w = 0; w < WALLS.length; ++w ) {
+            int axis = w%3;
+            double along = ( w < 3 ) ? p[axis] : -p[axis];
+            if ( limit[axis]-along >= s.reach ) {
+                continue;
+            }
+            Long key = getKey(s.id,Integer.MAX_VALUE-w);
+            Pair pair = (Pair)cache.get(key);
+            if ( pair == null ) {
+                pair = new Pair(s.body,w);
+            }
+            found.put(key,pair);
+            pair.prepare(s.order,-1,s.speed,touching);
+        }
+    }
+    
+    /**
+     *  Gets the key of a contact from the numbers of its bodies, or of
+     *  a body and a wall, in either order.
+     */
+    private static Long getKey( int a, int b ) {
+        return ( a < b ) ?
+            Long.valueOf(((long)a<<32)|b) : Long.valueOf(((long)b<<32)|a);
+    }
+    
+    /**
+     *  Counts the steps each body that's awake has been still, and puts
+     *  to sleep the islands of bodies, those joined by contacts that
+     *  could touch within the step, whose bodies have all been still
+     *  long enough. Joining those that only could touch keeps a body
+     *  that's awake from waking an island at its side every step.
+     */
+    private void sleep( ) {
+        int[] parent = new int[awake.length];
+        for ( int i = 0; i < parent.length; ++i ) {
+            parent[i] = i;
+        }
+        for ( int k = 0; k < pairs.size(); ++k ) {
+            Pair pair = (Pair)pairs.get(k);
+            parent[find(parent,pair.ia)] = find(parent,pair.ib);
+        }
+        State[] state = new State[awake.length];
+        int[] least = new int[awake.length];
+        Arrays.fill(least,Integer.MAX_VALUE);
+        for ( int i = 0; i < awake.length; ++i ) {
+            state[i] = (State)states.get(awake[i]);
+            double r = awake[i].getCollisionRadius();
+            double[] v = awake[i].getVelocity();
+            double[] w = awake[i].getAngularVelocity();
+            if ( Rn.magnitude(v) < STILL*r && Rn.magnitude(w) < STILL ) {
+                ++state[i].still;
+            } else {
+                state[i].still = 0;
+            }
+            int root = find(parent,i);
+            least[root] = Math.min(least[root],state[i].still);
+        }
+        Map islands = new HashMap();
+        for ( int i = 0; i < awake.length; ++i ) {
+            Integer root = Integer.valueOf(find(parent,i));
+            if ( least[root.intValue()] < STILL_STEPS ) {
+                continue;
+            }
+            List island = (List)islands.get(root);
+            if ( island == null ) {
+                island = new ArrayList();
+                islands.put(root,island);
+            }
+            island.add(state[i]);
+            state[i].island = island;
+            double[] v = awake[i].getVelocity();
+            v[0] = v[1] = v[2] = 0;
+            awake[i].setAngularVelocity(new double[3]);
+        }
+    }
+    
+    /**
+     *  Finds the root of the set of an element, halving the path to it.
+     */
+    private static int find( int[] parent, int i ) {
+        while ( parent[i] != i ) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+    
+    /**
+     *  Wakes the island of a sleeping body.
+     */
+    private void wake( State state ) {
+        List island = state.island;
+        if ( island == null ) {
+            return;
+        }
+        for ( int i = 0; i < island.size(); ++i ) {
+            State s = (State)island.get(i);
+            s.island = null;
+            s.still = 0;
+        }
+        woke = true;
+    }
+    
+    /**
+     *  Gets the square of the magnitude of a vector of a body.
+     */
+    private static double getSquare( double[] v, int i ) {
+        return v[3*i]*v[3*i]+v[3*i+1]*v[3*i+1]+v[3*i+2]*v[3*i+2];
+    }
+    
+    /**
+     *  Applies an impulse at a contact, equal and opposite to each body,
+     *  or to the one body when the other is a wall.
+     */
+    private void apply( int a, int b, double[] ra, double[] rb, double[] p ) {
+        for ( int k = 0; k < 3; ++k ) {
+            velocity[3*a+k] -= inverseMass[a]*p[k];
+        }
+        double[] ta =
+            inverseInertia[a].multiply(new Vec3(R3.cross(ra,p))).toArray();
+        for ( int k = 0; k < 3; ++k ) {
+            spin[3*a+k] -= ta[k];
+        }
+        if ( b < 0 ) {
+            return;
+        }
+        for ( int k = 0; k < 3; ++k ) {
+            velocity[3*b+k] += inverseMass[b]*p[k];
+        }
+        double[] tb =
+            inverseInertia[b].multiply(new Vec3(R3.cross(rb,p))).toArray();
+        for ( int k = 0; k < 3; ++k ) {
+            spin[3*b+k] += tb[k];
+        }
+    }
+    
+    /**
+     *  What's kept of a body from step to step.
+     */
+    private static class State {
+        
+        private Body body;
+        private int id;             // the number of the body, for keys
+        private int order;          // its order in the step, -1 asleep
+        private double x;           // the x coordinate of its center
+        private double speed;       // the most any point of it moves
+        private double reach;       // its radius plus the speed
+        private int still;          // the steps it's been still
+        private List island;        // the States it sleeps with, or null
+        
+        State( Body b, int number ) {
+            body = b;
+            id = number;
+        }
+        
+    }
+    
+    /**
+     *  The contact between a pair of bodies, or a body and a wall, kept
+     *  from step to step while they're near, with a point for each
+     *  corner of one that's over the other, by the corner.
+     */
+    private class Pair {
+        
+        private Body a;             // one body
+        private Body b;             // the other, or null for a wall
+        private int ia;             // the order of a in the step
+        private int ib;             // the order of b in the step, or -1
+        private int wall;           // the wall, when there's no b
+        private Contact contact;    // finds the distance between them
+        private int supportA;       // the last vertex of a nearest b
+        private int supportB;       // the last vertex of b nearest a
+        private double gap;         // the distance apart, < 0 overlapping
+        private double[] normal;    // unit normal, from a to b
+        private Map points = new HashMap(); // the last Points, by corner
+        private double least;       // the least gap of the Points found
+        
+        Pair( Body ba, Body bb ) {
+            a = ba;
+            b = bb;
+            contact = new Contact(
+                ba.getSolid().getPolyhedron(),bb.getSolid().getPolyhedron()
+            );
+        }
+        
+        Pair( Body ba, int w ) {
+            a = ba;
+            wall = w;
+        }
+        
+        /**
+         *  Finds the distance apart, and the normal.
+         *
+         *  @return the distance, less than 0 when they overlap
+         */
+        double findGap( ) {
+            Polyhedron pa = a.getSolid().getPolyhedron();
+            if ( b == null ) {
+                supportA = pa.getSupport(WALLS[wall],supportA);
+                gap = limit[wall%3]
+                    -Rn.dot(pa.getVertex(supportA),WALLS[wall]);
+            } else {
+                double distance = contact.getDistance(null);
+                gap = ( distance > 0 ) ? distance : -contact.getDepth();
+            }
+            return gap;
+        }
+        
+        /**
+         *  Finds the normal and the points of the contact, each corner of
+         *  either body that could reach the other within the step, and
+         *  is over it, and the middle of their nearest features when
+         *  none of those is as near as they are, as when edges cross.
+         *  The points of a wall are the corners of the body that could
+         *  reach it.
+         *
+         *  @param i the order of a in the step
+         *  @param j the order of b in the step, or -1 for a wall
+         *  @param speed how much nearer they could come in a step
+         *  @param touching the list to which to add the points
+         *
+         *  @return true if they could touch within the step
+         */
+        boolean prepare( int i, int j, double speed, List touching ) {
+            ia = i;
+            ib = j;
+            if ( findGap() >= speed ) {
+                points.clear();
+                return false;
+            }
+            double[] last = normal;
+            Polyhedron pa = a.getSolid().getPolyhedron();
+            double[][] va = pa.getVertices();
+            Map kept = new HashMap();
+            least = Double.MAX_VALUE;
+            if ( b == null ) {
+                normal = WALLS[wall];
+                keep(last);
+                double r = a.getCollisionRadius();
+                for ( int k = 0; k < va.length; ++k ) {
+                    double g = limit[wall%3]-Rn.dot(va[k],normal);
+                    if ( g < speed ) {
+                        add(i,j,Integer.valueOf(k),va[k],g,r,kept,touching);
+                    }
+                }
+                points = kept;
+                return true;
+            }
+            normal = (double[])contact.getNormal().clone();
+            keep(last);
+            Polyhedron pb = b.getSolid().getPolyhedron();
+            double[][] vb = pb.getVertices();
+            double[] away = Rn.multiply(-1,normal);
+            supportA = pa.getSupport(normal,supportA);
+            supportB = pb.getSupport(away,supportB);
+            double ha = Rn.dot(va[supportA],normal);   // the front of a
+            double hb = Rn.dot(vb[supportB],normal);   // the front of b
+            double r = a.getCollisionRadius()+b.getCollisionRadius();
+            double[][] planesA = null;
+            double[][] planesB = null;
+            List added = new ArrayList();
+            for ( int k = 0; k < va.length; ++k ) {
+                double g = hb-Rn.dot(va[k],normal);
+                if ( g < speed ) {
+                    if ( planesB == null ) {
+                        planesB = getPlanes(pb);
+                    }
+                    double[] at = Rn.add(va[k],Rn.multiply(g/2,normal));
+                    if ( isOver(k,at,normal,g/2,planesB,r) ) {
+                        added.add(at);
+                        add(i,j,Integer.valueOf(k),at,g,r,kept,touching);
+                    }
+                }
+            }
+            for ( int k = 0; k < vb.length; ++k ) {
+                double g = Rn.dot(vb[k],normal)-ha;
+                if ( g < speed ) {
+                    if ( planesA == null ) {
+                        planesA = getPlanes(pa);
+                    }
+                    double[] at = Rn.add(vb[k],Rn.multiply(g/2,away));
+                    if ( isOver(-1-k,at,away,g/2,planesA,r) &&
+                         !isNear(at,added,r) ) {
+                        add(i,j,Integer.valueOf(-1-k),at,g,r,kept,touching);
+                    }
+                }
+            }
+            if ( least > gap+FEATURE*r ) {
+                // edges across each other, that no corner is over
+                double[] at = Rn.multiply(0.5,Rn.add(
+                    feature(pa,supportA,normal),feature(pb,supportB,away)
+                ));
+                add(i,j,Integer.valueOf(Integer.MAX_VALUE),at,gap,r,kept,
+                    touching);
+            }
+            points = kept;
+            return true;
+        }
+        
+        /**
+         *  Keeps the Points of the last step for warm starting, when the
+         *  normal has hardly changed.
+         */
+        private void keep( double[] last ) {
+            if ( !warm || last == null || Rn.dot(last,normal) < SAME ) {
+                points.clear();
+            }
+        }
+        
+        /**
+         *  Adds a point of the contact, the Point that was there the
+         *  last step, when there was one.
+         */
+        private void add(
+            int i, int j, Integer corner, double[] at, double g, double r,
+            Map kept, List touching
+        ) {
+            Point point = (Point)points.get(corner);
+            if ( point == null ) {
+                point = new Point();
+            }
+            point.prepare(i,j,at,g,normal,r,
+                a.getPosition(),( b != null ) ? b.getPosition() : null
+            );
+            kept.put(corner,point);
+            touching.add(point);
+            least = Math.min(least,g);
+        }
+        
+        /**
+         *  Tells whether a point midway between a corner and the front
+         *  of the other body is over the other, by pushing it in to
+         *  the front, and then a little further, and testing whether it's
+         *  within the planes of the other's faces. A corner that was over
+         *  the last step is given more room, so that one near an edge
+         *  doesn't come and go, losing what it bore each time.
+         */
+        private boolean isOver(
+            int corner, double[] at, double[] d, double half,
+            double[][] planes, double r
+        ) {
+            double within = FEATURE*r;
+            if ( points.containsKey(Integer.valueOf(corner)) ) {
+                within *= KEEP;
+            }
+            double[] q = Rn.add(at,Rn.multiply(half+within,d));
+            for ( int f = 0; f < planes.length; ++f ) {
+                double[] p = planes[f];
+                if ( p[0]*q[0]+p[1]*q[1]+p[2]*q[2] > p[3]+within ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         *  Tells whether a point is near one already added.
+         */
+        private boolean isNear( double[] at, List added, double r ) {
+            for ( int k = 0; k < added.size(); ++k ) {
+                double[] d = Rn.subtract(at,(double[])added.get(k));
+                if ( Rn.dot(d,d) < FEATURE*r*FEATURE*r ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         *  Finds the middle of the feature of a polyhedron, a vertex,
+         *  an edge or a face, that's nearest along a direction.
+         */
+        private double[] feature(
+            Polyhedron p, int support, double[] direction
+        ) {
+            double[][] vertex = p.getVertices();
+            double most = Rn.dot(vertex[support],direction);
+            double flat = FEATURE*p.getRadius();
+            double[] sum = new double[3];
+            int count = 0;
+            for ( int k = 0; k < vertex.length; ++k ) {
+                if ( Rn.dot(vertex[k],direction) >= most-flat ) {
+                    sum = Rn.add(sum,vertex[k]);
+                    ++count;
+                }
+            }
+            return Rn.multiply(1.0/count,sum);
+        }
+        
+    }
+    
+    /**
+     *  Gets the plane of each face of a polyhedron, as it is now, its
+     *  outward unit normal by Newell's method and its distance along it.
+     */
+    private static double[][] getPlanes( Polyhedron p ) {
+        double[] center = p.getPosition();
+        double[][] plane = new double[p.getFaces()][];
+        for ( int f = 0; f < plane.length; ++f ) {
+            double[][] v = p.getFace(f);
+            double[] n = new double[3];
+            for ( int k = 0; k < v.length; ++k ) {
+                double[] u = v[k];
+                double[] w = v[(k+1)%v.length];
+                n[0] += (u[1]-w[1])*(u[2]+w[2]);
+                n[1] += (u[2]-w[2])*(u[0]+w[0]);
+                n[2] += (u[0]-w[0])*(u[1]+w[1]);
+            }
+            double m = Rn.magnitude(n);
+            if ( Rn.dot(n,Rn.subtract(v[0],center)) < 0 ) {
+                m = -m;
+            }
+            n = Rn.multiply(1/m,n);
+            plane[f] = new double[] { n[0], n[1], n[2], Rn.dot(n,v[0]) };
+        }
+        return plane;
+    }
+    
+    /**
+     *  A point of a contact, a corner over the other body or the
+     *  middle of their nearest features, with the impulses it took.
+     */
+    private class Point {
+        
+        private int ia;             // the order of a in the step
+        private int ib;             // the order of b in the step, or -1
+        private double[] normal;    // unit normal, from a to b
+        private double[] tangent1;  // unit tangents across the normal
+        private double[] tangent2;
+        private double[] ra;        // the point from the center of a
+        private double[] rb;        // the point from the center of b
+        private double target;      // the least speed apart along the normal
+        private double normalMass;  // the mass along the normal
+        private double tangentMass1;
+        private double tangentMass2;
+        private double impulse;     // the sum of impulses along the normal
+        private double[] across = new double[3];    // the sum across it
+        
+        /**
+         *  Finds the speed apart at which the point is to leave the
+         *  bodies, and the mass along the normal and across it.
+         *
+         *  @param i the order of a in the step
+         *  @param j the order of b in the step, or -1 for a wall
+         *  @param at the point
+         *  @param gap the distance apart at the point, < 0 overlapping
+         *  @param n the unit normal, from a to b
+         *  @param r the sum of the radii
+         *  @param ca the center of a
+         *  @param cb the center of b, or null for a wall
+         */
+        void prepare(
+            int i, int j, double[] at, double gap, double[] n, double r,
+            double[] ca, double[] cb
+        ) {
+            ia = i;
+            ib = j;
+            normal = n;
+            ra = Rn.subtract(at,ca);
+            rb = ( cb != null ) ? Rn.subtract(at,cb) : null;
+            double[] t = ( Math.abs(normal[0]) < 0.57 ) ?
+                new double[] {1,0,0} : new double[] {0,1,0};
+            tangent1 = R3.cross(normal,t);
+            tangent1 = Rn.multiply(1/Rn.magnitude(tangent1),tangent1);
+            tangent2 = R3.cross(normal,tangent1);
+            normalMass = 1/getInverseMass(normal);
+            tangentMass1 = 1/getInverseMass(tangent1);
+            tangentMass2 = 1/getInverseMass(tangent2);
+            double approach = -Rn.dot(getRelativeVelocity(),normal);
+            if ( gap > 0 ) {
+                // no nearer than the gap, unless they'd hit in the step
+                target = -gap;
+            } else {
+                target = BAUMGARTE*Math.max(0,-gap-SLOP*r);
+            }
+            // a body resting under gravity doesn't bounce
+            if ( approach > Math.max(gap,Math.max(REST*r,resting)) ) {
+                target = Math.max(target,restitution*approach);
+            }
+            // what's left of the last impulse across the normal
+            across = Rn.add(
+                Rn.multiply(Rn.dot(across,tangent1),tangent1),
+                Rn.multiply(Rn.dot(across,tangent2),tangent2)
+            );
+        }
+        
+        /**
+         *  Gets the sum of the inverse masses of the bodies for an
+         *  impulse at the point in a direction, with their inertia.
+         */
+        private double getInverseMass( double[] d ) {
+            Vec3 ca = new Vec3(R3.cross(ra,d));
+            double m = inverseMass[ia]
+                +inverseInertia[ia].multiply(ca).dot(ca);
+            if ( ib >= 0 ) {
+                Vec3 cb = new Vec3(R3.cross(rb,d));
+                m += inverseMass[ib]
+                    +inverseInertia[ib].multiply(cb).dot(cb);
+            }
+            return m;
+        }
+        
+        /**
+         *  Gets the velocity of the point on b, or on the wall, relative
+         *  to that on a.
+         */
+        private double[] getRelativeVelocity( ) {
+            double[] wa = { spin[3*ia], spin[3*ia+1], spin[3*ia+2] };
+            double[] sa = R3.cross(wa,ra);
+            double[] v = new double[3];
+            for ( int k = 0; k < 3; ++k ) {
+                v[k] = -velocity[3*ia+k]-sa[k];
+            }
+            if ( ib >= 0 ) {
+                double[] wb = { spin[3*ib], spin[3*ib+1], spin[3*ib+2] };
+                double[] sb = R3.cross(wb,rb);
+                for ( int k = 0; k < 3; ++k ) {
+                    v[k] += velocity[3*ib+k]+sb[k];
+                }
+            }
+            return v;
+        }
+        
+        /**
+         *  Applies the impulses that the contact took the last step.
+         */
+        void warmStart( ) {
+            apply(ia,ib,ra,rb,Rn.add(Rn.multiply(impulse,normal),across));
+        }
+        
+        /**
+         *  Applies the impulse that brings the speed apart along the
+         *  normal to the target, without letting the sum pull, and then
+         *  the friction that stops the sliding, within its cone.
+         */
+        void solve( ) {
+            double vn = Rn.dot(getRelativeVelocity(),normal);
+            double sum = Math.max(0,impulse+normalMass*(target-vn));
+            double dp = sum-impulse;
+            impulse = sum;
+            apply(ia,ib,ra,rb,Rn.multiply(dp,normal));
+            if ( friction > 0 ) {
+                double[] v = getRelativeVelocity();
+                double most = friction*impulse;
+                double t1 = Rn.dot(across,tangent1);
+                double t2 = Rn.dot(across,tangent2);
+                double s1 = t1-tangentMass1*Rn.dot(v,tangent1);
+                double s2 = t2-tangentMass2*Rn.dot(v,tangent2);
+                double s = Math.sqrt(s1*s1+s2*s2);
+                if ( s > most ) {
+                    s1 *= most/s;
+                    s2 *= most/s;
+                }
+                double[] dt = Rn.add(
+                    Rn.multiply(s1-t1,tangent1),Rn.multiply(s2-t2,tangent2)
+                );
+                across = Rn.add(
+                    Rn.multiply(s1,tangent1),Rn.multiply(s2,tangent2)
+                );
+                apply(ia,ib,ra,rb,dt);
+            }
+        }
+        
+    }
+
+}
@@ -0,0 +1,198 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  The state of a population of bodies in a box, kept in flat arrays
+ *  so that it scales to millions of bodies.
+ *  </p><p>
+ *  Each body is of one of a few types, each with a shape, a polyhedron
+ *  of unit radius centered on the origin, that is shared by all of the
+ *  bodies of that type. A body's polyhedron is the shape scaled to the
+ *  body's radius, turned to its orientation and moved to its position.
+ *  </p><p>
+ *  Vectors have three components to each body, and matrices nine,
+ *  with the row indexed first.
+ *  </p>
+ */
+public class Scene {
+    
+    private Polyhedron[] shape;     // the shape of each type of body
+    private double[] limit;         // the limit of the box in each dimension
+    private int[] type;             // the type of each body
+    private double[] radius;        // the radius of each body
+    private double[] position;      // the position of each body
+    private double[] velocity;      // the displacement of each per step
+    private double[] orientation;   // the rotation from each shape to body
+    private double[] rotation;      // the rotation of each per step
+    
+    /**
+     *  Creates a new Scene for a number of bodies, with the state of
+     *  each body yet to be set.
+     *
+     *  @param shapes the shape of each type of body
+     *  @param n the number of bodies
+     *  @param max the limit of displacement from the origin
+     *             in each dimension
+     */
+    public Scene( Polyhedron[] shapes, int n, double[] max ) {
+        shape = shapes;
+        limit = max;
+        type = new int[n];
+        radius = new double[n];
+        position = new double[3*n];
+        velocity = new double[3*n];
+        orientation = new double[9*n];
+        rotation = new double[9*n];
+    }
+    
+    /**
+     *  Gets the number of bodies.
+     *
+     *  @return the number of bodies
+     */
+    public int getCount( ) {
+        return type.length;
+    }
+    
+    /**
+     *  Gets the shape of each type of body.
+     *
+     *  @return the shapes
+     */
+    public Polyhedron[] getShapes( ) {
+        return shape;
+    }
+    
+    /**
+     *  Gets the limit of displacement from the origin in each dimension.
+     *
+     *  @return the limit
+     */
+    public double[] getLimit( ) {
+        return limit;
+    }
+    
+    /**
+     *  Gets the type of each body, an index into the shapes.
+     *
+     *  @return the types
+     */
+    public int[] getTypes( ) {
+        return type;
+    }
+    
+    /**
+     *  Gets the radius of each body.
+     *
+     *  @return the radii
+     */
+    public double[] getRadii( ) {
+        return radius;
+    }
+    
+    /**
+     *  Gets the position of each body, three components to each.
+     *
+     *  @return the positions
+     */
+    public double[] getPositions( ) {
+        return position;
+    }
+    
+    /**
+     *  Gets the velocity of each body, three components to each.
+     *
+     *  @return the velocities
+     */
+    public double[] getVelocities( ) {
+        return velocity;
+    }
+    
+    /**
+     *  Gets the orientation of each body, the rotation matrix from
+     *  its shape, nine components to each.
+     *
+     *  @return the orientations
+     */
+    public double[] getOrientations( ) {
+        return orientation;
+    }
+    
+    /**
+     *  Gets the rotation of each body for each step,
+     *  nine components to each.
+     *
+     *  @return the rotations
+     */
+    public double[] getRotations( ) {
+        return rotation;
+    }
+    
+    /**
+     *  Creates the polyhedron of a body from the shape of its type.
+     *
+     *  @param i the index of the body
+     *
+     *  @return a new polyhedron
+     */
+    public Polyhedron createPolyhedron( int i ) {
+        Polyhedron p = shape[type[i]].copy();
+        p.setRadius(radius[i]);
+        p.rotate(getMatrix(orientation,i));
+        p.translate(getVector(position,i));
+        return p;
+    }
+    
+    /**
+     *  Gets the vector of a body from an array of vectors.
+     *
+     *  @param a the array of vectors
+     *  @param i the index of the body
+     *
+     *  @return a new vector
+     */
+    public static double[] getVector( double[] a, int i ) {
+        return new double[] { a[3*i], a[3*i+1], a[3*i+2] };
+    }
+    
+    /**
+     *  Gets the matrix of a body from an array of matrices.
+     *
+     *  @param a the array of matrices
+     *  @param i the index of the body
+     *
+     *  @return a new matrix
+     */
+    public static double[][] getMatrix( double[] a, int i ) {
+        double[][] m = new double[3][3];
+        for ( int j = 0; j < 3; ++j ) {
+            for ( int k = 0; k < 3; ++k ) {
+                m[j][k] = a[9*i+3*j+k];
+            }
+        }
+        return m;
+    }
+    
+    /**
+     *  Puts the matrix of a body into an array of matrices.
+     *
+     *  @param m the matrix
+     *  @param a the array of matrices
+     *  @param i the index of the body
+     */
+    public static void setMatrix( double[][] m, double[] a, int i ) {
+        for ( int j = 0; j < 3; ++j ) {
+            for ( int k = 0; k < 3; ++k ) {
+                a[9*i+3*j+k] = m[j][k];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,357 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.dolben.iiid.Rn;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  Builds a Scene of any number of bodies of given types.
+ *  </p><p>
+ *  The amount of each type is either a count of bodies, or, when a total
+ *  is set, a ratio of the mixture. All of the bodies are the same size,
+ *  such that their circumspheres fill the given fraction of the box.
+ *  </p><p>
+ *  The box is divided into a lattice of cells, at least one to a body,
+ *  each wide enough to hold a body, and each body is put somewhere in
+ *  a different cell chosen at random, so they don't overlap.
+ *  Each is given a random velocity and spin.
+ *  </p><p>
+ *  The same seed builds the same scene. The bodies are built in blocks
+ *  of a fixed size, each with its own stream of random numbers split
+ *  in order from the seed, so the scene doesn't depend on how many
+ *  threads build the blocks.
+ *  </p>
+ */
+public class SceneBuilder {
+    
+    private static final int BLOCK = 4096;  // bodies to a random stream
+    
+    private double[] limit;         // the limit of the box
+    private List shapes;            // the shape of each type
+    private List amounts;           // the amount of each type
+    private int total;              // the number of bodies, or 0 for counts
+    private double packing;         // the fraction of the box filled
+    private long seed;              // the seed of the random numbers
+    private double speed;           // the limit of a velocity component
+    private double spin;            // the limit of the angle of a rotation
+    private int threads;            // the number of threads that build
+    
+    /**
+     *  Creates a new SceneBuilder for a box.
+     *
+     *  @param max the limit of displacement from the origin
+     *             in each dimension
+     */
+    public SceneBuilder( double[] max ) {
+        limit = max;
+        shapes = new ArrayList();
+        amounts = new ArrayList();
+        total = 0;
+        packing = 0.1;
+        seed = System.nanoTime();
+        speed = 0;
+        spin = 0;
+        threads = 1;
+    }
+    
+    /**
+     *  Adds a type of body.
+     *
+     *  @param shape the shape of the bodies, which is copied
+     *  @param amount the number of bodies of the type, or, when the
+     *                total is set, the ratio of them in the mixture
+     */
+    public void add( Polyhedron shape, double amount ) {
+        Polyhedron p = shape.copy();
+        p.translate(Rn.multiply(-1,p.getPosition()));
+        p.setRadius(1);
+        shapes.add(p);
+        amounts.add(Double.valueOf(amount));
+    }
+    
+    /**
+     *  Sets the total number of bodies, to be divided among the types
+     *  in proportion to their amounts.
+     *
+     *  @param n the number of bodies, or 0 for the amounts to be counts
+     */
+    public void setTotal( int n ) {
+        total = n;
+    }
+    
+    /**
+     *  Sets the fraction of the volume of the box taken by the
+     *  circumspheres of the bodies, by default 0.1.
+     *
+     *  @param fraction the packing fraction
+     */
+    public void setPackingFraction( double fraction ) {
+        packing = fraction;
+    }
+    
+    /**
+     *  Sets the seed of the random numbers.
+     *
+     *  @param s the seed
+     */
+    public void setSeed( long s ) {
+        seed = s;
+    }
+    
+    /**
+     *  Sets the limit of each component of velocity, by default 0.
+     *
+     *  @param s the limit of displacement per step
+     */
+    public void setSpeed( double s ) {
+        speed = s;
+    }
+    
+    /**
+     *  Sets the limit of the angle of rotation per step, by default 0.
+     *
+     *  @param s the limit in radians
+     */
+    public void setSpin( double s ) {
+        spin = s;
+    }
+    
+    /**
+     *  Sets the number of threads that build the bodies, by default 1.
+     *  It doesn't change the scene that's built.
+     *
+     *  @param n the number of threads
+     */
+    public void setThreads( int n ) {
+        threads = n;
+    }
+    
+    /**
+     *  Gets the shapes of the types added, as the scene built has them.
+     *
+     *  @return the shapes
+     */
+    public Polyhedron[] getShapes( ) {
+        return (Polyhedron[])shapes.toArray(new Polyhedron[shapes.size()]);
+    }
+    
+    /**
+     *  Builds the scene.
+     *
+     *  @return the new Scene
+     *
+     *  @throws IllegalStateException when the bodies don't fit
+     */
+    public Scene build( ) {
+        int[] count = getCounts();
+        int n = 0;
+        for ( int t = 0; t < count.length; ++t ) {
+            n += count[t];
+        }
+        Scene scene = new Scene(getShapes(),n,limit);
+        if ( n == 0 ) {
+            return scene;
+        }
+        /* V = 4/3 π r^3 n / packing */
+        double volume = 8*limit[0]*limit[1]*limit[2];
+        double r = Math.cbrt((3/4.0)/Math.PI*volume*packing/n);
+        int[] cells = createLattice(n,r);
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] site = chooseSites(cells,n,random);
+        int[] type = scene.getTypes();
+        double[] radius = scene.getRadii();
+        int i = 0;
+        for ( int t = 0; t < count.length; ++t ) {
+            for ( int c = 0; c < count[t]; ++c, ++i ) {
+                type[i] = t;
+                radius[i] = r;
+            }
+        }
+        SplittableRandom[] stream = new SplittableRandom[(n+BLOCK-1)/BLOCK];
+        for ( int b = 0; b < stream.length; ++b ) {
+            stream[b] = random.split();
+        }
+        if ( threads <= 1 || stream.length == 1 ) {
+            for ( int b = 0; b < stream.length; ++b ) {
+                place(scene,cells,site,b,stream[b]);
+            }
+        } else {
+            placeInParallel(scene,cells,site,stream);
+        }
+        return scene;
+    }
+    
+    /**
+     *  Places a block of bodies, each in its site, with a random
+     *  position in the cell, velocity and spin.
+     */
+    private void place(
+        Scene scene, int[] cells, int[] site, int b, SplittableRandom random
+    ) {
+        double[] radius = scene.getRadii();
+        double[] position = scene.getPositions();
+        double[] velocity = scene.getVelocities();
+        double[] orientation = scene.getOrientations();
+        double[] rotation = scene.getRotations();
+        int end = Math.min(scene.getCount(),(b+1)*BLOCK);
+        for ( int i = b*BLOCK; i < end; ++i ) {
+            int s = site[i];
+            int[] cell = {
+                s/(cells[1]*cells[2]), s/cells[2]%cells[1], s%cells[2]
+            };
+            for ( int k = 0; k < 3; ++k ) {
+                double size = 2*limit[k]/cells[k];
+                double room = size/2-radius[i];
+                position[3*i+k] = -limit[k]+(cell[k]+0.5)*size
+                                  +randge(random,room);
+                velocity[3*i+k] = randge(random,speed);
+                orientation[9*i+4*k] = 1;
+            }
+            Scene.setMatrix(
+                Collidoscope.rotationD(
+                    randge(random,Math.PI),
+                    randge(random,Math.PI/2),
+                    randge(random,spin)
+                ),
+                rotation,i
+            );
+        }
+    }
+    
+    /**
+     *  Places the blocks of bodies with a pool of threads.
+     */
+    private void placeInParallel(
+        final Scene scene, final int[] cells, final int[] site,
+        final SplittableRandom[] stream
+    ) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List futures = new ArrayList();
+            for ( int b = 0; b < stream.length; ++b ) {
+                final int block = b;
+                futures.add(pool.submit(new Runnable() {
+                    public void run( ) {
+                        place(scene,cells,site,block,stream[block]);
+                    }
+                }));
+            }
+            for ( int f = 0; f < futures.size(); ++f ) {
+                ((Future)futures.get(f)).get();
+            }
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while building");
+        } catch ( ExecutionException e ) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     *  Gets the count of each type of body, dividing a set total among
+     *  the types by the largest remainder.
+     */
+    private int[] getCounts( ) {
+        int[] count = new int[amounts.size()];
+        double[] share = new double[count.length];
+        double sum = 0;
+        for ( int t = 0; t < count.length; ++t ) {
+            share[t] = ((Double)amounts.get(t)).doubleValue();
+            sum += share[t];
+        }
+        if ( total == 0 ) {
+            for ( int t = 0; t < count.length; ++t ) {
+                count[t] = (int)Math.round(share[t]);
+            }
+            return count;
+        }
+        int left = total;
+        for ( int t = 0; t < count.length; ++t ) {
+            share[t] *= total/sum;
+            count[t] = (int)share[t];
+            share[t] -= count[t];
+            left -= count[t];
+        }
+        for ( ; left > 0; --left ) {
+            int most = 0;
+            for ( int t = 1; t < count.length; ++t ) {
+                if ( share[t] > share[most] ) {
+                    most = t;
+                }
+            }
+            ++count[most];
+            share[most] = -1;
+        }
+        return count;
+    }
+    
+    /**
+     *  Finds the number of cells in each dimension of a lattice with
+     *  at least a given number of cells, each wide enough for a body.
+     */
+    private int[] createLattice( int n, double r ) {
+        double side = Math.cbrt(8*limit[0]*limit[1]*limit[2]/n);
+        int[] cells = new int[3];
+        for ( int k = 0; k < 3; ++k ) {
+            cells[k] = Math.max(1,(int)(2*limit[k]/side));
+        }
+        while ( (long)cells[0]*cells[1]*cells[2] < n ) {
+            // divide the dimension with the widest cells
+            int widest = 0;
+            for ( int k = 1; k < 3; ++k ) {
+                if ( limit[k]/cells[k] > limit[widest]/cells[widest] ) {
+                    widest = k;
+                }
+            }
+            ++cells[widest];
+        }
+        for ( int k = 0; k < 3; ++k ) {
+            if ( 2*limit[k]/cells[k] < 2*r ) {
+                throw new IllegalStateException(
+                    "packing fraction "+packing+" is too high"
+                );
+            }
+        }
+        return cells;
+    }
+    
+    /**
+     *  Chooses a number of different cells at random
+     *  by shuffling the first part of the list of them.
+     */
+    private static int[] chooseSites(
+        int[] cells, int n, SplittableRandom random
+    ) {
+        int[] site = new int[cells[0]*cells[1]*cells[2]];
+        for ( int s = 0; s < site.length; ++s ) {
+            site[s] = s;
+        }
+        for ( int i = 0; i < n; ++i ) {
+            int j = i+random.nextInt(site.length-i);
+            int s = site[i];
+            site[i] = site[j];
+            site[j] = s;
+        }
+        return site;
+    }
+    
+    // Generates a pseudo-random number in the range -r to r.
+    private static double randge( SplittableRandom random, double r ) {
+        return r*(2*random.nextDouble()-1);
+    }
+
+}
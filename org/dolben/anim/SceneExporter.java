@@ -0,0 +1,146 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import org.dolben.poly.MeshExporter;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  Writes the bodies of a Scene as one mesh, each as its shape scaled,
+ *  turned and moved as it is in the scene, in a format of MeshExporter.
+ *  </p><p>
+ *  The vertices of each body are made into an array for its type that's
+ *  used over again, rather than making a Polyhedron for each body, so
+ *  that a scene of millions of bodies streams out without taking more
+ *  memory.
+ *  </p>
+ */
+public class SceneExporter {
+    
+    private Scene scene;
+    private Polyhedron[] shape;
+    private double[][][] vertex;    // the vertices of a body of each type
+    private int[][][] face;         // the faces of each type
+    
+    private SceneExporter( Scene s ) {
+        scene = s;
+        shape = s.getShapes();
+        vertex = new double[shape.length][][];
+        face = new int[shape.length][][];
+        for ( int t = 0; t < shape.length; ++t ) {
+            vertex[t] = new double[shape[t].getVertexCount()][3];
+            face[t] = new int[shape[t].getFaces()][];
+            for ( int f = 0; f < face[t].length; ++f ) {
+                face[t][f] = shape[t].getFaceIndices(f);
+            }
+        }
+    }
+    
+    /**
+     *  Writes a scene to a file in the format of the file's extension,
+     *  ".obj", ".stl" or ".ply".
+     *
+     *  @param scene the scene
+     *  @param file the file, which is replaced
+     *
+     *  @throws IOException when the file can't be written
+     */
+    public static void write( Scene scene, File file ) throws IOException {
+        int format = MeshExporter.getFormat(file.getName());
+        if ( format < 0 ) {
+            throw new IllegalArgumentException(
+                file+" isn't .obj, .stl or .ply"
+            );
+        }
+        RandomAccessFile raf = new RandomAccessFile(file,"rw");
+        try {
+            raf.setLength(0);
+            write(scene,new MeshExporter(raf.getChannel(),format));
+        } finally {
+            raf.close();
+        }
+    }
+    
+    /**
+     *  Writes a scene through an exporter, as the whole mesh.
+     *
+     *  @param scene the scene
+     *  @param exporter the exporter
+     */
+    public static void write( Scene scene, MeshExporter exporter )
+        throws IOException
+    {
+        new SceneExporter(scene).write(exporter);
+    }
+    
+    private void write( MeshExporter exporter ) throws IOException {
+        int format = exporter.getFormat();
+        int n = scene.getCount();
+        int[] type = scene.getTypes();
+        long vertices = 0;
+        long faces = 0;
+        long triangles = 0;
+        for ( int i = 0; i < n; ++i ) {
+            Polyhedron p = shape[type[i]];
+            vertices += p.getVertexCount();
+            faces += p.getFaces();
+        }
+        if ( format == MeshExporter.STL ) {
+            int[] t = new int[shape.length];
+            for ( int s = 0; s < shape.length; ++s ) {
+                t[s] = MeshExporter.getTriangles(shape[s]);
+            }
+            for ( int i = 0; i < n; ++i ) {
+                triangles += t[type[i]];
+            }
+        }
+        exporter.begin(vertices,faces,triangles);
+        if ( format == MeshExporter.PLY ) {
+            for ( int i = 0; i < n; ++i ) {
+                exporter.addVertices(place(i),vertex[type[i]].length);
+            }
+            for ( int i = 0; i < n; ++i ) {
+                exporter.addFaces(face[type[i]],vertex[type[i]].length);
+            }
+        } else {
+            for ( int i = 0; i < n; ++i ) {
+                exporter.add(place(i),face[type[i]],vertex[type[i]].length);
+            }
+        }
+        exporter.end();
+    }
+    
+    /**
+     *  Puts the vertices of a body where they are in the scene,
+     *  in the array for its type.
+     */
+    private double[][] place( int i ) {
+        int t = scene.getTypes()[i];
+        double r = scene.getRadii()[i];
+        double[] position = scene.getPositions();
+        double[] m = scene.getOrientations();
+        int o = 9*i;
+        double px = position[3*i];
+        double py = position[3*i+1];
+        double pz = position[3*i+2];
+        double[][] v = vertex[t];
+        for ( int k = 0; k < v.length; ++k ) {
+            double[] s = shape[t].getVertex(k);
+            double x = r*s[0];
+            double y = r*s[1];
+            double z = r*s[2];
+            v[k][0] = m[o  ]*x+m[o+1]*y+m[o+2]*z+px;
+            v[k][1] = m[o+3]*x+m[o+4]*y+m[o+5]*z+py;
+            v[k][2] = m[o+6]*x+m[o+7]*y+m[o+8]*z+pz;
+        }
+        return v;
+    }
+
+}
@@ -0,0 +1,205 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.awt.Graphics;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import org.dolben.iiid.Projector;
+import org.dolben.poly.ColoredFaces;
+import org.dolben.poly.Polyhedron;
+
+/**
+ *  <p>
+ *  Receives the transforms of the bodies of a scene from a
+ *  TransformServer, and renders the scene from the shapes of the
+ *  bodies, which it has to be given, the same as the server's.
+ *  </p>
+ */
+public class TransformClient {
+    
+    private SocketChannel channel;  // the connection to the server
+    private Scene scene;            // the scene as last received
+    private int[] transforms;       // the quantized transforms
+    private ByteBuffer length;      // the length of a frame
+    private ByteBuffer frame;       // the rest of a frame
+    private long tick;              // the tick last received
+    private long latency;           // how long the last frame took
+    private long received;          // the number of bytes received
+    
+    /**
+     *  Creates a new TransformClient connected to a server,
+     *  and receives the description of the scene, which the server
+     *  sends when it next publishes.
+     *
+     *  @param host the host of the server
+     *  @param port the port of the server
+     *  @param shapes the shape of each type of body
+     *
+     *  @throws IOException when it can't connect, or the server isn't
+     *                      a TransformServer
+     */
+    public TransformClient( String host, int port, Polyhedron[] shapes )
+        throws IOException
+    {
+        channel = SocketChannel.open(new InetSocketAddress(host,port));
+        channel.socket().setTcpNoDelay(true);
+        ByteBuffer header = read(12+24);
+        if ( header.getInt() != TransformCodec.MAGIC ) {
+            channel.close();
+            throw new IOException(host+":"+port+" is not a TransformServer");
+        }
+        int n = header.getInt();
+        int types = header.getInt();
+        if ( types > shapes.length ) {
+            channel.close();
+            throw new IOException(
+                "the server has "+types+" types of body, but there are only "
+                +shapes.length+" shapes"
+            );
+        }
+        double[] limit = new double[3];
+        for ( int k = 0; k < 3; ++k ) {
+            limit[k] = header.getDouble();
+        }
+        scene = new Scene(shapes,n,limit);
+        ByteBuffer bodies = read(12*n);
+        for ( int i = 0; i < n; ++i ) {
+            scene.getTypes()[i] = bodies.getInt();
+            scene.getRadii()[i] = bodies.getDouble();
+        }
+        transforms = new int[TransformCodec.VALUES*n];
+        length = ByteBuffer.allocate(4);
+        frame = ByteBuffer.allocate(17+5*transforms.length);
+    }
+    
+    /**
+     *  Reads a number of bytes, waiting for all of them.
+     */
+    private ByteBuffer read( int n ) throws IOException {
+        return read(ByteBuffer.allocate(n));
+    }
+    
+    /**
+     *  Fills a buffer from the channel, waiting for all of it.
+     */
+    private ByteBuffer read( ByteBuffer buffer ) throws IOException {
+        while ( buffer.hasRemaining() ) {
+            int n = channel.read(buffer);
+            if ( n < 0 ) {
+                throw new EOFException("the server closed the connection");
+            }
+            received += n;
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     *  Receives the next frame, waiting for it,
+     *  and updates the scene from it.
+     *
+     *  @return the tick of the frame
+     *
+     *  @throws IOException when the connection fails
+     */
+    public long receive( ) throws IOException {
+        length.clear();
+        int size = read(length).getInt();
+        frame.clear();
+        frame.limit(size);
+        read(frame);
+        tick = frame.getLong();
+        long sent = frame.getLong();
+        if ( frame.get() == TransformCodec.KEY ) {
+            Arrays.fill(transforms,0);
+        }
+        TransformCodec.getDeltas(frame,transforms);
+        TransformCodec.dequantize(transforms,scene);
+        latency = System.nanoTime()-sent;
+        return tick;
+    }
+    
+    /**
+     *  Gets the scene, as of the last frame received. Only the positions
+     *  and orientations are sent; the velocities and rotations are zero.
+     *
+     *  @return the scene
+     */
+    public Scene getScene( ) {
+        return scene;
+    }
+    
+    /**
+     *  Gets the tick of the last frame received.
+     *
+     *  @return the tick
+     */
+    public long getTick( ) {
+        return tick;
+    }
+    
+    /**
+     *  Gets the time from when the last frame was sent to when it was
+     *  received, which is only meaningful when the server is on the same
+     *  host, with the same clock.
+     *
+     *  @return the time in nanoseconds
+     */
+    public long getLatency( ) {
+        return latency;
+    }
+    
+    /**
+     *  Gets the number of bytes received.
+     *
+     *  @return the number of bytes
+     */
+    public long getBytesReceived( ) {
+        return received;
+    }
+    
+    /**
+     *  Draws the bodies of the scene from farthest to nearest.
+     *
+     *  @param projector the projector that maps 3D to Graphics coordinates
+     *  @param graphics  the drawing context
+     */
+    public void paint( Projector projector, Graphics graphics ) {
+        int n = scene.getCount();
+        Integer[] order = new Integer[n];
+        for ( int i = 0; i < n; ++i ) {
+            order[i] = Integer.valueOf(i);
+        }
+        final double[] position = scene.getPositions();
+        Arrays.sort(order,new Comparator() {
+            public int compare( Object a, Object b ) {
+                double za = position[3*((Integer)a).intValue()+2];
+                double zb = position[3*((Integer)b).intValue()+2];
+                return ( za < zb ) ? -1 : ( za > zb ) ? 1 : 0;
+            }
+        });
+        for ( int i = 0; i < n; ++i ) {
+            Polyhedron p = scene.createPolyhedron(order[i].intValue());
+            new ColoredFaces(p).paint(projector,graphics);
+        }
+    }
+    
+    /**
+     *  Closes the connection to the server.
+     *
+     *  @throws IOException when it can't be closed
+     */
+    public void close( ) throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,198 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.nio.ByteBuffer;
+
+/**
+ *  <p>
+ *  The encoding of the transforms of the bodies of a scene that's
+ *  shared by the TransformServer and TransformClient.
+ *  </p><p>
+ *  The transform of a body is quantized to seven integers: which
+ *  component of its orientation, as a unit quaternion, is largest; the
+ *  other three components, in 16 bits over the range they can have;
+ *  and the three components of its position, in 16 bits over the box.
+ *  Each is sent as the difference from the last one sent, zigzag
+ *  encoded in a variable number of bytes, so a body that barely moves
+ *  takes only a few bytes.
+ *  </p>
+ */
+class TransformCodec {
+    
+    static final int MAGIC = 0x434c5453;    // "CLTS"
+    static final int VALUES = 7;            // the integers to a body
+    static final byte KEY = 0;              // a frame that stands alone
+    static final byte DELTA = 1;            // a frame of differences
+    
+    private static final double SCALE = 32767;
+    private static final double ROOT2 = Math.sqrt(2);
+    
+    private TransformCodec( ) {
+    }
+    
+    /**
+     *  Quantizes the transforms of the bodies of a scene.
+     *
+     *  @param scene the scene
+     *  @param q the array in which to put seven integers for each body
+     */
+    static void quantize( Scene scene, int[] q ) {
+        double[] limit = scene.getLimit();
+        double[] position = scene.getPositions();
+        double[] orientation = scene.getOrientations();
+        double[] quaternion = new double[4];
+        for ( int i = 0; i < scene.getCount(); ++i ) {
+            toQuaternion(orientation,9*i,quaternion);
+            int largest = 0;
+            for ( int k = 1; k < 4; ++k ) {
+                if ( Math.abs(quaternion[k])
+                     > Math.abs(quaternion[largest]) ) {
+                    largest = k;
+                }
+            }
+            // q and -q are the same rotation, so make the largest positive
+            double sign = ( quaternion[largest] < 0 ) ? -1 : 1;
+            int j = VALUES*i;
+            q[j++] = largest;
+            for ( int k = 0; k < 4; ++k ) {
+                if ( k != largest ) {
+                    q[j++] = quantize(sign*quaternion[k]*ROOT2);
+                }
+            }
+            for ( int k = 0; k < 3; ++k ) {
+                q[j++] = quantize(position[3*i+k]/limit[k]);
+            }
+        }
+    }
+    
+    /**
+     *  Sets the transforms of the bodies of a scene
+     *  from their quantized values.
+     *
+     *  @param q seven integers for each body
+     *  @param scene the scene
+     */
+    static void dequantize( int[] q, Scene scene ) {
+        double[] limit = scene.getLimit();
+        double[] position = scene.getPositions();
+        double[] orientation = scene.getOrientations();
+        double[] quaternion = new double[4];
+        for ( int i = 0; i < scene.getCount(); ++i ) {
+            int j = VALUES*i;
+            int largest = q[j++];
+            double sum = 0;
+            for ( int k = 0; k < 4; ++k ) {
+                if ( k != largest ) {
+                    quaternion[k] = q[j++]/SCALE/ROOT2;
+                    sum += quaternion[k]*quaternion[k];
+                }
+            }
+            quaternion[largest] = Math.sqrt(Math.max(0,1-sum));
+            toMatrix(quaternion,orientation,9*i);
+            for ( int k = 0; k < 3; ++k ) {
+                position[3*i+k] = q[j++]/SCALE*limit[k];
+            }
+        }
+    }
+    
+    // Quantizes a number from -1 to 1 into 16 bits.
+    private static int quantize( double x ) {
+        return (int)Math.round(Math.max(-1,Math.min(1,x))*SCALE);
+    }
+    
+    /**
+     *  Converts a rotation matrix to a unit quaternion, w, x, y, z.
+     */
+    private static void toQuaternion( double[] m, int o, double[] q ) {
+        double m00 = m[o], m01 = m[o+1], m02 = m[o+2];
+        double m10 = m[o+3], m11 = m[o+4], m12 = m[o+5];
+        double m20 = m[o+6], m21 = m[o+7], m22 = m[o+8];
+        double trace = m00+m11+m22;
+        if ( trace > 0 ) {
+            double s = 2*Math.sqrt(trace+1);
+            q[0] = s/4;
+            q[1] = (m21-m12)/s;
+            q[2] = (m02-m20)/s;
+            q[3] = (m10-m01)/s;
+        } else if ( m00 > m11 && m00 > m22 ) {
+            double s = 2*Math.sqrt(1+m00-m11-m22);
+            q[0] = (m21-m12)/s;
+            q[1] = s/4;
+            q[2] = (m01+m10)/s;
+            q[3] = (m02+m20)/s;
+        } else if ( m11 > m22 ) {
+            double s = 2*Math.sqrt(1+m11-m00-m22);
+            q[0] = (m02-m20)/s;
+            q[1] = (m01+m10)/s;
+            q[2] = s/4;
+            q[3] = (m12+m21)/s;
+        } else {
+            double s = 2*Math.sqrt(1+m22-m00-m11);
+            q[0] = (m10-m01)/s;
+            q[1] = (m02+m20)/s;
+            q[2] = (m12+m21)/s;
+            q[3] = s/4;
+        }
+    }
+    
+    /**
+     *  Converts a unit quaternion, w, x, y, z, to a rotation matrix.
+     */
+    private static void toMatrix( double[] q, double[] m, int o ) {
+        double w = q[0], x = q[1], y = q[2], z = q[3];
+        m[o] = 1-2*(y*y+z*z);
+        m[o+1] = 2*(x*y-w*z);
+        m[o+2] = 2*(x*z+w*y);
+        m[o+3] = 2*(x*y+w*z);
+        m[o+4] = 1-2*(x*x+z*z);
+        m[o+5] = 2*(y*z-w*x);
+        m[o+6] = 2*(x*z-w*y);
+        m[o+7] = 2*(y*z+w*x);
+        m[o+8] = 1-2*(x*x+y*y);
+    }
+    
+    /**
+     *  Puts the differences between two sets of quantized transforms
+     *  into a buffer, which must have room for five bytes each.
+     *
+     *  @param q the transforms
+     *  @param previous the transforms before, or null for all zero
+     *  @param buffer the buffer
+     */
+    static void putDeltas( int[] q, int[] previous, ByteBuffer buffer ) {
+        for ( int j = 0; j < q.length; ++j ) {
+            int d = ( previous == null ) ? q[j] : q[j]-previous[j];
+            int z = (d<<1)^(d>>31);
+            while ( (z&~0x7f) != 0 ) {
+                buffer.put((byte)((z&0x7f)|0x80));
+                z >>>= 7;
+            }
+            buffer.put((byte)z);
+        }
+    }
+    
+    /**
+     *  Adds the differences in a buffer to a set of quantized transforms.
+     *
+     *  @param buffer the buffer
+     *  @param q the transforms
+     */
+    static void getDeltas( ByteBuffer buffer, int[] q ) {
+        for ( int j = 0; j < q.length; ++j ) {
+            int z = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                z |= (b&0x7f)<<shift;
+                shift += 7;
+            } while ( b < 0 );
+            q[j] += (z>>>1)^-(z&1);
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  <p>
+ *  Publishes the transforms of the bodies of a scene, each tick,
+ *  to TransformClients that render it themselves, which is much less
+ *  than the pixels of the rendered frames.
+ *  </p><p>
+ *  A client is first sent the number of bodies, the limit of the box
+ *  and the type and radius of each body. Then each frame is its length,
+ *  the tick, the time it was sent, whether it's a key or delta frame,
+ *  and the transforms, as encoded by TransformCodec, either by themselves
+ *  or as the difference from the tick before.
+ *  </p><p>
+ *  Nothing blocks: clients are accepted, and frames written, when they
+ *  can be. When a client falls too far behind, frames aren't queued for
+ *  it until it catches up, and then it's sent a key frame.
+ *  </p>
+ */
+public class TransformServer {
+    
+    private static final int BACKLOG = 1<<20;  // bytes queued to a client
+    
+    private ServerSocketChannel server;     // accepts clients
+    private List clients;                   // each connected Client
+    private int[] previous;                 // the transforms of the last tick
+    private int[] current;                  // the transforms of this tick
+    private ByteBuffer delta;               // the delta frame of this tick
+    private ByteBuffer key;                 // the key frame of this tick
+    private long tick;                      // the number of ticks published
+    private long sent;                      // the number of bytes queued
+    
+    /**
+     *  Creates a new TransformServer listening on a port.
+     *
+     *  @param port the port, or 0 for any free port
+     *
+     *  @throws IOException when it can't listen on the port
+     */
+    public TransformServer( int port ) throws IOException {
+        server = ServerSocketChannel.open();
+        server.socket().bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        clients = new ArrayList();
+    }
+    
+    /**
+     *  Gets the port the server is listening on.
+     *
+     *  @return the port
+     */
+    public int getPort( ) {
+        return server.socket().getLocalPort();
+    }
+    
+    /**
+     *  Gets the number of clients connected.
+     *
+     *  @return the number of clients
+     */
+    public int getClients( ) {
+        return clients.size();
+    }
+    
+    /**
+     *  Gets the number of bytes queued to be sent to all of the clients.
+     *
+     *  @return the number of bytes
+     */
+    public long getBytesSent( ) {
+        return sent;
+    }
+    
+    /**
+     *  Publishes the transforms of a tick to each client,
+     *  accepting any new clients first.
+     *
+     *  @param scene the scene, which must have the same bodies each tick
+     *
+     *  @throws IOException when clients can't be accepted
+     */
+    public void publish( Scene scene ) throws IOException {
+        int n = scene.getCount();
+        if ( current == null || current.length != TransformCodec.VALUES*n ) {
+            current = new int[TransformCodec.VALUES*n];
+            previous = null;
+            int size = 21+5*current.length;
+            delta = ByteBuffer.allocate(size);
+            key = ByteBuffer.allocate(size);
+        }
+        accept(scene);
+        TransformCodec.quantize(scene,current);
+        long now = System.nanoTime();
+        if ( previous != null ) {
+            encode(delta,now,TransformCodec.DELTA,previous);
+        }
+        boolean keyed = false;  // whether the key frame is encoded
+        for ( int c = clients.size()-1; c >= 0; --c ) {
+            Client client = (Client)clients.get(c);
+            try {
+                client.flush();
+                if ( client.queued() > BACKLOG ) {
+                    client.stale = true;
+                    continue;
+                }
+                if ( client.stale || previous == null ) {
+                    if ( !keyed ) {
+                        encode(key,now,TransformCodec.KEY,null);
+                        keyed = true;
+                    }
+                    client.send(key);
+                    client.stale = false;
+                } else {
+                    client.send(delta);
+                }
+                client.flush();
+            } catch ( IOException e ) {
+                client.channel.close();
+                clients.remove(c);
+            }
+        }
+        int[] swap = previous;
+        previous = current;
+        current = ( swap != null ) ? swap : new int[previous.length];
+        ++tick;
+    }
+    
+    /**
+     *  Encodes a frame of the transforms of this tick.
+     */
+    private void encode( ByteBuffer frame, long now, byte kind, int[] from ) {
+        frame.clear();
+        frame.putInt(0);
+        frame.putLong(tick);
+        frame.putLong(now);
+        frame.put(kind);
+        TransformCodec.putDeltas(current,from,frame);
+        frame.putInt(0,frame.position()-4);
+        frame.flip();
+    }
+    
+    /**
+     *  Accepts any clients waiting to connect, and queues the
+     *  description of the scene to each.
+     */
+    private void accept( Scene scene ) throws IOException {
+        SocketChannel channel;
+        while ( (channel = server.accept()) != null ) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            int n = scene.getCount();
+            ByteBuffer header = ByteBuffer.allocate(12+24+12*n);
+            header.putInt(TransformCodec.MAGIC);
+            header.putInt(n);
+            header.putInt(scene.getShapes().length);
+            for ( int k = 0; k < 3; ++k ) {
+                header.putDouble(scene.getLimit()[k]);
+            }
+            for ( int i = 0; i < n; ++i ) {
+                header.putInt(scene.getTypes()[i]);
+                header.putDouble(scene.getRadii()[i]);
+            }
+            header.flip();
+            Client client = new Client(channel);
+            client.send(header);
+            client.stale = true;
+            clients.add(client);
+        }
+    }
+    
+    /**
+     *  Closes the connection to each client, and stops listening.
+     *
+     *  @throws IOException when a connection can't be closed
+     */
+    public void close( ) throws IOException {
+        for ( int c = 0; c < clients.size(); ++c ) {
+            ((Client)clients.get(c)).channel.close();
+        }
+        clients.clear();
+        server.close();
+    }
+    
+    /**
+     *  A connected client, with the bytes yet to be written to it.
+     */
+    private class Client {
+        
+        private SocketChannel channel;  // the connection
+        private ByteBuffer pending;     // bytes yet to be written
+        private boolean stale;          // in need of a key frame
+        
+        private Client( SocketChannel c ) {
+            channel = c;
+            pending = ByteBuffer.allocate(1<<12);
+            pending.flip();
+        }
+        
+        // Gets the number of bytes yet to be written.
+        private int queued( ) {
+            return pending.remaining();
+        }
+        
+        // Queues the bytes of a frame, without moving its position.
+        private void send( ByteBuffer frame ) {
+            if ( pending.capacity()-pending.remaining() < frame.remaining() ) {
+                ByteBuffer bigger = ByteBuffer.allocate(
+                    2*(pending.remaining()+frame.remaining())
+                );
+                bigger.put(pending);
+                bigger.flip();
+                pending = bigger;
+            }
+            pending.compact();
+            pending.put(frame.duplicate());
+            pending.flip();
+            sent += frame.remaining();
+        }
+        
+        // Writes as many of the pending bytes as it can without waiting.
+        private void flush( ) throws IOException {
+            if ( pending.hasRemaining() ) {
+                channel.write(pending);
+            }
+        }
+        
+    }
+
+}
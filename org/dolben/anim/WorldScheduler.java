@@ -0,0 +1,384 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.anim;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ *  <p>
+ *  Runs many animations, each a world such as a Collidoscope, in one
+ *  JVM, on a few threads shared by all of them rather than a Timer's
+ *  thread for each. Each frame of a world, its step and its drawing, in
+ *  an image of its own, is a task that's run on the first thread free,
+ *  when the world's time for it comes.
+ *  </p><p>
+ *  The worlds whose frames are due are run earliest deadline first,
+ *  the deadline of a frame being the time of the next. Each world has
+ *  a budget, the time that a frame may take. A frame that takes longer
+ *  puts off the world's next deadline by as many periods as it took
+ *  budgets more, so that a heavy world gets no more than its share of
+ *  the threads and can't starve the others, but is only slowed down.
+ *  A world that falls more than a period behind skips the frames it
+ *  missed instead of running them late.
+ *  </p><p>
+ *  For each world it keeps the latency of its frames, how late each
+ *  was started after it was due, the time each took, and the numbers
+ *  run, missed and over budget.
+ *  </p><p>
+ *  Each frame is drawn in the back of two images, and shown by
+ *  swapping them, so paint() always draws a whole frame.
+ *  </p><p>
+ *  A world whose frame throws an exception, or an error such as a
+ *  failed assertion or a class that won't link, is logged and removed,
+ *  so that it can't take a thread, or the other worlds, down with it.
+ *  Only a VirtualMachineError, running out of memory or stack, which
+ *  leaves the JVM in no state to go on, is passed on.
+ *  </p>
+ */
+public class WorldScheduler {
+    
+    private static final Logger LOGGER =
+        Logger.getLogger(WorldScheduler.class.getName());
+    
+    private PriorityQueue waiting;  // the worlds not yet due, by release
+    private PriorityQueue ready;    // the worlds due, by deadline
+    private Thread[] workers;
+    private boolean running;
+    
+    /**
+     *  Creates a new WorldScheduler with some threads, and starts them.
+     *
+     *  @param threads the number of threads
+     */
+    public WorldScheduler( int threads ) {
+        waiting = new PriorityQueue(11,new Comparator() {
+            public int compare( Object a, Object b ) {
+                return Long.compare(((World)a).release,((World)b).release);
+            }
+        });
+        ready = new PriorityQueue(11,new Comparator() {
+            public int compare( Object a, Object b ) {
+                return Long.compare(((World)a).deadline,((World)b).deadline);
+            }
+        });
+        running = true;
+        workers = new Thread[threads];
+        for ( int i = 0; i < threads; ++i ) {
+            workers[i] = new Thread(new Runnable() {
+                public void run( ) {
+                    work();
+                }
+            },"WorldScheduler-"+i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+    
+    /**
+     *  Adds a world, which is given its parameters and initialized,
+     *  and runs it from now on.
+     *
+     *  @param animation the world
+     *  @param parameters its parameters, by name, as an Applet's
+     *  @param width the width of its drawing
+     *  @param height the height of its drawing
+     *  @param budget the time a frame may take, in milliseconds
+     *
+     *  @return the world
+     */
+    public World add(
+        AnimationApplet animation, Map parameters,
+        int width, int height, double budget
+    ) {
+        World world = new World(animation,parameters,width,height,budget);
+        synchronized ( this ) {
+            world.release = System.nanoTime();
+            world.deadline = world.release+world.period;
+            waiting.add(world);
+            notifyAll();
+        }
+        return world;
+    }
+    
+    /**
+     *  Removes a world, which is stopped and destroyed once any frame
+     *  of it that's running is done.
+     *
+     *  @param world the world
+     */
+    public void remove( World world ) {
+        boolean idle;
+        synchronized ( this ) {
+            world.removed = true;
+            idle = waiting.remove(world) || ready.remove(world);
+        }
+        if ( idle ) {
+            world.end();
+        }
+    }
+    
+    /**
+     *  Stops all of the threads, once the frames running are done,
+     *  and stops and destroys all of the worlds.
+     */
+    public void shutdown( ) throws InterruptedException {
+        synchronized ( this ) {
+            running = false;
+            notifyAll();
+        }
+        for ( int i = 0; i < workers.length; ++i ) {
+            workers[i].join();
+        }
+        while ( !waiting.isEmpty() ) {
+            ((World)waiting.poll()).end();
+        }
+        while ( !ready.isEmpty() ) {
+            ((World)ready.poll()).end();
+        }
+    }
+    
+    /**
+     *  Runs the frame of the world that's due with the earliest
+     *  deadline, over and over, waiting when there's none due.
+     */
+    private void work( ) {
+        while ( true ) {
+            World world;
+            synchronized ( this ) {
+                while ( true ) {
+                    if ( !running ) {
+                        return;
+                    }
+                    long now = System.nanoTime();
+                    while ( !waiting.isEmpty() &&
+                            ((World)waiting.peek()).release <= now ) {
+                        ready.add(waiting.poll());
+                    }
+                    if ( !ready.isEmpty() ) {
+                        break;
+                    }
+                    try {
+                        if ( waiting.isEmpty() ) {
+                            wait();
+                        } else {
+                            long wait = ((World)waiting.peek()).release-now;
+                            wait(wait/1000000,(int)(wait%1000000));
+                        }
+                    } catch ( InterruptedException e ) {
+                        return;
+                    }
+                }
+                world = (World)ready.poll();
+            }
+            boolean failed = !world.runFrame();
+            boolean removed;
+            synchronized ( this ) {
+                if ( failed ) {
+                    world.removed = true;
+                }
+                removed = world.removed;
+                if ( !removed ) {
+                    world.schedule();
+                    waiting.add(world);
+                    notifyAll();
+                }
+            }
+            if ( removed ) {
+                world.end();
+            }
+        }
+    }
+    
+    /**
+     *  A world that's run by the scheduler, and what's been measured
+     *  of it.
+     */
+    public static class World {
+        
+        private AnimationApplet animation;
+        private BufferedImage front;    // the frame last drawn
+        private BufferedImage back;     // the frame being drawn
+        private long period;            // nanoseconds between frames
+        private long budget;            // nanoseconds a frame may take
+        private long release;           // when the next frame is due
+        private long deadline;          // when it's to be done by
+        private long started;           // when the last frame started
+        private long took;              // how long the last frame took
+        private boolean removed;        // whether it's been removed
+        private long frames;            // the number of frames run
+        private long missed;            // the number of frames skipped
+        private long over;              // the number over the budget
+        private long latency;           // the sum of the latencies
+        private long maxLatency;
+        private long time;              // the sum of the times taken
+        private long maxTime;
+        
+        World(
+            AnimationApplet a, Map parameters,
+            int width, int height, double b
+        ) {
+            animation = a;
+            a.setStub(new ParameterStub(parameters));
+            a.setSize(width,height);
+            a.initHosted();
+            period = 1000000L*a.period;
+            budget = Math.round(1e6*b);
+            front = new BufferedImage(width,height,BufferedImage.TYPE_INT_RGB);
+            back = new BufferedImage(width,height,BufferedImage.TYPE_INT_RGB);
+        }
+        
+        /**
+         *  Gets the name of the world, for the log.
+         */
+        private String getName( ) {
+            return animation.getClass().getName();
+        }
+        
+        /**
+         *  Gets the animation of the world.
+         *
+         *  @return the animation
+         */
+        public AnimationApplet getAnimation( ) {
+            return animation;
+        }
+        
+        /**
+         *  Runs the frame that's due, drawing it in the back image
+         *  and then showing it. It holds the animation's lock, as its
+         *  timer would, so that it isn't stopped in the middle of it.
+         *
+         *  @return false if the frame threw, which is logged
+         */
+        private boolean runFrame( ) {
+            started = System.nanoTime();
+            Graphics2D g = back.createGraphics();
+            try {
+                g.setBackground(Color.white);
+                g.clearRect(0,0,back.getWidth(),back.getHeight());
+                synchronized ( animation.getLock() ) {
+                    animation.paintFrame(g);
+                }
+            } catch ( VirtualMachineError e ) {
+                throw e;
+            } catch ( Throwable e ) {
+                LOGGER.log(Level.SEVERE,"frame of "+getName()+" failed",e);
+                return false;
+            } finally {
+                g.dispose();
+            }
+            synchronized ( this ) {
+                BufferedImage b = front;
+                front = back;
+                back = b;
+                took = System.nanoTime()-started;
+                long late = started-release;
+                ++frames;
+                latency += late;
+                maxLatency = Math.max(maxLatency,late);
+                time += took;
+                maxTime = Math.max(maxTime,took);
+                if ( took > budget ) {
+                    ++over;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         *  Sets when the next frame is due, and its deadline, putting
+         *  it off for a frame that went over the budget, and skipping
+         *  the frames that are already past.
+         */
+        private void schedule( ) {
+            long next = release+period;
+            long now = System.nanoTime();
+            if ( next+period < now ) {
+                long skip = (now-next)/period;
+                synchronized ( this ) {
+                    missed += skip;
+                }
+                next += skip*period;
+            }
+            if ( took > budget ) {
+                next += period*((took-budget)/Math.max(1,budget)+1);
+            }
+            release = next;
+            deadline = next+period;
+        }
+        
+        /**
+         *  Stops and destroys the animation, logging what it throws
+         *  rather than passing it to the thread that ends it.
+         */
+        private void end( ) {
+            try {
+                try {
+                    animation.stop();
+                } finally {
+                    animation.destroy();
+                }
+            } catch ( VirtualMachineError e ) {
+                throw e;
+            } catch ( Throwable e ) {
+                LOGGER.log(Level.SEVERE,"ending "+getName()+" failed",e);
+            }
+        }
+        
+        /**
+         *  Draws the frame last drawn.
+         *
+         *  @param g the graphics in which to draw it
+         *  @param x the x coordinate of the frame
+         *  @param y the y coordinate of the frame
+         */
+        public synchronized void paint( Graphics g, int x, int y ) {
+            g.drawImage(front,x,y,null);
+        }
+        
+        /**
+         *  Gets the numbers of frames run, skipped and over the budget.
+         *
+         *  @return the numbers
+         */
+        public synchronized long[] getCounts( ) {
+            return new long[] { frames, missed, over };
+        }
+        
+        /**
+         *  Gets the mean and the most latency of the frames run, how
+         *  late each was started after it was due.
+         *
+         *  @return the mean and the most, in milliseconds
+         */
+        public synchronized double[] getLatency( ) {
+            return new double[] {
+                ( frames > 0 ) ? latency/1e6/frames : 0, maxLatency/1e6
+            };
+        }
+        
+        /**
+         *  Gets the mean and the most time the frames run took.
+         *
+         *  @return the mean and the most, in milliseconds
+         */
+        public synchronized double[] getTime( ) {
+            return new double[] {
+                ( frames > 0 ) ? time/1e6/frames : 0, maxTime/1e6
+            };
+        }
+        
+    }
+
+}
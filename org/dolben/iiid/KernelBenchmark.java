@@ -0,0 +1,164 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.iiid;
+
+import java.util.Random;
+
+/**
+ *  <p>
+ *  Times turning and projecting the 120 vertices of a solid as large
+ *  as the largest, a vertex at a time in arrays of doubles as they
+ *  were, against doing them all at once with the VertexKernel, for
+ *  choosing between the kernels.
+ *  </p><p>
+ *  On one machine, a vertex at a time took about 2.1 microseconds a
+ *  solid, and the scalar kernel about 260 nanoseconds, in floats to
+ *  draw, and 250 in doubles to turn a Polyhedron. The Vector API
+ *  kernel was slower in floats, at about 600, since the JIT vectorizes
+ *  the scalar loops itself, but took only 55 in doubles.
+ *  </p><p>
+ *  Run it, from the directory above org, once for each kernel, since
+ *  timing both in one run slows the calls to each:
+ *  </p><pre>
+ *  java org.dolben.iiid.KernelBenchmark
+ *  java -Dorg.dolben.iiid.vector=true --add-modules jdk.incubator.vector \
+ *      org.dolben.iiid.KernelBenchmark
+ *  </pre>
+ */
+public class KernelBenchmark {
+    
+    private static final int N = 120;           // the vertices of a solid
+    private static final int REPEATS = 200000;  // the solids in a round
+    private static final int ROUNDS = 8;        // the rounds, to warm up
+    
+    /**
+     *  Prints the time of each way, per solid, each round.
+     *
+     *  @param args not used
+     */
+    public static void main( String[] args ) {
+        VertexKernel kernel = VertexKernel.getInstance();
+        Random random = new Random(1);
+        double[][] vertex = new double[N][];
+        for ( int i = 0; i < N; ++i ) {
+            double[] v = {
+                random.nextGaussian(), random.nextGaussian(),
+                random.nextGaussian()
+            };
+            vertex[i] = Rn.multiply(50/Rn.magnitude(v),v);
+        }
+        double[][] rotation = R3.rotationX(0.01);
+        double[] center = { 3, 4, 5 };
+        Projector projector = new Projector(600,400,200,1000);
+        for ( int round = 0; round < ROUNDS; ++round ) {
+            System.out.println(
+                "a vertex at a time "
+                +timeVertices(vertex,rotation,center,projector)+" ns, "
+                +kernel.getName()+" float "
+                +timeFloats(kernel,vertex,rotation,center,projector)
+                +" ns, double "
+                +timeDoubles(kernel,vertex,rotation,center)+" ns"
+            );
+        }
+    }
+    
+    /**
+     *  Times turning the vertices one by one and projecting them.
+     */
+    private static long timeVertices(
+        double[][] vertex, double[][] rotation, double[] center,
+        Projector projector
+    ) {
+        double[][] point = new double[N][];
+        long sum = 0;
+        long start = System.nanoTime();
+        for ( int r = 0; r < REPEATS; ++r ) {
+            for ( int i = 0; i < N; ++i ) {
+                point[i] = Rn.add(Rn.multiply(rotation,vertex[i]),center);
+            }
+            sum += projector.project(point)[0][r%N];
+        }
+        return finish(start,sum);
+    }
+    
+    /**
+     *  Times transforming and projecting the vertices by a kernel,
+     *  in floats, as a Solid does to draw them.
+     */
+    private static long timeFloats(
+        VertexKernel kernel, double[][] vertex, double[][] rotation,
+        double[] center, Projector projector
+    ) {
+        float[] m = new float[9];
+        for ( int i = 0; i < 9; ++i ) {
+            m[i] = (float)rotation[i/3][i%3];
+        }
+        float[] t = { (float)center[0], (float)center[1], (float)center[2] };
+        float[] x = new float[N];
+        float[] y = new float[N];
+        float[] z = new float[N];
+        for ( int i = 0; i < N; ++i ) {
+            x[i] = (float)vertex[i][0];
+            y[i] = (float)vertex[i][1];
+            z[i] = (float)vertex[i][2];
+        }
+        float[] rx = new float[N];
+        float[] ry = new float[N];
+        float[] rz = new float[N];
+        int[] px = new int[N];
+        int[] py = new int[N];
+        long sum = 0;
+        long start = System.nanoTime();
+        for ( int r = 0; r < REPEATS; ++r ) {
+            kernel.transform(m,t,x,y,z,N,rx,ry,rz);
+            projector.project(rx,ry,rz,N,px,py);
+            sum += px[r%N];
+        }
+        return finish(start,sum);
+    }
+    
+    /**
+     *  Times transforming the vertices by a kernel, in doubles,
+     *  as a Polyhedron does to turn them.
+     */
+    private static long timeDoubles(
+        VertexKernel kernel, double[][] vertex, double[][] rotation,
+        double[] center
+    ) {
+        double[] m = new double[9];
+        for ( int i = 0; i < 9; ++i ) {
+            m[i] = rotation[i/3][i%3];
+        }
+        double[] x = new double[N];
+        double[] y = new double[N];
+        double[] z = new double[N];
+        for ( int i = 0; i < N; ++i ) {
+            x[i] = vertex[i][0];
+            y[i] = vertex[i][1];
+            z[i] = vertex[i][2];
+        }
+        double[] rx = new double[N];
+        double[] ry = new double[N];
+        double[] rz = new double[N];
+        double sum = 0;
+        long start = System.nanoTime();
+        for ( int r = 0; r < REPEATS; ++r ) {
+            kernel.transform(m,center,x,y,z,N,rx,ry,rz);
+            sum += rx[r%N];
+        }
+        return finish(start,(long)sum);
+    }
+    
+    /**
+     *  Gets the time per solid since the start, using the sum of
+     *  results so that the work isn't optimized away.
+     */
+    private static long finish( long start, long sum ) {
+        long time = (System.nanoTime()-start)/REPEATS;
+        return ( sum == Long.MIN_VALUE ) ? 0 : time;
+    }
+
+}
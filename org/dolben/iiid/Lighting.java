@@ -47,7 +47,8 @@ public class Lighting {
      *  @return the shaded color
      */
     public Color getShade( double[] normal, Color color ) {
-        double fraction = (1+Rn.dot(normal,light)/Rn.magnitude(normal))/2;
+        Vec3 n = new Vec3(normal);
+        double fraction = (1+n.dot(new Vec3(light))/n.magnitude())/2;
         float brightness = (float)fraction*(1-background)+background;
         float[] hsb = Color.RGBtoHSB(
             color.getRed(),color.getGreen(),color.getBlue(),null
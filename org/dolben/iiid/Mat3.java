@@ -0,0 +1,219 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.iiid;
+
+/**
+ *  <p>
+ *  A 3D matrix, with a field for each element rather than an array of
+ *  arrays, the first digit of the name of a field being its row.
+ *  </p><p>
+ *  Like Vec3, it can't be changed, and its operations are written out,
+ *  so that the JIT can keep it in registers when it doesn't escape.
+ *  The rotations are "active", like those of R3.
+ *  </p>
+ */
+public final class Mat3 {
+    
+    /** The identity matrix. */
+    public static final Mat3 IDENTITY = new Mat3(1,0,0, 0,1,0, 0,0,1);
+    
+    /** An element. */
+    public final double m00, m01, m02, m10, m11, m12, m20, m21, m22;
+    
+    /**
+     *  Creates a new Mat3 from its elements, row by row.
+     */
+    public Mat3(
+        double m00, double m01, double m02,
+        double m10, double m11, double m12,
+        double m20, double m21, double m22
+    ) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+    }
+    
+    /**
+     *  Creates a new Mat3 from an array of rows.
+     *
+     *  @param a the 3x3 array, the row indexed first
+     */
+    public Mat3( double[][] a ) {
+        this(
+            a[0][0],a[0][1],a[0][2],
+            a[1][0],a[1][1],a[1][2],
+            a[2][0],a[2][1],a[2][2]
+        );
+    }
+    
+    /**
+     *  Generates a matrix for a rotation by an angle around the x axis.
+     *
+     *  @param theta an angle
+     *
+     *  @return the rotation matrix
+     */
+    public static Mat3 rotationX( double theta ) {
+        double s = Math.sin(theta);
+        double c = Math.cos(theta);
+        return new Mat3(1,0,0, 0,c,-s, 0,s,c);
+    }
+    
+    /**
+     *  Generates a matrix for a rotation by an angle around the y axis.
+     *
+     *  @param theta an angle
+     *
+     *  @return the rotation matrix
+     */
+    public static Mat3 rotationY( double theta ) {
+        double s = Math.sin(theta);
+        double c = Math.cos(theta);
+        return new Mat3(c,0,s, 0,1,0, -s,0,c);
+    }
+    
+    /**
+     *  Generates a matrix for a rotation by an angle around the z axis.
+     *
+     *  @param theta an angle
+     *
+     *  @return the rotation matrix
+     */
+    public static Mat3 rotationZ( double theta ) {
+        double s = Math.sin(theta);
+        double c = Math.cos(theta);
+        return new Mat3(c,-s,0, s,c,0, 0,0,1);
+    }
+    
+    /**
+     *  Generates a matrix for a rotation by an angle around an axis.
+     *
+     *  @param axis a unit vector along the axis
+     *  @param theta an angle
+     *
+     *  @return the rotation matrix
+     */
+    public static Mat3 rotation( Vec3 axis, double theta ) {
+        double s = Math.sin(theta);
+        double c = Math.cos(theta);
+        double t = 1-c;
+        double x = axis.x;
+        double y = axis.y;
+        double z = axis.z;
+        return new Mat3(
+            t*x*x+c,   t*x*y-s*z, t*x*z+s*y,
+            t*x*y+s*z, t*y*y+c,   t*y*z-s*x,
+            t*x*z-s*y, t*y*z+s*x, t*z*z+c
+        );
+    }
+    
+    /**
+     *  Multiplies this matrix by another, this one on the left.
+     *
+     *  @param a the other matrix
+     *
+     *  @return the matrix product
+     */
+    public Mat3 multiply( Mat3 a ) {
+        return new Mat3(
+            m00*a.m00+m01*a.m10+m02*a.m20,
+            m00*a.m01+m01*a.m11+m02*a.m21,
+            m00*a.m02+m01*a.m12+m02*a.m22,
+            m10*a.m00+m11*a.m10+m12*a.m20,
+            m10*a.m01+m11*a.m11+m12*a.m21,
+            m10*a.m02+m11*a.m12+m12*a.m22,
+            m20*a.m00+m21*a.m10+m22*a.m20,
+            m20*a.m01+m21*a.m11+m22*a.m21,
+            m20*a.m02+m21*a.m12+m22*a.m22
+        );
+    }
+    
+    /**
+     *  Multiplies a vector by this matrix.
+     *
+     *  @param v the vector
+     *
+     *  @return the transformed vector
+     */
+    public Vec3 multiply( Vec3 v ) {
+        return new Vec3(
+            m00*v.x+m01*v.y+m02*v.z,
+            m10*v.x+m11*v.y+m12*v.z,
+            m20*v.x+m21*v.y+m22*v.z
+        );
+    }
+    
+    /**
+     *  Rotates a point about a center by this matrix.
+     *
+     *  @param p the point
+     *  @param c the center
+     *
+     *  @return a new array for the rotated point
+     */
+    public double[] rotate( double[] p, double[] c ) {
+        double x = p[0]-c[0];
+        double y = p[1]-c[1];
+        double z = p[2]-c[2];
+        return new double[] {
+            m00*x+m01*y+m02*z+c[0],
+            m10*x+m11*y+m12*z+c[1],
+            m20*x+m21*y+m22*z+c[2]
+        };
+    }
+    
+    /**
+     *  Transposes this matrix.
+     *
+     *  @return the transpose
+     */
+    public Mat3 transpose( ) {
+        return new Mat3(m00,m10,m20, m01,m11,m21, m02,m12,m22);
+    }
+    
+    /**
+     *  Inverts this matrix, by its adjugate.
+     *
+     *  @return the inverse
+     *
+     *  @throws ArithmeticException when it's singular
+     */
+    public Mat3 inverse( ) {
+        double c00 = m11*m22-m12*m21;
+        double c01 = m12*m20-m10*m22;
+        double c02 = m10*m21-m11*m20;
+        double det = m00*c00+m01*c01+m02*c02;
+        if ( det == 0 ) {
+            throw new ArithmeticException("singular matrix");
+        }
+        double f = 1/det;
+        return new Mat3(
+            f*c00, f*(m02*m21-m01*m22), f*(m01*m12-m02*m11),
+            f*c01, f*(m00*m22-m02*m20), f*(m02*m10-m00*m12),
+            f*c02, f*(m01*m20-m00*m21), f*(m00*m11-m01*m10)
+        );
+    }
+    
+    /**
+     *  Makes an array of the rows.
+     *
+     *  @return a new 3x3 array, the row indexed first
+     */
+    public double[][] toArray( ) {
+        return new double[][] {
+            { m00, m01, m02 },
+            { m10, m11, m12 },
+            { m20, m21, m22 }
+        };
+    }
+
+}
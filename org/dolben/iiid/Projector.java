@@ -5,6 +5,8 @@
  */
 package org.dolben.iiid;
 
+import java.awt.Rectangle;
+
 /**
  *  Projector is used for drawing a 3D facet in 2D,
  *  either as an outline or as a shaded, filled polygon.
@@ -15,6 +17,7 @@ public class Projector {
     private double height;      // height of drawing
     private double screen;      // z component of the screen plane
     private double[] viewer;    // 3D vector location of the viewer
+    private VertexKernel kernel;    // projects arrays of points
     
     /**
      *  Creates a new Projector.
@@ -29,6 +32,7 @@ public class Projector {
         height = h;
         screen = s;
         viewer = new double[] {0,0,v};
+        kernel = VertexKernel.getInstance();
     }
     
     /**
@@ -40,6 +44,60 @@ public class Projector {
         return viewer;
     }
     
+    /**
+     *  Unprojects a point of the drawing, the inverse of project():
+     *  gets the direction of the ray from the viewer through it, the
+     *  vector to where it is on the screen plane, on which every 3D
+     *  point that projects to it lies.
+     *
+     *  @param x the x coordinate in the drawing
+     *  @param y the y coordinate in the drawing
+     *
+     *  @return the direction of the ray
+     */
+    public double[] unproject( double x, double y ) {
+        return new double[] { x-width/2, height/2-y, screen-viewer[2] };
+    }
+    
+    /**
+     *  Finds a rectangle of the drawing that holds the projection of a
+     *  sphere, that of the corners of the cube around it, with a margin
+     *  for the pixels that the edges of a polygon touch. A sphere that
+     *  reaches the viewer could be drawn anywhere.
+     *
+     *  @param center the center of the sphere
+     *  @param radius the radius of the sphere
+     *
+     *  @return the rectangle
+     */
+    public Rectangle getBounds( double[] center, double radius ) {
+        final int MARGIN = 3;
+        double viewd = viewer[2]-screen;
+        if ( center[2]+radius >= viewer[2] ) {
+            return new Rectangle(0,0,(int)width,(int)height);
+        }
+        double left = Double.MAX_VALUE;
+        double top = Double.MAX_VALUE;
+        double right = -Double.MAX_VALUE;
+        double bottom = -Double.MAX_VALUE;
+        for ( int dz = -1; dz <= 1; dz += 2 ) {
+            double scale = viewd/(viewer[2]-center[2]-dz*radius);
+            for ( int d = -1; d <= 1; d += 2 ) {
+                double x = scale*(center[0]+d*radius);
+                double y = -scale*(center[1]+d*radius);
+                left = Math.min(left,x);
+                right = Math.max(right,x);
+                top = Math.min(top,y);
+                bottom = Math.max(bottom,y);
+            }
+        }
+        int x0 = (int)Math.floor(left+width/2)-MARGIN;
+        int y0 = (int)Math.floor(top+height/2)-MARGIN;
+        int x1 = (int)Math.ceil(right+width/2)+MARGIN;
+        int y1 = (int)Math.ceil(bottom+height/2)+MARGIN;
+        return new Rectangle(x0,y0,x1-x0+1,y1-y0+1);
+    }
+    
     /**
      *  Projects an array of 3D points onto the drawing plane.
      *
@@ -59,5 +117,26 @@ public class Projector {
         }
         return new int[][] { x, y };
     }
+    
+    /**
+     *  Projects 3D points, an array of each component,
+     *  onto the drawing plane with the VertexKernel.
+     *
+     *  @param x the x components of the points
+     *  @param y the y components
+     *  @param z the z components
+     *  @param n the number of points
+     *  @param px the array in which to put the x coordinates
+     *  @param py the array in which to put the y coordinates
+     */
+    public void project(
+        float[] x, float[] y, float[] z, int n, int[] px, int[] py
+    ) {
+        kernel.project(
+            (float)viewer[2],(float)(viewer[2]-screen),
+            (float)(width/2),(float)(height/2),
+            x,y,z,n,px,py
+        );
+    }
 
 }
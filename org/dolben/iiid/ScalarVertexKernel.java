@@ -0,0 +1,96 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.iiid;
+
+/**
+ *  The VertexKernel in plain scalar code, for when the Vector API
+ *  isn't available.
+ */
+class ScalarVertexKernel extends VertexKernel {
+    
+    public String getName( ) {
+        return "scalar";
+    }
+    
+    public void transform(
+        float[] m, float[] t, float[] x, float[] y, float[] z, int n,
+        float[] rx, float[] ry, float[] rz
+    ) {
+        transform(m,t,x,y,z,0,n,rx,ry,rz);
+    }
+    
+    /**
+     *  Transforms the points from one index up to another,
+     *  which the Vector API kernel uses for the ones left over.
+     */
+    static void transform(
+        float[] m, float[] t, float[] x, float[] y, float[] z,
+        int from, int to, float[] rx, float[] ry, float[] rz
+    ) {
+        float m0 = m[0], m1 = m[1], m2 = m[2];
+        float m3 = m[3], m4 = m[4], m5 = m[5];
+        float m6 = m[6], m7 = m[7], m8 = m[8];
+        for ( int i = from; i < to; ++i ) {
+            float a = x[i];
+            float b = y[i];
+            float c = z[i];
+            rx[i] = m0*a+m1*b+m2*c+t[0];
+            ry[i] = m3*a+m4*b+m5*c+t[1];
+            rz[i] = m6*a+m7*b+m8*c+t[2];
+        }
+    }
+    
+    public void transform(
+        double[] m, double[] t, double[] x, double[] y, double[] z, int n,
+        double[] rx, double[] ry, double[] rz
+    ) {
+        transform(m,t,x,y,z,0,n,rx,ry,rz);
+    }
+    
+    /**
+     *  Transforms the points in doubles from one index up to another.
+     */
+    static void transform(
+        double[] m, double[] t, double[] x, double[] y, double[] z,
+        int from, int to, double[] rx, double[] ry, double[] rz
+    ) {
+        double m0 = m[0], m1 = m[1], m2 = m[2];
+        double m3 = m[3], m4 = m[4], m5 = m[5];
+        double m6 = m[6], m7 = m[7], m8 = m[8];
+        for ( int i = from; i < to; ++i ) {
+            double a = x[i];
+            double b = y[i];
+            double c = z[i];
+            rx[i] = m0*a+m1*b+m2*c+t[0];
+            ry[i] = m3*a+m4*b+m5*c+t[1];
+            rz[i] = m6*a+m7*b+m8*c+t[2];
+        }
+    }
+    
+    public void project(
+        float viewer, float distance, float cx, float cy,
+        float[] x, float[] y, float[] z, int n, int[] px, int[] py
+    ) {
+        project(viewer,distance,cx,cy,x,y,z,0,n,px,py);
+    }
+    
+    /**
+     *  Projects the points from one index up to another,
+     *  which the Vector API kernel uses for the ones left over.
+     */
+    static void project(
+        float viewer, float distance, float cx, float cy,
+        float[] x, float[] y, float[] z, int from, int to,
+        int[] px, int[] py
+    ) {
+        for ( int i = from; i < to; ++i ) {
+            float scale = distance/(viewer-z[i]);
+            px[i] = (int)(scale*x[i]+cx);
+            py[i] = (int)(-scale*y[i]+cy);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.iiid;
+
+/**
+ *  <p>
+ *  A 3D vector, with a field for each component rather than an array.
+ *  </p><p>
+ *  It can't be changed, and its operations are written out for three
+ *  components rather than looped over n, so that when one doesn't escape
+ *  the method that made it, the JIT can keep its components in registers
+ *  instead of allocating it. Use it rather than Rn where the vectors
+ *  are known to be 3D, converting from and to arrays at the edges.
+ *  </p>
+ */
+public final class Vec3 {
+    
+    /** The x component. */
+    public final double x;
+    
+    /** The y component. */
+    public final double y;
+    
+    /** The z component. */
+    public final double z;
+    
+    /**
+     *  Creates a new Vec3 from its components.
+     *
+     *  @param x the x component
+     *  @param y the y component
+     *  @param z the z component
+     */
+    public Vec3( double x, double y, double z ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+    
+    /**
+     *  Creates a new Vec3 from an array.
+     *
+     *  @param v the array of three components
+     */
+    public Vec3( double[] v ) {
+        this(v[0],v[1],v[2]);
+    }
+    
+    /**
+     *  Adds another vector to this one.
+     *
+     *  @param v the other vector
+     *
+     *  @return the vector sum
+     */
+    public Vec3 add( Vec3 v ) {
+        return new Vec3(x+v.x,y+v.y,z+v.z);
+    }
+    
+    /**
+     *  Subtracts another vector from this one.
+     *
+     *  @param v the other vector
+     *
+     *  @return the vector difference, this-v
+     */
+    public Vec3 subtract( Vec3 v ) {
+        return new Vec3(x-v.x,y-v.y,z-v.z);
+    }
+    
+    /**
+     *  Multiplies this vector by a scalar.
+     *
+     *  @param s the scalar
+     *
+     *  @return the scaled vector
+     */
+    public Vec3 multiply( double s ) {
+        return new Vec3(s*x,s*y,s*z);
+    }
+    
+    /**
+     *  Computes the dot product of this vector and another.
+     *
+     *  @param v the other vector
+     *
+     *  @return the dot product
+     */
+    public double dot( Vec3 v ) {
+        return x*v.x+y*v.y+z*v.z;
+    }
+    
+    /**
+     *  Computes the cross product of this vector and another.
+     *
+     *  @param v the other vector
+     *
+     *  @return the cross product, this x v
+     */
+    public Vec3 cross( Vec3 v ) {
+        return new Vec3(y*v.z-z*v.y,z*v.x-x*v.z,x*v.y-y*v.x);
+    }
+    
+    /**
+     *  Computes the magnitude of this vector.
+     *
+     *  @return the magnitude
+     */
+    public double magnitude( ) {
+        return Math.sqrt(x*x+y*y+z*z);
+    }
+    
+    /**
+     *  Makes an array of the components.
+     *
+     *  @return a new array
+     */
+    public double[] toArray( ) {
+        return new double[] { x, y, z };
+    }
+
+}
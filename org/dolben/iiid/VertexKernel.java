@@ -0,0 +1,126 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.iiid;
+
+/**
+ *  <p>
+ *  Transforms and projects whole arrays of 3D points at once, rather than
+ *  a point at a time, so that it can be done in SIMD lanes.
+ *  </p><p>
+ *  The points are kept as a structure of arrays, an array of the x,
+ *  one of the y and one of the z components, so that a vector register
+ *  can be loaded with the same component of several points. Polyhedron
+ *  rotates its vertices, in doubles, from such arrays of its shape, and
+ *  Solid projects them, in floats, to draw them.
+ *  </p><p>
+ *  getInstance() gives one that's plain scalar code, unless the system
+ *  property org.dolben.iiid.vector is set to true, when it gives one
+ *  that uses the Vector API, if that has been compiled from vector/ and
+ *  the module jdk.incubator.vector has been added to the JVM. The JIT
+ *  vectorizes the scalar loops well enough that, on the 120 vertices of
+ *  the largest solid, the Vector API is no faster at projecting, so
+ *  it's only used when asked for.
+ *  Both give the same results, operation for operation.
+ *  </p>
+ */
+public abstract class VertexKernel {
+    
+    private static VertexKernel instance;   // the kernel chosen
+    
+    /**
+     *  Gets the kernel, the scalar one unless the Vector API one is
+     *  asked for and it's available.
+     *
+     *  @return the kernel
+     */
+    public static synchronized VertexKernel getInstance( ) {
+        if ( instance == null ) {
+            if ( Boolean.getBoolean("org.dolben.iiid.vector") ) {
+                try {
+                    instance = (VertexKernel)Class.forName(
+                        "org.dolben.iiid.VectorVertexKernel"
+                    ).getDeclaredConstructor().newInstance();
+                } catch ( Exception e ) {
+                    // it wasn't compiled
+                    instance = null;
+                } catch ( LinkageError e ) {
+                    // the module isn't there
+                    instance = null;
+                }
+            }
+            if ( instance == null ) {
+                instance = new ScalarVertexKernel();
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     *  Gets the name of the kernel, to tell which is in use.
+     *
+     *  @return the name
+     */
+    public abstract String getName( );
+    
+    /**
+     *  Transforms points by a matrix, then a translation.
+     *
+     *  @param m the matrix, nine floats with the row indexed first
+     *  @param t the translation
+     *  @param x the x components of the points
+     *  @param y the y components
+     *  @param z the z components
+     *  @param n the number of points
+     *  @param rx the array in which to put the x components of the
+     *            transformed points, which may be the same as x
+     *  @param ry the y components
+     *  @param rz the z components
+     */
+    public abstract void transform(
+        float[] m, float[] t, float[] x, float[] y, float[] z, int n,
+        float[] rx, float[] ry, float[] rz
+    );
+    
+    /**
+     *  Transforms points by a matrix, then a translation, in doubles,
+     *  for points that are kept, as the vertices of a polyhedron are.
+     *
+     *  @param m the matrix, nine doubles with the row indexed first
+     *  @param t the translation
+     *  @param x the x components of the points
+     *  @param y the y components
+     *  @param z the z components
+     *  @param n the number of points
+     *  @param rx the array in which to put the x components of the
+     *            transformed points, which may be the same as x
+     *  @param ry the y components
+     *  @param rz the z components
+     */
+    public abstract void transform(
+        double[] m, double[] t, double[] x, double[] y, double[] z, int n,
+        double[] rx, double[] ry, double[] rz
+    );
+    
+    /**
+     *  Projects points in perspective onto the drawing plane.
+     *
+     *  @param viewer the z component of the location of the viewer
+     *  @param distance the distance from the viewer to the screen plane
+     *  @param cx the x coordinate of the center of the drawing
+     *  @param cy the y coordinate of the center of the drawing
+     *  @param x the x components of the points
+     *  @param y the y components
+     *  @param z the z components
+     *  @param n the number of points
+     *  @param px the array in which to put the x coordinates
+     *  @param py the array in which to put the y coordinates
+     */
+    public abstract void project(
+        float viewer, float distance, float cx, float cy,
+        float[] x, float[] y, float[] z, int n, int[] px, int[] py
+    );
+
+}
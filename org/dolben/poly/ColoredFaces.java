@@ -16,6 +16,8 @@ import org.dolben.poly.Polyhedron;
 public class ColoredFaces extends Solid {
     
     protected Lighting lighting; // the lighting of the scene
+    private boolean outlined = true;    // whether the faces are outlined
+    private boolean shaded = true;      // whether the faces are shaded
     
     /**
      *  Creates a new Solid for a given polyhedron.
@@ -27,12 +29,55 @@ public class ColoredFaces extends Solid {
         lighting = new Lighting();
     }
     
+    /**
+     *  Sets whether the faces are outlined before they're filled, which
+     *  closes the thin gaps that filling alone leaves along the edges.
+     *
+     *  @param on true to outline them
+     */
+    public void setOutlined( boolean on ) {
+        outlined = on;
+    }
+    
+    /**
+     *  Sets whether the faces are shaded by the lighting, or drawn
+     *  each in its own color.
+     *
+     *  @param on true to shade them
+     */
+    public void setShaded( boolean on ) {
+        shaded = on;
+    }
+    
+    /**
+     *  Gets the color of each face, before it's shaded.
+     *
+     *  @return the colors, by the index of the face
+     */
+    public Color[] getColors( ) {
+        Color[] color = new Color[polyhedron.getFaces()];
+        for ( int i = 0; i < color.length; ++i ) {
+            color[i] = getColor(i);
+        }
+        return color;
+    }
+    
     /**
      *  Gets the color of a polygon based on the number of its sides.
      */
     protected Color getColor( int index ) {
-        int[] f = polyhedron.getFaceIndices(index);
-        switch ( f.length ) {
+        return getColorOfSides(polyhedron.getFaceIndices(index).length);
+    }
+    
+    /**
+     *  Gets the color of a polygon with a number of sides.
+     *
+     *  @param sides the number of sides
+     *
+     *  @return the color
+     */
+    public static Color getColorOfSides( int sides ) {
+        switch ( sides ) {
         case 3:
             return Color.blue;
         case 4:
@@ -58,13 +103,13 @@ public class ColoredFaces extends Solid {
      */
     public void paint( Projector projector, Graphics graphics ) {
         /*
-         * Each face polygon is drawn and then filled.
+         * Each face polygon is drawn, when outlined, and then filled.
          * If it is only filled, thin gaps are left along the edges.
          *
          * All of the common heavy lifting for both draw and fill
          * is done up front.
          */
-        int p[][] = projector.project(polyhedron.getVertices());
+        int p[][] = project(projector);
         double normal[][] = new double[polyhedron.getFaces()][];
         Color color[] = new Color[normal.length];
         boolean showing[] = new boolean[normal.length];
@@ -77,10 +122,11 @@ public class ColoredFaces extends Solid {
                     normal[i],Rn.subtract(projector.getViewer(),point[0])
                 ) > 0;
             if ( showing[i] ) {
-                color[i] = lighting.getShade(normal[i],getColor(i));
+                color[i] = shaded ?
+                    lighting.getShade(normal[i],getColor(i)) : getColor(i);
             }
         }
-        for ( int i = 0; i < polyhedron.getFaces(); ++i ) {
+        for ( int i = 0; outlined && i < polyhedron.getFaces(); ++i ) {
             if ( showing[i] ) {
                 graphics.setColor(color[i]);
                 int[][] xy = getFacePoints(p,i);
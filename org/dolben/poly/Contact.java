@@ -0,0 +1,479 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+import org.dolben.iiid.R3;
+import org.dolben.iiid.Rn;
+
+/**
+ *  <p>
+ *  The exact contact between a pair of convex polyhedra, a and b.
+ *  </p><p>
+ *  The distance between them is found by GJK (Gilbert, Johnson and
+ *  Keerthi) as the distance of the origin from their Minkowski
+ *  difference, a-b. When they overlap, the normal and depth of
+ *  the contact are found by EPA (the expanding polytope algorithm).
+ *  </p><p>
+ *  The direction that last separated them is kept, so that when the
+ *  pair is tested again, a frame or so later, it usually still
+ *  separates them and the test is done with one pair of support points.
+ *  </p>
+ */
+public class Contact {
+    
+    private static final int MAX_ITERATIONS = 64;
+    private static final double EPSILON = 1e-10;
+    
+    private Polyhedron a;           // one polyhedron
+    private Polyhedron b;           // the other polyhedron
+    private double[] direction;     // the last separating direction, a-b
+    private double[] offset;        // displacement of b for the test
+    private double[] normal;        // unit normal at the contact, a to b
+    private double depth;           // depth of the overlap
+    private int extremeA;           // the last support vertex of a
+    private int extremeB;           // the last support vertex of b
+    
+    // the simplex of points on a-b that is closest to the origin
+    private double[][] simplex = new double[4][];
+    private int points;
+    
+    /**
+     *  Creates a new Contact between a pair of polyhedra.
+     *
+     *  @param pa one polyhedron
+     *  @param pb the other polyhedron
+     */
+    public Contact( Polyhedron pa, Polyhedron pb ) {
+        a = pa;
+        b = pb;
+        direction = null;
+        normal = null;
+        depth = 0;
+    }
+    
+    /**
+     *  Tests whether the polyhedra overlap or touch.
+     *  Stops as soon as a separating direction is found,
+     *  so the distance and normal aren't found when they're apart.
+     *
+     *  @return true when they overlap
+     */
+    public boolean intersects( ) {
+        offset = null;
+        return separate(false) == 0;
+    }
+    
+    /**
+     *  Gets the distance between the polyhedra.
+     *
+     *  @param displacement a displacement to add to b for the test,
+     *                      or null for none
+     *
+     *  @return the distance, or 0 when they overlap
+     */
+    public double getDistance( double[] displacement ) {
+        offset = displacement;
+        return separate(true);
+    }
+    
+    /**
+     *  Gets the unit normal at the contact found by the last test,
+     *  pointing from a to b; the direction of the closest approach
+     *  when they're apart, or the direction in which b must move the
+     *  least to get out of a when they overlap.
+     *
+     *  @return the normal
+     */
+    public double[] getNormal( ) {
+        return normal;
+    }
+    
+    /**
+     *  Gets the depth of the overlap found by the last test, the
+     *  distance b must move along the normal to get out of a.
+     *
+     *  @return the depth, or 0 when they're apart
+     */
+    public double getDepth( ) {
+        return depth;
+    }
+    
+    /**
+     *  Finds the point on a-b that is closest to the origin by GJK,
+     *  starting from the last separating direction.
+     *
+     *  @param exact false to stop at any separating direction
+     *
+     *  @return the distance between the polyhedra, or 0 when they overlap
+     */
+    private double separate( boolean exact ) {
+        double[] v = direction;
+        if ( v == null ) {
+            v = Rn.subtract(a.getPosition(),b.getPosition());
+        }
+        if ( Rn.dot(v,v) == 0 ) {
+            v = new double[] {1,0,0};
+        }
+        depth = 0;
+        points = 0;
+        double size = 0;   // the greatest squared distance of a point
+        for ( int i = 0; i < MAX_ITERATIONS; ++i ) {
+            double[] w = support(Rn.multiply(-1,v));
+            double vw = Rn.dot(v,w);
+            double vv = Rn.dot(v,v);
+            if ( !exact && vw > 0 ) {
+                // every point of a-b is on the far side of a plane
+                direction = v;
+                normal = null;
+                return Double.POSITIVE_INFINITY;
+            }
+            if ( points > 0 && ( vv-vw <= EPSILON*vv || contains(w) ) ) {
+                // no point gets closer to the origin
+                return apart(v);
+            }
+            simplex[points++] = w;
+            size = Math.max(size,Rn.dot(w,w));
+            v = closest();
+            if ( points == 4 || Rn.dot(v,v) <= EPSILON*EPSILON*size ) {
+                return overlap();
+            }
+        }
+        return apart(v);
+    }
+    
+    // Records that the polyhedra are apart, by the closest point v on a-b.
+    private double apart( double[] v ) {
+        direction = v;
+        double distance = Rn.magnitude(v);
+        normal = Rn.multiply(-1/distance,v);
+        return distance;
+    }
+    
+    // Records that the polyhedra overlap, finding the contact by EPA.
+    private double overlap( ) {
+        if ( direction == null ) {
+            direction = Rn.subtract(a.getPosition(),b.getPosition());
+        }
+        if ( completeSimplex() ) {
+            expand();
+        } else {
+            // the difference is flat, so they can only be touching
+            normal = Rn.multiply(-1/Rn.magnitude(direction),direction);
+            depth = 0;
+        }
+        return 0;
+    }
+    
+    // Tells whether a point is already in the simplex.
+    private boolean contains( double[] w ) {
+        for ( int i = 0; i < points; ++i ) {
+            double[] s = simplex[i];
+            if ( s[0] == w[0] && s[1] == w[1] && s[2] == w[2] ) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     *  Gets the support point of a-b in a direction; the point of
+     *  a-b that is farthest in that direction.
+     */
+    private double[] support( double[] d ) {
+        extremeA = a.getSupport(d,extremeA);
+        extremeB = b.getSupport(Rn.multiply(-1,d),extremeB);
+        double[] s = Rn.subtract(a.getVertex(extremeA),b.getVertex(extremeB));
+        return ( offset == null ) ? s : Rn.subtract(s,offset);
+    }
+    
+    /**
+     *  Finds the point of the simplex closest to the origin, and reduces
+     *  the simplex to the smallest face that contains the point.
+     *
+     *  Each face is tried (there are at most 15) by projecting the origin
+     *  onto its affine hull; the closest of those that fall within their
+     *  face is the answer.
+     */
+    private double[] closest( ) {
+        double[] best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        int bestSet = 0;
+        for ( int set = 1; set < (1 << points); ++set ) {
+            double[] p = project(set);
+            if ( p != null ) {
+                double distance = Rn.dot(p,p);
+                if ( distance < bestDistance ) {
+                    bestDistance = distance;
+                    best = p;
+                    bestSet = set;
+                }
+            }
+        }
+        int n = 0;
+        for ( int i = 0; i < points; ++i ) {
+            if ( (bestSet & (1 << i)) != 0 ) {
+                simplex[n++] = simplex[i];
+            }
+        }
+        points = n;
+        return best;
+    }
+    
+    /**
+     *  Projects the origin onto the affine hull of a subset of the
+     *  simplex, given as a bit set, returning null when the projection
+     *  isn't inside the subset or the subset is degenerate.
+     */
+    private double[] project( int set ) {
+        double[][] s = new double[4][];
+        int n = 0;
+        for ( int i = 0; i < points; ++i ) {
+            if ( (set & (1 << i)) != 0 ) {
+                s[n++] = simplex[i];
+            }
+        }
+        if ( n == 1 ) {
+            return s[0];
+        }
+        /*
+         *  p = s0 + sum( u[k] e[k] ), e[k] = s[k+1]-s0, closest to origin,
+         *  where sum( u[k] e[j].e[k] ) = -e[j].s0 for each j
+         */
+        int m = n-1;
+        double[][] e = new double[m][];
+        for ( int k = 0; k < m; ++k ) {
+            e[k] = Rn.subtract(s[k+1],s[0]);
+        }
+        double[][] g = new double[m][m+1];
+        for ( int j = 0; j < m; ++j ) {
+            for ( int k = 0; k < m; ++k ) {
+                g[j][k] = Rn.dot(e[j],e[k]);
+            }
+            g[j][m] = -Rn.dot(e[j],s[0]);
+        }
+        double[] u = solve(g);
+        if ( u == null ) {
+            return null;
+        }
+        double sum = 0;
+        for ( int k = 0; k < m; ++k ) {
+            if ( u[k] < 0 ) {
+                return null;
+            }
+            sum += u[k];
+        }
+        if ( sum > 1 ) {
+            return null;
+        }
+        double[] p = s[0];
+        for ( int k = 0; k < m; ++k ) {
+            p = Rn.add(p,Rn.multiply(u[k],e[k]));
+        }
+        return p;
+    }
+    
+    /**
+     *  Solves a small linear system, given as an augmented matrix,
+     *  by Gaussian elimination with partial pivoting,
+     *  returning null when it's singular.
+     */
+    private static double[] solve( double[][] g ) {
+        int m = g.length;
+        double scale = 0;
+        for ( int i = 0; i < m; ++i ) {
+            scale = Math.max(scale,Math.abs(g[i][i]));
+        }
+        for ( int i = 0; i < m; ++i ) {
+            int pivot = i;
+            for ( int j = i+1; j < m; ++j ) {
+                if ( Math.abs(g[j][i]) > Math.abs(g[pivot][i]) ) {
+                    pivot = j;
+                }
+            }
+            if ( Math.abs(g[pivot][i]) <= 1e-12*scale ) {
+                return null;
+            }
+            double[] t = g[i];
+            g[i] = g[pivot];
+            g[pivot] = t;
+            for ( int j = i+1; j < m; ++j ) {
+                double f = g[j][i]/g[i][i];
+                for ( int k = i; k <= m; ++k ) {
+                    g[j][k] -= f*g[i][k];
+                }
+            }
+        }
+        double[] u = new double[m];
+        for ( int i = m-1; i >= 0; --i ) {
+            double sum = g[i][m];
+            for ( int k = i+1; k < m; ++k ) {
+                sum -= g[i][k]*u[k];
+            }
+            u[i] = sum/g[i][i];
+        }
+        return u;
+    }
+    
+    /**
+     *  Grows the simplex that contains the origin into a tetrahedron
+     *  with points from the boundary of a-b, for EPA to start with.
+     *
+     *  @return false when a-b is too flat to hold a tetrahedron
+     */
+    private boolean completeSimplex( ) {
+        final double[][] AXES = {
+            {1,0,0}, {0,1,0}, {0,0,1}, {-1,0,0}, {0,-1,0}, {0,0,-1}
+        };
+        if ( points == 1 ) {
+            for ( int i = 0; i < AXES.length && points < 2; ++i ) {
+                double[] w = support(AXES[i]);
+                if ( Rn.magnitude(Rn.subtract(w,simplex[0])) > EPSILON ) {
+                    simplex[points++] = w;
+                }
+            }
+        }
+        if ( points == 2 ) {
+            double[] d = Rn.subtract(simplex[1],simplex[0]);
+            for ( int i = 0; i < 3 && points < 3; ++i ) {
+                double[] n = R3.cross(d,AXES[i]);
+                if ( Rn.dot(n,n) > EPSILON ) {
+                    double[] w = support(n);
+                    if ( area(simplex[0],simplex[1],w) <= EPSILON ) {
+                        w = support(Rn.multiply(-1,n));
+                    }
+                    if ( area(simplex[0],simplex[1],w) > EPSILON ) {
+                        simplex[points++] = w;
+                    }
+                }
+            }
+        }
+        if ( points == 3 ) {
+            double[] n = R3.cross(
+                Rn.subtract(simplex[1],simplex[0]),
+                Rn.subtract(simplex[2],simplex[0])
+            );
+            double[] w = support(n);
+            if ( Math.abs(Rn.dot(n,Rn.subtract(w,simplex[0]))) <= EPSILON ) {
+                w = support(Rn.multiply(-1,n));
+            }
+            if ( Math.abs(Rn.dot(n,Rn.subtract(w,simplex[0]))) > EPSILON ) {
+                simplex[points++] = w;
+            }
+        }
+        return points == 4;
+    }
+    
+    // Gets the (doubled) area of a triangle.
+    private static double area( double[] p, double[] q, double[] r ) {
+        return Rn.magnitude(R3.cross(Rn.subtract(q,p),Rn.subtract(r,p)));
+    }
+    
+    /**
+     *  Expands the tetrahedron toward the boundary of a-b
+     *  until the face of it that is closest to the origin is on the
+     *  boundary. That face gives the normal and depth of the contact.
+     */
+    private void expand( ) {
+        final int MAX_POINTS = MAX_ITERATIONS+4;
+        double[][] point = new double[MAX_POINTS][];
+        int[][] face = new int[2*MAX_POINTS][];
+        double[][] faceNormal = new double[face.length][];
+        double[] distance = new double[face.length];
+        int faces = 0;
+        int n = 0;
+        for ( ; n < 4; ++n ) {
+            point[n] = simplex[n];
+        }
+        // make the faces of the tetrahedron point outward
+        if ( Rn.dot(
+                R3.cross(
+                    Rn.subtract(point[1],point[0]),
+                    Rn.subtract(point[2],point[0])
+                ),
+                Rn.subtract(point[3],point[0])
+            ) > 0 ) {
+            double[] t = point[1];
+            point[1] = point[2];
+            point[2] = t;
+        }
+        int[][] start = { {0,1,2}, {0,3,1}, {0,2,3}, {1,3,2} };
+        for ( int i = 0; i < start.length; ++i ) {
+            face[faces] = start[i];
+            faceNormal[faces] = plane(point,start[i]);
+            distance[faces] = Rn.dot(faceNormal[faces],point[start[i][0]]);
+            ++faces;
+        }
+        int nearest = 0;
+        for ( int iteration = 0; ; ++iteration ) {
+            nearest = 0;
+            for ( int i = 1; i < faces; ++i ) {
+                if ( distance[i] < distance[nearest] ) {
+                    nearest = i;
+                }
+            }
+            double[] w = support(faceNormal[nearest]);
+            double gain = Rn.dot(w,faceNormal[nearest])-distance[nearest];
+            if ( gain <= 1e-9*(1+distance[nearest]) ||
+                 iteration == MAX_ITERATIONS || n == MAX_POINTS ) {
+                break;
+            }
+            point[n] = w;
+            // remove the faces that can see the new point,
+            // keeping the edges around the hole they leave
+            int[][] edge = new int[3*faces][];
+            int edges = 0;
+            for ( int i = 0; i < faces; ) {
+                if ( Rn.dot(faceNormal[i],Rn.subtract(w,point[face[i][0]]))
+                     > 0 ) {
+                    for ( int j = 0; j < 3; ++j ) {
+                        int p = face[i][j];
+                        int q = face[i][(j+1)%3];
+                        int k = 0;
+                        while ( k < edges &&
+                                !( edge[k][0] == q && edge[k][1] == p ) ) {
+                            ++k;
+                        }
+                        if ( k < edges ) {
+                            edge[k] = edge[--edges];
+                        } else {
+                            edge[edges++] = new int[] {p,q};
+                        }
+                    }
+                    --faces;
+                    face[i] = face[faces];
+                    faceNormal[i] = faceNormal[faces];
+                    distance[i] = distance[faces];
+                } else {
+                    ++i;
+                }
+            }
+            if ( faces+edges > face.length ) {
+                break;
+            }
+            for ( int k = 0; k < edges; ++k ) {
+                int[] f = {edge[k][0],edge[k][1],n};
+                face[faces] = f;
+                faceNormal[faces] = plane(point,f);
+                distance[faces] = Rn.dot(faceNormal[faces],point[f[0]]);
+                ++faces;
+            }
+            ++n;
+        }
+        normal = faceNormal[nearest];
+        depth = Math.max(distance[nearest],0);
+    }
+    
+    // Gets the outward unit normal of a triangular face.
+    private static double[] plane( double[][] point, int[] f ) {
+        double[] n = R3.cross(
+            Rn.subtract(point[f[1]],point[f[0]]),
+            Rn.subtract(point[f[2]],point[f[0]])
+        );
+        double m = Rn.magnitude(n);
+        return ( m > 0 ) ? Rn.multiply(1/m,n) : n;
+    }
+
+}
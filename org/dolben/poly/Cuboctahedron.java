@@ -14,9 +14,7 @@ public class Cuboctahedron extends Equilateral {
      *  Sets the vertices of a cuboctahedron.
      */
     public void create( ) {
-        vertex = P3.allPluses(P3.evenPermutations(
-            new double[] {1,1,0}
-        ));
+        vertex = Orbit.FULL_OCTAHEDRAL.of(new double[] {1,1,0});
     }
 
 }
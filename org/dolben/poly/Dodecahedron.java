@@ -14,10 +14,7 @@ public class Dodecahedron extends Equilateral {
      *  Sets the vertices of a dodecahedron.
      */
     public void create( ) {
-        vertex = P3.concatenate(
-            P3.allPluses(P3.evenPermutations(new double[] {0,1/P3.PHI,P3.PHI})),
-            P3.allPluses(new double[] {1,1,1})
-        );
+        vertex = Orbit.DODECAHEDRAL.of(new double[] {1,1,1});
     }
 
 }
@@ -21,10 +21,15 @@ public abstract class Equilateral extends Polyhedron {
     
     private double edgeLength;
     
+    /**
+     *  Finds the faces of the vertices that create() set, unless
+     *  they came from PolyhedronTables.
+     */
     public Equilateral( ) {
-        create();
-        setEdgeLength();
-        findFaces();
+        if ( face == null ) {
+            setEdgeLength();
+            findFaces();
+        }
     }
     
     /**
@@ -61,7 +66,9 @@ public abstract class Equilateral extends Polyhedron {
          *
          *  Set the faces array from the list of faces.
          */
-        setFaces(walkGraph(createGraph()));
+        List nodes = createGraph();
+        setNeighbors(nodes);
+        setFaces(walkGraph(nodes));
     }
     
     /**
@@ -120,6 +127,16 @@ public abstract class Equilateral extends Polyhedron {
         return faces;
     }
     
+    /**
+     *  Sets the array of adjacent vertices from the edges of the nodes.
+     */
+    private void setNeighbors( List nodes ) {
+        neighbor = new int[nodes.size()][];
+        for ( int i = 0; i < nodes.size(); ++i ) {
+            neighbor[i] = ((Node)nodes.get(i)).getNeighbors();
+        }
+    }
+    
     /**
      *  Sets the array of faces as required by Polyhedron.
      */
@@ -204,6 +221,17 @@ public abstract class Equilateral extends Polyhedron {
             return Rn.multiply(1/Rn.magnitude(v),v);
         }
         
+        /**
+         *  Returns the indices of the nodes at the other ends of the edges.
+         */
+        public int[] getNeighbors( ) {
+            int[] n = new int[edges.size()];
+            for ( int i = 0; i < n.length; ++i ) {
+                n[i] = ((Edge)edges.get(i)).getOther();
+            }
+            return n;
+        }
+        
         /**
          *  Returns the index of the next node in a face
          *  given the index of the last node.
@@ -0,0 +1,164 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+import org.dolben.iiid.Rn;
+
+/**
+ *  <p>
+ *  A geodesic sphere, an icosahedron with each of its faces divided into
+ *  triangles, frequency to a side, with the vertices pushed out onto
+ *  its circumsphere. It has 10f<sup>2</sup>+2 vertices and
+ *  20f<sup>2</sup> faces for frequency f.
+ *  </p><p>
+ *  Each vertex is made once: the icosahedron's own, then those along
+ *  its edges, found from its half-edges, then those inside its faces,
+ *  so making it takes time in proportion to the number of vertices.
+ *  </p>
+ */
+public class Geodesic extends Polyhedron {
+    
+    /**
+     *  Creates a geodesic sphere of a frequency.
+     *
+     *  @param frequency the number of triangles along an edge
+     *                   of the icosahedron, at least 1
+     */
+    public Geodesic( int frequency ) {
+        create(frequency);
+    }
+    
+    /**
+     *  Creates an icosahedron, the geodesic sphere of frequency 1.
+     */
+    public Geodesic( ) {
+        create();
+    }
+    
+    /**
+     *  Sets the vertices and faces of an icosahedron.
+     */
+    public void create( ) {
+        create(1);
+    }
+    
+    /**
+     *  Sets the vertices and faces of a geodesic sphere.
+     *
+     *  @param n the frequency
+     */
+    public void create( int n ) {
+        if ( n < 1 ) {
+            throw new IllegalArgumentException("frequency "+n);
+        }
+        Icosahedron ico = new Icosahedron();
+        HalfEdges edges = ico.getHalfEdges();
+        double radius = ico.getRadius();
+        int corners = ico.getVertexCount();
+        int faces = ico.getFaces();
+        vertex = new double[10*n*n+2][];
+        for ( int i = 0; i < corners; ++i ) {
+            vertex[i] = ico.getVertex(i);
+        }
+        
+        // the vertices along each edge, from its first half-edge's origin
+        int[] edgeOf = new int[edges.getHalfEdgeCount()];
+        for ( int e = 0; e < edges.getEdgeCount(); ++e ) {
+            int h = edges.getEdge(e);
+            edgeOf[h] = e;
+            edgeOf[edges.getTwin(h)] = e;
+            double[] a = ico.getVertex(edges.getOrigin(h));
+            double[] b = ico.getVertex(edges.getTarget(h));
+            for ( int k = 1; k < n; ++k ) {
+                vertex[corners+e*(n-1)+k-1] =
+                    onSphere(a,b,a,(double)k/n,0,radius);
+            }
+        }
+        
+        // the vertices inside each face, then its triangles
+        int next = corners+edges.getEdgeCount()*(n-1);
+        face = new int[faces*n*n][];
+        int t = 0;
+        int[][] index = new int[n+1][];
+        for ( int i = 0; i <= n; ++i ) {
+            index[i] = new int[n+1-i];
+        }
+        for ( int f = 0; f < faces; ++f ) {
+            int hab = edges.getFaceEdge(f);
+            int hbc = edges.getNext(hab);
+            int hca = edges.getNext(hbc);
+            double[] a = ico.getVertex(edges.getOrigin(hab));
+            double[] b = ico.getVertex(edges.getOrigin(hbc));
+            double[] c = ico.getVertex(edges.getOrigin(hca));
+            // index[i][j] is the vertex at a+i(b-a)/n+j(c-a)/n
+            for ( int i = 0; i <= n; ++i ) {
+                for ( int j = 0; i+j <= n; ++j ) {
+                    int v;
+                    if ( j == 0 ) {
+                        v = alongEdge(edges,edgeOf,hab,i,n,corners);
+                    } else if ( i+j == n ) {
+                        v = alongEdge(edges,edgeOf,hbc,j,n,corners);
+                    } else if ( i == 0 ) {
+                        v = alongEdge(edges,edgeOf,hca,n-j,n,corners);
+                    } else {
+                        v = next++;
+                        vertex[v] = onSphere(
+                            a,b,c,(double)i/n,(double)j/n,radius
+                        );
+                    }
+                    index[i][j] = v;
+                }
+            }
+            for ( int i = 0; i < n; ++i ) {
+                for ( int j = 0; i+j < n; ++j ) {
+                    face[t++] = new int[] {
+                        index[i][j], index[i+1][j], index[i][j+1]
+                    };
+                    if ( i+j < n-1 ) {
+                        face[t++] = new int[] {
+                            index[i+1][j], index[i+1][j+1], index[i][j+1]
+                        };
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     *  Gets the index of the vertex k of n along the edge of a half-edge,
+     *  from its origin.
+     */
+    private static int alongEdge(
+        HalfEdges edges, int[] edgeOf, int h, int k, int n, int corners
+    ) {
+        if ( k == 0 ) {
+            return edges.getOrigin(h);
+        }
+        if ( k == n ) {
+            return edges.getTarget(h);
+        }
+        int e = edgeOf[h];
+        if ( edges.getEdge(e) != h ) {
+            k = n-k;
+        }
+        return corners+e*(n-1)+k-1;
+    }
+    
+    /**
+     *  Makes the point a+s(b-a)+t(c-a), pushed out from the center
+     *  onto a sphere.
+     */
+    private static double[] onSphere(
+        double[] a, double[] b, double[] c, double s, double t, double radius
+    ) {
+        double[] p = new double[3];
+        for ( int k = 0; k < 3; ++k ) {
+            p[k] = a[k]+s*(b[k]-a[k])+t*(c[k]-a[k]);
+        }
+        return Rn.multiply(radius/Rn.magnitude(p),p);
+    }
+
+}
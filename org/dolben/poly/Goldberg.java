@@ -0,0 +1,112 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+import org.dolben.iiid.R3;
+import org.dolben.iiid.Rn;
+
+/**
+ *  <p>
+ *  A Goldberg polyhedron, the dual of a geodesic sphere: 12 pentagons
+ *  and 10(f<sup>2</sup>-1) hexagons, with 20f<sup>2</sup> vertices,
+ *  for frequency f. Frequency 1 is a dodecahedron.
+ *  </p><p>
+ *  Each vertex is the pole of a triangle of the geodesic sphere,
+ *  reflected in its circumsphere, so that each face is flat, and it's
+ *  convex, though its vertices aren't all on one sphere. Each face goes
+ *  around a vertex of the geodesic sphere by its half-edges, which
+ *  turn the same way as the faces, seen from outside.
+ *  </p>
+ */
+public class Goldberg extends Polyhedron {
+    
+    private double radius;  // the distance to the farthest vertex
+    
+    /**
+     *  Creates a Goldberg polyhedron of a frequency.
+     *
+     *  @param frequency the frequency of the geodesic sphere it's the
+     *                   dual of, at least 1
+     */
+    public Goldberg( int frequency ) {
+        create(frequency);
+    }
+    
+    /**
+     *  Creates a dodecahedron, the Goldberg polyhedron of frequency 1.
+     */
+    public Goldberg( ) {
+        create();
+    }
+    
+    /**
+     *  Sets the vertices and faces of a dodecahedron.
+     */
+    public void create( ) {
+        create(1);
+    }
+    
+    /**
+     *  Sets the vertices and faces of a Goldberg polyhedron.
+     *
+     *  @param n the frequency
+     */
+    public void create( int n ) {
+        Geodesic geodesic = new Geodesic(n);
+        HalfEdges edges = geodesic.getHalfEdges();
+        double r2 = geodesic.getRadius()*geodesic.getRadius();
+        vertex = new double[geodesic.getFaces()][];
+        for ( int f = 0; f < vertex.length; ++f ) {
+            double[][] p = geodesic.getFace(f);
+            double[] normal = R3.cross(
+                Rn.subtract(p[1],p[0]),Rn.subtract(p[2],p[0])
+            );
+            double d = Rn.dot(normal,p[0]);
+            vertex[f] = Rn.multiply(r2/d,normal);
+        }
+        face = new int[geodesic.getVertexCount()][];
+        for ( int v = 0; v < face.length; ++v ) {
+            int first = edges.getVertexEdge(v);
+            int degree = 0;
+            int h = first;
+            do {
+                ++degree;
+                h = edges.getNextAroundVertex(h);
+            } while ( h != first );
+            face[v] = new int[degree];
+            for ( int i = 0; i < degree; ++i ) {
+                face[v][i] = edges.getFace(h);
+                h = edges.getNextAroundVertex(h);
+            }
+        }
+        radius = 0;
+        for ( int i = 0; i < vertex.length; ++i ) {
+            radius = Math.max(radius,Rn.magnitude(vertex[i]));
+        }
+    }
+    
+    /**
+     *  Gets the radius of the circumsphere, the distance to the
+     *  farthest vertex, which is found when it's created, and only
+     *  changes when it's scaled.
+     *
+     *  @return the radius
+     */
+    public double getRadius( ) {
+        return radius;
+    }
+    
+    /**
+     *  Scales the polyhedron, and the radius of its circumsphere.
+     *
+     *  @param factor the scale factor
+     */
+    public void scale( double factor ) {
+        super.scale(factor);
+        radius *= Math.abs(factor);
+    }
+
+}
@@ -0,0 +1,276 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+import java.util.Arrays;
+
+/**
+ *  <p>
+ *  The half-edge structure of a polyhedron, which answers questions of
+ *  adjacency, such as which faces share an edge, or which edges leave
+ *  a vertex, without searching.
+ *  </p><p>
+ *  Each edge is split into two half-edges, one in each direction, each
+ *  on the face for which it goes around in the order of the face's
+ *  vertices. The half-edges are numbered so that those of a face are
+ *  consecutive, starting with the one from its first vertex, and each
+ *  is kept in arrays indexed by its number: the vertex it leaves, its
+ *  twin going the other way, the next and previous ones around its
+ *  face, and its face.
+ *  </p><p>
+ *  Since the faces of a polyhedron don't change as it moves, it's built
+ *  once and shared with the copies of the polyhedron.
+ *  </p>
+ */
+public class HalfEdges {
+    
+    private int[] origin;       // the vertex a half-edge leaves
+    private int[] twin;         // the half-edge going the other way
+    private int[] next;         // the next half-edge around the face
+    private int[] previous;     // the previous half-edge around the face
+    private int[] face;         // the face of a half-edge
+    private int[] faceEdge;     // the first half-edge of a face
+    private int[] vertexEdge;   // a half-edge leaving a vertex
+    private int[] edge;         // one half-edge of each edge
+    
+    /**
+     *  Builds the half-edges of faces.
+     *
+     *  @param vertices the number of vertices
+     *  @param faces the vertex indices of each face, ordered as
+     *               described for Polyhedron
+     */
+    public HalfEdges( int vertices, int[][] faces ) {
+        int n = 0;
+        faceEdge = new int[faces.length];
+        for ( int f = 0; f < faces.length; ++f ) {
+            faceEdge[f] = n;
+            n += faces[f].length;
+        }
+        origin = new int[n];
+        twin = new int[n];
+        next = new int[n];
+        previous = new int[n];
+        face = new int[n];
+        vertexEdge = new int[vertices];
+        Arrays.fill(vertexEdge,-1);
+        for ( int f = 0; f < faces.length; ++f ) {
+            int[] v = faces[f];
+            int first = faceEdge[f];
+            for ( int i = 0; i < v.length; ++i ) {
+                int h = first+i;
+                origin[h] = v[i];
+                next[h] = first+(i+1)%v.length;
+                previous[h] = first+(i+v.length-1)%v.length;
+                face[h] = f;
+                if ( vertexEdge[v[i]] < 0 ) {
+                    vertexEdge[v[i]] = h;
+                }
+            }
+        }
+        findTwins(vertices);
+    }
+    
+    /**
+     *  Pairs each half-edge with its twin. The half-edges leaving each
+     *  vertex are gathered first, so that the twin of one from a to b
+     *  is found among the few leaving b, keeping it linear in the
+     *  number of edges.
+     */
+    private void findTwins( int vertices ) {
+        int n = origin.length;
+        int[] start = new int[vertices+1];
+        for ( int h = 0; h < n; ++h ) {
+            ++start[origin[h]+1];
+        }
+        for ( int i = 0; i < vertices; ++i ) {
+            start[i+1] += start[i];
+        }
+        int[] leaving = new int[n];
+        int[] count = new int[vertices];
+        for ( int h = 0; h < n; ++h ) {
+            int v = origin[h];
+            leaving[start[v]+count[v]++] = h;
+        }
+        edge = new int[n/2];
+        int edges = 0;
+        for ( int h = 0; h < n; ++h ) {
+            int a = origin[h];
+            int b = origin[next[h]];
+            twin[h] = -1;
+            for ( int i = start[b]; i < start[b+1]; ++i ) {
+                int t = leaving[i];
+                if ( origin[next[t]] == a ) {
+                    twin[h] = t;
+                    break;
+                }
+            }
+            if ( twin[h] < 0 ) {
+                throw new IllegalArgumentException(
+                    "edge "+a+"-"+b+" is on only one face"
+                );
+            }
+            if ( h < twin[h] ) {
+                edge[edges++] = h;
+            }
+        }
+    }
+    
+    /**
+     *  Gets the number of half-edges, twice the number of edges.
+     *
+     *  @return the number of half-edges
+     */
+    public int getHalfEdgeCount( ) {
+        return origin.length;
+    }
+    
+    /**
+     *  Gets the number of edges.
+     *
+     *  @return the number of edges
+     */
+    public int getEdgeCount( ) {
+        return edge.length;
+    }
+    
+    /**
+     *  Gets one of the half-edges of an edge, the lower numbered one.
+     *
+     *  @param index the index of the edge
+     *
+     *  @return the half-edge
+     */
+    public int getEdge( int index ) {
+        return edge[index];
+    }
+    
+    /**
+     *  Gets the vertex that a half-edge leaves.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the index of the vertex
+     */
+    public int getOrigin( int h ) {
+        return origin[h];
+    }
+    
+    /**
+     *  Gets the vertex that a half-edge goes to.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the index of the vertex
+     */
+    public int getTarget( int h ) {
+        return origin[next[h]];
+    }
+    
+    /**
+     *  Gets the half-edge going the other way, on the adjacent face.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the twin half-edge
+     */
+    public int getTwin( int h ) {
+        return twin[h];
+    }
+    
+    /**
+     *  Gets the half-edge that follows one around its face.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the next half-edge
+     */
+    public int getNext( int h ) {
+        return next[h];
+    }
+    
+    /**
+     *  Gets the half-edge that comes before one around its face.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the previous half-edge
+     */
+    public int getPrevious( int h ) {
+        return previous[h];
+    }
+    
+    /**
+     *  Gets the face of a half-edge.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the index of the face
+     */
+    public int getFace( int h ) {
+        return face[h];
+    }
+    
+    /**
+     *  Gets the face on the other side of a half-edge.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the index of the adjacent face
+     */
+    public int getAdjacentFace( int h ) {
+        return face[twin[h]];
+    }
+    
+    /**
+     *  Gets the half-edge from the first vertex of a face.
+     *
+     *  @param f the index of the face
+     *
+     *  @return the first half-edge of the face
+     */
+    public int getFaceEdge( int f ) {
+        return faceEdge[f];
+    }
+    
+    /**
+     *  Gets a half-edge leaving a vertex.
+     *
+     *  @param v the index of the vertex
+     *
+     *  @return the half-edge
+     */
+    public int getVertexEdge( int v ) {
+        return vertexEdge[v];
+    }
+    
+    /**
+     *  Gets the half-edge leaving the same vertex as another,
+     *  next around the vertex. Starting from getVertexEdge(v),
+     *  it comes back to that half-edge after the degree of v.
+     *
+     *  @param h the half-edge
+     *
+     *  @return the next half-edge leaving the vertex
+     */
+    public int getNextAroundVertex( int h ) {
+        return twin[previous[h]];
+    }
+    
+    /**
+     *  Tells whether an edge is on the silhouette, that is whether one
+     *  of its faces is toward the viewer and the other away.
+     *
+     *  @param h a half-edge of the edge
+     *  @param front whether each face is toward the viewer
+     *
+     *  @return whether it's on the silhouette
+     */
+    public boolean isSilhouette( int h, boolean[] front ) {
+        return front[face[h]] != front[face[twin[h]]];
+    }
+
+}
@@ -14,9 +14,7 @@ public class Icosahedron extends Equilateral {
      *  Sets the vertices of an icosahedron.
      */
     public void create( ) {
-        vertex = P3.allPluses(
-            P3.evenPermutations(new double[] {0,1,P3.PHI})
-        );
+        vertex = Orbit.ICOSAHEDRAL.of(new double[] {0,1,P3.PHI});
     }
 
 }
@@ -14,14 +14,7 @@ public class Icosidodecahedron extends Equilateral {
      *  Sets the vertices of an icosidodecahedron.
      */
     public void create( ) {
-        vertex = P3.concatenate(
-            P3.allPluses(P3.evenPermutations(
-                new double[] {0,0,P3.PHI}
-            )),
-            P3.allPluses(P3.evenPermutations(
-                new double[] {1.0/2,P3.PHI/2,(1+P3.PHI)/2}
-            ))
-        );
+        vertex = Orbit.FULL_DODECAHEDRAL.of(new double[] {0,0,P3.PHI});
     }
 
 }
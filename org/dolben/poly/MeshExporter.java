@@ -0,0 +1,461 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ *  <p>
+ *  Writes polyhedra as a mesh in a file format that other programs read:
+ *  Wavefront OBJ, binary STL or binary little-endian PLY.
+ *  </p><p>
+ *  It streams: the mesh goes out through a buffer of fixed size as it's
+ *  made, so that a mesh of any size takes no more memory, and it's
+ *  written as fast as the channel takes it. Since STL and PLY give the
+ *  number of triangles, or vertices and faces, before them, begin()
+ *  must be told them before the polyhedra are added, and end() called
+ *  after. write() does all three for one polyhedron. PLY also has
+ *  all of the vertices before any of the faces, so many polyhedra
+ *  are added to it in two passes, by addVertices() and addFaces().
+ *  </p><p>
+ *  OBJ has each face as a polygon, its coordinates to six places after
+ *  the point, as does PLY, its vertices as floats; STL has each face as
+ *  a fan of triangles, with its normal, its vertices as floats.
+ *  </p>
+ */
+public class MeshExporter {
+    
+    /** The format of Wavefront OBJ, text. */
+    public static final int OBJ = 0;
+    
+    /** The format of binary STL. */
+    public static final int STL = 1;
+    
+    /** The format of binary little-endian PLY. */
+    public static final int PLY = 2;
+    
+    private static final int SIZE = 1<<16;  // bytes buffered
+    private static final int LINE = 1<<12;  // bytes of text at a time
+    
+    private WritableByteChannel channel;    // where it goes, or
+    private Writer writer;                  // where OBJ text goes
+    private ByteBuffer bytes;
+    private byte[] line = new byte[LINE];   // text yet to be buffered
+    private int length;                     // the length of the text
+    private char[] text;                    // the text for the Writer
+    private int format;
+    private long base;                      // the number of the next vertex
+    private long objects;                   // the number of polyhedra
+    
+    /**
+     *  Creates a new MeshExporter that writes to a channel.
+     *
+     *  @param channel the channel
+     *  @param format OBJ, STL or PLY
+     */
+    public MeshExporter( WritableByteChannel channel, int format ) {
+        if ( format < OBJ || format > PLY ) {
+            throw new IllegalArgumentException("format "+format);
+        }
+        this.channel = channel;
+        this.format = format;
+        bytes = ByteBuffer.allocateDirect(SIZE);
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     *  Creates a new MeshExporter that writes OBJ text to a Writer.
+     *
+     *  @param writer the Writer
+     */
+    public MeshExporter( Writer writer ) {
+        this.writer = writer;
+        format = OBJ;
+        text = new char[LINE];
+    }
+    
+    /**
+     *  Gets the format for the extension of a file name,
+     *  ".obj", ".stl" or ".ply".
+     *
+     *  @param name the file name
+     *
+     *  @return the format, or -1 if it's none of them
+     */
+    public static int getFormat( String name ) {
+        String n = name.toLowerCase();
+        if ( n.endsWith(".obj") ) {
+            return OBJ;
+        }
+        if ( n.endsWith(".stl") ) {
+            return STL;
+        }
+        if ( n.endsWith(".ply") ) {
+            return PLY;
+        }
+        return -1;
+    }
+    
+    /**
+     *  Gets the format that's written.
+     *
+     *  @return OBJ, STL or PLY
+     */
+    public int getFormat( ) {
+        return format;
+    }
+    
+    /**
+     *  Counts the triangles of the faces of a polyhedron,
+     *  as STL has them.
+     *
+     *  @param p the polyhedron
+     *
+     *  @return the number of triangles
+     */
+    public static int getTriangles( Polyhedron p ) {
+        int n = 0;
+        for ( int f = 0; f < p.getFaces(); ++f ) {
+            n += p.getFaceIndices(f).length-2;
+        }
+        return n;
+    }
+    
+    /**
+     *  Writes one polyhedron, as the whole mesh.
+     *
+     *  @param p the polyhedron
+     */
+    public void write( Polyhedron p ) throws IOException {
+        begin(p.getVertexCount(),p.getFaces(),getTriangles(p));
+        add(p);
+        end();
+    }
+    
+    /**
+     *  Begins the mesh, writing the header of the format.
+     *
+     *  @param vertices the number of vertices of all the polyhedra
+     *  @param faces the number of faces
+     *  @param triangles the number of triangles of the faces
+     */
+    public void begin( long vertices, long faces, long triangles )
+        throws IOException
+    {
+        base = 1;
+        objects = 0;
+        if ( format == OBJ ) {
+            put("# "+vertices+" vertices, "+faces+" faces\n");
+        } else if ( format == STL ) {
+            if ( triangles > 0xffffffffL ) {
+                throw new IllegalArgumentException(triangles+" triangles");
+            }
+            room(84);
+            byte[] header =
+                "binary STL from org.dolben.poly".getBytes("US-ASCII");
+            bytes.put(header);
+            for ( int i = header.length; i < 80; ++i ) {
+                bytes.put((byte)' ');
+            }
+            bytes.putInt((int)triangles);
+        } else {
+            put(
+                "ply\n"+
+                "format binary_little_endian 1.0\n"+
+                "element vertex "+vertices+"\n"+
+                "property float x\n"+
+                "property float y\n"+
+                "property float z\n"+
+                "element face "+faces+"\n"+
+                "property list uchar int vertex_indices\n"+
+                "end_header\n"
+            );
+        }
+    }
+    
+    /**
+     *  Adds a polyhedron to the mesh.
+     *
+     *  @param p the polyhedron
+     */
+    public void add( Polyhedron p ) throws IOException {
+        add(p.getVertices(),p.face,p.getVertexCount());
+    }
+    
+    /**
+     *  Adds a polyhedron to the mesh, given by its vertices and faces,
+     *  so that vertices made in place, e.g., by transforming a shape,
+     *  can be written without making a Polyhedron of them.
+     *
+     *  @param vertex the vertices
+     *  @param face the indices of the vertices of each face, ordered
+     *              as Polyhedron orders them
+     *  @param n the number of vertices
+     */
+    public void add( double[][] vertex, int[][] face, int n )
+        throws IOException
+    {
+        if ( format == PLY ) {
+            if ( objects > 0 ) {
+                throw new IllegalStateException(
+                    "PLY has many polyhedra by addVertices() and addFaces()"
+                );
+            }
+            addVertices(vertex,n);
+            addFaces(face,n);
+            return;
+        }
+        if ( format == OBJ ) {
+            addOBJ(vertex,face,n);
+        } else {
+            addSTL(vertex,face);
+        }
+        base += n;
+        ++objects;
+    }
+    
+    /**
+     *  Adds the vertices of a polyhedron to a PLY mesh of many, all of
+     *  which must be added before any of their faces, by addFaces().
+     *
+     *  @param vertex the vertices
+     *  @param n the number of vertices
+     */
+    public void addVertices( double[][] vertex, int n ) throws IOException {
+        if ( format != PLY ) {
+            throw new IllegalStateException("only PLY is in two passes");
+        }
+        for ( int i = 0; i < n; ++i ) {
+            room(12);
+            bytes.putFloat((float)vertex[i][0]);
+            bytes.putFloat((float)vertex[i][1]);
+            bytes.putFloat((float)vertex[i][2]);
+        }
+    }
+    
+    /**
+     *  Adds the faces of a polyhedron to a PLY mesh of many, in the
+     *  same order as their vertices were added.
+     *
+     *  @param face the faces
+     *  @param vertices the number of vertices of the polyhedron
+     */
+    public void addFaces( int[][] face, int vertices ) throws IOException {
+        if ( format != PLY ) {
+            throw new IllegalStateException("only PLY is in two passes");
+        }
+        if ( base-1+vertices > Integer.MAX_VALUE ) {
+            throw new IllegalStateException("too many vertices for PLY");
+        }
+        int offset = (int)(base-1);
+        for ( int f = 0; f < face.length; ++f ) {
+            int[] v = face[f];
+            room(1+4*v.length);
+            bytes.put((byte)v.length);
+            for ( int i = 0; i < v.length; ++i ) {
+                bytes.putInt(offset+v[i]);
+            }
+        }
+        base += vertices;
+        ++objects;
+    }
+    
+    private void addOBJ( double[][] vertex, int[][] face, int n )
+        throws IOException
+    {
+        put("o p");
+        putNumber(objects);
+        putChar('\n');
+        for ( int i = 0; i < n; ++i ) {
+            double[] v = vertex[i];
+            putChar('v');
+            for ( int k = 0; k < 3; ++k ) {
+                putChar(' ');
+                putNumber(v[k]);
+            }
+            putChar('\n');
+        }
+        for ( int f = 0; f < face.length; ++f ) {
+            int[] v = face[f];
+            putChar('f');
+            for ( int i = 0; i < v.length; ++i ) {
+                putChar(' ');
+                putNumber(base+v[i]);
+            }
+            putChar('\n');
+        }
+    }
+    
+    private void addSTL( double[][] vertex, int[][] face ) throws IOException {
+        for ( int f = 0; f < face.length; ++f ) {
+            int[] v = face[f];
+            double[] a = vertex[v[0]];
+            double[] b = vertex[v[1]];
+            double[] c = vertex[v[2]];
+            double ux = b[0]-a[0], uy = b[1]-a[1], uz = b[2]-a[2];
+            double wx = c[0]-a[0], wy = c[1]-a[1], wz = c[2]-a[2];
+            double nx = uy*wz-uz*wy;
+            double ny = uz*wx-ux*wz;
+            double nz = ux*wy-uy*wx;
+            double m = Math.sqrt(nx*nx+ny*ny+nz*nz);
+            if ( m > 0 ) {
+                nx /= m;
+                ny /= m;
+                nz /= m;
+            }
+            for ( int i = 1; i < v.length-1; ++i ) {
+                room(50);
+                bytes.putFloat((float)nx);
+                bytes.putFloat((float)ny);
+                bytes.putFloat((float)nz);
+                putVertex(a);
+                putVertex(vertex[v[i]]);
+                putVertex(vertex[v[i+1]]);
+                bytes.putShort((short)0);
+            }
+        }
+    }
+    
+    private void putVertex( double[] v ) {
+        bytes.putFloat((float)v[0]);
+        bytes.putFloat((float)v[1]);
+        bytes.putFloat((float)v[2]);
+    }
+    
+    /**
+     *  Ends the mesh, writing out what's buffered.
+     */
+    public void end( ) throws IOException {
+        drain();
+        flush();
+        if ( writer != null ) {
+            writer.flush();
+        }
+    }
+    
+    /**
+     *  Puts ASCII text in the buffer.
+     */
+    private void put( String s ) throws IOException {
+        for ( int i = 0; i < s.length(); ++i ) {
+            putChar(s.charAt(i));
+        }
+    }
+    
+    /**
+     *  Puts an ASCII character in the buffer, by way of the array
+     *  of text, which is cheaper to put a byte at a time in.
+     */
+    private void putChar( char c ) throws IOException {
+        if ( length == line.length ) {
+            drain();
+        }
+        line[length++] = (byte)c;
+    }
+    
+    /**
+     *  Puts the digits of a whole number in the buffer, without making
+     *  a String of it, the last digit first from where the number ends.
+     */
+    private void putNumber( long n ) throws IOException {
+        putNumber(n,1);
+    }
+    
+    /**
+     *  Puts a coordinate in the buffer, to six places after the point,
+     *  finer than a float holds at the scale of the box, which is much
+     *  faster than the shortest decimal that gives the double back.
+     */
+    private void putNumber( double x ) throws IOException {
+        final long PLACES = 1000000;
+        if ( !( Math.abs(x) < 1e12 ) ) {
+            put(Double.toString(x));
+            return;
+        }
+        putNumber(Math.round(x*PLACES),7);
+        System.arraycopy(line,length-6,line,length-5,6);
+        line[length-6] = '.';
+        ++length;
+    }
+    
+    /**
+     *  Puts a whole number with at least some digits, zeros before it
+     *  if it has fewer.
+     */
+    private void putNumber( long n, int digits ) throws IOException {
+        if ( n == Long.MIN_VALUE ) {
+            put(Long.toString(n));
+            return;
+        }
+        if ( line.length-length < 22 ) {
+            drain();
+        }
+        if ( n < 0 ) {
+            line[length++] = '-';
+            n = -n;
+        }
+        int end = length;
+        while ( n >= 10 || digits > 1 ) {
+            line[end++] = (byte)('0'+n%10);
+            n /= 10;
+            --digits;
+        }
+        line[end++] = (byte)('0'+n);
+        for ( int i = length, j = end-1; i < j; ++i, --j ) {
+            byte b = line[i];
+            line[i] = line[j];
+            line[j] = b;
+        }
+        length = end;
+    }
+    
+    /**
+     *  Makes room for some bytes in the buffer,
+     *  writing what's there if need be.
+     */
+    private void room( int n ) throws IOException {
+        if ( length > 0 ) {
+            drain();
+        }
+        if ( bytes.remaining() < n ) {
+            flush();
+        }
+    }
+    
+    /**
+     *  Moves the text into the buffer, or to the Writer.
+     */
+    private void drain( ) throws IOException {
+        if ( writer != null ) {
+            for ( int i = 0; i < length; ++i ) {
+                text[i] = (char)line[i];
+            }
+            writer.write(text,0,length);
+        } else {
+            if ( bytes.remaining() < length ) {
+                flush();
+            }
+            bytes.put(line,0,length);
+        }
+        length = 0;
+    }
+    
+    private void flush( ) throws IOException {
+        if ( writer != null ) {
+            return;
+        }
+        bytes.flip();
+        while ( bytes.hasRemaining() ) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+}
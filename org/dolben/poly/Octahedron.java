@@ -14,7 +14,7 @@ public class Octahedron extends Equilateral {
      *  Sets the vertices of an octahedron.
      */
     public void create( ) {
-        vertex = P3.allPluses(P3.evenPermutations(new double[] {1,0,0}));
+        vertex = Orbit.OCTAHEDRAL.of(new double[] {1,0,0});
     }
 
 }
@@ -0,0 +1,278 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+/**
+ *  <p>
+ *  A point group of the Platonic solids, which makes the vertices of a
+ *  symmetric polyhedron from a few seed vertices: the orbit of each seed,
+ *  the points that the rotations, and reflections, of the group move it
+ *  to. A seed on an axis or a mirror of the group has fewer points in
+ *  its orbit than the order of the group; the points that coincide are
+ *  made only once.
+ *  </p><p>
+ *  The groups are those of the solids in the usual coordinates, with
+ *  the vertices of the tetrahedron at (1,1,1) and those with an even
+ *  number of its signs changed, the octahedron at (1,0,0) permuted
+ *  and the icosahedron at (0,1,PHI), its signs changed and evenly
+ *  permuted. PYRITOHEDRAL, the rotations of the tetrahedron and the
+ *  inversion, is what P3.allPluses(P3.evenPermutations(v)) makes.
+ *  </p><p>
+ *  The points are made into one flat array of the size of the order of
+ *  the group times the number of seeds, finding those that coincide
+ *  by hashing, so that making the orbits takes time in proportion to
+ *  the number of points.
+ *  </p>
+ */
+public class Orbit {
+    
+    /** The 12 rotations of a tetrahedron. */
+    public static final Orbit TETRAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1}
+    });
+    
+    /** The 24 rotations and reflections of a tetrahedron. */
+    public static final Orbit FULL_TETRAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1},
+        {0,1,0, 1,0,0, 0,0,1}
+    });
+    
+    /** The 12 rotations of a tetrahedron and their inversions. */
+    public static final Orbit PYRITOHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1},
+        {-1,0,0, 0,-1,0, 0,0,-1}
+    });
+    
+    /** The 24 rotations of an octahedron. */
+    public static final Orbit OCTAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,0,-1, 0,1,0}
+    });
+    
+    /** The 48 rotations and reflections of an octahedron. */
+    public static final Orbit FULL_OCTAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,0,-1, 0,1,0},
+        {-1,0,0, 0,-1,0, 0,0,-1}
+    });
+    
+    /** The 60 rotations of an icosahedron. */
+    public static final Orbit ICOSAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1},
+        fifth(new double[] {0,1,P3.PHI})
+    });
+    
+    /** The 120 rotations and reflections of an icosahedron. */
+    public static final Orbit FULL_ICOSAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1},
+        fifth(new double[] {0,1,P3.PHI}),
+        {-1,0,0, 0,-1,0, 0,0,-1}
+    });
+    
+    /**
+     *  The 60 rotations of a dodecahedron, at (1,1,1) and (0,1/PHI,PHI),
+     *  which in the usual coordinates isn't the dual of the icosahedron,
+     *  but is turned a quarter turn around an axis from it.
+     */
+    public static final Orbit DODECAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1},
+        fifth(new double[] {0,P3.PHI,1})
+    });
+    
+    /** The 120 rotations and reflections of a dodecahedron. */
+    public static final Orbit FULL_DODECAHEDRAL = new Orbit(new double[][] {
+        {0,0,1, 1,0,0, 0,1,0},
+        {1,0,0, 0,-1,0, 0,0,-1},
+        fifth(new double[] {0,P3.PHI,1}),
+        {-1,0,0, 0,-1,0, 0,0,-1}
+    });
+    
+    // the relative distance within which points are taken to coincide
+    private static final double TOLERANCE = 1.0/(1<<24);
+    
+    // the matrices of the group, nine elements each, the row first
+    private double[] element;
+    
+    // the number of matrices
+    private int order;
+    
+    /**
+     *  Creates a group from matrices that generate it, multiplying
+     *  them until no more are made.
+     *
+     *  @param generator the matrices, nine elements each, the row first
+     */
+    private Orbit( double[][] generator ) {
+        final int MOST = 120;   // the order of the largest group
+        element = new double[9*(MOST+1)];
+        Points found = new Points(9,MOST+1);
+        element[0] = element[4] = element[8] = 1;
+        found.add(element,0);
+        order = 1;
+        for ( int i = 0; i < order; ++i ) {
+            for ( int g = 0; g < generator.length; ++g ) {
+                double[] a = generator[g];
+                int m = 9*order;
+                for ( int r = 0; r < 3; ++r ) {
+                    for ( int c = 0; c < 3; ++c ) {
+                        double sum = 0;
+                        for ( int k = 0; k < 3; ++k ) {
+                            sum += a[3*r+k]*element[9*i+3*k+c];
+                        }
+                        element[m+3*r+c] = sum;
+                    }
+                }
+                if ( found.add(element,m) && ++order > MOST ) {
+                    throw new IllegalArgumentException("not a point group");
+                }
+            }
+        }
+    }
+    
+    /**
+     *  Makes the matrix of a rotation by a fifth of a turn around an axis.
+     */
+    private static double[] fifth( double[] axis ) {
+        double n = Math.sqrt(axis[0]*axis[0]+axis[1]*axis[1]+axis[2]*axis[2]);
+        double x = axis[0]/n;
+        double y = axis[1]/n;
+        double z = axis[2]/n;
+        double c = Math.cos(2*Math.PI/5);
+        double s = Math.sin(2*Math.PI/5);
+        double t = 1-c;
+        return new double[] {
+            t*x*x+c,   t*x*y-s*z, t*x*z+s*y,
+            t*x*y+s*z, t*y*y+c,   t*y*z-s*x,
+            t*x*z-s*y, t*y*z+s*x, t*z*z+c
+        };
+    }
+    
+    /**
+     *  Gets the number of rotations and reflections in the group.
+     *
+     *  @return the order of the group
+     */
+    public int getOrder( ) {
+        return order;
+    }
+    
+    /**
+     *  Makes the orbit of a seed.
+     *
+     *  @param seed a 3D point
+     *
+     *  @return the points of the orbit, each once
+     */
+    public double[][] of( double[] seed ) {
+        return of(new double[][] { seed });
+    }
+    
+    /**
+     *  Makes the union of the orbits of seeds, the vertices of a
+     *  polyhedron with the symmetry of the group.
+     *
+     *  @param seed the 3D points
+     *
+     *  @return the points of the orbits, each once
+     */
+    public double[][] of( double[][] seed ) {
+        int size = order*seed.length;
+        double[] point = new double[3*size];
+        Points found = new Points(3,size);
+        int n = 0;
+        for ( int s = 0; s < seed.length; ++s ) {
+            double x = seed[s][0];
+            double y = seed[s][1];
+            double z = seed[s][2];
+            for ( int g = 0; g < 9*order; g += 9 ) {
+                int p = 3*n;
+                point[p  ] = element[g  ]*x+element[g+1]*y+element[g+2]*z;
+                point[p+1] = element[g+3]*x+element[g+4]*y+element[g+5]*z;
+                point[p+2] = element[g+6]*x+element[g+7]*y+element[g+8]*z;
+                if ( found.add(point,p) ) {
+                    ++n;
+                }
+            }
+        }
+        double[][] v = new double[n][];
+        for ( int i = 0; i < n; ++i ) {
+            v[i] = new double[] { point[3*i], point[3*i+1], point[3*i+2] };
+        }
+        return v;
+    }
+    
+    /**
+     *  A set of points of some dimension, in an open-addressed hash table
+     *  keyed by their coordinates rounded to the tolerance, which tells
+     *  whether a point is new. The points are kept where they're given,
+     *  by the arrays and offsets of the ones added.
+     */
+    private static class Points {
+        
+        private int dimension;
+        private double[][] array;   // the array of each point in the table
+        private int[] offset;       // the offset of each point in its array
+        private int mask;
+        
+        Points( int dimension, int capacity ) {
+            this.dimension = dimension;
+            int size = 2;
+            while ( size < 2*capacity ) {
+                size <<= 1;
+            }
+            array = new double[size][];
+            offset = new int[size];
+            mask = size-1;
+        }
+        
+        /**
+         *  Adds a point, unless one already added coincides with it.
+         *  A point added is kept by reference, so the array mustn't be
+         *  changed there afterward.
+         *
+         *  @return whether the point is new
+         */
+        boolean add( double[] a, int at ) {
+            double scale = 0;
+            for ( int k = 0; k < dimension; ++k ) {
+                scale = Math.max(scale,Math.abs(a[at+k]));
+            }
+            long hash = 0;
+            for ( int k = 0; k < dimension; ++k ) {
+                hash = 31*hash+Math.round(a[at+k]/TOLERANCE);
+            }
+            int i = (int)(hash^(hash>>>32))*0x9e3779b9 & mask;
+            while ( array[i] != null ) {
+                if ( coincide(a,at,array[i],offset[i],scale) ) {
+                    return false;
+                }
+                i = (i+1)&mask;
+            }
+            array[i] = a;
+            offset[i] = at;
+            return true;
+        }
+        
+        private boolean coincide(
+            double[] a, int i, double[] b, int j, double scale
+        ) {
+            for ( int k = 0; k < dimension; ++k ) {
+                if ( Math.abs(a[i+k]-b[j+k]) > TOLERANCE*Math.max(1,scale) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+    }
+
+}
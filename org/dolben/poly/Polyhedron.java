@@ -5,7 +5,10 @@
  */
 package org.dolben.poly;
 
+import org.dolben.iiid.Mat3;
+import org.dolben.iiid.R3;
 import org.dolben.iiid.Rn;
+import org.dolben.iiid.VertexKernel;
 
 /**
  *  Representation of a polyhedron, its vertices and faces in 3D,
@@ -13,7 +16,7 @@ import org.dolben.iiid.Rn;
  *  Override create() to set the vertices and faces for a particular
  *  geometric form.
  */
-public abstract class Polyhedron {
+public abstract class Polyhedron implements Cloneable {
     
     /**
      *  Each vertex is a 3D vector from the origin of the coordinate system.
@@ -31,14 +34,90 @@ public abstract class Polyhedron {
      */
     protected int[][] face;
     
+    /**
+     *  Each element of the 'neighbor' array is an array of indices
+     *  into the 'vertex' array for the vertices at the other ends of
+     *  the edges from a vertex. When a subclass doesn't set it,
+     *  it's found from the faces when first needed.
+     */
+    protected int[][] neighbor;
+    
+    // the half-edges of the faces, built when first needed
+    private HalfEdges halfEdges;
+    
     // the vector to the center of the polyhedron
     private double[] center = new double[]{0,0,0};
     
+    // the vertices less the center, as they were before it was first
+    // rotated, an array of each component, shared with copies
+    private double[] shapeX;
+    private double[] shapeY;
+    private double[] shapeZ;
+    
+    // the rotation, and scaling, of the vertices since then
+    private Mat3 turn;
+    
+    // the vertices rotated, an array of each component
+    private double[] turnedX;
+    private double[] turnedY;
+    private double[] turnedZ;
+    
+    // whether to make the solids from PolyhedronTables,
+    // which is off while generating them
+    static boolean useTables = true;
+    
     /**
-     *  Constructs a Polyhedron centered on the origin.
+     *  Constructs a Polyhedron centered on the origin, from
+     *  PolyhedronTables when it's one of the solids there.
      */
     public Polyhedron( ) {
-        create();
+        if ( !useTables || !fromTables() ) {
+            create();
+        }
+    }
+    
+    /**
+     *  Sets the vertices, faces and neighbors from PolyhedronTables,
+     *  when the class is there. Each polyhedron gets its own arrays,
+     *  as it would from create().
+     *
+     *  @return whether the class is in the tables
+     */
+    private boolean fromTables( ) {
+        String name = getClass().getName();
+        int s = 0;
+        while ( s < PolyhedronTables.NAMES.length &&
+                !PolyhedronTables.NAMES[s].equals(name) ) {
+            ++s;
+        }
+        if ( s == PolyhedronTables.NAMES.length ) {
+            return false;
+        }
+        double[] v = PolyhedronTables.VERTICES[s];
+        vertex = new double[v.length/3][];
+        for ( int i = 0; i < vertex.length; ++i ) {
+            vertex[i] = new double[] { v[3*i], v[3*i+1], v[3*i+2] };
+        }
+        face = lists(
+            PolyhedronTables.FACE_START[s],PolyhedronTables.FACE_INDEX[s]
+        );
+        neighbor = lists(
+            PolyhedronTables.NEIGHBOR_START[s],
+            PolyhedronTables.NEIGHBOR_INDEX[s]
+        );
+        return true;
+    }
+    
+    /**
+     *  Makes lists of indices from a flat array and their starts in it.
+     */
+    private static int[][] lists( int[] start, int[] index ) {
+        int[][] list = new int[start.length-1][];
+        for ( int i = 0; i < list.length; ++i ) {
+            list[i] = new int[start[i+1]-start[i]];
+            System.arraycopy(index,start[i],list[i],0,list[i].length);
+        }
+        return list;
     }
     
     /**
@@ -46,6 +125,67 @@ public abstract class Polyhedron {
      */
     protected abstract void create( );
     
+    /**
+     *  Makes a copy of the polyhedron that can be moved, or turned
+     *  inside out, on its own. The faces are copied, but the neighbors,
+     *  which don't change, are shared with the original, and so are the
+     *  half-edges, until either is turned inside out, and the shape that
+     *  the vertices are rotated from, so copying is much cheaper than
+     *  creating.
+     *
+     *  @return the copy
+     */
+    public Polyhedron copy( ) {
+        if ( neighbor == null ) {
+            findNeighbors();
+        }
+        if ( halfEdges == null ) {
+            halfEdges = new HalfEdges(vertex.length,face);
+        }
+        if ( shapeX == null ) {
+            takeShape();
+        }
+        Polyhedron p;
+        try {
+            p = (Polyhedron)clone();
+        } catch ( CloneNotSupportedException e ) {
+            throw new InternalError(e.toString());
+        }
+        p.vertex = new double[vertex.length][];
+        for ( int i = 0; i < vertex.length; ++i ) {
+            p.vertex[i] = (double[])vertex[i].clone();
+        }
+        p.face = new int[face.length][];
+        for ( int f = 0; f < face.length; ++f ) {
+            p.face[f] = (int[])face[f].clone();
+        }
+        p.center = (double[])center.clone();
+        p.turnedX = null;
+        p.turnedY = null;
+        p.turnedZ = null;
+        return p;
+    }
+    
+    /**
+     *  Takes the shape of the polyhedron as it is now, which its
+     *  vertices are found from, by the VertexKernel, when it's rotated.
+     */
+    private void takeShape( ) {
+        int n = vertex.length;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        for ( int i = 0; i < n; ++i ) {
+            x[i] = vertex[i][0]-center[0];
+            y[i] = vertex[i][1]-center[1];
+            z[i] = vertex[i][2]-center[2];
+        }
+        shapeX = x;
+        shapeY = y;
+        shapeZ = z;
+        turn = Mat3.IDENTITY;
+    }
+    
     /**
      *  Scales the polydron, setting the radius of its circumsphere
      *  to the given argument.
@@ -87,6 +227,13 @@ public abstract class Polyhedron {
         for ( int i = 0; i < vertex.length; ++i ) {
             vertex[i] = Rn.multiply(factor,Rn.subtract(vertex[i],center));
         }
+        if ( turn != null ) {
+            turn = new Mat3(
+                factor*turn.m00, factor*turn.m01, factor*turn.m02,
+                factor*turn.m10, factor*turn.m11, factor*turn.m12,
+                factor*turn.m20, factor*turn.m21, factor*turn.m22
+            );
+        }
     }
     
     /**
@@ -102,15 +249,101 @@ public abstract class Polyhedron {
     }
     
     /**
-     *  Rotates the polyhedron by the given 3D rotation matrix.
+     *  Rotates the polyhedron by the given 3D rotation matrix. The
+     *  rotations are gathered in one matrix, and the vertices are found
+     *  from the shape it had before the first, all at once by the
+     *  VertexKernel, so they don't drift from it as they're turned.
      *
      *  @param rotation the rotation matrix
      */
     public void rotate( double[][] rotation ) {
-        for ( int i = 0; i < vertex.length; ++i ) {
-            double[] v = Rn.subtract(vertex[i],center);
-            vertex[i] = Rn.add(Rn.multiply(rotation,v),center);
+        if ( shapeX == null ) {
+            takeShape();
+        }
+        int n = vertex.length;
+        if ( turnedX == null ) {
+            turnedX = new double[n];
+            turnedY = new double[n];
+            turnedZ = new double[n];
+        }
+        turn = new Mat3(rotation).multiply(turn);
+        Mat3 m = turn;
+        VertexKernel.getInstance().transform(
+            new double[] {
+                m.m00, m.m01, m.m02, m.m10, m.m11, m.m12, m.m20, m.m21, m.m22
+            },
+            center,shapeX,shapeY,shapeZ,n,turnedX,turnedY,turnedZ
+        );
+        for ( int i = 0; i < n; ++i ) {
+            double[] v = vertex[i];
+            v[0] = turnedX[i];
+            v[1] = turnedY[i];
+            v[2] = turnedZ[i];
+        }
+    }
+    
+    /**
+     *  Gets the volume of the polyhedron.
+     *
+     *  @return the volume
+     */
+    public double getVolume( ) {
+        return getMoments()[0];
+    }
+    
+    /**
+     *  Gets the inertia tensor of the polyhedron about its center,
+     *  as it's turned now, for a solid of unit density.
+     *
+     *  @return the 3x3 tensor, the row indexed first
+     */
+    public double[][] getInertia( ) {
+        double[] m = getMoments();
+        return new double[][] {
+            { m[4]+m[6],     -m[2],     -m[3] },
+            {     -m[2], m[1]+m[6],     -m[5] },
+            {     -m[3],     -m[5], m[1]+m[4] }
+        };
+    }
+    
+    /**
+     *  Finds the volume, and the second moments about the center, of
+     *  unit density, by the tetrahedra from the center to a fan of
+     *  triangles over each face. The moments of a tetrahedron with a
+     *  vertex at the origin and the others at a, b and c are
+     *  det/120 (a a' + b b' + c c' + s s'), where s = a+b+c and det is
+     *  six times its volume.
+     *
+     *  @return the volume, then the moments xx, xy, xz, yy, yz and zz
+     */
+    private double[] getMoments( ) {
+        double[] m = new double[7];
+        for ( int i = 0; i < face.length; ++i ) {
+            int[] f = face[i];
+            double[] a = Rn.subtract(vertex[f[0]],center);
+            for ( int j = 2; j < f.length; ++j ) {
+                double[] b = Rn.subtract(vertex[f[j-1]],center);
+                double[] c = Rn.subtract(vertex[f[j]],center);
+                double det = Rn.dot(a,R3.cross(b,c));
+                double[] s = Rn.add(a,Rn.add(b,c));
+                m[0] += det/6;
+                int k = 1;
+                for ( int p = 0; p < 3; ++p ) {
+                    for ( int q = p; q < 3; ++q ) {
+                        m[k++] += det/120*(
+                            a[p]*a[q]+b[p]*b[q]+c[p]*c[q]+s[p]*s[q]
+                        );
+                    }
+                }
+            }
+        }
+        // faces turned inward give it all the other sign
+        if ( m[0] < 0 ) {
+            for ( int k = 0; k < m.length; ++k ) {
+                m[k] = -m[k];
+            }
         }
+        return m;
     }
     
     /**
@@ -142,6 +375,99 @@ public abstract class Polyhedron {
         return vertex[index];
     }
     
+    /**
+     *  Gets the indices of the vertices adjacent to an indexed vertex,
+     *  i.e., at the other ends of its edges.
+     *
+     *  @param index the index of the vertex
+     *
+     *  @return the indices of the adjacent vertices
+     */
+    public int[] getNeighbors( int index ) {
+        if ( neighbor == null ) {
+            findNeighbors();
+        }
+        return neighbor[index];
+    }
+    
+    /**
+     *  Gets the half-edges of the polyhedron, for finding the faces on
+     *  either side of an edge, the edges around a face or a vertex, and
+     *  so on, without searching. It's built the first time, and shared
+     *  with copies, which have faces of their own in the same order,
+     *  until either is turned inside out.
+     *
+     *  @return the half-edges
+     */
+    public HalfEdges getHalfEdges( ) {
+        if ( halfEdges == null ) {
+            halfEdges = new HalfEdges(vertex.length,face);
+        }
+        return halfEdges;
+    }
+    
+    /**
+     *  Finds the vertices adjacent to each vertex from the edges
+     *  of the faces. Each edge is on two faces, once in each direction,
+     *  so following only the edges that leave a vertex finds each once.
+     */
+    private void findNeighbors( ) {
+        int[] count = new int[vertex.length];
+        for ( int f = 0; f < face.length; ++f ) {
+            for ( int i = 0; i < face[f].length; ++i ) {
+                ++count[face[f][i]];
+            }
+        }
+        int[][] n = new int[vertex.length][];
+        for ( int i = 0; i < n.length; ++i ) {
+            n[i] = new int[count[i]];
+            count[i] = 0;
+        }
+        for ( int f = 0; f < face.length; ++f ) {
+            int[] v = face[f];
+            for ( int i = 0; i < v.length; ++i ) {
+                int from = v[i];
+                n[from][count[from]++] = v[(i+1)%v.length];
+            }
+        }
+        neighbor = n;
+    }
+    
+    /**
+     *  Gets the index of the vertex that is farthest in a direction,
+     *  the support vertex, by climbing from a given vertex to any
+     *  adjacent one that is farther, until none is. Since the polyhedron
+     *  is convex, there's no other peak to get stuck on. When the
+     *  direction changes little from one query to the next, starting
+     *  from the last answer takes few, if any, climbs.
+     *
+     *  @param direction the direction
+     *  @param start the index of the vertex to start the climb from
+     *
+     *  @return the index of the support vertex
+     */
+    public int getSupport( double[] direction, int start ) {
+        if ( neighbor == null ) {
+            findNeighbors();
+        }
+        int best = start;
+        double max = Rn.dot(vertex[best],direction);
+        boolean climbing = true;
+        while ( climbing ) {
+            climbing = false;
+            int[] n = neighbor[best];
+            for ( int i = 0; i < n.length; ++i ) {
+                double dot = Rn.dot(vertex[n[i]],direction);
+                if ( dot > max ) {
+                    max = dot;
+                    best = n[i];
+                    climbing = true;
+                }
+            }
+        }
+        return best;
+    }
+    
     /**
      *  Gets the number of faces of the polyhedron.
      *
@@ -181,12 +507,15 @@ public abstract class Polyhedron {
     
     /**
      *  Turns the polyhedron inside-out, e.g., viewed from the inside
-     *  when was viewed from the outside.
+     *  when was viewed from the outside. Only its own faces are turned,
+     *  not those of copies of it, and its half-edges are built again,
+     *  from them, when next needed.
      */
     public void turnInsideOut( ) {
         for ( int f = 0; f < face.length; ++f ) {
             turnInsideOut(face[f]);
         }
+        halfEdges = null;
     }
     
     /**
@@ -207,19 +536,19 @@ public abstract class Polyhedron {
      *  @return the String
      */
     public String toString( ) {
-        String s = "";
+        StringBuilder s = new StringBuilder();
         for ( int i = 0; i < face.length; ++i ) {
             int[] f = face[i];
             for ( int j = 0; j < f.length; ++j ) {
                 double[] v = vertex[f[j]];
                 for ( int k = 0; k < 3; ++k ) {
-                    s += v[k]+" ";
+                    s.append(v[k]).append(' ');
                 }
-                s += "\n";
+                s.append('\n');
             }
-            s += "\n";
+            s.append('\n');
         }
-        return s;
+        return s.toString();
     }
 
 }
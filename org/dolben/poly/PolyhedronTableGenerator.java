@@ -0,0 +1,193 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ *  <p>
+ *  Generates PolyhedronTables, the source of the vertices, faces and
+ *  neighbors of each of the solids, made once by their own create()
+ *  and, for an Equilateral, by finding the faces, so that making one
+ *  at run time only copies them.
+ *  </p><p>
+ *  Run it, from the directory above org, whenever a solid is added or
+ *  changed:
+ *  </p><pre>
+ *  java org.dolben.poly.PolyhedronTableGenerator org/dolben/poly/PolyhedronTables.java
+ *  </pre><p>
+ *  With no argument it writes to the standard output.
+ *  </p>
+ */
+public class PolyhedronTableGenerator {
+    
+    // the solids in the tables, each of which has a constructor
+    // without arguments that always makes the same polyhedron
+    private static final Polyhedron[] SOLIDS;
+    
+    static {
+        Polyhedron.useTables = false;
+        SOLIDS = new Polyhedron[] {
+            new Tetrahedron(),
+            new Cube(),
+            new Octahedron(),
+            new Dodecahedron(),
+            new Icosahedron(),
+            new TruncatedTetrahedron(),
+            new TruncatedCube(),
+            new TruncatedOctahedron(),
+            new TruncatedDodecahedron(),
+            new TruncatedIcosahedron(),
+            new Cuboctahedron(),
+            new Icosidodecahedron(),
+            new TruncatedCuboctahedron(),
+            new TruncatedIcosidodecahedron(),
+            new Rhombicuboctahedron(),
+            new Rhombicosidodecahedron(),
+            new SnubCube(),
+            new SnubDodecahedron()
+        };
+        Polyhedron.useTables = true;
+    }
+    
+    private PrintWriter out;
+    
+    private PolyhedronTableGenerator( Writer writer ) {
+        out = new PrintWriter(writer);
+    }
+    
+    /**
+     *  Writes the source of PolyhedronTables.
+     *
+     *  @param args the file to write, if any
+     */
+    public static void main( String[] args ) throws IOException {
+        Writer writer = args.length > 0 ?
+            (Writer)new FileWriter(args[0]) :
+            new OutputStreamWriter(System.out);
+        new PolyhedronTableGenerator(writer).generate();
+        writer.close();
+    }
+    
+    private void generate( ) {
+        out.println("/**");
+        out.println(" *  Copyright (c) 2005-2010 Hank Dolben");
+        out.println(" *  Licensed under the Open Software License version 2.1");
+        out.println(" *  http://opensource.org/licenses/osl-2.1.php");
+        out.println(" */");
+        out.println("package org.dolben.poly;");
+        out.println();
+        out.println("/**");
+        out.println(" *  The vertices, faces and neighbors of the solids, from which");
+        out.println(" *  Polyhedron makes them without working out their geometry.");
+        out.println(" *  Each solid's vertices are flat, three to each, and its faces");
+        out.println(" *  and neighbors are flat with the start of each in another array.");
+        out.println(" *");
+        out.println(" *  Generated by PolyhedronTableGenerator; don't edit it.");
+        out.println(" */");
+        out.println("final class PolyhedronTables {");
+        out.println("    ");
+        out.println("    private PolyhedronTables( ) {");
+        out.println("    }");
+        out.println("    ");
+        out.println("    static final String[] NAMES = {");
+        for ( int s = 0; s < SOLIDS.length; ++s ) {
+            out.println("        \""+SOLIDS[s].getClass().getName()+"\",");
+        }
+        out.println("    };");
+        out.println("    ");
+        out.println("    static final double[][] VERTICES = {");
+        for ( int s = 0; s < SOLIDS.length; ++s ) {
+            Polyhedron p = SOLIDS[s];
+            double[] flat = new double[3*p.getVertexCount()];
+            for ( int i = 0; i < p.getVertexCount(); ++i ) {
+                System.arraycopy(p.getVertex(i),0,flat,3*i,3);
+            }
+            writeArray(flat,null,3);
+        }
+        out.println("    };");
+        writeLists("FACE",faces());
+        writeLists("NEIGHBOR",neighbors());
+        out.println();
+        out.println("}");
+        out.flush();
+    }
+    
+    private int[][][] faces( ) {
+        int[][][] lists = new int[SOLIDS.length][][];
+        for ( int s = 0; s < SOLIDS.length; ++s ) {
+            lists[s] = SOLIDS[s].face;
+        }
+        return lists;
+    }
+    
+    private int[][][] neighbors( ) {
+        int[][][] lists = new int[SOLIDS.length][][];
+        for ( int s = 0; s < SOLIDS.length; ++s ) {
+            Polyhedron p = SOLIDS[s];
+            lists[s] = new int[p.getVertexCount()][];
+            for ( int i = 0; i < p.getVertexCount(); ++i ) {
+                lists[s][i] = p.getNeighbors(i);
+            }
+        }
+        return lists;
+    }
+    
+    /**
+     *  Writes arrays of lists of indices, each flat, and the starts
+     *  of the lists in it.
+     */
+    private void writeLists( String name, int[][][] lists ) {
+        out.println("    ");
+        out.println("    static final int[][] "+name+"_START = {");
+        for ( int s = 0; s < lists.length; ++s ) {
+            int[] start = new int[lists[s].length+1];
+            for ( int i = 0; i < lists[s].length; ++i ) {
+                start[i+1] = start[i]+lists[s][i].length;
+            }
+            writeArray(null,start,12);
+        }
+        out.println("    };");
+        out.println("    ");
+        out.println("    static final int[][] "+name+"_INDEX = {");
+        for ( int s = 0; s < lists.length; ++s ) {
+            int n = 0;
+            for ( int i = 0; i < lists[s].length; ++i ) {
+                n += lists[s][i].length;
+            }
+            int[] flat = new int[n];
+            n = 0;
+            for ( int i = 0; i < lists[s].length; ++i ) {
+                System.arraycopy(lists[s][i],0,flat,n,lists[s][i].length);
+                n += lists[s][i].length;
+            }
+            writeArray(null,flat,12);
+        }
+        out.println("    };");
+    }
+    
+    /**
+     *  Writes one array of doubles or of ints as an element of an
+     *  array initializer, so many to a line.
+     */
+    private void writeArray( double[] d, int[] i, int perLine ) {
+        int n = d != null ? d.length : i.length;
+        out.println("        {");
+        for ( int k = 0; k < n; ++k ) {
+            if ( k%perLine == 0 ) {
+                out.print("            ");
+            }
+            out.print(d != null ? Double.toString(d[k]) : Integer.toString(i[k]));
+            out.print(k%perLine == perLine-1 || k == n-1 ? ",\n" : ", ");
+        }
+        out.println("        },");
+    }
+
+}
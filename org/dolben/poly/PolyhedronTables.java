@@ -0,0 +1,1322 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.poly;
+
+/**
+ *  The vertices, faces and neighbors of the solids, from which
+ *  Polyhedron makes them without working out their geometry.
+ *  Each solid's vertices are flat, three to each, and its faces
+ *  and neighbors are flat with the start of each in another array.
+ *
+ *  Generated by PolyhedronTableGenerator; don't edit it.
+ */
+final class PolyhedronTables {
+    
+    private PolyhedronTables( ) {
+    }
+    
+    static final String[] NAMES = {
+        "org.dolben.poly.Tetrahedron",
+        "org.dolben.poly.Cube",
+        "org.dolben.poly.Octahedron",
+        "org.dolben.poly.Dodecahedron",
+        "org.dolben.poly.Icosahedron",
+        "org.dolben.poly.TruncatedTetrahedron",
+        "org.dolben.poly.TruncatedCube",
+        "org.dolben.poly.TruncatedOctahedron",
+        "org.dolben.poly.TruncatedDodecahedron",
+        "org.dolben.poly.TruncatedIcosahedron",
+        "org.dolben.poly.Cuboctahedron",
+        "org.dolben.poly.Icosidodecahedron",
+        "org.dolben.poly.TruncatedCuboctahedron",
+        "org.dolben.poly.TruncatedIcosidodecahedron",
+        "org.dolben.poly.Rhombicuboctahedron",
+        "org.dolben.poly.Rhombicosidodecahedron",
+        "org.dolben.poly.SnubCube",
+        "org.dolben.poly.SnubDodecahedron",
+    };
+    
+    static final double[][] VERTICES = {
+        {
+            1.0, 1.0, 1.0,
+            1.0, -1.0, -1.0,
+            -1.0, 1.0, -1.0,
+            -1.0, -1.0, 1.0,
+        },
+        {
+            1.0, 1.0, 1.0,
+            -1.0, 1.0, 1.0,
+            -1.0, -1.0, 1.0,
+            1.0, -1.0, 1.0,
+            1.0, 1.0, -1.0,
+            -1.0, 1.0, -1.0,
+            -1.0, -1.0, -1.0,
+            1.0, -1.0, -1.0,
+        },
+        {
+            1.0, 0.0, 0.0,
+            0.0, 1.0, 0.0,
+            0.0, 0.0, 1.0,
+            0.0, -1.0, 0.0,
+            0.0, 0.0, -1.0,
+            -1.0, 0.0, 0.0,
+        },
+        {
+            1.0, 1.0, 1.0,
+            1.0, -1.0, -1.0,
+            0.6180339887498949, 1.618033988749895, 0.0,
+            -1.0, 1.0, -1.0,
+            0.0, -0.6180339887498949, -1.618033988749895,
+            0.0, 0.6180339887498949, 1.618033988749895,
+            0.6180339887498949, -1.618033988749895, 0.0,
+            -0.6180339887498946, 1.6180339887498947, -2.220446049250313E-16,
+            -1.0, -1.0, 1.0,
+            -1.618033988749895, 5.551115123125783E-17, 0.6180339887498949,
+            -1.618033988749895, 0.0, -0.6180339887498949,
+            -1.0, -1.0, -1.0,
+            1.618033988749895, 0.0, 0.6180339887498949,
+            0.0, 0.6180339887498949, -1.618033988749895,
+            -2.220446049250313E-16, -0.6180339887498946, 1.6180339887498947,
+            -0.6180339887498946, -1.6180339887498947, 2.220446049250313E-16,
+            -1.0, 1.0, 0.9999999999999993,
+            1.0, -1.0, 1.0,
+            1.618033988749895, 0.0, -0.6180339887498949,
+            1.0000000000000002, 0.9999999999999999, -1.0,
+        },
+        {
+            0.0, 1.0, 1.618033988749895,
+            1.618033988749895, 0.0, 1.0,
+            0.0, -1.0, -1.618033988749895,
+            1.0, 1.618033988749895, 0.0,
+            1.618033988749895, 0.0, -1.0,
+            -1.618033988749895, 0.0, -1.0,
+            1.0, -1.618033988749895, 0.0,
+            -1.0, 1.618033988749895, 0.0,
+            1.6653345369377348E-16, 1.0, -1.618033988749895,
+            -1.0, -1.618033988749895, 0.0,
+            -1.618033988749895, 0.0, 1.0,
+            0.0, -1.0, 1.618033988749895,
+        },
+        {
+            3.0, 1.0, 1.0,
+            1.0, 3.0, 1.0,
+            3.0, -1.0, -1.0,
+            1.0, 1.0, 3.0,
+            1.0, -3.0, -1.0,
+            -1.0, 3.0, -1.0,
+            1.0, -1.0, -3.0,
+            -1.0, 1.0, -3.0,
+            -1.0, -1.0, 3.0,
+            -1.0, -3.0, 1.0,
+            -3.0, 1.0, -1.0,
+            -3.0, -1.0, 1.0,
+        },
+        {
+            0.41421356237309515, 1.0, 1.0,
+            1.0, 0.41421356237309515, 1.0,
+            0.41421356237309515, -1.0, 1.0,
+            -0.41421356237309515, -1.0, -1.0,
+            1.0, 1.0, 0.41421356237309515,
+            1.0, -1.0, 0.41421356237309515,
+            -1.0, -0.41421356237309515, -1.0,
+            1.0, 0.41421356237309515, -1.0,
+            0.41421356237309515, -1.0, -1.0,
+            -0.41421356237309515, 1.0, -1.0,
+            1.0, -0.41421356237309515, 1.0,
+            -1.0, -1.0, -0.41421356237309515,
+            0.41421356237309515, 1.0, -1.0,
+            1.0, -0.41421356237309515, -1.0,
+            -1.0, 1.0, -0.41421356237309515,
+            -1.0, 1.0, 0.41421356237309515,
+            -1.0, -0.41421356237309515, 1.0,
+            -1.0, 0.41421356237309515, -1.0,
+            -0.41421356237309515, 1.0, 1.0,
+            1.0, 1.0, -0.41421356237309515,
+            1.0, -1.0, -0.41421356237309515,
+            -1.0, 0.41421356237309515, 1.0,
+            -0.41421356237309515, -1.0, 1.0,
+            -1.0, -1.0, 0.41421356237309515,
+        },
+        {
+            0.0, 1.0, 2.0,
+            2.0, 0.0, 1.0,
+            0.0, -2.0, 1.0,
+            0.0, -1.0, -2.0,
+            1.0, 2.0, 0.0,
+            2.0, -1.0, 0.0,
+            -2.0, 0.0, -1.0,
+            1.0, 0.0, -2.0,
+            0.0, 2.0, -1.0,
+            1.0, 0.0, 2.0,
+            -1.0, -2.0, 0.0,
+            2.0, 0.0, -1.0,
+            -2.0, 1.0, 0.0,
+            -1.0, 0.0, 2.0,
+            2.0, 1.0, 0.0,
+            1.0, -2.0, 0.0,
+            -1.0, 0.0, -2.0,
+            -1.0, 2.0, 0.0,
+            -2.0, 0.0, 1.0,
+            0.0, 2.0, 1.0,
+            -2.0, -1.0, 0.0,
+            0.0, 1.0, -2.0,
+            0.0, -1.0, 2.0,
+            0.0, -2.0, -1.0,
+        },
+        {
+            0.0, 0.6180339887498948, 3.618033988749895,
+            3.618033988749895, 0.0, 0.6180339887498948,
+            0.0, -0.6180339887498948, -3.618033988749895,
+            2.618033988749895, 1.6180339887498947, 2.0,
+            0.6180339887498948, 3.618033988749895, 0.0,
+            3.618033988749895, 0.0, -0.6180339887498948,
+            1.618033988749895, 1.9999999999999998, -2.618033988749895,
+            -3.618033988749895, 0.0, -0.6180339887498948,
+            -2.618033988749895, -1.6180339887498947, -2.0,
+            2.0, 2.618033988749895, 1.6180339887498947,
+            2.618033988749895, -1.6180339887498947, -2.0,
+            1.6180339887498953, 3.2360679774997894, -0.618033988749895,
+            0.6180339887498948, -3.618033988749895, 0.0,
+            -1.6180339887498947, 3.23606797749979, 0.6180339887498947,
+            -0.6180339887498948, -3.618033988749895, 0.0,
+            -0.6180339887498948, 3.618033988749895, 0.0,
+            0.6180339887498949, 1.6180339887498947, -3.23606797749979,
+            -3.618033988749895, 0.0, 0.6180339887498948,
+            -2.618033988749895, 1.618033988749895, 1.9999999999999998,
+            1.618033988749895, -1.9999999999999998, 2.618033988749895,
+            -2.6180339887498945, 1.6180339887498945, -2.0000000000000004,
+            -1.618033988749895, -1.9999999999999998, 2.618033988749895,
+            -2.0, -2.618033988749895, -1.6180339887498947,
+            -1.6180339887498953, -3.2360679774997894, 0.618033988749895,
+            1.6180339887498947, 2.0, 2.618033988749895,
+            2.0, -2.618033988749895, -1.6180339887498947,
+            -2.0, 2.618033988749895, -1.6180339887498947,
+            -0.618033988749895, 1.6180339887498953, 3.2360679774997894,
+            1.6180339887498953, -3.2360679774997894, 0.618033988749895,
+            -1.6180339887498945, 3.2360679774997894, -0.6180339887498958,
+            0.0, 0.6180339887498948, -3.618033988749895,
+            0.6180339887498947, -1.6180339887498947, 3.23606797749979,
+            -1.6180339887498947, -3.23606797749979, -0.6180339887498947,
+            -1.6180339887498945, 2.0, 2.6180339887498945,
+            1.6180339887498947, -3.23606797749979, -0.6180339887498947,
+            0.0, -0.6180339887498948, 3.618033988749895,
+            -1.9999999999999998, 2.618033988749895, 1.6180339887498947,
+            -3.23606797749979, 0.6180339887498949, 1.6180339887498947,
+            -3.2360679774997894, 0.6180339887498946, -1.6180339887498953,
+            -0.6180339887498949, -1.6180339887498947, 3.23606797749979,
+            1.9999999999999998, -2.618033988749895, 1.618033988749895,
+            2.618033988749895, 1.618033988749895, -1.9999999999999998,
+            -1.618033988749895, 1.9999999999999998, -2.618033988749895,
+            -2.0000000000000004, -2.6180339887498945, 1.6180339887498945,
+            -2.6180339887498945, -1.6180339887498945, 2.0000000000000004,
+            -3.23606797749979, -0.6180339887498948, 1.618033988749894,
+            2.6180339887498945, -1.6180339887498945, 2.0000000000000004,
+            -1.6180339887498947, -2.0, -2.618033988749895,
+            0.618033988749895, -1.6180339887498953, -3.2360679774997894,
+            1.6180339887498947, -2.0, -2.618033988749895,
+            1.618033988749895, 3.23606797749979, 0.6180339887498949,
+            3.2360679774997894, -0.618033988749895, 1.6180339887498953,
+            -0.618033988749895, -1.6180339887498953, -3.2360679774997894,
+            -3.23606797749979, -0.6180339887498947, -1.618033988749895,
+            3.23606797749979, 0.6180339887498947, -1.6180339887498947,
+            -0.6180339887498947, 1.6180339887498947, -3.23606797749979,
+            0.6180339887498945, 1.618033988749895, 3.236067977499789,
+            3.23606797749979, 0.6180339887498947, 1.618033988749895,
+            3.23606797749979, -0.6180339887498949, -1.6180339887498947,
+            1.9999999999999998, 2.618033988749895, -1.618033988749895,
+        },
+        {
+            0.0, 1.0, 4.854101966249685,
+            4.854101966249685, 0.0, 1.0,
+            0.0, -1.0, -4.854101966249685,
+            1.6180339887498945, 2.0, 4.23606797749979,
+            1.0, 4.854101966249685, 0.0,
+            4.854101966249685, 0.0, -1.0,
+            2.0, 4.23606797749979, -1.6180339887498945,
+            -4.854101966249685, 0.0, -1.0,
+            -1.6180339887498945, -2.0, -4.23606797749979,
+            4.23606797749979, 1.6180339887498945, 2.0,
+            1.6180339887498945, -2.0, -4.23606797749979,
+            1.0, 3.6180339887498945, 3.23606797749979,
+            1.0, -4.854101966249685, 0.0,
+            -3.618033988749895, 3.23606797749979, 1.0,
+            -1.0, -4.854101966249685, 0.0,
+            -1.0, 4.854101966249685, 0.0,
+            1.0000000000000002, 3.618033988749895, -3.2360679774997894,
+            -4.854101966249685, 0.0, 1.0,
+            -1.6180339887498945, 2.0, 4.23606797749979,
+            2.0, -4.23606797749979, 1.6180339887498945,
+            -3.618033988749895, 3.23606797749979, -1.0,
+            -2.0, -4.23606797749979, 1.6180339887498945,
+            -4.23606797749979, -1.6180339887498945, -2.0,
+            -1.0, -3.6180339887498945, -3.23606797749979,
+            2.0, 4.23606797749979, 1.6180339887498945,
+            4.23606797749979, -1.6180339887498945, -2.0,
+            -4.23606797749979, 1.6180339887498945, -2.0,
+            3.23606797749979, 1.0, 3.6180339887498945,
+            1.0, -3.6180339887498945, -3.23606797749979,
+            -0.9999999999999996, 3.6180339887498945, 3.23606797749979,
+            0.0, 1.0, -4.854101966249685,
+            1.0, -3.618033988749895, 3.23606797749979,
+            -3.618033988749895, -3.23606797749979, -1.0,
+            -3.23606797749979, -1.0000000000000002, 3.6180339887498945,
+            3.618033988749895, -3.23606797749979, -1.0,
+            0.0, -1.0, 4.854101966249685,
+            -4.23606797749979, 1.618033988749895, 2.0,
+            -3.2360679774997894, 1.0000000000000002, 3.618033988749895,
+            -1.0000000000000002, -3.618033988749895, 3.2360679774997894,
+            4.23606797749979, -1.6180339887498945, 2.0,
+            1.6180339887498945, 2.0, -4.23606797749979,
+            -2.0, 4.23606797749979, -1.6180339887498945,
+            -3.618033988749895, -3.23606797749979, 1.0,
+            -4.23606797749979, -1.618033988749895, 1.9999999999999996,
+            3.618033988749895, -3.23606797749979, 1.0,
+            -2.0, -4.23606797749979, -1.6180339887498945,
+            -3.23606797749979, -1.0, -3.6180339887498945,
+            2.0, -4.23606797749979, -1.6180339887498945,
+            -2.0000000000000004, 4.23606797749979, 1.618033988749895,
+            3.6180339887498945, 3.23606797749979, 1.0,
+            3.23606797749979, -1.0, -3.6180339887498945,
+            -3.23606797749979, 1.0, -3.6180339887498945,
+            3.23606797749979, -0.9999999999999996, 3.6180339887498945,
+            3.23606797749979, 1.0, -3.618033988749895,
+            -1.0, 3.618033988749895, -3.23606797749979,
+            1.6180339887498945, -2.0000000000000004, 4.236067977499789,
+            -1.618033988749895, -2.0, 4.236067977499789,
+            4.23606797749979, 1.6180339887498945, -2.0,
+            3.618033988749895, 3.23606797749979, -0.9999999999999993,
+            -1.6180339887498945, 2.0, -4.23606797749979,
+        },
+        {
+            1.0, 1.0, 0.0,
+            0.0, 1.0, 1.0,
+            1.0, 0.0, 1.0,
+            -1.0, -1.0, 0.0,
+            0.0, -1.0, 1.0,
+            0.0, -1.0, -1.0,
+            1.0, -1.0, 0.0,
+            -1.0, 0.0, -1.0,
+            1.0, 0.0, -1.0,
+            0.0, 1.0, -1.0,
+            -1.0, 1.0, 0.0,
+            -1.0, 0.0, 1.0,
+        },
+        {
+            0.0, 0.0, 1.618033988749895,
+            1.618033988749895, 0.0, 0.0,
+            0.0, 0.0, -1.618033988749895,
+            1.3090169943749475, 0.49999999999999994, 0.8090169943749475,
+            0.0, 1.618033988749895, 0.0,
+            0.5000000000000001, 0.8090169943749473, -1.3090169943749475,
+            -1.618033988749895, 0.0, 0.0,
+            -1.3090169943749475, -0.49999999999999994, -0.8090169943749475,
+            0.8090169943749475, 1.3090169943749475, 0.49999999999999994,
+            1.3090169943749475, -0.49999999999999994, -0.8090169943749475,
+            0.8090169943749477, 1.3090169943749472, -0.5000000000000001,
+            0.0, -1.618033988749895, 0.0,
+            -0.8090169943749473, 1.3090169943749475, 0.49999999999999994,
+            -1.3090169943749475, 0.5000000000000001, 0.8090169943749473,
+            0.5000000000000001, -0.8090169943749473, 1.3090169943749475,
+            -1.3090169943749472, 0.4999999999999999, -0.8090169943749477,
+            -0.5000000000000001, -0.8090169943749473, 1.3090169943749475,
+            -0.8090169943749475, -1.3090169943749475, -0.49999999999999994,
+            -0.8090169943749477, -1.3090169943749472, 0.5000000000000001,
+            0.49999999999999994, 0.8090169943749475, 1.3090169943749475,
+            0.8090169943749475, -1.3090169943749475, -0.49999999999999994,
+            -0.8090169943749475, 1.3090169943749475, -0.49999999999999994,
+            -0.5000000000000001, 0.8090169943749477, 1.3090169943749472,
+            0.8090169943749477, -1.3090169943749472, 0.5000000000000001,
+            1.3090169943749475, 0.5000000000000001, -0.8090169943749473,
+            -0.5000000000000001, 0.8090169943749473, -1.3090169943749475,
+            -1.3090169943749472, -0.4999999999999999, 0.8090169943749477,
+            1.3090169943749472, -0.4999999999999999, 0.8090169943749477,
+            -0.49999999999999994, -0.8090169943749475, -1.3090169943749475,
+            0.5000000000000001, -0.8090169943749477, -1.3090169943749472,
+        },
+        {
+            1.0, 2.414213562373095, 3.8284271247461903,
+            3.8284271247461903, 1.0, 2.414213562373095,
+            1.0, -3.8284271247461903, 2.414213562373095,
+            -1.0, -2.414213562373095, -3.8284271247461903,
+            2.414213562373095, 3.8284271247461903, 1.0,
+            3.8284271247461903, -2.414213562373095, 1.0,
+            -3.8284271247461903, -1.0, -2.414213562373095,
+            2.414213562373095, 1.0, -3.8284271247461903,
+            1.0, -2.414213562373095, -3.8284271247461903,
+            -1.0, 3.8284271247461903, -2.414213562373095,
+            2.414213562373095, -1.0, 3.8284271247461903,
+            -2.414213562373095, -3.8284271247461903, -1.0,
+            1.0, 3.8284271247461903, -2.414213562373095,
+            3.8284271247461903, -1.0, -2.414213562373095,
+            -3.8284271247461903, 2.414213562373095, -1.0,
+            -3.8284271247461903, 2.414213562373095, 1.0,
+            -2.414213562373095, -1.0, 3.8284271247461903,
+            -3.8284271247461903, 1.0, -2.414213562373095,
+            -1.0, 2.414213562373095, 3.8284271247461903,
+            3.8284271247461903, 2.414213562373095, -1.0,
+            2.414213562373095, -3.8284271247461903, -1.0,
+            -2.414213562373095, 1.0, -3.8284271247461903,
+            -2.414213562373095, 1.0, 3.8284271247461903,
+            -1.0, -3.8284271247461903, 2.414213562373095,
+            -2.414213562373095, 3.8284271247461903, -1.0,
+            -3.8284271247461903, 1.0, 2.414213562373095,
+            -3.8284271247461903, -1.0, 2.414213562373095,
+            3.8284271247461903, -2.414213562373095, -1.0,
+            -2.414213562373095, -3.8284271247461903, 1.0,
+            3.8284271247461903, -1.0, 2.414213562373095,
+            -1.0, 3.8284271247461903, 2.414213562373095,
+            -3.8284271247461903, -2.414213562373095, 1.0,
+            -1.0, 2.414213562373095, -3.8284271247461903,
+            -2.414213562373095, 3.8284271247461903, 1.0,
+            2.414213562373095, -1.0, -3.8284271247461903,
+            -1.0, -2.414213562373095, 3.8284271247461903,
+            2.414213562373095, -3.8284271247461903, 1.0,
+            -3.8284271247461903, -2.414213562373095, -1.0,
+            3.8284271247461903, 1.0, -2.414213562373095,
+            -2.414213562373095, -1.0, -3.8284271247461903,
+            2.414213562373095, 3.8284271247461903, -1.0,
+            1.0, -3.8284271247461903, -2.414213562373095,
+            1.0, -2.414213562373095, 3.8284271247461903,
+            -1.0, -3.8284271247461903, -2.414213562373095,
+            1.0, 2.414213562373095, -3.8284271247461903,
+            3.8284271247461903, 2.414213562373095, 1.0,
+            2.414213562373095, 1.0, 3.8284271247461903,
+            1.0, 3.8284271247461903, 2.414213562373095,
+        },
+        {
+            0.6180339887498948, 0.6180339887498948, 4.618033988749895,
+            4.618033988749895, 0.6180339887498948, 0.6180339887498948,
+            0.6180339887498948, -0.6180339887498948, -4.618033988749895,
+            3.618033988749895, 2.2360679774997894, 2.0,
+            -0.6180339887498948, -0.6180339887498948, -4.618033988749895,
+            0.6180339887498948, 4.618033988749895, 0.6180339887498948,
+            4.618033988749895, -0.6180339887498948, -0.6180339887498948,
+            1.618033988749895, 2.9999999999999996, -3.23606797749979,
+            -4.618033988749895, -0.6180339887498948, -0.6180339887498948,
+            -4.618033988749895, 0.6180339887498948, -0.6180339887498948,
+            -3.23606797749979, -1.6180339887498947, -3.0,
+            -0.6180339887498948, 0.6180339887498948, 4.618033988749895,
+            2.0, 3.618033988749895, 2.2360679774997894,
+            3.618033988749895, -2.2360679774997894, -2.0,
+            1.6180339887498956, 4.236067977499789, -1.2360679774997898,
+            -3.618033988749895, -2.2360679774997894, -2.0,
+            0.6180339887498948, -4.618033988749895, -0.6180339887498948,
+            -1.6180339887498945, 4.23606797749979, 1.2360679774997896,
+            -0.6180339887498948, -4.618033988749895, -0.6180339887498948,
+            -0.6180339887498948, 4.618033988749895, -0.6180339887498948,
+            1.2360679774997898, 1.6180339887498945, -4.23606797749979,
+            -4.618033988749895, 0.6180339887498948, 0.6180339887498948,
+            -3.23606797749979, 1.618033988749895, 2.9999999999999996,
+            1.618033988749895, -2.9999999999999996, 3.23606797749979,
+            -3.6180339887498945, 2.236067977499789, -2.0000000000000004,
+            -1.618033988749895, -2.9999999999999996, 3.23606797749979,
+            -0.6180339887498948, -4.618033988749895, 0.6180339887498948,
+            -4.618033988749895, -0.6180339887498948, 0.6180339887498948,
+            -2.23606797749979, -1.9999999999999996, 3.618033988749895,
+            4.618033988749895, -0.6180339887498948, 0.6180339887498948,
+            -3.0, -3.23606797749979, -1.6180339887498947,
+            -2.6180339887498953, -3.8541019662496843, 0.618033988749895,
+            3.23606797749979, 1.6180339887498947, 3.0,
+            2.2360679774997894, 2.0, 3.618033988749895,
+            2.0, -3.618033988749895, -2.2360679774997894,
+            -2.0, -3.618033988749895, -2.2360679774997894,
+            -2.0, 3.618033988749895, -2.2360679774997894,
+            -3.618033988749895, 2.2360679774997894, 2.0,
+            -1.2360679774997898, 1.6180339887498956, 4.236067977499789,
+            1.6180339887498956, -4.236067977499789, 1.2360679774997898,
+            -2.6180339887498945, 3.8541019662496843, -0.6180339887498961,
+            -1.6180339887498956, -4.236067977499789, 1.2360679774997898,
+            -0.6180339887498948, 0.6180339887498948, -4.618033988749895,
+            -0.6180339887498948, 4.618033988749895, 0.6180339887498948,
+            1.2360679774997896, -1.6180339887498945, 4.23606797749979,
+            -1.6180339887498945, -4.23606797749979, -1.2360679774997896,
+            -1.6180339887498945, 3.0, 3.2360679774997894,
+            1.6180339887498945, -4.23606797749979, -1.2360679774997896,
+            -0.6180339887498948, -0.6180339887498948, 4.618033988749895,
+            -2.9999999999999996, 3.23606797749979, 1.6180339887498947,
+            0.6180339887498948, -4.618033988749895, 0.6180339887498948,
+            -4.23606797749979, 1.2360679774997898, 1.6180339887498945,
+            -3.8541019662496843, 0.6180339887498947, -2.6180339887498953,
+            -1.2360679774997898, -1.6180339887498945, 4.23606797749979,
+            2.9999999999999996, -3.23606797749979, 1.618033988749895,
+            3.23606797749979, -1.618033988749895, -2.9999999999999996,
+            3.23606797749979, 1.618033988749895, -2.9999999999999996,
+            -1.618033988749895, 2.9999999999999996, -3.23606797749979,
+            -2.0000000000000004, -3.6180339887498945, 2.236067977499789,
+            -3.6180339887498945, -2.236067977499789, 2.0000000000000004,
+            -3.8541019662496847, -0.6180339887498949, 2.6180339887498936,
+            3.6180339887498945, -2.236067977499789, 2.0000000000000004,
+            2.6180339887498945, -3.8541019662496847, -0.6180339887498948,
+            0.6180339887498948, 4.618033988749895, -0.6180339887498948,
+            -0.6180339887498951, -2.6180339887498945, 3.8541019662496847,
+            4.618033988749895, 0.6180339887498948, -0.6180339887498948,
+            -2.23606797749979, 1.9999999999999996, -3.618033988749895,
+            3.2360679774997894, -1.6180339887498945, 3.0000000000000004,
+            2.23606797749979, 1.9999999999999996, -3.618033988749895,
+            -1.6180339887498947, -3.0, -3.23606797749979,
+            3.0, 3.23606797749979, 1.6180339887498947,
+            0.618033988749895, -2.6180339887498953, -3.8541019662496843,
+            2.6180339887498953, 3.8541019662496843, -0.618033988749895,
+            2.2360679774997894, -2.0, -3.618033988749895,
+            2.618033988749895, 3.8541019662496847, 0.6180339887498951,
+            -2.2360679774997894, -2.0, -3.618033988749895,
+            -2.0, 3.618033988749895, 2.2360679774997894,
+            2.0, -3.618033988749895, 2.2360679774997894,
+            4.236067977499789, -1.2360679774997898, 1.6180339887498956,
+            -1.2360679774997898, -1.6180339887498956, -4.236067977499789,
+            1.2360679774997898, -1.6180339887498956, -4.236067977499789,
+            -1.6180339887498956, 4.236067977499789, -1.2360679774997898,
+            2.6180339887498945, -3.8541019662496843, 0.6180339887498961,
+            -4.23606797749979, -1.2360679774997896, -1.618033988749895,
+            0.6180339887498948, -0.6180339887498948, 4.618033988749895,
+            4.23606797749979, 1.2360679774997896, -1.6180339887498945,
+            -1.2360679774997896, 1.6180339887498945, -4.23606797749979,
+            1.6180339887498945, 4.23606797749979, 1.2360679774997896,
+            0.6180339887498947, 2.618033988749895, 3.8541019662496834,
+            1.6180339887498945, -3.0, -3.2360679774997894,
+            3.8541019662496847, 0.6180339887498949, 2.618033988749895,
+            0.6180339887498948, 0.6180339887498948, -4.618033988749895,
+            2.9999999999999996, -3.23606797749979, -1.6180339887498947,
+            4.23606797749979, -1.2360679774997898, -1.6180339887498945,
+            3.8541019662496843, -0.6180339887498947, 2.6180339887498953,
+            2.9999999999999996, 3.23606797749979, -1.618033988749895,
+            3.8541019662496847, -0.6180339887498953, -2.6180339887498945,
+            -2.9999999999999996, 3.23606797749979, -1.618033988749895,
+            -3.23606797749979, -1.618033988749895, 2.9999999999999996,
+            2.0000000000000004, 3.6180339887498945, -2.236067977499789,
+            3.6180339887498945, 2.236067977499789, -2.0000000000000004,
+            3.8541019662496847, 0.6180339887498949, -2.6180339887498936,
+            -0.6180339887498948, 2.6180339887498945, -3.8541019662496847,
+            -2.6180339887498945, 3.8541019662496847, 0.6180339887498948,
+            0.6180339887498951, 2.6180339887498945, -3.8541019662496847,
+            2.23606797749979, -1.9999999999999996, 3.618033988749895,
+            -3.2360679774997894, 1.6180339887498945, -3.0000000000000004,
+            1.6180339887498947, 3.0, 3.23606797749979,
+            -0.618033988749895, 2.6180339887498953, 3.8541019662496843,
+            -2.2360679774997894, 2.0, 3.618033988749895,
+            -2.618033988749895, -3.8541019662496847, -0.6180339887498951,
+            -4.236067977499789, 1.2360679774997898, -1.6180339887498956,
+            1.2360679774997898, 1.6180339887498956, 4.236067977499789,
+            4.23606797749979, 1.2360679774997896, 1.618033988749895,
+            -4.23606797749979, -1.2360679774997896, 1.6180339887498945,
+            -0.6180339887498947, -2.618033988749895, -3.8541019662496834,
+            -3.8541019662496847, -0.6180339887498949, -2.618033988749895,
+            -2.9999999999999996, -3.23606797749979, 1.618033988749895,
+            -3.8541019662496847, 0.6180339887498953, 2.6180339887498945,
+            0.6180339887498948, -2.6180339887498945, 3.8541019662496847,
+        },
+        {
+            2.414213562373095, 1.0, 1.0,
+            1.0, 2.414213562373095, 1.0,
+            2.414213562373095, -1.0, 1.0,
+            -2.414213562373095, -1.0, -1.0,
+            1.0, 1.0, 2.414213562373095,
+            1.0, -1.0, 2.414213562373095,
+            -1.0, -2.414213562373095, -1.0,
+            1.0, 2.414213562373095, -1.0,
+            2.414213562373095, -1.0, -1.0,
+            -2.414213562373095, 1.0, -1.0,
+            1.0, -2.414213562373095, 1.0,
+            -1.0, -1.0, -2.414213562373095,
+            2.414213562373095, 1.0, -1.0,
+            1.0, -2.414213562373095, -1.0,
+            -1.0, 1.0, -2.414213562373095,
+            -1.0, 1.0, 2.414213562373095,
+            -1.0, -2.414213562373095, 1.0,
+            -1.0, 2.414213562373095, -1.0,
+            -2.414213562373095, 1.0, 1.0,
+            1.0, 1.0, -2.414213562373095,
+            1.0, -1.0, -2.414213562373095,
+            -1.0, 2.414213562373095, 1.0,
+            -2.414213562373095, -1.0, 1.0,
+            -1.0, -1.0, 2.414213562373095,
+        },
+        {
+            4.23606797749979, 1.0, 1.0,
+            1.0, 4.23606797749979, 1.0,
+            4.23606797749979, -1.0, -1.0,
+            1.6180339887498951, 3.2360679774997894, -2.618033988749895,
+            -4.23606797749979, -1.0, -1.0,
+            1.0, 1.0, 4.23606797749979,
+            1.0, -4.23606797749979, -1.0,
+            -0.9999999999999996, 4.23606797749979, 0.9999999999999998,
+            -1.0, -4.23606797749979, -1.0,
+            -1.0, 4.23606797749979, -1.0,
+            1.0000000000000002, 0.9999999999999996, -4.23606797749979,
+            -4.23606797749979, 1.0, 1.0,
+            -2.618033988749895, 1.6180339887498951, 3.2360679774997894,
+            1.6180339887498951, -3.2360679774997894, 2.618033988749895,
+            -3.2360679774997894, 2.6180339887498945, -1.6180339887498953,
+            -1.6180339887498951, -3.2360679774997894, 2.618033988749895,
+            1.0, -1.0, -4.23606797749979,
+            3.23606797749979, 2.618033988749895, 1.618033988749895,
+            -1.0, -1.0, -4.23606797749979,
+            -1.0, 1.0, -4.23606797749979,
+            1.6180339887498945, -3.23606797749979, -2.618033988749895,
+            0.9999999999999998, -0.9999999999999996, 4.23606797749979,
+            -1.6180339887498942, 3.23606797749979, 2.6180339887498945,
+            -1.0, -1.0, 4.23606797749979,
+            -1.0, -4.23606797749979, 1.0,
+            -3.2360679774997894, 2.618033988749895, 1.6180339887498947,
+            1.0, -4.23606797749979, 1.0,
+            -3.6180339887498945, -3.3306690738754696E-16, -2.6180339887498953,
+            3.2360679774997894, -2.618033988749895, 1.6180339887498951,
+            -2.618033988749895, -1.6180339887498951, -3.2360679774997894,
+            2.618033988749895, -1.6180339887498951, -3.2360679774997894,
+            2.618033988749895, 1.6180339887498951, -3.2360679774997894,
+            -1.6180339887498951, 3.2360679774997894, -2.618033988749895,
+            -3.2360679774997894, -2.6180339887498945, 1.6180339887498953,
+            -3.618033988749895, 1.1102230246251565E-16, 2.618033988749894,
+            -4.23606797749979, 1.0, -1.0,
+            -1.0, 1.0, 4.23606797749979,
+            1.618033988749895, 3.23606797749979, 2.618033988749895,
+            3.23606797749979, -2.618033988749895, -1.618033988749895,
+            1.0000000000000004, 4.23606797749979, -1.0000000000000004,
+            -3.23606797749979, -2.618033988749895, -1.618033988749895,
+            -4.23606797749979, -1.0, 1.0,
+            -2.618033988749895, 1.6180339887498945, -3.23606797749979,
+            -4.440892098500626E-16, -2.618033988749895, -3.6180339887498945,
+            4.23606797749979, 0.9999999999999998, -0.9999999999999996,
+            2.6180339887498945, -1.6180339887498942, 3.23606797749979,
+            -1.6180339887498942, -3.23606797749979, -2.6180339887498945,
+            -3.3306690738754696E-16, 2.618033988749895, 3.618033988749894,
+            3.618033988749895, -2.220446049250313E-16, 2.618033988749895,
+            2.6180339887498945, -3.618033988749895, 2.220446049250313E-16,
+            -2.6180339887498953, -3.6180339887498945, -3.3306690738754696E-16,
+            3.2360679774997894, 2.618033988749895, -1.6180339887498951,
+            3.618033988749895, -4.440892098500626E-16, -2.6180339887498945,
+            2.618033988749895, 1.6180339887498951, 3.2360679774997894,
+            -2.618033988749895, -1.6180339887498951, 3.2360679774997894,
+            4.23606797749979, -1.0, 1.0,
+            -2.6180339887498945, 3.6180339887498945, -1.3322676295501878E-15,
+            -2.220446049250313E-16, -2.6180339887498945, 3.618033988749895,
+            6.661338147750939E-16, 2.6180339887498945, -3.618033988749895,
+            2.618033988749895, 3.618033988749895, -2.220446049250313E-16,
+        },
+        {
+            1.0, 0.5436890126920764, -1.8392867552141612,
+            -1.8392867552141612, 1.0, 0.5436890126920764,
+            1.0, 1.8392867552141612, 0.5436890126920764,
+            0.5436890126920764, -1.8392867552141612, 1.0,
+            -1.8392867552141612, -0.5436890126920764, 1.0,
+            0.5436890126920764, 1.0, 1.8392867552141612,
+            1.0, -0.5436890126920764, 1.8392867552141612,
+            0.5436890126920764, -1.0, -1.8392867552141612,
+            1.0, -1.8392867552141612, -0.5436890126920764,
+            -1.8392867552141612, -1.0, -0.5436890126920764,
+            1.8392867552141612, 0.5436890126920764, 1.0,
+            1.8392867552141612, 1.0, -0.5436890126920764,
+            -1.8392867552141612, 0.5436890126920764, -1.0,
+            0.5436890126920764, 1.8392867552141612, -1.0,
+            -0.5436890126920764, 1.0, -1.8392867552141612,
+            -0.5436890126920764, -1.8392867552141612, -1.0,
+            1.8392867552141612, -1.0, 0.5436890126920764,
+            -0.5436890126920764, 1.8392867552141612, 1.0,
+            -1.0, -1.8392867552141612, 0.5436890126920764,
+            -1.0, 0.5436890126920764, 1.8392867552141612,
+            -1.0, -0.5436890126920764, -1.8392867552141612,
+            1.8392867552141612, -0.5436890126920764, -1.0,
+            -0.5436890126920764, -1.0, 1.8392867552141612,
+            -1.0, 1.8392867552141612, -0.5436890126920764,
+        },
+        {
+            2.2653239299047705, 2.0, -12.67404412858972,
+            -12.67404412858972, 2.2653239299047705, 2.0,
+            2.2653239299047705, -2.0, 12.67404412858972,
+            -10.55349349538229, -1.1657990694899647, -7.551673632602167,
+            2.0, -12.67404412858972, 2.2653239299047705,
+            -12.67404412858972, -2.2653239299047705, -2.0,
+            -3.431122999394735, -3.886302518487763, 11.953540679591923,
+            12.67404412858972, 2.2653239299047705, -2.0,
+            11.953540679591923, 3.431122999394735, 3.886302518487764,
+            -7.551673632602167, -10.55349349538229, -1.1657990694899647,
+            -10.55349349538229, 1.1657990694899647, 7.551673632602167,
+            -8.787741610101957, -8.553493495382288, 4.4018670469897545,
+            2.0, 12.67404412858972, -2.2653239299047705,
+            8.787741610101957, -8.55349349538229, -4.4018670469897545,
+            -2.0, -12.67404412858972, -2.2653239299047705,
+            -4.401867046989755, -8.787741610101955, 8.55349349538229,
+            11.953540679591923, -3.431122999394735, -3.886302518487763,
+            -3.431122999394735, 3.886302518487763, -11.953540679591923,
+            10.553493495382288, -1.1657990694899638, 7.551673632602169,
+            -2.0, 12.67404412858972, 2.2653239299047705,
+            12.67404412858972, -2.2653239299047705, 2.0,
+            1.1657990694899651, 7.551673632602166, -10.55349349538229,
+            3.886302518487764, 11.953540679591923, 3.431122999394735,
+            5.122370495987555, 9.95354067959192, -6.667190976894526,
+            -1.1657990694899647, -7.551673632602167, -10.55349349538229,
+            -7.551673632602167, 10.55349349538229, 1.1657990694899647,
+            7.551673632602167, -10.55349349538229, 1.1657990694899647,
+            4.4018670469897545, -8.787741610101957, -8.553493495382288,
+            -8.787741610101957, 8.553493495382288, -4.4018670469897545,
+            5.122370495987552, -9.95354067959192, 6.667190976894527,
+            -2.2653239299047705, 2.0, 12.67404412858972,
+            -4.4018670469897545, 8.787741610101957, -8.55349349538229,
+            8.787741610101957, 8.55349349538229, 4.4018670469897545,
+            3.4311229993947348, -3.8863025184877644, -11.95354067959192,
+            -2.2653239299047705, -2.0, -12.67404412858972,
+            3.8863025184877626, -11.953540679591923, -3.431122999394735,
+            8.55349349538229, -4.401867046989755, -8.787741610101955,
+            9.95354067959192, -6.667190976894524, 5.122370495987555,
+            -3.886302518487763, 11.953540679591923, -3.431122999394735,
+            -11.953540679591923, -3.431122999394735, 3.886302518487763,
+            7.551673632602169, 10.553493495382288, -1.1657990694899638,
+            10.553493495382288, 1.1657990694899638, -7.551673632602169,
+            9.953540679591923, 6.667190976894525, -5.1223704959875525,
+            -5.1223704959875525, 9.953540679591923, 6.667190976894525,
+            6.667190976894526, 5.1223704959875525, -9.953540679591923,
+            1.1657990694899651, -7.551673632602166, 10.55349349538229,
+            -11.95354067959192, 3.4311229993947343, -3.8863025184877658,
+            3.431122999394735, 3.886302518487764, 11.953540679591923,
+            -6.667190976894526, 5.122370495987555, 9.95354067959192,
+            -1.1657990694899647, 7.551673632602167, 10.55349349538229,
+            -5.122370495987553, -9.953540679591923, -6.667190976894526,
+            -8.553493495382288, 4.4018670469897545, -8.787741610101957,
+            4.4018670469897545, 8.787741610101957, 8.553493495382288,
+            8.55349349538229, 4.4018670469897545, 8.787741610101957,
+            -8.55349349538229, -4.4018670469897545, 8.787741610101957,
+            -6.667190976894524, -5.122370495987553, -9.953540679591919,
+            -9.953540679591923, -6.667190976894525, -5.122370495987553,
+            -3.886302518487763, -11.953540679591923, 3.431122999394735,
+            -9.953540679591923, 6.667190976894526, 5.122370495987552,
+            6.667190976894525, -5.1223704959875525, 9.953540679591923,
+        },
+    };
+    
+    static final int[][] FACE_START = {
+        {
+            0, 3, 6, 9, 12,
+        },
+        {
+            0, 4, 8, 12, 16, 20, 24,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24,
+        },
+        {
+            0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55,
+            60,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60,
+        },
+        {
+            0, 6, 9, 15, 21, 24, 30, 33, 36,
+        },
+        {
+            0, 8, 11, 19, 27, 30, 38, 46, 49, 57, 60, 63,
+            66, 69, 72,
+        },
+        {
+            0, 6, 12, 16, 20, 26, 30, 36, 42, 48, 52, 56,
+            62, 68, 72,
+        },
+        {
+            0, 10, 20, 23, 26, 36, 46, 49, 59, 69, 72, 82,
+            92, 95, 98, 101, 104, 114, 124, 127, 130, 133, 143, 153,
+            156, 159, 162, 165, 168, 171, 174, 177, 180,
+        },
+        {
+            0, 6, 11, 17, 22, 28, 34, 40, 46, 51, 57, 63,
+            69, 74, 79, 85, 90, 96, 102, 108, 114, 119, 125, 131,
+            137, 142, 147, 152, 157, 163, 169, 175, 180,
+        },
+        {
+            0, 4, 7, 11, 14, 18, 21, 24, 28, 31, 35, 38,
+            42, 45, 48,
+        },
+        {
+            0, 5, 8, 13, 16, 21, 24, 29, 32, 37, 40, 45,
+            48, 51, 56, 59, 64, 67, 70, 73, 78, 81, 86, 89,
+            92, 95, 100, 103, 108, 111, 114, 117, 120,
+        },
+        {
+            0, 6, 14, 18, 26, 30, 36, 44, 48, 54, 58, 66,
+            74, 78, 82, 86, 94, 100, 104, 110, 116, 120, 124, 128,
+            134, 140, 144,
+        },
+        {
+            0, 10, 14, 20, 30, 34, 40, 50, 54, 60, 64, 70,
+            80, 86, 96, 100, 106, 116, 126, 130, 136, 146, 152, 156,
+            166, 170, 176, 186, 190, 194, 200, 204, 210, 220, 224, 228,
+            234, 240, 246, 252, 256, 262, 266, 272, 282, 286, 292, 298,
+            302, 306, 310, 314, 318, 322, 326, 330, 336, 340, 344, 348,
+            352, 356, 360,
+        },
+        {
+            0, 4, 8, 11, 15, 19, 23, 27, 30, 34, 38, 41,
+            45, 49, 53, 57, 61, 65, 68, 72, 75, 79, 82, 86,
+            90, 93, 96,
+        },
+        {
+            0, 4, 7, 11, 16, 20, 25, 29, 32, 35, 39, 44,
+            49, 53, 56, 60, 65, 69, 72, 76, 80, 85, 89, 92,
+            96, 101, 105, 108, 112, 115, 119, 122, 126, 129, 133, 138,
+            143, 147, 150, 155, 158, 162, 166, 169, 173, 178, 182, 185,
+            189, 193, 196, 200, 203, 206, 211, 215, 219, 222, 225, 229,
+            232, 236, 240,
+        },
+        {
+            0, 3, 6, 10, 13, 16, 19, 22, 25, 29, 32, 35,
+            38, 41, 44, 48, 52, 55, 58, 61, 64, 67, 70, 73,
+            77, 80, 83, 86, 89, 92, 95, 98, 101, 104, 107, 111,
+            114, 117, 120,
+        },
+        {
+            0, 5, 8, 11, 14, 17, 20, 23, 26, 29, 34, 39,
+            42, 45, 48, 51, 56, 59, 62, 65, 68, 71, 74, 77,
+            80, 85, 90, 93, 98, 101, 104, 107, 110, 115, 118, 121,
+            124, 127, 130, 133, 136, 139, 142, 145, 148, 151, 154, 157,
+            160, 163, 166, 171, 174, 177, 182, 185, 188, 193, 196, 199,
+            202, 205, 208, 211, 214, 219, 222, 225, 228, 231, 234, 237,
+            240, 243, 246, 249, 252, 255, 258, 261, 264, 267, 270, 273,
+            276, 279, 282, 285, 288, 291, 294, 297, 300,
+        },
+    };
+    
+    static final int[][] FACE_INDEX = {
+        {
+            0, 2, 3, 0, 1, 2, 0, 3, 1, 1, 3, 2,
+        },
+        {
+            0, 1, 2, 3, 7, 6, 5, 4, 0, 4, 5, 1,
+            1, 5, 6, 2, 2, 6, 7, 3, 3, 7, 4, 0,
+        },
+        {
+            0, 2, 3, 0, 1, 2, 0, 4, 1, 0, 3, 4,
+            1, 4, 5, 1, 5, 2, 2, 5, 3, 3, 5, 4,
+        },
+        {
+            0, 5, 14, 17, 12, 0, 2, 7, 16, 5, 0, 12,
+            18, 19, 2, 1, 18, 12, 17, 6, 1, 4, 13, 19,
+            18, 1, 6, 15, 11, 4, 2, 19, 13, 3, 7, 3,
+            13, 4, 11, 10, 3, 10, 9, 16, 7, 5, 16, 9,
+            8, 14, 6, 17, 14, 8, 15, 8, 9, 10, 11, 15,
+        },
+        {
+            0, 7, 10, 0, 3, 7, 0, 1, 3, 0, 11, 1,
+            0, 10, 11, 1, 6, 4, 1, 11, 6, 1, 4, 3,
+            2, 9, 5, 2, 6, 9, 2, 4, 6, 2, 8, 4,
+            2, 5, 8, 3, 4, 8, 3, 8, 7, 5, 10, 7,
+            5, 9, 10, 5, 7, 8, 6, 11, 9, 9, 11, 10,
+        },
+        {
+            0, 3, 8, 9, 4, 2, 0, 1, 3, 0, 2, 6,
+            7, 5, 1, 1, 5, 10, 11, 8, 3, 2, 4, 6,
+            4, 9, 11, 10, 7, 6, 5, 7, 10, 8, 11, 9,
+        },
+        {
+            0, 4, 19, 12, 9, 14, 15, 18, 0, 1, 4, 0,
+            18, 21, 16, 22, 2, 10, 1, 1, 10, 5, 20, 13,
+            7, 19, 4, 2, 5, 10, 2, 22, 23, 11, 3, 8,
+            20, 5, 3, 6, 17, 9, 12, 7, 13, 8, 3, 11,
+            6, 6, 11, 23, 16, 21, 15, 14, 17, 7, 12, 19,
+            8, 13, 20, 9, 17, 14, 15, 21, 18, 16, 23, 22,
+        },
+        {
+            0, 19, 17, 12, 18, 13, 0, 9, 1, 14, 4, 19,
+            0, 13, 22, 9, 1, 5, 11, 14, 1, 9, 22, 2,
+            15, 5, 2, 10, 23, 15, 2, 22, 13, 18, 20, 10,
+            3, 23, 10, 20, 6, 16, 3, 7, 11, 5, 15, 23,
+            3, 16, 21, 7, 4, 8, 17, 19, 4, 14, 11, 7,
+            21, 8, 6, 12, 17, 8, 21, 16, 6, 20, 18, 12,
+        },
+        {
+            0, 35, 31, 19, 46, 51, 57, 3, 24, 56, 0, 27,
+            33, 18, 37, 45, 44, 21, 39, 35, 0, 56, 27, 1,
+            57, 51, 1, 5, 54, 41, 59, 11, 50, 9, 3, 57,
+            1, 51, 46, 40, 28, 34, 25, 10, 58, 5, 2, 48,
+            52, 2, 30, 16, 6, 41, 54, 58, 10, 49, 48, 2,
+            52, 47, 8, 53, 38, 20, 42, 55, 30, 3, 9, 24,
+            4, 15, 13, 36, 33, 27, 56, 24, 9, 50, 4, 11,
+            59, 6, 16, 55, 42, 26, 29, 15, 4, 50, 11, 5,
+            58, 54, 6, 59, 41, 7, 38, 53, 7, 17, 37, 18,
+            36, 13, 29, 26, 20, 38, 7, 53, 8, 22, 32, 23,
+            43, 44, 45, 17, 8, 47, 22, 10, 25, 49, 12, 34,
+            28, 12, 14, 32, 22, 47, 52, 48, 49, 25, 34, 12,
+            28, 40, 19, 31, 39, 21, 43, 23, 14, 13, 15, 29,
+            14, 23, 32, 16, 30, 55, 17, 45, 37, 18, 33, 36,
+            19, 40, 46, 20, 26, 42, 21, 44, 43, 31, 35, 39,
+        },
+        {
+            0, 18, 37, 33, 56, 35, 0, 3, 11, 29, 18, 0,
+            35, 55, 52, 27, 3, 1, 9, 27, 52, 39, 1, 5,
+            57, 58, 49, 9, 1, 39, 44, 34, 25, 5, 2, 30,
+            40, 53, 50, 10, 2, 8, 46, 51, 59, 30, 2, 10,
+            28, 23, 8, 3, 27, 9, 49, 24, 11, 4, 15, 48,
+            29, 11, 24, 4, 6, 16, 54, 41, 15, 4, 24, 49,
+            58, 6, 5, 25, 50, 53, 57, 6, 58, 57, 53, 40,
+            16, 7, 26, 51, 46, 22, 7, 17, 36, 13, 20, 26,
+            7, 22, 32, 42, 43, 17, 8, 23, 45, 32, 22, 46,
+            10, 50, 25, 34, 47, 28, 12, 47, 34, 44, 19, 12,
+            14, 45, 23, 28, 47, 12, 19, 31, 38, 21, 14, 13,
+            36, 37, 18, 29, 48, 13, 48, 15, 41, 20, 14, 21,
+            42, 32, 45, 16, 40, 30, 59, 54, 17, 43, 33, 37,
+            36, 19, 44, 39, 52, 55, 31, 20, 41, 54, 59, 51,
+            26, 21, 38, 56, 33, 43, 42, 31, 55, 35, 56, 38,
+        },
+        {
+            0, 2, 6, 8, 0, 1, 2, 0, 9, 10, 1, 0,
+            8, 9, 1, 11, 4, 2, 1, 10, 11, 2, 4, 6,
+            3, 11, 10, 7, 3, 4, 11, 3, 5, 6, 4, 3,
+            7, 5, 5, 7, 9, 8, 5, 8, 6, 7, 10, 9,
+        },
+        {
+            0, 22, 13, 26, 16, 0, 19, 22, 0, 14, 27, 3,
+            19, 0, 16, 14, 1, 27, 23, 20, 9, 1, 3, 27,
+            1, 24, 10, 8, 3, 1, 9, 24, 2, 28, 7, 15,
+            25, 2, 29, 28, 2, 5, 24, 9, 29, 2, 25, 5,
+            3, 8, 19, 4, 10, 5, 25, 21, 4, 8, 10, 4,
+            12, 22, 19, 8, 4, 21, 12, 5, 10, 24, 6, 26,
+            13, 6, 7, 17, 18, 26, 6, 15, 7, 6, 13, 12,
+            21, 15, 7, 28, 17, 9, 20, 29, 11, 20, 23, 11,
+            17, 28, 29, 20, 11, 18, 17, 11, 23, 14, 16, 18,
+            12, 13, 22, 14, 23, 27, 15, 21, 25, 16, 26, 18,
+        },
+        {
+            0, 46, 1, 45, 4, 47, 0, 18, 22, 16, 35, 42,
+            10, 46, 0, 47, 30, 18, 1, 29, 5, 27, 13, 38,
+            19, 45, 1, 46, 10, 29, 2, 36, 5, 29, 10, 42,
+            2, 23, 28, 11, 43, 41, 20, 36, 2, 42, 35, 23,
+            3, 43, 11, 37, 6, 39, 3, 8, 41, 43, 3, 39,
+            21, 32, 44, 7, 34, 8, 4, 40, 12, 9, 24, 33,
+            30, 47, 4, 45, 19, 40, 5, 36, 20, 27, 6, 17,
+            21, 39, 6, 37, 31, 26, 25, 15, 14, 17, 7, 44,
+            12, 40, 19, 38, 7, 38, 13, 34, 8, 34, 13, 27,
+            20, 41, 9, 32, 21, 17, 14, 24, 9, 12, 44, 32,
+            11, 28, 31, 37, 14, 15, 33, 24, 15, 25, 22, 18,
+            30, 33, 16, 26, 31, 28, 23, 35, 16, 22, 25, 26,
+        },
+        {
+            0, 84, 44, 105, 67, 94, 90, 32, 33, 112, 0, 11,
+            48, 84, 0, 112, 88, 108, 38, 11, 1, 65, 85, 100,
+            95, 72, 74, 70, 3, 113, 1, 29, 6, 65, 1, 113,
+            90, 94, 78, 29, 2, 91, 20, 68, 56, 101, 96, 55,
+            73, 80, 2, 4, 42, 91, 2, 80, 71, 115, 79, 4,
+            3, 32, 90, 113, 3, 70, 12, 107, 33, 32, 4, 79,
+            75, 10, 116, 52, 106, 66, 86, 42, 5, 87, 74, 72,
+            14, 63, 5, 43, 17, 76, 46, 108, 88, 107, 12, 87,
+            5, 63, 19, 43, 6, 93, 96, 101, 85, 65, 6, 29,
+            78, 61, 54, 82, 62, 92, 13, 93, 7, 104, 102, 57,
+            36, 81, 19, 63, 14, 99, 7, 68, 20, 104, 7, 99,
+            95, 100, 56, 68, 8, 83, 15, 30, 110, 31, 117, 59,
+            114, 27, 8, 9, 111, 52, 116, 83, 8, 27, 21, 9,
+            9, 21, 51, 37, 49, 103, 40, 97, 24, 111, 10, 15,
+            83, 116, 10, 75, 69, 35, 30, 15, 11, 38, 109, 22,
+            118, 60, 98, 28, 53, 48, 12, 70, 74, 87, 13, 55,
+            96, 93, 13, 92, 34, 89, 73, 55, 14, 72, 95, 99,
+            16, 47, 62, 82, 39, 50, 16, 18, 45, 35, 69, 115,
+            71, 89, 34, 47, 16, 50, 26, 18, 17, 103, 49, 76,
+            17, 43, 19, 81, 40, 103, 18, 26, 41, 31, 110, 45,
+            20, 91, 42, 86, 102, 104, 21, 27, 114, 60, 118, 51,
+            22, 37, 51, 118, 22, 109, 46, 76, 49, 37, 23, 105,
+            44, 119, 23, 77, 54, 61, 67, 105, 23, 119, 64, 25,
+            58, 41, 26, 50, 39, 77, 24, 106, 52, 111, 24, 97,
+            36, 57, 66, 106, 25, 28, 98, 59, 117, 58, 25, 64,
+            53, 28, 30, 35, 45, 110, 31, 41, 58, 117, 33, 107,
+            88, 112, 34, 92, 62, 47, 36, 97, 40, 81, 38, 108,
+            46, 109, 39, 82, 54, 77, 44, 84, 48, 53, 64, 119,
+            56, 100, 85, 101, 57, 102, 86, 66, 59, 98, 60, 114,
+            61, 78, 94, 67, 69, 75, 79, 115, 71, 80, 73, 89,
+        },
+        {
+            0, 2, 8, 12, 0, 4, 5, 2, 0, 1, 4, 0,
+            12, 7, 1, 1, 7, 17, 21, 1, 21, 15, 4, 2,
+            10, 13, 8, 2, 5, 10, 3, 22, 18, 9, 3, 6,
+            16, 22, 3, 11, 6, 3, 9, 14, 11, 4, 15, 23,
+            5, 5, 23, 16, 10, 6, 13, 10, 16, 6, 11, 20,
+            13, 7, 19, 14, 17, 7, 12, 19, 8, 20, 19, 12,
+            8, 13, 20, 9, 18, 21, 17, 9, 17, 14, 11, 14,
+            19, 20, 15, 18, 22, 23, 15, 21, 18, 16, 23, 22,
+        },
+        {
+            0, 55, 2, 44, 0, 48, 55, 0, 17, 53, 48, 0,
+            44, 51, 59, 17, 1, 37, 17, 59, 1, 7, 22, 47,
+            37, 1, 39, 9, 7, 1, 59, 39, 2, 52, 44, 2,
+            38, 30, 52, 2, 55, 28, 49, 38, 3, 58, 32, 9,
+            39, 3, 31, 10, 58, 3, 51, 31, 3, 39, 59, 51,
+            4, 40, 50, 33, 41, 4, 27, 29, 40, 4, 35, 27,
+            4, 41, 11, 35, 5, 53, 37, 47, 5, 21, 45, 48,
+            53, 5, 36, 23, 21, 5, 47, 36, 6, 20, 38, 49,
+            6, 8, 46, 43, 20, 6, 26, 24, 8, 6, 49, 26,
+            7, 56, 25, 22, 7, 9, 56, 8, 50, 40, 46, 8,
+            24, 50, 9, 32, 14, 56, 10, 19, 58, 10, 16, 18,
+            19, 10, 31, 52, 30, 16, 11, 25, 56, 14, 35, 11,
+            34, 12, 25, 11, 41, 34, 12, 34, 54, 23, 36, 12,
+            22, 25, 12, 36, 47, 22, 13, 45, 21, 57, 13, 28,
+            45, 13, 26, 49, 28, 13, 57, 15, 24, 26, 14, 42,
+            27, 35, 14, 32, 42, 15, 57, 23, 54, 15, 33, 50,
+            24, 15, 54, 33, 16, 30, 20, 43, 16, 43, 18, 17,
+            37, 53, 18, 29, 27, 42, 19, 18, 43, 46, 29, 19,
+            42, 32, 58, 20, 30, 38, 21, 23, 57, 28, 55, 48,
+            45, 29, 46, 40, 31, 51, 44, 52, 33, 54, 34, 41,
+        },
+        {
+            0, 13, 11, 0, 14, 13, 0, 7, 20, 14, 0, 21,
+            7, 0, 11, 21, 1, 17, 23, 1, 19, 17, 1, 4,
+            19, 1, 12, 9, 4, 1, 23, 12, 2, 11, 13, 2,
+            10, 11, 2, 5, 10, 2, 17, 5, 2, 13, 23, 17,
+            3, 18, 15, 8, 3, 22, 18, 3, 6, 22, 3, 16,
+            6, 3, 8, 16, 4, 18, 22, 4, 9, 18, 4, 22,
+            19, 5, 19, 22, 6, 5, 17, 19, 5, 6, 10, 6,
+            16, 10, 7, 8, 15, 7, 21, 8, 7, 15, 20, 8,
+            21, 16, 9, 20, 15, 9, 12, 20, 9, 15, 18, 10,
+            16, 21, 11, 12, 14, 20, 12, 23, 14, 13, 14, 23,
+        },
+        {
+            0, 44, 41, 36, 33, 0, 21, 44, 0, 17, 21, 0,
+            34, 17, 0, 33, 34, 1, 10, 58, 1, 39, 10, 1,
+            5, 39, 1, 46, 5, 1, 58, 25, 28, 46, 2, 59,
+            18, 53, 47, 2, 45, 59, 2, 6, 45, 2, 30, 6,
+            2, 47, 30, 3, 51, 17, 34, 55, 3, 46, 51, 3,
+            5, 46, 3, 56, 5, 3, 55, 56, 4, 26, 29, 4,
+            35, 26, 4, 14, 35, 4, 57, 14, 4, 29, 45, 15,
+            57, 5, 56, 9, 11, 39, 6, 54, 15, 6, 30, 48,
+            10, 54, 6, 15, 45, 7, 16, 41, 7, 20, 16, 7,
+            8, 20, 7, 42, 40, 32, 8, 7, 41, 42, 8, 53,
+            18, 8, 32, 53, 8, 18, 20, 9, 50, 14, 9, 56,
+            50, 9, 57, 11, 9, 14, 57, 10, 39, 54, 10, 48,
+            58, 11, 15, 54, 11, 57, 15, 11, 54, 39, 12, 40,
+            23, 12, 22, 40, 12, 19, 22, 12, 38, 19, 12, 23,
+            21, 31, 38, 13, 35, 27, 13, 26, 35, 13, 16, 20,
+            37, 26, 13, 36, 16, 13, 27, 36, 14, 50, 24, 27,
+            35, 16, 36, 41, 17, 51, 31, 17, 31, 21, 18, 59,
+            37, 18, 37, 20, 19, 25, 43, 19, 38, 25, 19, 43,
+            49, 52, 22, 21, 23, 44, 22, 52, 32, 22, 32, 40,
+            23, 42, 44, 23, 40, 42, 24, 55, 34, 24, 50, 55,
+            24, 33, 27, 24, 34, 33, 25, 38, 28, 25, 58, 43,
+            26, 37, 29, 27, 33, 36, 28, 31, 51, 28, 38, 31,
+            28, 51, 46, 29, 37, 59, 29, 59, 45, 30, 49, 48,
+            30, 47, 49, 32, 52, 53, 41, 44, 42, 43, 58, 48,
+            43, 48, 49, 47, 52, 49, 47, 53, 52, 50, 56, 55,
+        },
+    };
+    
+    static final int[][] NEIGHBOR_START = {
+        {
+            0, 3, 6, 9, 12,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24,
+        },
+        {
+            0, 4, 8, 12, 16, 20, 24,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60,
+        },
+        {
+            0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55,
+            60,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60, 63, 66, 69,
+            72,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60, 63, 66, 69,
+            72,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60, 63, 66, 69,
+            72, 75, 78, 81, 84, 87, 90, 93, 96, 99, 102, 105,
+            108, 111, 114, 117, 120, 123, 126, 129, 132, 135, 138, 141,
+            144, 147, 150, 153, 156, 159, 162, 165, 168, 171, 174, 177,
+            180,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60, 63, 66, 69,
+            72, 75, 78, 81, 84, 87, 90, 93, 96, 99, 102, 105,
+            108, 111, 114, 117, 120, 123, 126, 129, 132, 135, 138, 141,
+            144, 147, 150, 153, 156, 159, 162, 165, 168, 171, 174, 177,
+            180,
+        },
+        {
+            0, 4, 8, 12, 16, 20, 24, 28, 32, 36, 40, 44,
+            48,
+        },
+        {
+            0, 4, 8, 12, 16, 20, 24, 28, 32, 36, 40, 44,
+            48, 52, 56, 60, 64, 68, 72, 76, 80, 84, 88, 92,
+            96, 100, 104, 108, 112, 116, 120,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60, 63, 66, 69,
+            72, 75, 78, 81, 84, 87, 90, 93, 96, 99, 102, 105,
+            108, 111, 114, 117, 120, 123, 126, 129, 132, 135, 138, 141,
+            144,
+        },
+        {
+            0, 3, 6, 9, 12, 15, 18, 21, 24, 27, 30, 33,
+            36, 39, 42, 45, 48, 51, 54, 57, 60, 63, 66, 69,
+            72, 75, 78, 81, 84, 87, 90, 93, 96, 99, 102, 105,
+            108, 111, 114, 117, 120, 123, 126, 129, 132, 135, 138, 141,
+            144, 147, 150, 153, 156, 159, 162, 165, 168, 171, 174, 177,
+            180, 183, 186, 189, 192, 195, 198, 201, 204, 207, 210, 213,
+            216, 219, 222, 225, 228, 231, 234, 237, 240, 243, 246, 249,
+            252, 255, 258, 261, 264, 267, 270, 273, 276, 279, 282, 285,
+            288, 291, 294, 297, 300, 303, 306, 309, 312, 315, 318, 321,
+            324, 327, 330, 333, 336, 339, 342, 345, 348, 351, 354, 357,
+            360,
+        },
+        {
+            0, 4, 8, 12, 16, 20, 24, 28, 32, 36, 40, 44,
+            48, 52, 56, 60, 64, 68, 72, 76, 80, 84, 88, 92,
+            96,
+        },
+        {
+            0, 4, 8, 12, 16, 20, 24, 28, 32, 36, 40, 44,
+            48, 52, 56, 60, 64, 68, 72, 76, 80, 84, 88, 92,
+            96, 100, 104, 108, 112, 116, 120, 124, 128, 132, 136, 140,
+            144, 148, 152, 156, 160, 164, 168, 172, 176, 180, 184, 188,
+            192, 196, 200, 204, 208, 212, 216, 220, 224, 228, 232, 236,
+            240,
+        },
+        {
+            0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55,
+            60, 65, 70, 75, 80, 85, 90, 95, 100, 105, 110, 115,
+            120,
+        },
+        {
+            0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55,
+            60, 65, 70, 75, 80, 85, 90, 95, 100, 105, 110, 115,
+            120, 125, 130, 135, 140, 145, 150, 155, 160, 165, 170, 175,
+            180, 185, 190, 195, 200, 205, 210, 215, 220, 225, 230, 235,
+            240, 245, 250, 255, 260, 265, 270, 275, 280, 285, 290, 295,
+            300,
+        },
+    };
+    
+    static final int[][] NEIGHBOR_INDEX = {
+        {
+            2, 1, 3, 3, 0, 2, 1, 0, 3, 2, 0, 1,
+        },
+        {
+            1, 4, 3, 2, 0, 5, 3, 1, 6, 0, 2, 7,
+            7, 5, 0, 4, 1, 6, 5, 2, 7, 6, 3, 4,
+        },
+        {
+            2, 1, 4, 3, 4, 0, 2, 5, 1, 0, 3, 5,
+            2, 0, 4, 5, 3, 0, 1, 5, 4, 1, 2, 3,
+        },
+        {
+            5, 2, 12, 18, 4, 6, 19, 0, 7, 13, 7, 10,
+            11, 1, 13, 16, 0, 14, 17, 1, 15, 3, 2, 16,
+            15, 9, 14, 16, 8, 10, 11, 3, 9, 15, 4, 10,
+            17, 0, 18, 19, 3, 4, 8, 5, 17, 8, 6, 11,
+            7, 5, 9, 12, 6, 14, 19, 1, 12, 18, 2, 13,
+        },
+        {
+            7, 3, 1, 11, 10, 6, 11, 0, 3, 4, 9, 6,
+            4, 8, 5, 4, 1, 0, 7, 8, 2, 6, 1, 3,
+            8, 10, 9, 2, 8, 7, 9, 11, 1, 4, 2, 8,
+            3, 0, 10, 5, 7, 5, 2, 4, 3, 11, 6, 2,
+            5, 10, 5, 7, 0, 11, 9, 9, 10, 0, 1, 6,
+        },
+        {
+            3, 1, 2, 5, 0, 3, 4, 0, 6, 1, 0, 8,
+            9, 2, 6, 7, 1, 10, 4, 2, 7, 6, 5, 10,
+            11, 3, 9, 8, 4, 11, 7, 5, 11, 10, 8, 9,
+        },
+        {
+            4, 1, 18, 10, 0, 4, 10, 5, 22, 8, 6, 11,
+            1, 0, 19, 20, 2, 10, 11, 3, 17, 19, 12, 13,
+            13, 3, 20, 17, 12, 14, 2, 1, 5, 23, 3, 6,
+            9, 7, 19, 20, 7, 8, 17, 9, 15, 21, 14, 18,
+            23, 21, 22, 14, 6, 9, 15, 0, 21, 7, 4, 12,
+            8, 5, 13, 16, 15, 18, 16, 2, 23, 22, 11, 16,
+        },
+        {
+            19, 9, 13, 14, 5, 9, 15, 10, 22, 23, 7, 16,
+            19, 8, 14, 15, 1, 11, 16, 12, 20, 21, 3, 11,
+            21, 4, 17, 22, 0, 1, 20, 2, 23, 7, 5, 14,
+            18, 6, 17, 18, 0, 22, 11, 1, 4, 23, 2, 5,
+            6, 3, 21, 12, 8, 19, 20, 12, 13, 4, 0, 17,
+            10, 6, 18, 16, 7, 8, 9, 2, 13, 15, 3, 10,
+        },
+        {
+            35, 27, 56, 57, 5, 51, 48, 30, 52, 24, 9, 57,
+            15, 11, 50, 58, 1, 54, 59, 16, 41, 38, 17, 53,
+            53, 22, 47, 50, 3, 24, 49, 25, 58, 50, 4, 59,
+            34, 14, 28, 29, 15, 36, 23, 12, 32, 29, 4, 13,
+            30, 6, 55, 45, 7, 37, 36, 33, 37, 40, 31, 46,
+            42, 26, 38, 44, 39, 43, 47, 8, 32, 43, 14, 32,
+            9, 3, 56, 34, 10, 49, 29, 20, 42, 56, 0, 33,
+            34, 12, 40, 15, 13, 26, 55, 2, 16, 35, 19, 39,
+            23, 14, 22, 27, 18, 36, 25, 12, 28, 39, 0, 31,
+            18, 13, 33, 45, 17, 18, 20, 7, 53, 31, 21, 35,
+            28, 19, 46, 59, 6, 54, 26, 20, 55, 44, 21, 23,
+            45, 21, 43, 44, 17, 37, 40, 19, 51, 52, 8, 22,
+            49, 2, 52, 25, 10, 48, 9, 4, 11, 57, 1, 46,
+            48, 2, 47, 38, 7, 8, 58, 5, 41, 30, 16, 42,
+            24, 0, 27, 3, 1, 51, 10, 5, 54, 11, 6, 41,
+        },
+        {
+            18, 3, 35, 9, 5, 39, 30, 8, 10, 27, 0, 11,
+            15, 6, 24, 25, 1, 57, 58, 4, 16, 26, 17, 22,
+            23, 2, 46, 49, 1, 27, 50, 2, 28, 24, 3, 29,
+            47, 14, 19, 36, 20, 48, 21, 12, 45, 41, 4, 48,
+            40, 6, 54, 43, 7, 36, 29, 0, 37, 44, 12, 31,
+            41, 13, 26, 38, 14, 42, 46, 7, 32, 28, 8, 45,
+            11, 4, 49, 34, 5, 50, 20, 7, 51, 52, 3, 9,
+            47, 10, 23, 48, 11, 18, 59, 2, 40, 55, 19, 38,
+            45, 22, 42, 43, 37, 56, 44, 25, 47, 56, 0, 55,
+            17, 13, 37, 36, 18, 33, 31, 21, 56, 52, 1, 44,
+            53, 16, 30, 54, 15, 20, 43, 21, 32, 42, 17, 33,
+            34, 19, 39, 32, 14, 23, 22, 8, 51, 28, 12, 34,
+            29, 13, 15, 58, 9, 24, 53, 10, 25, 59, 26, 46,
+            55, 27, 39, 57, 40, 50, 59, 16, 41, 52, 31, 35,
+            38, 33, 35, 53, 5, 58, 49, 6, 57, 51, 30, 54,
+        },
+        {
+            2, 1, 9, 8, 11, 10, 0, 2, 1, 0, 6, 4,
+            11, 4, 5, 7, 3, 11, 2, 6, 7, 3, 6, 8,
+            4, 2, 8, 5, 9, 10, 3, 5, 5, 6, 0, 9,
+            8, 0, 10, 7, 9, 1, 11, 7, 10, 1, 4, 3,
+        },
+        {
+            22, 19, 14, 16, 27, 3, 24, 9, 28, 29, 5, 25,
+            19, 8, 1, 27, 10, 8, 12, 21, 25, 2, 24, 10,
+            26, 7, 15, 13, 15, 6, 17, 28, 10, 3, 19, 4,
+            29, 20, 1, 24, 8, 4, 5, 24, 20, 17, 18, 23,
+            13, 21, 4, 22, 26, 6, 12, 22, 16, 0, 27, 23,
+            25, 21, 6, 7, 26, 0, 14, 18, 11, 28, 7, 18,
+            26, 16, 11, 17, 8, 3, 0, 22, 23, 9, 29, 11,
+            15, 25, 4, 12, 12, 19, 0, 13, 20, 11, 14, 27,
+            5, 9, 1, 10, 15, 2, 5, 21, 16, 18, 6, 13,
+            3, 1, 23, 14, 29, 2, 7, 17, 9, 2, 28, 20,
+        },
+        {
+            46, 18, 47, 45, 29, 46, 36, 23, 42, 43, 8, 39,
+            47, 40, 45, 29, 27, 36, 39, 17, 37, 44, 34, 38,
+            34, 3, 41, 32, 12, 24, 46, 29, 42, 37, 28, 43,
+            40, 9, 44, 34, 27, 38, 24, 15, 17, 25, 14, 33,
+            26, 22, 35, 14, 6, 21, 30, 0, 22, 40, 38, 45,
+            36, 27, 41, 32, 17, 39, 18, 16, 25, 35, 2, 28,
+            14, 9, 33, 26, 15, 22, 25, 16, 31, 20, 5, 13,
+            23, 11, 31, 10, 1, 5, 47, 18, 33, 37, 26, 28,
+            44, 9, 21, 30, 15, 24, 13, 7, 8, 23, 16, 42,
+            20, 2, 5, 11, 6, 31, 19, 7, 13, 6, 3, 21,
+            19, 4, 12, 20, 8, 43, 10, 2, 35, 41, 3, 11,
+            32, 7, 12, 19, 1, 4, 10, 0, 1, 4, 0, 30,
+        },
+        {
+            84, 11, 112, 65, 29, 113, 91, 4, 80, 113, 32, 70,
+            79, 2, 42, 87, 43, 63, 93, 29, 65, 104, 68, 99,
+            83, 9, 27, 21, 8, 111, 116, 15, 75, 38, 0, 48,
+            87, 70, 107, 93, 55, 92, 72, 63, 99, 30, 10, 83,
+            47, 18, 50, 103, 43, 76, 26, 16, 45, 63, 43, 81,
+            91, 68, 104, 27, 9, 51, 118, 37, 109, 105, 77, 119,
+            106, 97, 111, 58, 28, 64, 50, 18, 41, 114, 8, 21,
+            53, 25, 98, 78, 1, 6, 35, 15, 110, 117, 41, 110,
+            33, 3, 90, 107, 32, 112, 89, 47, 92, 69, 30, 45,
+            97, 57, 81, 49, 22, 51, 108, 11, 109, 82, 50, 77,
+            97, 81, 103, 58, 26, 31, 86, 4, 91, 19, 5, 17,
+            119, 84, 105, 110, 18, 35, 109, 76, 108, 34, 16, 62,
+            53, 11, 84, 76, 37, 103, 39, 16, 26, 118, 21, 37,
+            116, 106, 111, 64, 28, 48, 77, 61, 82, 73, 13, 96,
+            100, 68, 101, 102, 36, 66, 117, 25, 41, 114, 98, 117,
+            118, 98, 114, 78, 54, 67, 92, 47, 82, 14, 5, 19,
+            119, 25, 53, 6, 1, 85, 86, 57, 106, 94, 61, 105,
+            56, 7, 20, 75, 35, 115, 74, 3, 12, 89, 80, 115,
+            74, 14, 95, 89, 55, 80, 72, 70, 87, 79, 10, 69,
+            49, 17, 46, 39, 23, 54, 94, 29, 61, 115, 4, 75,
+            73, 2, 71, 36, 19, 40, 62, 39, 54, 116, 8, 15,
+            48, 0, 44, 101, 65, 100, 66, 42, 102, 12, 5, 74,
+            108, 107, 112, 71, 34, 73, 94, 32, 113, 42, 2, 20,
+            62, 13, 34, 13, 6, 96, 78, 67, 90, 100, 72, 99,
+            101, 55, 93, 40, 24, 36, 60, 28, 59, 14, 7, 95,
+            95, 56, 85, 85, 56, 96, 104, 57, 86, 40, 17, 49,
+            20, 7, 102, 67, 23, 44, 66, 24, 52, 88, 12, 33,
+            88, 38, 46, 38, 22, 46, 45, 30, 31, 24, 9, 52,
+            33, 0, 88, 3, 1, 90, 59, 27, 60, 79, 69, 71,
+            83, 10, 52, 58, 31, 59, 51, 22, 60, 44, 23, 64,
+        },
+        {
+            2, 4, 1, 12, 7, 0, 4, 21, 10, 5, 0, 8,
+            22, 6, 11, 9, 15, 1, 0, 5, 4, 2, 10, 23,
+            13, 11, 3, 16, 19, 12, 1, 17, 20, 13, 2, 12,
+            18, 3, 14, 17, 16, 5, 2, 13, 14, 3, 6, 20,
+            8, 0, 7, 19, 8, 20, 6, 10, 19, 17, 9, 11,
+            18, 21, 4, 23, 10, 6, 22, 23, 9, 14, 7, 21,
+            22, 9, 21, 15, 20, 12, 7, 14, 11, 13, 8, 19,
+            17, 1, 15, 18, 23, 16, 3, 18, 15, 5, 16, 22,
+        },
+        {
+            55, 48, 17, 44, 37, 7, 39, 59, 44, 52, 38, 55,
+            58, 31, 51, 39, 40, 27, 35, 41, 53, 21, 36, 47,
+            20, 8, 26, 49, 56, 9, 1, 22, 50, 24, 6, 46,
+            39, 7, 56, 32, 58, 19, 16, 31, 35, 25, 34, 41,
+            34, 25, 22, 36, 45, 28, 26, 57, 35, 42, 32, 56,
+            57, 24, 33, 54, 30, 10, 18, 43, 59, 0, 53, 37,
+            29, 43, 16, 19, 18, 10, 58, 42, 43, 6, 38, 30,
+            57, 23, 5, 45, 12, 25, 7, 47, 36, 21, 57, 54,
+            26, 8, 50, 15, 22, 12, 11, 56, 13, 49, 6, 24,
+            42, 35, 4, 29, 49, 13, 45, 55, 40, 46, 18, 27,
+            52, 16, 20, 38, 52, 51, 3, 10, 58, 9, 14, 42,
+            41, 54, 15, 50, 54, 41, 11, 12, 11, 4, 27, 14,
+            12, 47, 5, 23, 47, 1, 17, 53, 49, 2, 30, 20,
+            3, 59, 1, 9, 46, 29, 4, 50, 33, 4, 11, 34,
+            19, 32, 14, 27, 20, 16, 18, 46, 52, 2, 0, 51,
+            48, 28, 13, 21, 29, 40, 8, 43, 37, 5, 36, 22,
+            53, 0, 55, 45, 38, 6, 26, 28, 33, 24, 8, 40,
+            59, 3, 31, 44, 30, 2, 44, 31, 48, 5, 37, 17,
+            23, 15, 33, 34, 28, 48, 0, 2, 14, 9, 7, 25,
+            23, 21, 13, 15, 19, 10, 3, 32, 17, 1, 39, 51,
+        },
+        {
+            13, 14, 7, 21, 11, 17, 19, 4, 12, 23, 11, 10,
+            5, 17, 13, 18, 22, 6, 16, 8, 18, 9, 1, 19,
+            22, 19, 17, 2, 10, 6, 10, 16, 3, 22, 5, 8,
+            21, 0, 20, 15, 7, 15, 3, 16, 21, 20, 12, 4,
+            18, 15, 6, 5, 2, 11, 16, 2, 13, 0, 21, 10,
+            14, 23, 1, 9, 20, 23, 14, 0, 11, 2, 12, 20,
+            0, 13, 23, 18, 8, 7, 20, 9, 21, 8, 3, 6,
+            10, 5, 19, 1, 23, 2, 4, 22, 3, 15, 9, 22,
+            4, 1, 17, 5, 9, 15, 7, 14, 12, 16, 11, 0,
+            7, 8, 19, 6, 3, 18, 4, 13, 17, 1, 12, 14,
+        },
+        {
+            44, 21, 17, 34, 33, 10, 39, 5, 46, 58, 59, 45,
+            6, 30, 47, 51, 46, 5, 56, 55, 26, 35, 14, 57,
+            29, 3, 46, 1, 39, 56, 54, 30, 2, 45, 15, 16,
+            20, 8, 42, 41, 53, 32, 7, 20, 18, 50, 56, 11,
+            57, 14, 54, 39, 1, 58, 48, 15, 57, 9, 39, 54,
+            40, 22, 19, 38, 23, 35, 26, 16, 36, 27, 9, 57,
+            4, 35, 50, 11, 54, 6, 45, 57, 13, 20, 7, 41,
+            36, 51, 34, 0, 21, 31, 59, 53, 8, 20, 37, 25,
+            38, 12, 22, 43, 18, 8, 7, 16, 37, 31, 17, 0,
+            44, 23, 52, 19, 12, 40, 32, 42, 40, 12, 21, 44,
+            55, 50, 27, 33, 34, 28, 38, 19, 43, 58, 13, 35,
+            4, 29, 37, 24, 35, 13, 36, 33, 31, 38, 25, 46,
+            51, 37, 26, 4, 45, 59, 49, 47, 2, 6, 48, 28,
+            51, 17, 21, 38, 22, 40, 8, 53, 52, 27, 36, 0,
+            34, 24, 24, 33, 0, 17, 55, 27, 14, 4, 26, 13,
+            33, 27, 13, 16, 41, 29, 59, 18, 20, 26, 28, 31,
+            12, 19, 25, 11, 5, 1, 10, 54, 32, 22, 12, 23,
+            42, 36, 16, 7, 42, 44, 44, 41, 7, 40, 23, 58,
+            25, 19, 49, 48, 23, 21, 0, 41, 42, 15, 6, 2,
+            59, 29, 51, 28, 1, 5, 3, 52, 53, 2, 30, 49,
+            49, 30, 10, 58, 43, 52, 47, 30, 48, 43, 55, 56,
+            9, 14, 24, 28, 46, 3, 17, 31, 47, 49, 22, 32,
+            53, 52, 32, 8, 18, 47, 39, 10, 6, 15, 11, 24,
+            34, 3, 56, 50, 50, 55, 3, 5, 9, 11, 15, 4,
+            14, 9, 48, 10, 1, 25, 43, 29, 45, 2, 18, 37,
+        },
+    };
+
+}
@@ -14,9 +14,9 @@ public class Rhombicuboctahedron extends Equilateral {
      *  Sets the vertices of a rhombicuboctahedron.
      */
     public void create( ) {
-        vertex = P3.allPluses(P3.evenPermutations(
+        vertex = Orbit.FULL_OCTAHEDRAL.of(
             new double[] {1+Math.sqrt(2),1,1}
-        ));
+        );
     }
 
 }
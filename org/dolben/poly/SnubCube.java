@@ -15,11 +15,7 @@ public class SnubCube extends Equilateral {
      */
     public void create( ) {
         final double ETA = (root(3,17+root(2,297))-root(3,-17+root(2,297))-1)/3;
-        double[] v = {1,ETA,1/ETA};
-        vertex = P3.concatenate(
-            P3.evenPluses(P3.evenPermutations(v)),
-            P3.oddPluses(P3.oddPermutations(v))
-        );
+        vertex = Orbit.OCTAHEDRAL.of(new double[] {1,ETA,-1/ETA});
     }
     
     // returns the nth root of arg
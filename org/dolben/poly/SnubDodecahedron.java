@@ -19,27 +19,7 @@ public class SnubDodecahedron extends Equilateral {
         final double eta = root(3,p/2+t)+root(3,p/2-t);
         final double a = eta-1/eta;
         final double b = eta*p+p*p+p/eta;
-        vertex =
-            P3.concatenate(
-                P3.evenPluses(P3.evenPermutations(
-                    new double[] {2*a,2,2*b}
-                )),
-            P3.concatenate(
-                P3.evenPluses(P3.evenPermutations(
-                    new double[] {a+b/p+p,-a*p+b+1/p,a/p+b*p-1}
-                )),
-            P3.concatenate(
-                P3.evenPluses(P3.evenPermutations(
-                    new double[] {-a/p+b*p+1,-a+b/p-p,a*p+b-1/p}
-                )),
-            P3.concatenate(
-                P3.evenPluses(P3.evenPermutations(
-                    new double[] {-a/p+b*p-1,a-b/p-p,a*p+b+1/p}
-                )),
-                P3.evenPluses(P3.evenPermutations(
-                    new double[] {a+b/p-p,a*p-b+1/p,a/p+b*p+1}
-                ))
-            ))));
+        vertex = Orbit.DODECAHEDRAL.of(new double[] {2*a,2,-2*b});
     }
     
     // returns the nth root of arg
@@ -14,6 +14,10 @@ import org.dolben.iiid.Projector;
 public abstract class Solid {
     
     protected Polyhedron polyhedron;  // the polyhedron that is drawn
+    private float[] x;                // its vertices, for projecting
+    private float[] y;
+    private float[] z;
+    private int[][] projected;        // their projections
     
     /**
      *  Creates a new Solid for a given polyhedron.
@@ -32,7 +36,35 @@ public abstract class Solid {
     public Polyhedron getPolyhedron( ) {
         return polyhedron;
     }
-        
+    
+    /**
+     *  Projects the vertices of the polyhedron onto the drawing plane,
+     *  all at once by the VertexKernel, through arrays that are kept
+     *  from one drawing to the next.
+     *
+     *  @param projector the projector that maps 3D to Graphics coordinates
+     *
+     *  @return an array of x and an array of y coordinates, which are
+     *          overwritten the next time
+     */
+    protected int[][] project( Projector projector ) {
+        int n = polyhedron.getVertexCount();
+        if ( x == null || x.length != n ) {
+            x = new float[n];
+            y = new float[n];
+            z = new float[n];
+            projected = new int[2][n];
+        }
+        for ( int i = 0; i < n; ++i ) {
+            double[] v = polyhedron.getVertex(i);
+            x[i] = (float)v[0];
+            y[i] = (float)v[1];
+            z[i] = (float)v[2];
+        }
+        projector.project(x,y,z,n,projected[0],projected[1]);
+        return projected;
+    }
+    
     /**
      *  Draws the polyhedron.
      *
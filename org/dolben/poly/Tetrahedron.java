@@ -14,7 +14,7 @@ public class Tetrahedron extends Equilateral {
      *  Sets the vertices of a tetrahedron.
      */
     public void create( ) {
-        vertex = P3.oddPluses(new double[] {1,1,1});
+        vertex = Orbit.TETRAHEDRAL.of(new double[] {1,1,1});
     }
 
 }
@@ -14,9 +14,9 @@ public class TruncatedCube extends Equilateral {
      *  Sets the vertices of a truncated cube.
      */
     public void create( ) {
-        vertex = P3.allPluses(P3.evenPermutations(
+        vertex = Orbit.FULL_OCTAHEDRAL.of(
             new double[] {Math.sqrt(2)-1,1,1}
-        ));
+        );
     }
 
 }
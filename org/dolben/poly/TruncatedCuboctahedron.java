@@ -14,9 +14,9 @@ public class TruncatedCuboctahedron extends Equilateral {
      *  Sets the vertices of a truncated cuboctahedron.
      */
     public void create( ) {
-        vertex = P3.allPluses(P3.allPermutations(
+        vertex = Orbit.FULL_OCTAHEDRAL.of(
             new double[] {1,1+Math.sqrt(2),1+Math.sqrt(8)}
-        ));
+        );
     }
 
 }
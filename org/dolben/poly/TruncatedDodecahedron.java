@@ -14,19 +14,9 @@ public class TruncatedDodecahedron extends Equilateral {
      *  Sets the vertices of a truncated dodecahedron.
      */
     public void create( ) {
-        vertex =
-            P3.concatenate(
-                P3.allPluses(P3.evenPermutations(
-                    new double[] {0,1/P3.PHI,2+P3.PHI}
-                )),
-            P3.concatenate(
-                P3.allPluses(P3.evenPermutations(
-                    new double[] {1/P3.PHI,P3.PHI,2*P3.PHI}
-                )),
-                P3.allPluses(P3.evenPermutations(
-                    new double[] {P3.PHI,2,P3.PHI*P3.PHI}
-                ))
-            ));
+        vertex = Orbit.FULL_DODECAHEDRAL.of(
+            new double[] {0,1/P3.PHI,2+P3.PHI}
+        );
     }
 
 }
@@ -14,19 +14,9 @@ public class TruncatedIcosahedron extends Equilateral {
      *  Sets the vertices of a truncated icosahedron.
      */
     public void create( ) {
-        vertex =
-            P3.concatenate(
-                P3.allPluses(P3.evenPermutations(
-                    new double[] {0,1,3*P3.PHI}
-                )),
-            P3.concatenate(
-                P3.allPluses(P3.evenPermutations(
-                    new double[] {2,1+2*P3.PHI,P3.PHI}
-                )),
-                P3.allPluses(P3.evenPermutations(
-                    new double[] {1,2+P3.PHI,2*P3.PHI}
-                ))
-            ));
+        vertex = Orbit.FULL_ICOSAHEDRAL.of(
+            new double[] {0,1,3*P3.PHI}
+        );
     }
 
 }
@@ -14,9 +14,7 @@ public class TruncatedOctahedron extends Equilateral {
      *  Sets the vertices of a truncated octahedron.
      */
     public void create( ) {
-        vertex = P3.allPluses(P3.allPermutations(
-            new double[] {0,1,2}
-        ));
+        vertex = Orbit.FULL_OCTAHEDRAL.of(new double[] {0,1,2});
     }
 
 }
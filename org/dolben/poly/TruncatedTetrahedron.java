@@ -14,9 +14,7 @@ public class TruncatedTetrahedron extends Equilateral {
      *  Sets the vertices of a truncated tetrahedron.
      */
     public void create( ) {
-        vertex = P3.oddPluses(P3.evenPermutations(
-            new double[] {3,1,1}
-        ));
+        vertex = Orbit.TETRAHEDRAL.of(new double[] {3,1,1});
     }
 
 }
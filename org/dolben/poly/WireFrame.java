@@ -29,30 +29,22 @@ public class WireFrame extends Solid {
     }
         
     /**
-     *  Draws the polyhedron.
+     *  Draws the polyhedron, each edge once rather than once for each
+     *  of the two faces it's on.
      *
      *  @param projector the projector that maps 3D to Graphics coordinates
      *  @param graphics  the drawing context
      */
     public void paint( Projector projector, Graphics graphics ) {
-        for ( int i = 0; i < polyhedron.getFaces(); ++i ) {
-            paintFace(polyhedron.getFace(i),projector,graphics);
+        int[][] p = project(projector);
+        HalfEdges edges = polyhedron.getHalfEdges();
+        graphics.setColor(color);
+        for ( int i = 0; i < edges.getEdgeCount(); ++i ) {
+            int h = edges.getEdge(i);
+            int a = edges.getOrigin(h);
+            int b = edges.getTarget(h);
+            graphics.drawLine(p[0][a],p[1][a],p[0][b],p[1][b]);
         }
     }
-    
-    /**
-     *  Draws the outline that is the projection of a facet,
-     *  given by an array of 3D points.
-     *
-     *  @param point the array of 3D points that are the vertices of
-     *      the facet
-     *  @param projector the projector that maps 3D to Graphics coordinates
-     *  @param graphics the drawing context
-     */
-    private void paintFace( double[][] point, Projector projector, Graphics g ) {
-        int[][] p = projector.project(point);
-        g.setColor(color);
-        g.drawPolygon(p[0],p[1],p[0].length);
-    }
 
 }
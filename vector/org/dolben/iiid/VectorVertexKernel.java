@@ -0,0 +1,101 @@
+/**
+ *  Copyright (c) 2005-2010 Hank Dolben
+ *  Licensed under the Open Software License version 2.1
+ *  http://opensource.org/licenses/osl-2.1.php
+ */
+package org.dolben.iiid;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ *  <p>
+ *  The VertexKernel with the Vector API, as many points at a time as
+ *  there are float lanes in the widest vector register, and the points
+ *  left over a point at a time. It needs the module jdk.incubator.vector
+ *  both to compile and to run, so it's kept apart from the rest of the
+ *  source, under vector/, and is compiled after it, onto the same class
+ *  path, only where the module is present:
+ *  </p><pre>
+ *  javac -d classes $(find org -name '*.java')
+ *  javac --add-modules jdk.incubator.vector -cp classes -d classes \
+ *      $(find vector -name '*.java')
+ *  </pre><p>
+ *  VertexKernel only loads it when it's asked for, by the system
+ *  property org.dolben.iiid.vector, and it's there and it can.
+ *  </p>
+ */
+class VectorVertexKernel extends VertexKernel {
+    
+    private static final VectorSpecies FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies DOUBLES =
+        DoubleVector.SPECIES_PREFERRED;
+    
+    public String getName( ) {
+        return "vector "+FLOATS.length()+" lanes";
+    }
+    
+    public void transform(
+        float[] m, float[] t, float[] x, float[] y, float[] z, int n,
+        float[] rx, float[] ry, float[] rz
+    ) {
+        VectorSpecies s = FLOATS;
+        int bound = s.loopBound(n);
+        for ( int i = 0; i < bound; i += s.length() ) {
+            FloatVector a = FloatVector.fromArray(s,x,i);
+            FloatVector b = FloatVector.fromArray(s,y,i);
+            FloatVector c = FloatVector.fromArray(s,z,i);
+            // in the same order of operations as the scalar kernel
+            a.mul(m[0]).add(b.mul(m[1])).add(c.mul(m[2])).add(t[0])
+                .intoArray(rx,i);
+            a.mul(m[3]).add(b.mul(m[4])).add(c.mul(m[5])).add(t[1])
+                .intoArray(ry,i);
+            a.mul(m[6]).add(b.mul(m[7])).add(c.mul(m[8])).add(t[2])
+                .intoArray(rz,i);
+        }
+        ScalarVertexKernel.transform(m,t,x,y,z,bound,n,rx,ry,rz);
+    }
+    
+    public void transform(
+        double[] m, double[] t, double[] x, double[] y, double[] z, int n,
+        double[] rx, double[] ry, double[] rz
+    ) {
+        VectorSpecies s = DOUBLES;
+        int bound = s.loopBound(n);
+        for ( int i = 0; i < bound; i += s.length() ) {
+            DoubleVector a = DoubleVector.fromArray(s,x,i);
+            DoubleVector b = DoubleVector.fromArray(s,y,i);
+            DoubleVector c = DoubleVector.fromArray(s,z,i);
+            a.mul(m[0]).add(b.mul(m[1])).add(c.mul(m[2])).add(t[0])
+                .intoArray(rx,i);
+            a.mul(m[3]).add(b.mul(m[4])).add(c.mul(m[5])).add(t[1])
+                .intoArray(ry,i);
+            a.mul(m[6]).add(b.mul(m[7])).add(c.mul(m[8])).add(t[2])
+                .intoArray(rz,i);
+        }
+        ScalarVertexKernel.transform(m,t,x,y,z,bound,n,rx,ry,rz);
+    }
+    
+    public void project(
+        float viewer, float distance, float cx, float cy,
+        float[] x, float[] y, float[] z, int n, int[] px, int[] py
+    ) {
+        VectorSpecies s = FLOATS;
+        int bound = s.loopBound(n);
+        for ( int i = 0; i < bound; i += s.length() ) {
+            FloatVector scale = FloatVector.broadcast(s,distance).div(
+                FloatVector.broadcast(s,viewer)
+                    .sub(FloatVector.fromArray(s,z,i))
+            );
+            ((IntVector)scale.mul(FloatVector.fromArray(s,x,i)).add(cx)
+                .convert(VectorOperators.F2I,0)).intoArray(px,i);
+            ((IntVector)scale.neg().mul(FloatVector.fromArray(s,y,i)).add(cy)
+                .convert(VectorOperators.F2I,0)).intoArray(py,i);
+        }
+        ScalarVertexKernel.project(viewer,distance,cx,cy,x,y,z,bound,n,px,py);
+    }
+
+}